@@ -0,0 +1,100 @@
+package com.matrix.lawsuit.benchmark;
+
+import com.matrix.lawsuit.caseservice.entity.Case;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试公共数据与反射工具
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 构造字段填充完整的案件，时间字段保持为空（缓存序列化器未注册JavaTimeModule）
+     */
+    static Case sampleCase(long id) {
+        Case c = new Case();
+        c.setId(id);
+        c.setCaseNo("DLMP20240101" + String.format("%06d", id));
+        c.setBatchNo("B20240101001");
+        c.setIouNumber("IOU" + id);
+        c.setContractAmount(new BigDecimal("50000.00"));
+        c.setDebtorId("D" + id);
+        c.setDebtorName("张三");
+        c.setDebtorIdCard("110101199001011234");
+        c.setDebtorPhone("13800138000");
+        c.setGender(1);
+        c.setEducation("本科");
+        c.setEthnicity("汉族");
+        c.setMaritalStatus("已婚");
+        c.setHouseholdProvince("北京市");
+        c.setHouseholdCity("北京市");
+        c.setHouseholdAddress("朝阳区建国路88号");
+        c.setCurrentProvince("上海市");
+        c.setCurrentCity("上海市");
+        c.setCurrentAddress("浦东新区世纪大道100号");
+        c.setCompanyName("某某科技有限公司");
+        c.setJobPosition("工程师");
+        c.setCompanyPhone("021-88888888");
+        c.setCompanyProvince("上海市");
+        c.setCompanyCity("上海市");
+        c.setCompanyAddress("浦东新区张江路1号");
+        c.setLoanProductType("消费贷");
+        c.setLoanDate("2023-01-15");
+        c.setLoanAmount(new BigDecimal("50000.00"));
+        c.setOverduePrincipal(new BigDecimal("32000.00"));
+        c.setOverdueInterest(new BigDecimal("2100.50"));
+        c.setOverdueFees(new BigDecimal("300.00"));
+        c.setOverdueTotalAmount(new BigDecimal("34400.50"));
+        c.setOverdueDays(180);
+        c.setCaseStatus(1);
+        c.setAssignmentStatus(0);
+        c.setClientId(1L);
+        c.setDeleted(0);
+        return c;
+    }
+
+    /**
+     * 构造案件列表，模拟分页查询结果
+     */
+    static List<Case> sampleCases(int size) {
+        List<Case> cases = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            cases.add(sampleCase(i));
+        }
+        return cases;
+    }
+
+    /**
+     * 为@Value注入的私有字段赋值
+     */
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("设置字段失败: " + name, e);
+        }
+    }
+
+    /**
+     * 获取私有方法并开放访问
+     */
+    static Method accessibleMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            Method method = type.getDeclaredMethod(name, parameterTypes);
+            method.setAccessible(true);
+            return method;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("方法不存在: " + type.getName() + "#" + name, e);
+        }
+    }
+}
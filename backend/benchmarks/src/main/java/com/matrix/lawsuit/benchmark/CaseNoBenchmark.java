@@ -0,0 +1,57 @@
+package com.matrix.lawsuit.benchmark;
+
+import com.matrix.lawsuit.caseservice.service.CaseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 案件编号生成基准
+ * 除完整的generateCaseNo外，单独测量日期与随机数两部分，便于定位开销来源
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaseNoBenchmark {
+
+    private CaseService caseService;
+    private MethodHandle generateCaseNo;
+
+    @Setup
+    public void setup() throws Exception {
+        caseService = new CaseService();
+        generateCaseNo = MethodHandles.lookup()
+                .unreflect(BenchmarkFixtures.accessibleMethod(CaseService.class, "generateCaseNo"));
+    }
+
+    @Benchmark
+    public String generateCaseNo() throws Throwable {
+        return (String) generateCaseNo.invoke(caseService);
+    }
+
+    @Benchmark
+    public String datePart() {
+        return LocalDateTime.now().toString().substring(0, 10).replace("-", "");
+    }
+
+    @Benchmark
+    public String randomPart() {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, 6).toUpperCase();
+    }
+}
@@ -0,0 +1,67 @@
+package com.matrix.lawsuit.benchmark;
+
+import com.matrix.lawsuit.common.core.utils.DateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期格式化与解析基准
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateUtilsBenchmark {
+
+    private LocalDate date;
+    private LocalDateTime dateTime;
+    private String dateStr;
+    private String dateTimeStr;
+
+    @Setup
+    public void setup() {
+        date = LocalDate.of(2024, 1, 15);
+        dateTime = LocalDateTime.of(2024, 1, 15, 9, 30, 15);
+        dateStr = DateUtils.formatDate(date);
+        dateTimeStr = DateUtils.formatDateTime(dateTime);
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return DateUtils.formatDate(date);
+    }
+
+    @Benchmark
+    public String formatDateTime() {
+        return DateUtils.formatDateTime(dateTime);
+    }
+
+    @Benchmark
+    public String formatDateTimeWithPattern() {
+        return DateUtils.formatDateTime(dateTime, DateUtils.YYYYMMDDHHMMSS);
+    }
+
+    @Benchmark
+    public LocalDate parseDate() {
+        return DateUtils.parseDate(dateStr);
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateTime() {
+        return DateUtils.parseDateTime(dateTimeStr);
+    }
+}
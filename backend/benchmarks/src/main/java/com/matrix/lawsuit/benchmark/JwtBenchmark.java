@@ -0,0 +1,62 @@
+package com.matrix.lawsuit.benchmark;
+
+import com.matrix.lawsuit.common.security.utils.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * JWT签发与解析基准
+ * getClaimFromToken每次调用都会完整解析并验签，等价于测量私有的getAllClaimsFromToken
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setup() {
+        // HS512要求密钥不少于512位，固定种子保证各次运行使用相同密钥
+        byte[] key = new byte[64];
+        new Random(20240101L).nextBytes(key);
+
+        jwtUtils = new JwtUtils();
+        BenchmarkFixtures.setField(jwtUtils, "secret", Base64.getEncoder().encodeToString(key));
+        BenchmarkFixtures.setField(jwtUtils, "expiration", 86400L);
+        token = jwtUtils.generateToken("mediator001", 10001L);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken("mediator001", 10001L);
+    }
+
+    @Benchmark
+    public Claims getAllClaimsFromToken() {
+        return jwtUtils.getClaimFromToken(token, Function.identity());
+    }
+
+    @Benchmark
+    public Long getUserIdFromToken() {
+        return jwtUtils.getUserIdFromToken(token);
+    }
+}
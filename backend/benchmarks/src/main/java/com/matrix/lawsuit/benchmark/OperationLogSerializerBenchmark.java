@@ -0,0 +1,98 @@
+package com.matrix.lawsuit.benchmark;
+
+import com.alibaba.fastjson.JSON;
+import com.matrix.lawsuit.caseservice.entity.Case;
+import com.matrix.lawsuit.common.core.domain.Result;
+import com.matrix.lawsuit.common.log.annotation.OperationLog;
+import com.matrix.lawsuit.common.log.serializer.OperationLogSerializer;
+import com.matrix.lawsuit.common.log.writer.OperationLogProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 操作日志参数序列化与脱敏基准
+ * legacy为切面改造前的实现（整体序列化后逐字段正则替换），用于对比OperationLogSerializer的收益
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationLogSerializerBenchmark {
+
+    /**
+     * 批量参数中的案件数量
+     */
+    @Param({"1", "100"})
+    private int batchSize;
+
+    private OperationLogSerializer serializer;
+    private Method method;
+    private OperationLog operationLog;
+    private Object[] args;
+    private Result<List<Case>> result;
+
+    @Setup
+    public void setup() throws Exception {
+        serializer = new OperationLogSerializer(new OperationLogProperties());
+        method = SampleController.class.getMethod("batchUpdate", Long.class, Map.class, List.class);
+        operationLog = method.getAnnotation(OperationLog.class);
+
+        Map<String, Object> credential = new LinkedHashMap<>();
+        credential.put("username", "mediator001");
+        credential.put("password", "Passw0rd!");
+        credential.put("token", "eyJhbGciOiJIUzUxMiJ9.payload.signature");
+
+        List<Case> cases = BenchmarkFixtures.sampleCases(batchSize);
+        args = new Object[] {10001L, credential, cases};
+        result = Result.success(cases);
+    }
+
+    @Benchmark
+    public String serializeArgs() {
+        return serializer.serializeArgs(method, operationLog, args);
+    }
+
+    @Benchmark
+    public String serializeResult() {
+        return serializer.serializeResult(method, operationLog, result);
+    }
+
+    @Benchmark
+    public String legacySerializeArgs() {
+        String requestParams = JSON.toJSONString(args);
+        for (String excludeParam : operationLog.excludeParamNames()) {
+            requestParams = requestParams.replaceAll("\"" + excludeParam + "\":\"[^\"]*\"",
+                    "\"" + excludeParam + "\":\"***\"");
+        }
+        return requestParams;
+    }
+
+    /**
+     * 被测的注解方法
+     */
+    public static class SampleController {
+
+        @OperationLog(operationType = "UPDATE", operationName = "批量更新案件",
+                excludeParamNames = {"password", "token", "debtorIdCard", "debtorPhone"})
+        public Result<Void> batchUpdate(Long operatorId, Map<String, Object> credential, List<Case> cases) {
+            return Result.success();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.matrix.lawsuit.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.matrix.lawsuit.caseservice.entity.Case;
+import com.matrix.lawsuit.common.redis.config.RedisConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis值序列化基准
+ * cache对应单体应用RedisConfig.createJsonSerializer（缓存管理器使用），该方法为私有且不在Maven工程内，这里按相同配置构造；
+ * template对应common-redis中RedisTemplate实际使用的值序列化器
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    /**
+     * 缓存值中的案件数量
+     */
+    @Param({"1", "20"})
+    private int size;
+
+    private RedisSerializer<Object> cacheSerializer;
+    private RedisSerializer<Object> templateSerializer;
+    private Object value;
+    private byte[] cacheBytes;
+    private byte[] templateBytes;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        cacheSerializer = createJsonSerializer();
+
+        // 连接工厂不启动，只用于通过模板的属性校验
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory();
+        templateSerializer = (RedisSerializer<Object>) new RedisConfig()
+                .redisTemplate(connectionFactory).getValueSerializer();
+
+        // 与缓存中的形态一致：单条为实体，多条为列表
+        List<Case> cases = BenchmarkFixtures.sampleCases(size);
+        value = size == 1 ? cases.get(0) : new ArrayList<>(cases);
+        cacheBytes = cacheSerializer.serialize(value);
+        templateBytes = templateSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] cacheSerialize() {
+        return cacheSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object cacheDeserialize() {
+        return cacheSerializer.deserialize(cacheBytes);
+    }
+
+    @Benchmark
+    public byte[] templateSerialize() {
+        return templateSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object templateDeserialize() {
+        return templateSerializer.deserialize(templateBytes);
+    }
+
+    private static Jackson2JsonRedisSerializer<Object> createJsonSerializer() {
+        Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(Object.class);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        serializer.setObjectMapper(objectMapper);
+        return serializer;
+    }
+}
@@ -0,0 +1,70 @@
+package com.matrix.lawsuit.benchmark;
+
+import com.alibaba.fastjson.JSON;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matrix.lawsuit.caseservice.entity.Case;
+import com.matrix.lawsuit.common.core.domain.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统一响应构造与JSON编码基准
+ * Jackson对应Spring MVC的响应体编码，fastjson对应日志与网关中的手工序列化
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultBenchmark {
+
+    /**
+     * 响应中的案件数量，对应单条详情与一页列表
+     */
+    @Param({"1", "20"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Case> cases;
+    private Result<List<Case>> result;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        cases = BenchmarkFixtures.sampleCases(size);
+        result = Result.success(cases);
+    }
+
+    @Benchmark
+    public Result<List<Case>> construct() {
+        return Result.success(cases);
+    }
+
+    @Benchmark
+    public Result<Void> constructFail() {
+        return Result.fail("案件不存在");
+    }
+
+    @Benchmark
+    public byte[] encodeJackson() throws Exception {
+        return objectMapper.writeValueAsBytes(result);
+    }
+
+    @Benchmark
+    public String encodeFastjson() {
+        return JSON.toJSONString(result);
+    }
+}
@@ -0,0 +1,67 @@
+package com.matrix.lawsuit.benchmark;
+
+import com.matrix.lawsuit.gateway.route.RoutePolicy;
+import com.matrix.lawsuit.gateway.route.RoutePolicyMatcher;
+import com.matrix.lawsuit.gateway.route.RoutePolicyProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 网关白名单判定基准
+ * AuthGlobalFilter.isWhiteList委托给RoutePolicyMatcher.isAuthRequired，这里直接测量匹配器
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WhiteListBenchmark {
+
+    /**
+     * 分别覆盖精确白名单、通配白名单、需认证路由和未匹配路径
+     */
+    @Param({"/user/auth/login", "/actuator/prometheus", "/case/list", "/file/upload/chunk", "/unknown/path/deep"})
+    private String path;
+
+    private RoutePolicyMatcher matcher;
+
+    @Setup
+    public void setup() {
+        // 与网关application.yml中的策略保持一致
+        RoutePolicyProperties properties = new RoutePolicyProperties();
+        properties.getRoutes().put("/case/**", policy(true, Duration.ofSeconds(10)));
+        properties.getRoutes().put("/file/**", policy(true, Duration.ofSeconds(60)));
+        properties.getRoutes().put("/file/upload/**", policy(true, Duration.ofMinutes(30)));
+        matcher = new RoutePolicyMatcher(properties);
+    }
+
+    @Benchmark
+    public boolean isWhiteList() {
+        return !matcher.isAuthRequired(path);
+    }
+
+    @Benchmark
+    public RoutePolicy getPolicy() {
+        return matcher.getPolicy(path);
+    }
+
+    private static RoutePolicy policy(boolean authRequired, Duration timeout) {
+        RoutePolicy policy = new RoutePolicy();
+        policy.setAuthRequired(authRequired);
+        policy.setTimeout(timeout);
+        return policy;
+    }
+}
@@ -0,0 +1,40 @@
+package com.matrix.lawsuit.common.log.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 性能剖析注解
+ *
+ * 标记的方法记录耗时直方图、CPU时间、线程分配字节数和返回结果规模，
+ * 超过阈值的调用生成一次现场快照（参数、结果、堆栈），可通过 /actuator/performance 查看。
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PerformanceMonitor {
+    
+    /**
+     * 监控描述
+     */
+    String description() default "";
+    
+    /**
+     * 性能阈值（毫秒）
+     */
+    long threshold() default 1000;
+    
+    /**
+     * 超过阈值时是否记录方法参数
+     */
+    boolean logParameters() default false;
+    
+    /**
+     * 超过阈值时是否记录返回结果
+     */
+    boolean logResult() default false;
+    
+    /**
+     * 超过阈值时是否记录堆栈
+     */
+    boolean captureStack() default true;
+}
@@ -1,25 +1,34 @@
 package com.matrix.lawsuit.common.log.aspect;
 
 import com.alibaba.fastjson.JSON;
-import com.matrix.lawsuit.common.core.utils.DateUtils;
 import com.matrix.lawsuit.common.log.annotation.OperationLog;
+import com.matrix.lawsuit.common.log.domain.OperationLogRecord;
+import com.matrix.lawsuit.common.log.serializer.OperationLogSerializer;
+import com.matrix.lawsuit.common.log.writer.OperationLogWriter;
+import com.matrix.lawsuit.common.security.identity.IdentityHeader;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.Method;
 
 /**
  * 操作日志切面
+ *
+ * 请求线程只组装不可变记录并交给OperationLogWriter，序列化后的记录写库由后台线程批量完成。
  */
 @Aspect
 @Component
@@ -27,6 +36,12 @@ public class OperationLogAspect {
     
     private static final Logger log = LoggerFactory.getLogger(OperationLogAspect.class);
     
+    /**
+     * common-security为可选依赖，引入时从安全上下文读取操作人
+     */
+    private static final boolean SECURITY_PRESENT = ClassUtils.isPresent(
+            "com.matrix.lawsuit.common.security.identity.IdentityHeader", OperationLogAspect.class.getClassLoader());
+    
     /**
      * 请求开始时间
      */
@@ -35,7 +50,16 @@ public class OperationLogAspect {
     /**
      * 操作日志信息
      */
-    private final ThreadLocal<Map<String, Object>> logInfo = new ThreadLocal<>();
+    private final ThreadLocal<OperationLogRecord.OperationLogRecordBuilder> logInfo = new ThreadLocal<>();
+    
+    private final OperationLogWriter operationLogWriter;
+    
+    private final OperationLogSerializer operationLogSerializer;
+    
+    public OperationLogAspect(OperationLogWriter operationLogWriter, OperationLogSerializer operationLogSerializer) {
+        this.operationLogWriter = operationLogWriter;
+        this.operationLogSerializer = operationLogSerializer;
+    }
     
     /**
      * 前置通知
@@ -49,33 +73,29 @@ public class OperationLogAspect {
         if (attributes != null) {
             HttpServletRequest request = attributes.getRequest();
             
-            Map<String, Object> logData = new HashMap<>();
-            logData.put("operationType", operationLog.operationType());
-            logData.put("operationName", operationLog.operationName());
-            logData.put("description", operationLog.description());
-            logData.put("businessType", operationLog.businessType());
-            logData.put("requestUrl", request.getRequestURL().toString());
-            logData.put("requestMethod", request.getMethod());
-            logData.put("className", joinPoint.getTarget().getClass().getName());
-            logData.put("methodName", joinPoint.getSignature().getName());
-            logData.put("userAgent", request.getHeader("User-Agent"));
-            logData.put("clientIp", getClientIp(request));
-            logData.put("operationTime", DateUtils.nowDateTimeStr());
+            OperationLogRecord.OperationLogRecordBuilder logData = OperationLogRecord.builder()
+                    .traceId(MDC.get("traceId"))
+                    .operationType(operationLog.operationType())
+                    .operationName(operationLog.operationName())
+                    .description(operationLog.description())
+                    .businessType(operationLog.businessType())
+                    .requestUrl(request.getRequestURL().toString())
+                    .requestMethod(request.getMethod())
+                    .className(joinPoint.getTarget().getClass().getName())
+                    .methodName(joinPoint.getSignature().getName())
+                    .userAgent(request.getHeader("User-Agent"))
+                    .clientIp(getClientIp(request))
+                    .operationTime(System.currentTimeMillis());
+            if (SECURITY_PRESENT) {
+                SecurityOperator.fill(logData);
+            }
             
-            // 保存请求参数
+            // 保存请求参数，脱敏和截断在序列化过程中完成
             if (operationLog.saveRequestData() && joinPoint.getArgs().length > 0) {
                 try {
-                    String requestParams = JSON.toJSONString(joinPoint.getArgs());
-                    // 过滤敏感参数
-                    if (operationLog.excludeParamNames().length > 0) {
-                        for (String excludeParam : operationLog.excludeParamNames()) {
-                            requestParams = requestParams.replaceAll("\"" + excludeParam + "\":\"[^\"]*\"", 
-                                    "\"" + excludeParam + "\":\"***\"");
-                        }
-                    }
-                    logData.put("requestParams", requestParams);
+                    logData.requestParams(operationLogSerializer.serializeArgs(method(joinPoint), operationLog, joinPoint.getArgs()));
                 } catch (Exception e) {
-                    logData.put("requestParams", "参数序列化失败: " + e.getMessage());
+                    logData.requestParams("参数序列化失败: " + e.getMessage());
                 }
             }
             
@@ -87,24 +107,24 @@ public class OperationLogAspect {
      * 返回通知
      */
     @AfterReturning(pointcut = "@annotation(operationLog)", returning = "result")
-    public void doAfterReturning(OperationLog operationLog, Object result) {
-        handleLog(operationLog, result, null);
+    public void doAfterReturning(JoinPoint joinPoint, OperationLog operationLog, Object result) {
+        handleLog(joinPoint, operationLog, result, null);
     }
     
     /**
      * 异常通知
      */
     @AfterThrowing(pointcut = "@annotation(operationLog)", throwing = "exception")
-    public void doAfterThrowing(OperationLog operationLog, Exception exception) {
-        handleLog(operationLog, null, exception);
+    public void doAfterThrowing(JoinPoint joinPoint, OperationLog operationLog, Exception exception) {
+        handleLog(joinPoint, operationLog, null, exception);
     }
     
     /**
      * 处理日志
      */
-    private void handleLog(OperationLog operationLog, Object result, Exception exception) {
+    private void handleLog(JoinPoint joinPoint, OperationLog operationLog, Object result, Exception exception) {
         try {
-            Map<String, Object> logData = logInfo.get();
+            OperationLogRecord.OperationLogRecordBuilder logData = logInfo.get();
             if (logData == null) {
                 return;
             }
@@ -112,32 +132,33 @@ public class OperationLogAspect {
             // 计算执行时间
             Long start = startTime.get();
             if (start != null) {
-                logData.put("executeTime", System.currentTimeMillis() - start);
+                logData.executeTime(System.currentTimeMillis() - start);
             }
             
             // 保存响应结果
             if (operationLog.saveResponseData() && result != null) {
                 try {
-                    logData.put("responseData", JSON.toJSONString(result));
+                    logData.responseData(operationLogSerializer.serializeResult(method(joinPoint), operationLog, result));
                 } catch (Exception e) {
-                    logData.put("responseData", "响应序列化失败: " + e.getMessage());
+                    logData.responseData("响应序列化失败: " + e.getMessage());
                 }
             }
             
             // 保存异常信息
             if (exception != null) {
-                logData.put("status", "FAIL");
-                logData.put("errorMessage", exception.getMessage());
-                logData.put("exception", exception.getClass().getName());
+                logData.success(false)
+                       .errorMessage(exception.getClass().getName() + ": " + exception.getMessage());
             } else {
-                logData.put("status", "SUCCESS");
+                logData.success(true);
             }
             
-            // 记录日志
-            log.info("操作日志: {}", JSON.toJSONString(logData));
+            OperationLogRecord record = logData.enqueuedAt(System.nanoTime()).build();
+            if (log.isDebugEnabled()) {
+                log.debug("操作日志: {}", JSON.toJSONString(record));
+            }
             
-            // 这里可以扩展保存到数据库的逻辑
-            // saveToDatabase(logData);
+            // 异步批量写入t_operation_log
+            operationLogWriter.submit(record);
             
         } catch (Exception e) {
             log.error("记录操作日志失败: {}", e.getMessage(), e);
@@ -148,6 +169,10 @@ public class OperationLogAspect {
         }
     }
     
+    private static Method method(JoinPoint joinPoint) {
+        return ((MethodSignature) joinPoint.getSignature()).getMethod();
+    }
+    
     /**
      * 获取客户端IP地址
      */
@@ -170,4 +195,23 @@ public class OperationLogAspect {
         }
         return "0:0:0:0:0:0:0:1".equals(ip) ? "127.0.0.1" : ip;
     }
+    
+    /**
+     * 从安全上下文读取操作人，仅在common-security存在时加载
+     */
+    private static final class SecurityOperator {
+        
+        static void fill(OperationLogRecord.OperationLogRecordBuilder logData) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return;
+            }
+            if (authentication.getDetails() instanceof IdentityHeader.Identity) {
+                IdentityHeader.Identity identity = (IdentityHeader.Identity) authentication.getDetails();
+                logData.operatorId(identity.getUserId()).operatorName(identity.getUsername());
+            } else if (!"anonymousUser".equals(authentication.getName())) {
+                logData.operatorName(authentication.getName());
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.matrix.lawsuit.common.log.aspect;
+
+import com.matrix.lawsuit.common.log.annotation.PerformanceMonitor;
+import com.matrix.lawsuit.common.log.performance.PerformanceProfiler;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+/**
+ * 性能剖析切面
+ */
+@Aspect
+@Component
+public class PerformanceMonitorAspect {
+    
+    private final PerformanceProfiler profiler;
+    
+    public PerformanceMonitorAspect(PerformanceProfiler profiler) {
+        this.profiler = profiler;
+    }
+    
+    @Around("@annotation(performanceMonitor)")
+    public Object around(ProceedingJoinPoint joinPoint, PerformanceMonitor performanceMonitor) throws Throwable {
+        if (!profiler.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        
+        Object target = joinPoint.getTarget();
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Class<?> targetClass = target != null ? target.getClass() : signature.getDeclaringType();
+        PerformanceProfiler.Invocation invocation = profiler.begin(targetClass, signature.getMethod(), performanceMonitor);
+        
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            profiler.end(invocation, joinPoint.getArgs(), result, failure);
+        }
+    }
+}
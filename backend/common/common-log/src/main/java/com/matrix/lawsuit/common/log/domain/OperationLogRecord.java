@@ -0,0 +1,64 @@
+package com.matrix.lawsuit.common.log.domain;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 操作日志记录（不可变），由切面在请求线程创建后交给后台写入
+ */
+@Getter
+@Builder
+public class OperationLogRecord {
+    
+    private final String traceId;
+    
+    private final String operationType;
+    
+    private final String operationName;
+    
+    private final String description;
+    
+    private final String businessType;
+    
+    private final String requestMethod;
+    
+    private final String requestUrl;
+    
+    private final String requestParams;
+    
+    private final String clientIp;
+    
+    private final String userAgent;
+    
+    /**
+     * 操作人ID，取自网关下发的身份，匿名请求为null
+     */
+    private final Long operatorId;
+    
+    private final String operatorName;
+    
+    private final String className;
+    
+    private final String methodName;
+    
+    private final String responseData;
+    
+    /**
+     * 执行耗时（毫秒）
+     */
+    private final long executeTime;
+    
+    private final boolean success;
+    
+    private final String errorMessage;
+    
+    /**
+     * 操作时间（毫秒时间戳）
+     */
+    private final long operationTime;
+    
+    /**
+     * 入队时间（纳秒），用于统计写入延迟
+     */
+    private final long enqueuedAt;
+}
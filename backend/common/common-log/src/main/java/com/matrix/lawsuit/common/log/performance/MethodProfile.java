@@ -0,0 +1,151 @@
+package com.matrix.lawsuit.common.log.performance;
+
+import com.matrix.lawsuit.common.log.annotation.PerformanceMonitor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个@PerformanceMonitor方法的计量句柄
+ */
+final class MethodProfile {
+    
+    final String name;
+    final PerformanceMonitor annotation;
+    final long thresholdNanos;
+    
+    private final Timer success;
+    private final Timer error;
+    private final Timer cpu;
+    private final DistributionSummary allocated;
+    private final DistributionSummary resultSize;
+    private final Counter captures;
+    
+    MethodProfile(MeterRegistry meterRegistry, String className, String methodName, PerformanceMonitor annotation) {
+        this.name = className + "." + methodName;
+        this.annotation = annotation;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(annotation.threshold());
+        
+        this.success = latencyTimer(meterRegistry, className, methodName, "success");
+        this.error = latencyTimer(meterRegistry, className, methodName, "error");
+        this.cpu = Timer.builder("dlmp.profile.cpu")
+                .description("方法CPU时间")
+                .tag("class", className)
+                .tag("method", methodName)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.allocated = DistributionSummary.builder("dlmp.profile.allocated")
+                .description("方法执行期间当前线程分配的字节数")
+                .baseUnit("bytes")
+                .tag("class", className)
+                .tag("method", methodName)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.resultSize = DistributionSummary.builder("dlmp.profile.result.size")
+                .description("返回结果元素数量")
+                .tag("class", className)
+                .tag("method", methodName)
+                .register(meterRegistry);
+        this.captures = Counter.builder("dlmp.profile.captures")
+                .description("超过阈值的调用次数")
+                .tag("class", className)
+                .tag("method", methodName)
+                .register(meterRegistry);
+    }
+    
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String className, String methodName, String outcome) {
+        return Timer.builder("dlmp.profile.duration")
+                .description("方法耗时")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+    
+    void record(long elapsedNanos, long cpuNanos, long allocatedBytes, long size, boolean failed) {
+        (failed ? error : success).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (cpuNanos >= 0) {
+            cpu.record(cpuNanos, TimeUnit.NANOSECONDS);
+        }
+        if (allocatedBytes >= 0) {
+            allocated.record(allocatedBytes);
+        }
+        if (!failed) {
+            resultSize.record(size);
+        }
+    }
+    
+    void onCapture() {
+        captures.increment();
+    }
+    
+    long count() {
+        return success.count() + error.count();
+    }
+    
+    double totalMillis() {
+        return success.totalTime(TimeUnit.MILLISECONDS) + error.totalTime(TimeUnit.MILLISECONDS);
+    }
+    
+    double maxMillis() {
+        return Math.max(success.max(TimeUnit.MILLISECONDS), error.max(TimeUnit.MILLISECONDS));
+    }
+    
+    double p99Millis() {
+        return percentileMillis(success, 0.99);
+    }
+    
+    double meanAllocatedBytes() {
+        return allocated.mean();
+    }
+    
+    double meanCpuMillis() {
+        return cpu.mean(TimeUnit.MILLISECONDS);
+    }
+    
+    double captureCount() {
+        return captures.count();
+    }
+    
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("method", name);
+        map.put("description", annotation.description());
+        map.put("thresholdMs", annotation.threshold());
+        map.put("count", count());
+        map.put("errors", error.count());
+        map.put("totalMs", round(totalMillis()));
+        map.put("meanMs", round(success.mean(TimeUnit.MILLISECONDS)));
+        map.put("p50Ms", round(percentileMillis(success, 0.5)));
+        map.put("p95Ms", round(percentileMillis(success, 0.95)));
+        map.put("p99Ms", round(p99Millis()));
+        map.put("maxMs", round(maxMillis()));
+        map.put("meanCpuMs", round(meanCpuMillis()));
+        map.put("meanAllocatedBytes", Math.round(meanAllocatedBytes()));
+        map.put("maxAllocatedBytes", Math.round(allocated.max()));
+        map.put("meanResultSize", round(resultSize.mean()));
+        map.put("maxResultSize", Math.round(resultSize.max()));
+        map.put("captures", Math.round(captureCount()));
+        return map;
+    }
+    
+    private static double percentileMillis(Timer timer, double percentile) {
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
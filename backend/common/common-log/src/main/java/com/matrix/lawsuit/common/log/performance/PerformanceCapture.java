@@ -0,0 +1,52 @@
+package com.matrix.lawsuit.common.log.performance;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 超阈值调用快照
+ */
+@Getter
+@Builder
+public class PerformanceCapture {
+    
+    /**
+     * 调用结束时间（毫秒）
+     */
+    private final long timestamp;
+    
+    private final String method;
+    
+    private final String description;
+    
+    private final String thread;
+    
+    private final long elapsedMillis;
+    
+    /**
+     * CPU时间（毫秒），未开启统计时为-1
+     */
+    private final long cpuMillis;
+    
+    /**
+     * 线程分配字节数，未开启统计时为-1
+     */
+    private final long allocatedBytes;
+    
+    private final long resultSize;
+    
+    private final String arguments;
+    
+    private final String result;
+    
+    private final String error;
+    
+    /**
+     * 堆栈来源：sampled为执行中超过阈值时采样，completion为调用结束时的调用方堆栈
+     */
+    private final String stackSource;
+    
+    private final List<String> stack;
+}
@@ -0,0 +1,42 @@
+package com.matrix.lawsuit.common.log.performance;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 性能剖析端点
+ * GET /actuator/performance?sort=p99|max|total|count|cpu|allocated|captures&limit=20
+ * GET /actuator/performance/{method} 查看某个方法（类名.方法名）的最近快照
+ */
+@Component
+@Endpoint(id = "performance")
+public class PerformanceEndpoint {
+    
+    private final PerformanceProfiler profiler;
+    
+    public PerformanceEndpoint(PerformanceProfiler profiler) {
+        this.profiler = profiler;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> topOffenders(@Nullable String sort, @Nullable Integer limit) {
+        int size = limit != null ? limit : 20;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sort", sort != null ? sort : "p99");
+        result.put("methods", profiler.topOffenders(sort, size));
+        result.put("recentCaptures", profiler.recentCaptures(null, size));
+        return result;
+    }
+    
+    @ReadOperation
+    public List<PerformanceCapture> captures(@Selector String method) {
+        return profiler.recentCaptures(method, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,51 @@
+package com.matrix.lawsuit.common.log.performance;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 性能剖析配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "dlmp.performance-monitor")
+public class PerformanceMonitorProperties {
+    
+    /**
+     * 是否启用@PerformanceMonitor剖析
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 是否统计线程分配字节数
+     */
+    private boolean trackAllocation = true;
+    
+    /**
+     * 是否统计线程CPU时间
+     */
+    private boolean trackCpu = true;
+    
+    /**
+     * 保留的最近超阈值快照数量
+     */
+    private int captureCapacity = 200;
+    
+    /**
+     * 快照堆栈保留的最大帧数
+     */
+    private int stackDepth = 32;
+    
+    /**
+     * 执行中调用的堆栈采样间隔；调用运行超过阈值时由采样线程抓取其当前堆栈
+     */
+    private Duration stackSampleInterval = Duration.ofMillis(100);
+    
+    /**
+     * 快照中参数、结果序列化后的字节上限
+     */
+    private int maxCaptureBytes = 4096;
+}
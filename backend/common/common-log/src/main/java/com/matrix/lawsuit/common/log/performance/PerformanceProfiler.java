@@ -0,0 +1,331 @@
+package com.matrix.lawsuit.common.log.performance;
+
+import com.matrix.lawsuit.common.core.domain.Result;
+import com.matrix.lawsuit.common.log.annotation.PerformanceMonitor;
+import com.matrix.lawsuit.common.log.serializer.OperationLogSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 性能剖析器
+ *
+ * 每次调用记录耗时、CPU时间（ThreadMXBean.getCurrentThreadCpuTime）、线程分配字节数
+ * （com.sun.management.ThreadMXBean.getCurrentThreadAllocatedBytes）和返回结果规模。
+ * CPU和分配量只统计调用线程，方法内部提交到其他线程的工作不计入。
+ *
+ * 执行中的调用登记在in-flight集合，采样线程发现运行超过阈值时抓取其当前堆栈，
+ * 因此快照里的堆栈指向实际慢的位置；调用在两次采样之间完成时退化为调用结束时的调用方堆栈。
+ */
+@Component
+public class PerformanceProfiler {
+    
+    private static final Logger log = LoggerFactory.getLogger(PerformanceProfiler.class);
+    
+    private final PerformanceMonitorProperties properties;
+    private final OperationLogSerializer serializer;
+    private final MeterRegistry meterRegistry;
+    
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private final boolean cpuSupported;
+    
+    /**
+     * 目标类 -> 方法 -> 计量句柄
+     */
+    private final ConcurrentHashMap<Class<?>, ConcurrentHashMap<Method, MethodProfile>> profiles = new ConcurrentHashMap<>();
+    
+    private final Set<Invocation> inFlight = ConcurrentHashMap.newKeySet();
+    
+    private final Deque<PerformanceCapture> captures = new ArrayDeque<>();
+    
+    private ScheduledExecutorService sampler;
+    
+    public PerformanceProfiler(PerformanceMonitorProperties properties, OperationLogSerializer serializer,
+                               ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.properties = properties;
+        this.serializer = serializer;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        
+        com.sun.management.ThreadMXBean sunBean = null;
+        if (properties.isTrackAllocation() && threadBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+            sunBean = (com.sun.management.ThreadMXBean) threadBean;
+            sunBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        this.allocationBean = sunBean;
+        
+        this.cpuSupported = properties.isTrackCpu() && threadBean.isCurrentThreadCpuTimeSupported();
+        if (cpuSupported) {
+            threadBean.setThreadCpuTimeEnabled(true);
+        }
+    }
+    
+    @PostConstruct
+    public void start() {
+        long interval = Math.max(properties.getStackSampleInterval().toMillis(), 10);
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "performance-stack-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleWithFixedDelay(this::sampleStacks, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("性能剖析已启动: 分配统计={}, CPU统计={}", allocationBean != null, cpuSupported);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+    }
+    
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+    
+    /**
+     * 获取方法的计量句柄，首次调用时注册
+     */
+    private MethodProfile profileOf(Class<?> targetClass, Method method, PerformanceMonitor annotation) {
+        ConcurrentHashMap<Method, MethodProfile> byMethod = profiles.get(targetClass);
+        if (byMethod == null) {
+            byMethod = profiles.computeIfAbsent(targetClass, k -> new ConcurrentHashMap<>());
+        }
+        MethodProfile profile = byMethod.get(method);
+        if (profile == null) {
+            profile = byMethod.computeIfAbsent(method,
+                    m -> new MethodProfile(meterRegistry, targetClass.getSimpleName(), m.getName(), annotation));
+        }
+        return profile;
+    }
+    
+    /**
+     * 调用开始，必须在调用线程上执行
+     */
+    public Invocation begin(Class<?> targetClass, Method method, PerformanceMonitor annotation) {
+        MethodProfile profile = profileOf(targetClass, method, annotation);
+        Invocation invocation = new Invocation(profile, Thread.currentThread(),
+                cpuSupported ? threadBean.getCurrentThreadCpuTime() : -1,
+                allocationBean != null ? allocationBean.getCurrentThreadAllocatedBytes() : -1);
+        if (profile.annotation.captureStack()) {
+            inFlight.add(invocation);
+        }
+        return invocation;
+    }
+    
+    /**
+     * 调用结束，必须在调用线程上执行
+     */
+    public void end(Invocation invocation, Object[] args, Object result, Throwable failure) {
+        long elapsed = System.nanoTime() - invocation.startNanos;
+        long cpu = invocation.startCpu >= 0 ? threadBean.getCurrentThreadCpuTime() - invocation.startCpu : -1;
+        long allocated = invocation.startAllocated >= 0
+                ? allocationBean.getCurrentThreadAllocatedBytes() - invocation.startAllocated : -1;
+        inFlight.remove(invocation);
+        
+        MethodProfile profile = invocation.profile;
+        long size = sizeOf(result);
+        profile.record(elapsed, cpu, allocated, size, failure != null);
+        
+        if (elapsed > profile.thresholdNanos) {
+            try {
+                capture(invocation, elapsed, cpu, allocated, size, args, result, failure);
+            } catch (Exception e) {
+                log.warn("生成性能快照失败: {}", profile.name, e);
+            }
+        }
+    }
+    
+    /**
+     * 按指定维度排序的方法列表
+     */
+    public List<Map<String, Object>> topOffenders(String sort, int limit) {
+        return profiles.values().stream()
+                .flatMap(byMethod -> byMethod.values().stream())
+                .sorted(Comparator.comparingDouble(sortKey(sort)).reversed())
+                .limit(Math.max(limit, 1))
+                .map(MethodProfile::toMap)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * 最近的超阈值快照，可按方法名过滤
+     */
+    public List<PerformanceCapture> recentCaptures(String method, int limit) {
+        List<PerformanceCapture> result = new ArrayList<>();
+        synchronized (captures) {
+            for (PerformanceCapture capture : captures) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (method == null || capture.getMethod().equals(method)) {
+                    result.add(capture);
+                }
+            }
+        }
+        return result;
+    }
+    
+    private void capture(Invocation invocation, long elapsed, long cpu, long allocated, long size,
+                         Object[] args, Object result, Throwable failure) {
+        MethodProfile profile = invocation.profile;
+        PerformanceMonitor annotation = profile.annotation;
+        profile.onCapture();
+        
+        StackTraceElement[] stack = invocation.sampledStack;
+        String stackSource = "sampled";
+        if (stack == null && annotation.captureStack()) {
+            stack = Thread.currentThread().getStackTrace();
+            stackSource = "completion";
+        }
+        
+        PerformanceCapture capture = PerformanceCapture.builder()
+                .timestamp(System.currentTimeMillis())
+                .method(profile.name)
+                .description(annotation.description())
+                .thread(invocation.thread.getName())
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .cpuMillis(cpu >= 0 ? TimeUnit.NANOSECONDS.toMillis(cpu) : -1)
+                .allocatedBytes(allocated)
+                .resultSize(size)
+                .arguments(annotation.logParameters() ? serializer.serialize(args, properties.getMaxCaptureBytes()) : null)
+                .result(annotation.logResult() && failure == null
+                        ? serializer.serialize(result, properties.getMaxCaptureBytes()) : null)
+                .error(failure != null ? failure.getClass().getName() + ": " + failure.getMessage() : null)
+                .stackSource(stack != null ? stackSource : null)
+                .stack(stack != null ? trim(stack) : null)
+                .build();
+        
+        synchronized (captures) {
+            captures.addFirst(capture);
+            while (captures.size() > properties.getCaptureCapacity()) {
+                captures.removeLast();
+            }
+        }
+        log.warn("方法执行超过阈值: {} - {}ms > {}ms, cpu={}ms, allocated={}B [{}]",
+                 profile.name, capture.getElapsedMillis(), annotation.threshold(),
+                 capture.getCpuMillis(), allocated, annotation.description());
+    }
+    
+    private void sampleStacks() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (Invocation invocation : inFlight) {
+            if (invocation.sampledStack == null && now - invocation.startNanos > invocation.profile.thresholdNanos) {
+                invocation.sampledStack = invocation.thread.getStackTrace();
+            }
+        }
+    }
+    
+    private List<String> trim(StackTraceElement[] stack) {
+        List<String> frames = new ArrayList<>();
+        for (StackTraceElement element : stack) {
+            // 跳过采样本身和AOP代理帧
+            String className = element.getClassName();
+            if (className.startsWith("java.lang.Thread") || className.startsWith(getClass().getPackageName())
+                    || className.startsWith("org.springframework.aop") || className.contains("$$")) {
+                continue;
+            }
+            frames.add(element.toString());
+            if (frames.size() >= properties.getStackDepth()) {
+                break;
+            }
+        }
+        return frames;
+    }
+    
+    private static ToDoubleFunction<MethodProfile> sortKey(String sort) {
+        if (sort == null) {
+            return MethodProfile::p99Millis;
+        }
+        switch (sort) {
+            case "max":
+                return MethodProfile::maxMillis;
+            case "total":
+                return MethodProfile::totalMillis;
+            case "count":
+                return profile -> profile.count();
+            case "cpu":
+                return MethodProfile::meanCpuMillis;
+            case "allocated":
+                return MethodProfile::meanAllocatedBytes;
+            case "captures":
+                return MethodProfile::captureCount;
+            default:
+                return MethodProfile::p99Millis;
+        }
+    }
+    
+    /**
+     * 返回结果规模：集合、数组、Map取元素数量，字符串取长度，Result取其data
+     */
+    static long sizeOf(Object result) {
+        if (result instanceof Result) {
+            result = ((Result<?>) result).getData();
+        }
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+        if (result instanceof CharSequence) {
+            return ((CharSequence) result).length();
+        }
+        if (result.getClass().isArray()) {
+            return Array.getLength(result);
+        }
+        return 1;
+    }
+    
+    /**
+     * 一次执行中的调用
+     */
+    public static final class Invocation {
+        private final MethodProfile profile;
+        private final Thread thread;
+        private final long startNanos;
+        private final long startCpu;
+        private final long startAllocated;
+        private volatile StackTraceElement[] sampledStack;
+        
+        private Invocation(MethodProfile profile, Thread thread, long startCpu, long startAllocated) {
+            this.profile = profile;
+            this.thread = thread;
+            this.startCpu = startCpu;
+            this.startAllocated = startAllocated;
+            // 最后读取时钟，不把CPU和分配计数器的开销计入耗时
+            this.startNanos = System.nanoTime();
+        }
+    }
+}
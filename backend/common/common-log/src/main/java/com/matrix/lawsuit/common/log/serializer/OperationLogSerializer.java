@@ -0,0 +1,205 @@
+package com.matrix.lawsuit.common.log.serializer;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.ValueFilter;
+import com.matrix.lawsuit.common.log.annotation.OperationLog;
+import com.matrix.lawsuit.common.log.writer.OperationLogProperties;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 操作日志参数序列化器
+ *
+ * 每个注解方法首次调用时计算脱敏字段集合并缓存，每次序列化创建一个带字节预算的ValueFilter：
+ * 序列化过程中直接把脱敏字段替换为***，集合、数组只保留前N个元素，请求/响应/文件流等不可序列化参数替换为类型名，
+ * 字符串按剩余预算就地截断，预算耗尽后其余字段不再展开，大对象不会先完整序列化再截断；
+ * 序列化结果最后再按字节上限精确截断。
+ */
+@Component
+public class OperationLogSerializer {
+    
+    private static final String MASK = "***";
+    
+    private final OperationLogProperties properties;
+    private final ConcurrentHashMap<Method, Set<String>> maskedFields = new ConcurrentHashMap<>();
+    
+    /**
+     * 全局脱敏字段
+     */
+    private final Set<String> defaultMasked;
+    
+    public OperationLogSerializer(OperationLogProperties properties) {
+        this.properties = properties;
+        this.defaultMasked = compile(new String[0]);
+    }
+    
+    /**
+     * 序列化请求参数
+     */
+    public String serializeArgs(Method method, OperationLog operationLog, Object[] args) {
+        Budget budget = new Budget(maskedFor(method, operationLog), properties.getMaxParamBytes());
+        Object[] prepared = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            prepared[i] = prepare(args[i], budget);
+        }
+        return truncate(JSON.toJSONString(prepared, budget), properties.getMaxParamBytes());
+    }
+    
+    /**
+     * 序列化响应数据
+     */
+    public String serializeResult(Method method, OperationLog operationLog, Object result) {
+        Budget budget = new Budget(maskedFor(method, operationLog), properties.getMaxResponseBytes());
+        return truncate(JSON.toJSONString(prepare(result, budget), budget), properties.getMaxResponseBytes());
+    }
+    
+    /**
+     * 按全局脱敏字段序列化任意对象，并截断到指定字节数
+     */
+    public String serialize(Object value, int maxBytes) {
+        Budget budget = new Budget(defaultMasked, maxBytes);
+        return truncate(JSON.toJSONString(prepare(value, budget), budget), maxBytes);
+    }
+    
+    private Set<String> maskedFor(Method method, OperationLog operationLog) {
+        Set<String> masked = maskedFields.get(method);
+        if (masked == null) {
+            masked = maskedFields.computeIfAbsent(method, m -> compile(operationLog.excludeParamNames()));
+        }
+        return masked;
+    }
+    
+    private Set<String> compile(String[] excludeParamNames) {
+        Set<String> masked = new HashSet<>(properties.getMaskFields());
+        masked.addAll(Arrays.asList(excludeParamNames));
+        return masked;
+    }
+    
+    /**
+     * 替换不可序列化的对象，截取过长的字符串、集合和数组
+     */
+    private Object prepare(Object value, Budget budget) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String) {
+            return budget.cut((String) value);
+        }
+        if (value instanceof ServletRequest || value instanceof ServletResponse
+                || value instanceof InputStreamSource || value instanceof InputStream
+                || value instanceof OutputStream || value instanceof BindingResult) {
+            return "[" + value.getClass().getSimpleName() + "]";
+        }
+        
+        int limit = properties.getMaxCollectionElements();
+        if (value instanceof Collection) {
+            // 元素逐个经过prepare，字符串元素同样受预算约束
+            Collection<?> collection = (Collection<?>) value;
+            List<Object> head = new ArrayList<>(Math.min(collection.size(), limit) + 1);
+            Iterator<?> iterator = collection.iterator();
+            for (int i = 0; i < limit && iterator.hasNext(); i++) {
+                head.add(prepare(iterator.next(), budget));
+            }
+            if (collection.size() > limit) {
+                head.add("...共" + collection.size() + "项");
+            }
+            return head;
+        }
+        if (value instanceof Map && ((Map<?, ?>) value).size() > limit) {
+            return "[Map，共" + ((Map<?, ?>) value).size() + "项]";
+        }
+        if (value.getClass().isArray() && !(value instanceof byte[] || value instanceof char[])) {
+            int length = Array.getLength(value);
+            List<Object> head = new ArrayList<>(Math.min(length, limit) + 1);
+            for (int i = 0; i < limit && i < length; i++) {
+                head.add(prepare(Array.get(value, i), budget));
+            }
+            if (length > limit) {
+                head.add("...共" + length + "项");
+            }
+            return head;
+        }
+        if (value instanceof byte[]) {
+            return "[byte[" + ((byte[]) value).length + "]]";
+        }
+        return value;
+    }
+    
+    /**
+     * 单次序列化的字节预算
+     *
+     * 按输出顺序累计字段名和字符串长度（字符数，不超过UTF-8字节数），超出剩余预算的字符串就地截断，
+     * 预算耗尽后其余字段返回null（不输出），嵌套对象也不再展开。预算为估算值，最终长度由truncate保证。
+     */
+    private final class Budget implements ValueFilter {
+        private final Set<String> masked;
+        private int remaining;
+        
+        Budget(Set<String> masked, int maxBytes) {
+            this.masked = masked;
+            this.remaining = maxBytes <= 0 ? Integer.MAX_VALUE : maxBytes;
+        }
+        
+        @Override
+        public Object apply(Object object, String name, Object value) {
+            if (value == null || remaining <= 0) {
+                return null;
+            }
+            remaining -= name == null ? 0 : name.length() + 4;
+            if (masked.contains(name)) {
+                return MASK;
+            }
+            return prepare(value, this);
+        }
+        
+        String cut(String value) {
+            if (value.length() <= remaining) {
+                remaining -= value.length();
+                return value;
+            }
+            int end = Math.max(remaining, 0);
+            if (end > 0 && Character.isHighSurrogate(value.charAt(end - 1))) {
+                end--;
+            }
+            remaining = 0;
+            return value.substring(0, end) + "...(已截断，共" + value.length() + "字符)";
+        }
+    }
+    
+    /**
+     * 按UTF-8字节数截断
+     */
+    private static String truncate(String json, int maxBytes) {
+        if (json == null || maxBytes <= 0 || json.length() * 3 <= maxBytes) {
+            return json;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) {
+            return json;
+        }
+        int end = maxBytes;
+        // 回退到UTF-8字符边界
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return new String(bytes, 0, end, StandardCharsets.UTF_8) + "...(已截断，共" + bytes.length + "字节)";
+    }
+}
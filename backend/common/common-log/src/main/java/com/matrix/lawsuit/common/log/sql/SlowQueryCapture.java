@@ -0,0 +1,48 @@
+package com.matrix.lawsuit.common.log.sql;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 慢SQL快照
+ */
+@Getter
+@Builder
+public class SlowQueryCapture {
+    
+    /**
+     * 执行结束时间（毫秒）
+     */
+    private final long timestamp;
+    
+    /**
+     * Mapper语句ID，如com.matrix.lawsuit.caseservice.mapper.CaseMapper.selectPage
+     */
+    private final String statementId;
+    
+    private final String fingerprintId;
+    
+    /**
+     * 实际执行的SQL，参数为占位符
+     */
+    private final String sql;
+    
+    private final String thread;
+    
+    private final long elapsedMillis;
+    
+    /**
+     * 返回或影响的行数，批量执行时为-1
+     */
+    private final long rows;
+    
+    /**
+     * 执行计划，未执行或失败时为空
+     */
+    private final List<Map<String, Object>> explain;
+    
+    private final String error;
+}
@@ -0,0 +1,44 @@
+package com.matrix.lawsuit.common.log.sql;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 慢SQL端点
+ * GET /actuator/slowqueries?sort=p99|max|total|count|slow|rows|examined&limit=20
+ * GET /actuator/slowqueries/{fingerprintId} 查看某个指纹的统计、执行计划和慢SQL快照
+ */
+@Component
+@ConditionalOnClass(name = "org.apache.ibatis.plugin.Interceptor")
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+    
+    private final SqlProfiler profiler;
+    
+    public SlowQueryEndpoint(SqlProfiler profiler) {
+        this.profiler = profiler;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> top(@Nullable String sort, @Nullable Integer limit) {
+        int size = limit != null ? limit : 20;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sort", sort != null ? sort : "p99");
+        result.put("slowThresholdMs", profiler.getProperties().getSlowThreshold().toMillis());
+        result.put("statements", profiler.top(sort, size));
+        result.put("recentSlow", profiler.recentCaptures(null, size));
+        return result;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> fingerprint(@Selector String fingerprintId) {
+        return profiler.detail(fingerprintId);
+    }
+}
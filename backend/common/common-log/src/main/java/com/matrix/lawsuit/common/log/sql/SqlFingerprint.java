@@ -0,0 +1,121 @@
+package com.matrix.lawsuit.common.log.sql;
+
+import java.util.regex.Pattern;
+
+/**
+ * SQL指纹：去掉注释和字面量、合并空白并转小写，IN列表和多行VALUES折叠为一组，
+ * 使参数不同但结构相同的语句归为一类
+ */
+public final class SqlFingerprint {
+    
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\?(?:, \\?)+\\)");
+    private static final Pattern VALUES_LIST = Pattern.compile("values (\\([^()]*\\))(?:, \\([^()]*\\))+");
+    
+    private SqlFingerprint() {
+    }
+    
+    public static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"') {
+                i = skipQuoted(sql, i, c);
+                out.append('?');
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                appendSpace(out);
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+                appendSpace(out);
+            } else if (Character.isWhitespace(c)) {
+                appendSpace(out);
+                i++;
+            } else if (Character.isDigit(c) && !isIdentifierPart(out)) {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else {
+                // 逗号、括号前后统一空格，避免格式差异产生不同指纹
+                if (c == ',' || c == ')') {
+                    trimSpace(out);
+                }
+                out.append(Character.toLowerCase(c));
+                if (c == ',') {
+                    out.append(' ');
+                } else if (c == '(') {
+                    i++;
+                    while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                        i++;
+                    }
+                    continue;
+                }
+                i++;
+            }
+        }
+        trimSpace(out);
+        // 空串或只有空白、注释的SQL
+        if (out.length() == 0) {
+            return "";
+        }
+        String text = out.charAt(0) == ' ' ? out.substring(1) : out.toString();
+        text = PLACEHOLDER_LIST.matcher(text).replaceAll("(?+)");
+        return VALUES_LIST.matcher(text).replaceAll("values $1+");
+    }
+    
+    /**
+     * 指纹的短标识，FNV-1a 64位哈希
+     */
+    public static String id(String fingerprint) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < fingerprint.length(); i++) {
+            hash ^= fingerprint.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        String hex = Long.toHexString(hash);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+    
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+    
+    private static boolean isIdentifierPart(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char last = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_' || last == '$' || last == '`';
+    }
+    
+    private static void appendSpace(StringBuilder out) {
+        if (out.length() > 0 && out.charAt(out.length() - 1) != ' ' && out.charAt(out.length() - 1) != '(') {
+            out.append(' ');
+        }
+    }
+    
+    private static void trimSpace(StringBuilder out) {
+        if (out.length() > 0 && out.charAt(out.length() - 1) == ' ') {
+            out.setLength(out.length() - 1);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.matrix.lawsuit.common.log.sql;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.ResultHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis SQL监控插件
+ *
+ * 拦截StatementHandler的query/update，此时分页等插件已改写完SQL，计时只包含执行和结果映射。
+ * BatchExecutor下StatementHandler.batch只调用addBatch，真正执行在flushStatements中且跨多条语句，
+ * 无法归到单个指纹，批量执行不在监控范围内。
+ * 每次执行都记录耗时和行数；按采样比例统计扫描行数；超过阈值的执行生成快照，并按指纹限频执行EXPLAIN（沿用原语句的参数）。
+ * 扫描行数和EXPLAIN由单个分析线程在从数据源另取的连接上执行，不占用业务连接、不计入请求耗时，队列满时丢弃。
+ * MyBatis-Plus自动配置会把容器中的Interceptor注册为插件，无需各服务单独配置。
+ */
+@Component
+@ConditionalOnClass(name = "org.apache.ibatis.plugin.Interceptor")
+@Intercepts({
+    @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+    @Signature(type = StatementHandler.class, method = "update", args = {Statement.class})
+})
+public class SqlMonitorInterceptor implements Interceptor {
+    
+    private static final Logger log = LoggerFactory.getLogger(SqlMonitorInterceptor.class);
+    
+    /**
+     * 语句摘要的累计扫描行数和执行次数，需MySQL 8.0+及performance_schema查询权限。
+     * 分析连接与业务连接不是同一线程，只能按摘要而不是按线程查询
+     */
+    private static final String DIGEST_ROWS_EXAMINED_SQL = "SELECT SUM_ROWS_EXAMINED, COUNT_STAR"
+            + " FROM performance_schema.events_statements_summary_by_digest"
+            + " WHERE SCHEMA_NAME <=> DATABASE() AND DIGEST = STATEMENT_DIGEST(?)";
+    
+    private final SqlProfiler profiler;
+    private final ObjectProvider<DataSource> dataSourceProvider;
+    
+    /** performance_schema查询失败后暂停的时间，期间改用EXPLAIN估算，到期后再试 */
+    private static final long PERFORMANCE_SCHEMA_RETRY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    
+    /** 只在分析线程上读写 */
+    private long performanceSchemaRetryAt;
+    
+    /** 指纹ID -> 上次采样时摘要的{累计扫描行数, 执行次数}，只在分析线程上读写 */
+    private final Map<String, long[]> digestTotals = new HashMap<>();
+    
+    private final ThreadPoolExecutor analyzer;
+    
+    public SqlMonitorInterceptor(SqlProfiler profiler, ObjectProvider<DataSource> dataSourceProvider) {
+        this.profiler = profiler;
+        this.dataSourceProvider = dataSourceProvider;
+        this.analyzer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(profiler.getProperties().getAnalysisQueueCapacity(), 1)), r -> {
+                    Thread thread = new Thread(r, "sql-monitor-analyzer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+    
+    @PreDestroy
+    public void stop() {
+        analyzer.shutdownNow();
+    }
+    
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (!profiler.isEnabled()) {
+            return invocation.proceed();
+        }
+        
+        long start = System.nanoTime();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            try {
+                record(invocation, result, failure, elapsed);
+            } catch (Exception e) {
+                log.debug("记录SQL监控数据失败", e);
+            }
+        }
+    }
+    
+    private void record(Invocation invocation, Object result, Throwable failure, long elapsed) {
+        StatementHandler handler = (StatementHandler) invocation.getTarget();
+        String sql = handler.getBoundSql().getSql();
+        SqlStatementProfile profile = profiler.profileOf(sql);
+        boolean slow = profiler.isSlow(elapsed);
+        boolean sampled = failure == null && profiler.sample();
+        
+        // 语句ID需要反射获取，只在采样、慢SQL或指纹首次出现时取
+        String statementId = sampled || slow || !profile.hasStatementIds() ? statementId(handler) : null;
+        profile.record(statementId, elapsed, rows(result), failure != null);
+        
+        if (!sampled && !slow) {
+            return;
+        }
+        SqlMonitorProperties properties = profiler.getProperties();
+        boolean sampleRows = sampled && !"none".equals(properties.getRowsExaminedSource());
+        boolean explain = slow && properties.isExplainEnabled() && isExplainable(profile)
+                && profile.tryAcquireExplain(properties.getExplainInterval().toMillis());
+        SlowQueryCapture.SlowQueryCaptureBuilder capture = slow
+                ? onSlow(profile, statementId, sql, elapsed, rows(result), failure) : null;
+        
+        if (capture != null && !explain) {
+            profiler.capture(capture.build());
+            capture = null;
+        }
+        if (!sampleRows && capture == null) {
+            return;
+        }
+        
+        ParameterHandler parameterHandler = handler.getParameterHandler();
+        SlowQueryCapture.SlowQueryCaptureBuilder pending = capture;
+        try {
+            analyzer.execute(() -> analyze(profile, parameterHandler, sql, sampleRows, pending));
+        } catch (RejectedExecutionException e) {
+            // 分析线程跟不上时放弃本次分析，快照照常保存
+            if (pending != null) {
+                profiler.capture(pending.build());
+            }
+        }
+    }
+    
+    private SlowQueryCapture.SlowQueryCaptureBuilder onSlow(SqlStatementProfile profile, String statementId, String sql,
+                                                            long elapsed, long rows, Throwable failure) {
+        profile.onSlow();
+        log.warn("慢SQL: {} - {}ms > {}ms, rows={}, fingerprint={}", statementId, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                 profiler.getProperties().getSlowThreshold().toMillis(), rows, profile.id);
+        return SlowQueryCapture.builder()
+                .timestamp(System.currentTimeMillis())
+                .statementId(statementId)
+                .fingerprintId(profile.id)
+                .sql(profiler.truncate(sql))
+                .thread(Thread.currentThread().getName())
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .rows(rows)
+                .error(failure != null ? failure.getClass().getName() + ": " + failure.getMessage() : null);
+    }
+    
+    /**
+     * 在分析线程上执行：capture不为null时EXPLAIN并保存快照，sampleRows为true时统计扫描行数
+     */
+    private void analyze(SqlStatementProfile profile, ParameterHandler parameterHandler, String sql,
+                         boolean sampleRows, SlowQueryCapture.SlowQueryCaptureBuilder capture) {
+        List<Map<String, Object>> plan = null;
+        DataSource dataSource = dataSourceProvider.getIfAvailable();
+        if (dataSource != null) {
+            try (Connection connection = dataSource.getConnection()) {
+                if (capture != null) {
+                    plan = explain(connection, parameterHandler, sql);
+                    profile.setLastExplain(plan);
+                }
+                if (sampleRows) {
+                    long examined = rowsExamined(connection, parameterHandler, profile, sql, plan);
+                    if (examined >= 0) {
+                        profile.recordRowsExamined(examined);
+                    }
+                }
+            } catch (SQLException e) {
+                log.debug("获取SQL分析连接失败: {}", e.getMessage());
+            }
+        }
+        if (capture != null) {
+            profiler.capture(capture.explain(plan).build());
+        }
+    }
+    
+    /**
+     * 扫描行数：优先取performance_schema中的实际值，不可用时取执行计划各表rows之和作为估算
+     */
+    private long rowsExamined(Connection connection, ParameterHandler parameterHandler, SqlStatementProfile profile,
+                              String sql, List<Map<String, Object>> plan) {
+        String source = profiler.getProperties().getRowsExaminedSource();
+        if ("performance-schema".equals(source) && System.currentTimeMillis() >= performanceSchemaRetryAt) {
+            try {
+                return digestRowsExamined(connection, profile, sql);
+            } catch (SQLException e) {
+                // 连接抖动或权限暂缺不应永久停用，退避一段时间后重试
+                performanceSchemaRetryAt = System.currentTimeMillis() + PERFORMANCE_SCHEMA_RETRY_MILLIS;
+                log.warn("performance_schema不可用，{}分钟内扫描行数改为EXPLAIN估算: {}",
+                         TimeUnit.MILLISECONDS.toMinutes(PERFORMANCE_SCHEMA_RETRY_MILLIS), e.getMessage());
+            }
+        }
+        if (!isExplainable(profile)) {
+            return -1;
+        }
+        if (plan == null) {
+            plan = explain(connection, parameterHandler, sql);
+        }
+        if (plan == null) {
+            return -1;
+        }
+        long rows = 0;
+        for (Map<String, Object> row : plan) {
+            Object value = row.get("rows");
+            if (value instanceof Number) {
+                rows += ((Number) value).longValue();
+            }
+        }
+        return rows;
+    }
+    
+    /**
+     * 两次采样之间该摘要每次执行的平均扫描行数；首次采样或摘要表被重置时取累计平均值
+     */
+    private long digestRowsExamined(Connection connection, SqlStatementProfile profile, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(DIGEST_ROWS_EXAMINED_SQL)) {
+            statement.setString(1, sql);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    return -1;
+                }
+                long sum = rs.getLong(1);
+                long count = rs.getLong(2);
+                long[] last = digestTotals.put(profile.id, new long[] {sum, count});
+                if (last != null && count > last[1] && sum >= last[0]) {
+                    return (sum - last[0]) / (count - last[1]);
+                }
+                if (last != null && count == last[1]) {
+                    return -1;
+                }
+                return count > 0 ? sum / count : -1;
+            }
+        }
+    }
+    
+    /**
+     * 在分析连接上执行EXPLAIN，参数由原语句的ParameterHandler设置
+     */
+    private List<Map<String, Object>> explain(Connection connection, ParameterHandler parameterHandler, String sql) {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            parameterHandler.setParameters(statement);
+            try (ResultSet rs = statement.executeQuery()) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                List<Map<String, Object>> plan = new ArrayList<>();
+                while (rs.next()) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        row.put(metaData.getColumnLabel(i), rs.getObject(i));
+                    }
+                    plan.add(row);
+                }
+                return plan;
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("EXPLAIN失败: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    private static boolean isExplainable(SqlStatementProfile profile) {
+        String fingerprint = profile.fingerprint;
+        return fingerprint.startsWith("select") || fingerprint.startsWith("update")
+                || fingerprint.startsWith("delete") || fingerprint.startsWith("with");
+    }
+    
+    private static long rows(Object result) {
+        if (result instanceof List) {
+            return ((List<?>) result).size();
+        }
+        if (result instanceof Integer) {
+            return (Integer) result;
+        }
+        return -1;
+    }
+    
+    /**
+     * Mapper语句ID，StatementHandler可能已被其他插件代理，先取出原始对象
+     */
+    private static String statementId(Object handler) {
+        Object target = handler;
+        while (Proxy.isProxyClass(target.getClass())) {
+            target = SystemMetaObject.forObject(Proxy.getInvocationHandler(target)).getValue("target");
+        }
+        MetaObject metaObject = SystemMetaObject.forObject(target);
+        if (metaObject.hasGetter("delegate")) {
+            metaObject = SystemMetaObject.forObject(metaObject.getValue("delegate"));
+        }
+        Object mappedStatement = metaObject.getValue("mappedStatement");
+        return mappedStatement instanceof MappedStatement ? ((MappedStatement) mappedStatement).getId() : "unknown";
+    }
+}
@@ -0,0 +1,67 @@
+package com.matrix.lawsuit.common.log.sql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * SQL监控配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "dlmp.sql-monitor")
+public class SqlMonitorProperties {
+    
+    /**
+     * 是否启用MyBatis SQL监控
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 慢SQL阈值
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+    
+    /**
+     * 统计扫描行数的采样比例，每次采样在独立连接上异步执行一次查询
+     */
+    private double sampleRate = 0.01;
+    
+    /**
+     * 扫描行数来源：performance-schema为按语句摘要汇总的实际值（两次采样间每次执行的平均值），
+     * explain为执行计划估算值，none为不统计；performance_schema不可用时暂时降级为explain，5分钟后重试
+     */
+    private String rowsExaminedSource = "performance-schema";
+    
+    /**
+     * 扫描行数和EXPLAIN分析任务的队列容量，分析线程跟不上时丢弃新任务，不阻塞业务线程
+     */
+    private int analysisQueueCapacity = 64;
+    
+    /**
+     * 慢SQL是否自动执行EXPLAIN
+     */
+    private boolean explainEnabled = true;
+    
+    /**
+     * 同一指纹两次EXPLAIN的最小间隔
+     */
+    private Duration explainInterval = Duration.ofMinutes(10);
+    
+    /**
+     * 最多跟踪的指纹数量，超出后归入other，避免拼接SQL导致指标无限增长
+     */
+    private int maxFingerprints = 500;
+    
+    /**
+     * 保留的最近慢SQL快照数量
+     */
+    private int captureCapacity = 100;
+    
+    /**
+     * 快照中SQL文本的最大长度
+     */
+    private int maxSqlLength = 2000;
+}
@@ -0,0 +1,172 @@
+package com.matrix.lawsuit.common.log.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * SQL剖析器：按指纹汇总耗时、行数和扫描行数，保留最近的慢SQL快照
+ *
+ * 原始SQL到指纹的转换结果会缓存，MyBatis语句的SQL文本基本固定，稳态下每次执行只有一次哈希查找。
+ */
+@Component
+@ConditionalOnClass(name = "org.apache.ibatis.plugin.Interceptor")
+public class SqlProfiler {
+    
+    /** 超过指纹上限后新指纹归入该项 */
+    static final String OTHER = "other";
+    
+    private final SqlMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    private final ConcurrentHashMap<String, SqlStatementProfile> profiles = new ConcurrentHashMap<>();
+    
+    /** 原始SQL -> 指纹计量句柄 */
+    private final ConcurrentHashMap<String, SqlStatementProfile> sqlCache = new ConcurrentHashMap<>();
+    
+    private final Deque<SlowQueryCapture> captures = new ArrayDeque<>();
+    
+    public SqlProfiler(SqlMonitorProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+    
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+    
+    SqlMonitorProperties getProperties() {
+        return properties;
+    }
+    
+    /**
+     * 获取SQL对应的计量句柄，首次出现时计算指纹
+     */
+    SqlStatementProfile profileOf(String sql) {
+        SqlStatementProfile profile = sqlCache.get(sql);
+        if (profile != null) {
+            return profile;
+        }
+        String fingerprint = SqlFingerprint.normalize(sql);
+        String id = SqlFingerprint.id(fingerprint);
+        profile = profiles.get(id);
+        if (profile == null) {
+            if (profiles.size() >= properties.getMaxFingerprints()) {
+                id = OTHER;
+                fingerprint = OTHER;
+            }
+            String profileFingerprint = fingerprint;
+            profile = profiles.computeIfAbsent(id, key -> new SqlStatementProfile(meterRegistry, key,
+                    truncate(profileFingerprint)));
+        }
+        // 拼接字面量的SQL文本各不相同，缓存满后不再缓存，只按指纹归并
+        if (sqlCache.size() < properties.getMaxFingerprints() * 4) {
+            sqlCache.put(sql, profile);
+        }
+        return profile;
+    }
+    
+    /**
+     * 是否对本次执行采样扫描行数
+     */
+    boolean sample() {
+        double rate = properties.getSampleRate();
+        return rate > 0 && (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate);
+    }
+    
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos > properties.getSlowThreshold().toNanos();
+    }
+    
+    void capture(SlowQueryCapture capture) {
+        synchronized (captures) {
+            captures.addFirst(capture);
+            while (captures.size() > properties.getCaptureCapacity()) {
+                captures.removeLast();
+            }
+        }
+    }
+    
+    /**
+     * 按指定维度排序的指纹列表
+     */
+    public List<Map<String, Object>> top(String sort, int limit) {
+        return profiles.values().stream()
+                .sorted(Comparator.comparingDouble(sortKey(sort)).reversed())
+                .limit(Math.max(limit, 1))
+                .map(SqlStatementProfile::toMap)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * 单个指纹的统计、最近一次执行计划和慢SQL快照
+     */
+    public Map<String, Object> detail(String fingerprintId) {
+        SqlStatementProfile profile = profiles.get(fingerprintId);
+        if (profile == null) {
+            return null;
+        }
+        Map<String, Object> detail = profile.toMap();
+        detail.put("explain", profile.getLastExplain());
+        detail.put("captures", recentCaptures(fingerprintId, Integer.MAX_VALUE));
+        return detail;
+    }
+    
+    /**
+     * 最近的慢SQL快照，可按指纹过滤
+     */
+    public List<SlowQueryCapture> recentCaptures(String fingerprintId, int limit) {
+        List<SlowQueryCapture> result = new ArrayList<>();
+        synchronized (captures) {
+            for (SlowQueryCapture capture : captures) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (fingerprintId == null || capture.getFingerprintId().equals(fingerprintId)) {
+                    result.add(capture);
+                }
+            }
+        }
+        return result;
+    }
+    
+    String truncate(String sql) {
+        int max = properties.getMaxSqlLength();
+        return sql.length() <= max ? sql : sql.substring(0, max) + "...";
+    }
+    
+    private static ToDoubleFunction<SqlStatementProfile> sortKey(String sort) {
+        if (sort == null) {
+            return SqlStatementProfile::p99Millis;
+        }
+        switch (sort) {
+            case "max":
+                return SqlStatementProfile::maxMillis;
+            case "total":
+                return SqlStatementProfile::totalMillis;
+            case "count":
+                return profile -> profile.count();
+            case "slow":
+                return SqlStatementProfile::slowCount;
+            case "rows":
+                return SqlStatementProfile::meanRows;
+            case "examined":
+                return SqlStatementProfile::meanRowsExamined;
+            default:
+                return SqlStatementProfile::p99Millis;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.matrix.lawsuit.common.log.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单个SQL指纹的计量句柄
+ */
+final class SqlStatementProfile {
+    
+    /** 单个指纹记录的Mapper语句ID上限 */
+    private static final int MAX_STATEMENTS = 8;
+    
+    final String id;
+    final String fingerprint;
+    
+    private final Set<String> statementIds = ConcurrentHashMap.newKeySet();
+    private final Timer success;
+    private final Timer error;
+    private final DistributionSummary rows;
+    private final DistributionSummary rowsExamined;
+    private final Counter slow;
+    
+    /** 上次EXPLAIN的时间（毫秒），用于限制频率 */
+    private final AtomicLong lastExplainMillis = new AtomicLong();
+    private volatile List<Map<String, Object>> lastExplain;
+    
+    SqlStatementProfile(MeterRegistry meterRegistry, String id, String fingerprint) {
+        this.id = id;
+        this.fingerprint = fingerprint;
+        this.success = latencyTimer(meterRegistry, id, "success");
+        this.error = latencyTimer(meterRegistry, id, "error");
+        this.rows = DistributionSummary.builder("dlmp.sql.rows")
+                .description("SQL返回或影响的行数")
+                .tag("fingerprint", id)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rowsExamined = DistributionSummary.builder("dlmp.sql.rows.examined")
+                .description("SQL扫描行数（采样）")
+                .tag("fingerprint", id)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.slow = Counter.builder("dlmp.sql.slow")
+                .description("超过慢SQL阈值的执行次数")
+                .tag("fingerprint", id)
+                .register(meterRegistry);
+    }
+    
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String id, String outcome) {
+        return Timer.builder("dlmp.sql.duration")
+                .description("SQL执行耗时")
+                .tag("fingerprint", id)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+    
+    void record(String statementId, long elapsedNanos, long rowCount, boolean failed) {
+        if (statementId != null && statementIds.size() < MAX_STATEMENTS) {
+            statementIds.add(statementId);
+        }
+        (failed ? error : success).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (rowCount >= 0) {
+            rows.record(rowCount);
+        }
+    }
+    
+    boolean hasStatementIds() {
+        return !statementIds.isEmpty();
+    }
+    
+    void recordRowsExamined(long count) {
+        rowsExamined.record(count);
+    }
+    
+    void onSlow() {
+        slow.increment();
+    }
+    
+    /**
+     * 距上次EXPLAIN超过间隔时占用本次机会
+     */
+    boolean tryAcquireExplain(long intervalMillis) {
+        long now = System.currentTimeMillis();
+        long last = lastExplainMillis.get();
+        return now - last >= intervalMillis && lastExplainMillis.compareAndSet(last, now);
+    }
+    
+    void setLastExplain(List<Map<String, Object>> explain) {
+        this.lastExplain = explain;
+    }
+    
+    List<Map<String, Object>> getLastExplain() {
+        return lastExplain;
+    }
+    
+    long count() {
+        return success.count() + error.count();
+    }
+    
+    double totalMillis() {
+        return success.totalTime(TimeUnit.MILLISECONDS) + error.totalTime(TimeUnit.MILLISECONDS);
+    }
+    
+    double maxMillis() {
+        return Math.max(success.max(TimeUnit.MILLISECONDS), error.max(TimeUnit.MILLISECONDS));
+    }
+    
+    double p99Millis() {
+        return percentile(success.takeSnapshot().percentileValues(), 0.99, true);
+    }
+    
+    double meanRows() {
+        return rows.mean();
+    }
+    
+    double meanRowsExamined() {
+        return rowsExamined.mean();
+    }
+    
+    double slowCount() {
+        return slow.count();
+    }
+    
+    Map<String, Object> toMap() {
+        ValueAtPercentile[] latency = success.takeSnapshot().percentileValues();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("fingerprintId", id);
+        map.put("fingerprint", fingerprint);
+        map.put("statements", statementIds);
+        map.put("count", count());
+        map.put("errors", error.count());
+        map.put("slow", Math.round(slowCount()));
+        map.put("totalMs", round(totalMillis()));
+        map.put("meanMs", round(success.mean(TimeUnit.MILLISECONDS)));
+        map.put("p50Ms", round(percentile(latency, 0.5, true)));
+        map.put("p95Ms", round(percentile(latency, 0.95, true)));
+        map.put("p99Ms", round(percentile(latency, 0.99, true)));
+        map.put("maxMs", round(maxMillis()));
+        map.put("meanRows", round(meanRows()));
+        map.put("maxRows", Math.round(rows.max()));
+        map.put("rowsExaminedSamples", rowsExamined.count());
+        map.put("meanRowsExamined", round(meanRowsExamined()));
+        map.put("p99RowsExamined", Math.round(percentile(rowsExamined.takeSnapshot().percentileValues(), 0.99, false)));
+        return map;
+    }
+    
+    private static double percentile(ValueAtPercentile[] values, double percentile, boolean millis) {
+        for (ValueAtPercentile value : values) {
+            if (value.percentile() == percentile) {
+                return millis ? value.value(TimeUnit.MILLISECONDS) : value.value();
+            }
+        }
+        return 0;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,79 @@
+package com.matrix.lawsuit.common.log.writer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 操作日志持久化配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "dlmp.operation-log")
+public class OperationLogProperties {
+    
+    /**
+     * 是否写入数据库，关闭时每条记录以INFO级别输出到日志
+     */
+    private boolean persistent = true;
+    
+    /**
+     * 目标表，操作日志在log_db中，与业务库同一实例时使用库名限定
+     */
+    private String table = "log_db.t_operation_log";
+    
+    /**
+     * 队列容量，SPILL策略的溢出队列容量相同
+     */
+    private int queueCapacity = 10000;
+    
+    /**
+     * 每批写入条数
+     */
+    private int batchSize = 200;
+    
+    /**
+     * 不足一批时的最长等待时间
+     */
+    private Duration flushInterval = Duration.ofMillis(500);
+    
+    /**
+     * 队列满时的处理策略
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.SPILL;
+    
+    /**
+     * BLOCK策略的最长等待时间
+     */
+    private Duration blockTimeout = Duration.ofMillis(200);
+    
+    /**
+     * 溢出文件目录，队列满（SPILL策略）或写库失败时写入，每行一条JSON
+     */
+    private String spillDirectory = "logs/operation-log-spill";
+    
+    /**
+     * 全局脱敏字段，与注解的excludeParamNames合并
+     */
+    private List<String> maskFields = new ArrayList<>(Arrays.asList("password", "oldPassword", "newPassword", "token"));
+    
+    /**
+     * 请求参数序列化后的字节上限，超出部分截断
+     */
+    private int maxParamBytes = 8192;
+    
+    /**
+     * 响应数据序列化后的字节上限
+     */
+    private int maxResponseBytes = 4096;
+    
+    /**
+     * 集合、数组只序列化前N个元素，避免批量导入时在请求线程序列化整个列表
+     */
+    private int maxCollectionElements = 20;
+}
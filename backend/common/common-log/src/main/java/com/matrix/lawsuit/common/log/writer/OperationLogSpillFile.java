@@ -0,0 +1,69 @@
+package com.matrix.lawsuit.common.log.writer;
+
+import com.alibaba.fastjson.JSON;
+import com.matrix.lawsuit.common.log.domain.OperationLogRecord;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+
+/**
+ * 操作日志溢出文件，按日滚动，每行一条JSON，供事后补录
+ */
+public class OperationLogSpillFile {
+    
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    
+    private final Path directory;
+    
+    private LocalDate currentDate;
+    private BufferedWriter writer;
+    
+    public OperationLogSpillFile(String directory) {
+        this.directory = Paths.get(directory);
+    }
+    
+    /**
+     * 追加记录，只由后台写入线程和溢出线程调用，请求线程不直接写文件
+     */
+    public synchronized void append(Collection<OperationLogRecord> records) throws IOException {
+        BufferedWriter out = writer();
+        for (OperationLogRecord record : records) {
+            out.write(JSON.toJSONString(record));
+            out.newLine();
+        }
+        out.flush();
+    }
+    
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // 关闭时忽略
+            }
+            writer = null;
+        }
+    }
+    
+    private BufferedWriter writer() throws IOException {
+        LocalDate today = LocalDate.now();
+        if (writer != null && today.equals(currentDate)) {
+            return writer;
+        }
+        close();
+        Files.createDirectories(directory);
+        Path file = directory.resolve("operation-log-" + FILE_DATE.format(today) + ".jsonl");
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                                         StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        currentDate = today;
+        return writer;
+    }
+}
@@ -0,0 +1,300 @@
+package com.matrix.lawsuit.common.log.writer;
+
+import com.alibaba.fastjson.JSON;
+import com.matrix.lawsuit.common.log.domain.OperationLogRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 操作日志异步批量写入器
+ *
+ * 切面在请求线程只把不可变记录放入有界队列；后台单线程每满batch-size条或每隔flush-interval
+ * 以一条多行INSERT写入t_operation_log。队列满时按overflow-policy阻塞、丢弃或转入溢出队列，
+ * 溢出队列由独立线程写入溢出文件，请求线程不做文件IO；写库失败的批次同样写入溢出文件，避免审计记录丢失。
+ * 未配置数据源或persistent=false时，每条记录以INFO级别输出到日志。
+ */
+@Component
+public class OperationLogWriter {
+    
+    private static final Logger log = LoggerFactory.getLogger(OperationLogWriter.class);
+    
+    private static final String COLUMNS = "(trace_id, operation_type, operation_name, operation_desc, business_type, "
+            + "request_method, request_url, request_params, request_ip, user_agent, operator_id, operator_name, "
+            + "response_body, response_time, operation_result, error_message, operation_time)";
+    
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final OperationLogProperties properties;
+    private final ObjectProvider<DataSource> dataSourceProvider;
+    private final BlockingQueue<OperationLogRecord> queue;
+    private final BlockingQueue<OperationLogRecord> spillQueue;
+    private final OperationLogSpillFile spillFile;
+    
+    private final Counter enqueued;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter failed;
+    private final Timer lag;
+    
+    private JdbcTemplate jdbcTemplate;
+    private String fullBatchSql;
+    private Thread worker;
+    private Thread spillWorker;
+    private volatile boolean running;
+    
+    public OperationLogWriter(OperationLogProperties properties, ObjectProvider<DataSource> dataSourceProvider,
+                              ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.properties = properties;
+        this.dataSourceProvider = dataSourceProvider;
+        this.queue = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+        this.spillQueue = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+        this.spillFile = new OperationLogSpillFile(properties.getSpillDirectory());
+        
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        this.enqueued = outcomeCounter(meterRegistry, "enqueued");
+        this.written = outcomeCounter(meterRegistry, "written");
+        this.dropped = outcomeCounter(meterRegistry, "dropped");
+        this.spilled = outcomeCounter(meterRegistry, "spilled");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        this.lag = Timer.builder("dlmp.operation.log.lag")
+                .description("操作日志从入队到写入完成的延迟")
+                .register(meterRegistry);
+        Gauge.builder("dlmp.operation.log.queue.depth", queue, BlockingQueue::size)
+                .description("操作日志队列深度")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        DataSource dataSource = properties.isPersistent() ? dataSourceProvider.getIfAvailable() : null;
+        if (dataSource == null) {
+            log.info("操作日志未配置入库，以INFO级别输出到日志");
+            return;
+        }
+        if (!properties.getTable().matches("[A-Za-z0-9_.]+")) {
+            throw new IllegalArgumentException("操作日志表名不合法: " + properties.getTable());
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.fullBatchSql = buildInsertSql(properties.getBatchSize());
+        this.running = true;
+        this.worker = new Thread(this::drainLoop, "operation-log-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+        this.spillWorker = new Thread(this::spillLoop, "operation-log-spill");
+        this.spillWorker.setDaemon(true);
+        this.spillWorker.start();
+        log.info("操作日志异步写入已启动: table={}, queueCapacity={}, batchSize={}, overflowPolicy={}",
+                 properties.getTable(), properties.getQueueCapacity(), properties.getBatchSize(),
+                 properties.getOverflowPolicy());
+    }
+    
+    /**
+     * 提交记录，未入库（未配置数据源、persistent=false或已停机）时输出到日志
+     */
+    public void submit(OperationLogRecord record) {
+        if (!running) {
+            log.info("操作日志: {}", JSON.toJSONString(record));
+            return;
+        }
+        if (queue.offer(record)) {
+            enqueued.increment();
+            return;
+        }
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK:
+                try {
+                    if (queue.offer(record, properties.getBlockTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                        enqueued.increment();
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                dropped.increment();
+                break;
+            case SPILL:
+                // 只入溢出队列，文件写入由溢出线程完成
+                if (!spillQueue.offer(record)) {
+                    dropped.increment();
+                }
+                break;
+            default:
+                dropped.increment();
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        spillWorker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+            spillWorker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        spillFile.close();
+    }
+    
+    private void drainLoop() {
+        int batchSize = properties.getBatchSize();
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        List<OperationLogRecord> batch = new ArrayList<>(batchSize);
+        
+        while (running) {
+            try {
+                OperationLogRecord first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    OperationLogRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                // 停机：退出循环后写完剩余记录
+                break;
+            }
+        }
+        
+        queue.drainTo(batch);
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            flush(new ArrayList<>(batch.subList(from, Math.min(batch.size(), from + batchSize))));
+        }
+    }
+    
+    private void spillLoop() {
+        int batchSize = properties.getBatchSize();
+        List<OperationLogRecord> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(spillQueue.take());
+                spillQueue.drainTo(batch, batchSize - 1);
+                spill(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        spillQueue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            spill(batch);
+        }
+    }
+    
+    private void flush(List<OperationLogRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            String sql = batch.size() == properties.getBatchSize() ? fullBatchSql : buildInsertSql(batch.size());
+            jdbcTemplate.update(sql, ps -> bind(ps, batch));
+            written.increment(batch.size());
+            long now = System.nanoTime();
+            lag.record(now - batch.get(0).getEnqueuedAt(), TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.error("操作日志批量写入失败，转存溢出文件: count={}", batch.size(), e);
+            spill(batch);
+        } finally {
+            batch.clear();
+        }
+    }
+    
+    private void spill(List<OperationLogRecord> records) {
+        try {
+            spillFile.append(records);
+            spilled.increment(records.size());
+        } catch (Exception e) {
+            dropped.increment(records.size());
+            log.error("操作日志写入溢出文件失败: count={}", records.size(), e);
+        }
+    }
+    
+    private String buildInsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(64 + COLUMNS.length() + rows * (ROW_PLACEHOLDER.length() + 1));
+        sql.append("INSERT INTO ").append(properties.getTable()).append(' ').append(COLUMNS).append(" VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append(ROW_PLACEHOLDER);
+        }
+        return sql.toString();
+    }
+    
+    private static void bind(PreparedStatement ps, List<OperationLogRecord> batch) throws SQLException {
+        int index = 1;
+        for (OperationLogRecord record : batch) {
+            ps.setString(index++, truncate(record.getTraceId(), 64));
+            ps.setString(index++, truncate(nullToEmpty(record.getOperationType()), 50));
+            ps.setString(index++, truncate(nullToEmpty(record.getOperationName()), 200));
+            ps.setString(index++, truncate(record.getDescription(), 500));
+            ps.setString(index++, truncate(record.getBusinessType(), 50));
+            ps.setString(index++, truncate(record.getRequestMethod(), 10));
+            ps.setString(index++, truncate(record.getRequestUrl(), 500));
+            ps.setString(index++, record.getRequestParams());
+            ps.setString(index++, truncate(record.getClientIp(), 50));
+            ps.setString(index++, truncate(record.getUserAgent(), 500));
+            ps.setObject(index++, record.getOperatorId(), Types.BIGINT);
+            ps.setString(index++, truncate(record.getOperatorName(), 100));
+            ps.setString(index++, record.getResponseData());
+            ps.setLong(index++, record.getExecuteTime());
+            ps.setInt(index++, record.isSuccess() ? 1 : 0);
+            ps.setString(index++, record.getErrorMessage());
+            ps.setTimestamp(index++, new Timestamp(record.getOperationTime()));
+        }
+    }
+    
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+    
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+    
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("dlmp.operation.log.records")
+                .description("操作日志记录数")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,13 @@
+package com.matrix.lawsuit.common.log.writer;
+
+/**
+ * 操作日志队列满时的处理策略
+ */
+public enum OverflowPolicy {
+    /** 阻塞请求线程直到有空位（最多等待block-timeout，超时后丢弃） */
+    BLOCK,
+    /** 直接丢弃并计数 */
+    DROP,
+    /** 转入溢出队列，由后台线程写入本地溢出文件；溢出队列也满时丢弃 */
+    SPILL
+}
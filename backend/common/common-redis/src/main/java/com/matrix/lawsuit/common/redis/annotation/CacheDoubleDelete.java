@@ -0,0 +1,25 @@
+package com.matrix.lawsuit.common.redis.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 缓存延迟双删注解
+ *
+ * 标注在写数据库的方法上：方法执行前删除一次缓存，事务提交后再删除一次，
+ * 并在延迟时间后进行第二次删除，清除并发读在写入期间回填的旧数据。
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheDoubleDelete {
+    
+    /**
+     * 缓存key，支持SpEL表达式，如 'dlmp:case:info:' + #id
+     */
+    String[] keys();
+    
+    /**
+     * 延迟删除时间（毫秒），小于0时使用全局配置 dlmp.cache.consistency.delay
+     */
+    long delay() default -1;
+}
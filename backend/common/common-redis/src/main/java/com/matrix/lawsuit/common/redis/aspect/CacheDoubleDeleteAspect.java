@@ -0,0 +1,110 @@
+package com.matrix.lawsuit.common.redis.aspect;
+
+import com.matrix.lawsuit.common.redis.annotation.CacheDoubleDelete;
+import com.matrix.lawsuit.common.redis.consistency.CacheInvalidator;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 缓存延迟双删切面
+ *
+ * 优先级高于@Transactional（事务通知默认LOWEST_PRECEDENCE），在事务之外执行：第一次删除发生在开启事务之前；
+ * 方法自身开启的事务在proceed返回时已提交，第二次删除随即执行；调用方已有外层事务时登记到外层提交之后；
+ * 抛出异常（含回滚）时不执行第二次删除。
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheDoubleDeleteAspect {
+    
+    private static final Logger log = LoggerFactory.getLogger(CacheDoubleDeleteAspect.class);
+    
+    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer nameDiscoverer = new DefaultParameterNameDiscoverer();
+    
+    /**
+     * 已解析的key表达式
+     */
+    private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>();
+    
+    /**
+     * 已检查过参数名的方法
+     */
+    private final Map<Method, Boolean> parameterNamesChecked = new ConcurrentHashMap<>();
+    
+    private final CacheInvalidator cacheInvalidator;
+    
+    public CacheDoubleDeleteAspect(CacheInvalidator cacheInvalidator) {
+        this.cacheInvalidator = cacheInvalidator;
+    }
+    
+    @Around("@annotation(cacheDoubleDelete)")
+    public Object around(ProceedingJoinPoint joinPoint, CacheDoubleDelete cacheDoubleDelete) throws Throwable {
+        List<String> keys = resolveKeys(joinPoint, cacheDoubleDelete);
+        if (keys.isEmpty()) {
+            return joinPoint.proceed();
+        }
+        
+        // 第一次删除：写库前
+        cacheInvalidator.delete(keys);
+        
+        Object result = joinPoint.proceed();
+        
+        // 第二次删除：事务提交后立即删除并登记延迟删除，回滚时不删除
+        cacheInvalidator.deleteAfterCommit(keys, cacheDoubleDelete.delay());
+        return result;
+    }
+    
+    private List<String> resolveKeys(ProceedingJoinPoint joinPoint, CacheDoubleDelete cacheDoubleDelete) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        checkParameterNames(method);
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
+                joinPoint.getTarget(), method, joinPoint.getArgs(), nameDiscoverer);
+        
+        List<String> keys = new ArrayList<>(cacheDoubleDelete.keys().length);
+        for (String keyExpression : cacheDoubleDelete.keys()) {
+            try {
+                Object key = expressionCache.computeIfAbsent(keyExpression, parser::parseExpression).getValue(context);
+                if (key != null) {
+                    keys.add(key.toString());
+                }
+            } catch (Exception e) {
+                // key解析失败不影响业务写入
+                log.error("缓存key表达式解析失败: method={}, expression={}", method.getName(), keyExpression, e);
+            }
+        }
+        return keys;
+    }
+    
+    /**
+     * 未以-parameters编译时#参数名解析为null，key会变成"xxx:null"而真正的缓存永远不被删除；每个方法报告一次
+     */
+    private void checkParameterNames(Method method) {
+        if (method.getParameterCount() == 0 || parameterNamesChecked.putIfAbsent(method, Boolean.TRUE) != null) {
+            return;
+        }
+        if (nameDiscoverer.getParameterNames(method) == null) {
+            log.error("无法获取方法参数名，缓存key中的#参数名将解析为null: method={}，请以-parameters编译或改用#p0/#a0",
+                      method.toGenericString());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.matrix.lawsuit.common.redis.consistency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存一致性配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "dlmp.cache.consistency")
+public class CacheConsistencyProperties {
+    
+    /**
+     * 延迟双删的默认延迟时间（毫秒），应大于一次读库并回填缓存的耗时
+     */
+    private long delay = 500;
+    
+    /**
+     * 删除失败时的最大重试次数
+     */
+    private int maxRetries = 3;
+    
+    /**
+     * 时间轮刻度（毫秒）
+     */
+    private long tickMillis = 50;
+    
+    /**
+     * Binlog失效配置
+     */
+    private Binlog binlog = new Binlog();
+    
+    @Data
+    public static class Binlog {
+        
+        /**
+         * 是否启用Binlog订阅失效，用于覆盖绕过服务层的写入（脚本、运维SQL、其他系统）
+         */
+        private boolean enabled = false;
+        
+        /**
+         * Canal投递扁平消息（flatMessage）的主题
+         */
+        private String topic = "dlmp_canal_binlog";
+        
+        /**
+         * 表名到缓存key模板的映射，模板中 {列名} 替换为行数据，如 t_case: [dlmp:case:info:{id}]
+         */
+        private Map<String, List<String>> tables = new HashMap<>();
+    }
+}
@@ -0,0 +1,123 @@
+package com.matrix.lawsuit.common.redis.consistency;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 缓存失效执行器
+ *
+ * 负责Cache Aside模式下的延迟双删：事务提交后立即删除一次，再通过时间轮在延迟时间后删除第二次。
+ * 时间轮为单线程，大量延迟任务只占用O(1)调度开销；删除失败时按指数退避重试。
+ */
+@Component
+public class CacheInvalidator {
+    
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidator.class);
+    
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CacheConsistencyProperties properties;
+    private final Timer timer;
+    
+    private final AtomicLong deletedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    
+    public CacheInvalidator(RedisTemplate<String, Object> redisTemplate, CacheConsistencyProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.timer = new HashedWheelTimer(r -> {
+            Thread thread = new Thread(r, "cache-double-delete");
+            thread.setDaemon(true);
+            return thread;
+        }, properties.getTickMillis(), TimeUnit.MILLISECONDS, 512);
+    }
+    
+    /**
+     * 立即删除缓存
+     */
+    public void delete(Collection<String> keys) {
+        if (!doDelete(keys)) {
+            schedule(keys, properties.getDelay(), 1);
+        }
+    }
+    
+    /**
+     * 事务提交后删除缓存并登记延迟删除；无事务时立即执行
+     *
+     * @param delayMillis 延迟时间，小于0时使用默认配置
+     */
+    public void deleteAfterCommit(Collection<String> keys, long delayMillis) {
+        List<String> copy = new ArrayList<>(keys);
+        long delay = delayMillis >= 0 ? delayMillis : properties.getDelay();
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete(copy);
+                    schedule(copy, delay, 0);
+                }
+            });
+        } else {
+            delete(copy);
+            schedule(copy, delay, 0);
+        }
+    }
+    
+    /**
+     * 已删除key数
+     */
+    public long getDeletedCount() {
+        return deletedCount.get();
+    }
+    
+    /**
+     * 删除失败次数
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        timer.stop();
+    }
+    
+    private void schedule(Collection<String> keys, long delayMillis, int attempt) {
+        try {
+            timer.newTimeout(timeout -> {
+                if (!doDelete(keys) && attempt < properties.getMaxRetries()) {
+                    schedule(keys, delayMillis << 1, attempt + 1);
+                }
+            }, Math.max(delayMillis, 1), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // 时间轮已停止（应用关闭中）
+            log.warn("延迟删除缓存登记失败: keys={}, error={}", keys, e.getMessage());
+        }
+    }
+    
+    private boolean doDelete(Collection<String> keys) {
+        try {
+            Long count = redisTemplate.delete(keys);
+            deletedCount.addAndGet(count != null ? count : 0);
+            log.debug("删除缓存: keys={}, count={}", keys, count);
+            return true;
+        } catch (Exception e) {
+            failedCount.incrementAndGet();
+            log.error("删除缓存失败: keys={}, error={}", keys, e.getMessage());
+            return false;
+        }
+    }
+}
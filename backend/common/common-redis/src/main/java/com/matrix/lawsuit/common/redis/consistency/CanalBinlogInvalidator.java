@@ -0,0 +1,95 @@
+package com.matrix.lawsuit.common.redis.consistency;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Binlog缓存失效处理器
+ *
+ * 解析Canal扁平消息（flatMessage），按表映射生成缓存key并删除。
+ * Binlog在事务提交后产生，因此覆盖了绕过服务层的写入；仍登记一次延迟删除，清除并发读回填的旧值。
+ */
+@Component
+public class CanalBinlogInvalidator {
+    
+    private static final Logger log = LoggerFactory.getLogger(CanalBinlogInvalidator.class);
+    
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\w+)}");
+    
+    private final CacheInvalidator cacheInvalidator;
+    private final CacheConsistencyProperties properties;
+    
+    public CanalBinlogInvalidator(CacheInvalidator cacheInvalidator, CacheConsistencyProperties properties) {
+        this.cacheInvalidator = cacheInvalidator;
+        this.properties = properties;
+    }
+    
+    /**
+     * 处理一条Canal扁平消息
+     *
+     * @return 失效的key数量
+     */
+    public int handle(String flatMessage) {
+        JSONObject message = JSON.parseObject(flatMessage);
+        if (message == null || message.getBooleanValue("isDdl")) {
+            return 0;
+        }
+        
+        String type = message.getString("type");
+        if (!"UPDATE".equals(type) && !"DELETE".equals(type) && !"INSERT".equals(type)) {
+            return 0;
+        }
+        
+        List<String> templates = properties.getBinlog().getTables().get(message.getString("table"));
+        JSONArray rows = message.getJSONArray("data");
+        if (templates == null || templates.isEmpty() || rows == null || rows.isEmpty()) {
+            return 0;
+        }
+        
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            JSONObject row = rows.getJSONObject(i);
+            for (String template : templates) {
+                String key = render(template, row);
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+        }
+        
+        if (!keys.isEmpty()) {
+            cacheInvalidator.deleteAfterCommit(new ArrayList<>(keys), -1);
+            log.debug("Binlog缓存失效: table={}, type={}, keys={}", message.getString("table"), type, keys.size());
+        }
+        return keys.size();
+    }
+    
+    /**
+     * 渲染key模板，缺少列值时返回null
+     */
+    private String render(String template, Map<String, Object> row) {
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder key = new StringBuilder();
+        while (matcher.find()) {
+            Object value = row.get(matcher.group(1));
+            if (value == null) {
+                return null;
+            }
+            matcher.appendReplacement(key, Matcher.quoteReplacement(value.toString()));
+        }
+        matcher.appendTail(key);
+        return key.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.matrix.lawsuit.common.redis.consistency;
+
+import org.apache.rocketmq.spring.annotation.MessageModel;
+import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
+import org.apache.rocketmq.spring.core.RocketMQListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Canal Binlog订阅
+ *
+ * Canal Server以RocketMQ模式投递（canal.serverMode=rocketMQ，canal.mq.flatMessage=true），
+ * 本服务以集群模式消费，同一条变更只由一个实例执行删除。
+ */
+@Component
+@ConditionalOnClass(name = "org.apache.rocketmq.spring.core.RocketMQListener")
+@ConditionalOnProperty(prefix = "dlmp.cache.consistency.binlog", name = "enabled", havingValue = "true")
+@RocketMQMessageListener(
+        topic = "${dlmp.cache.consistency.binlog.topic:dlmp_canal_binlog}",
+        consumerGroup = "${spring.application.name}-cache-invalidator",
+        messageModel = MessageModel.CLUSTERING)
+public class CanalBinlogListener implements RocketMQListener<String> {
+    
+    private static final Logger log = LoggerFactory.getLogger(CanalBinlogListener.class);
+    
+    private final CanalBinlogInvalidator canalBinlogInvalidator;
+    
+    public CanalBinlogListener(CanalBinlogInvalidator canalBinlogInvalidator) {
+        this.canalBinlogInvalidator = canalBinlogInvalidator;
+    }
+    
+    @Override
+    public void onMessage(String message) {
+        try {
+            canalBinlogInvalidator.handle(message);
+        } catch (Exception e) {
+            // 解析失败的消息不重试，避免阻塞消费进度
+            log.error("Binlog消息处理失败: {}", message, e);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.matrix.lawsuit.common.redis.aspect;
+
+import com.matrix.lawsuit.common.redis.annotation.CacheDoubleDelete;
+import com.matrix.lawsuit.common.redis.consistency.CacheConsistencyProperties;
+import com.matrix.lawsuit.common.redis.consistency.CacheInvalidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 延迟双删：H2（MySQL模式）代替数据库，内存Map代替Redis，验证写入期间并发读回填的旧值不会在更新后残留
+ */
+class CacheDoubleDeleteAspectTest {
+
+    private static final long DELAY_MILLIS = 200;
+
+    private AnnotationConfigApplicationContext context;
+    private CaseStore store;
+    private InMemoryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(TestConfig.class);
+        store = context.getBean(CaseStore.class);
+        cache = context.getBean(InMemoryCache.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS t_case");
+        jdbcTemplate.execute("CREATE TABLE t_case (id BIGINT PRIMARY KEY, case_status VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO t_case (id, case_status) VALUES (1, 'OPEN')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void keyResolvesParameterName() {
+        assertEquals("OPEN", store.read(1L));
+
+        store.update(1L, "CLOSED", () -> { });
+
+        assertTrue(cache.deletedKeys.contains("case:1"));
+        assertFalse(cache.deletedKeys.contains("case:null"));
+        assertEquals("CLOSED", store.read(1L));
+    }
+
+    @Test
+    void firstDeleteRunsOutsideTransaction() {
+        store.update(1L, "CLOSED", () -> { });
+
+        assertFalse(cache.deleteInTransaction.get(0), "第一次删除应在事务开启之前");
+    }
+
+    @Test
+    void readDuringUncommittedWriteIsEvictedOnCommit() {
+        store.update(1L, "CLOSED", () -> runInOtherThread(() -> assertEquals("OPEN", store.read(1L))));
+
+        assertEquals("CLOSED", store.read(1L));
+    }
+
+    @Test
+    void staleValueWrittenAfterCommitIsEvictedByDelayedDelete() throws Exception {
+        CountDownLatch committed = new CountDownLatch(1);
+        AtomicReference<String> staleRead = new AtomicReference<>();
+
+        // 读线程在事务提交前读到旧值，提交且第二次删除完成后才回填缓存
+        Thread reader = new Thread(() -> {
+            try {
+                committed.await();
+                cache.values.put("case:1", staleRead.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        reader.start();
+        store.update(1L, "CLOSED", () -> runInOtherThread(() -> staleRead.set(store.readDatabase(1L))));
+        committed.countDown();
+        reader.join();
+
+        assertEquals("OPEN", staleRead.get());
+        assertEquals("OPEN", cache.values.get("case:1"));
+        assertTrue(await(() -> !cache.values.containsKey("case:1"), DELAY_MILLIS * 10), "延迟删除应清除回填的旧值");
+        assertEquals("CLOSED", store.read(1L));
+    }
+
+    @Test
+    void rollbackSkipsSecondDelete() throws Exception {
+        assertThrows(IllegalStateException.class, () -> store.update(1L, "CLOSED", () -> {
+            throw new IllegalStateException("模拟写入失败");
+        }));
+
+        TimeUnit.MILLISECONDS.sleep(DELAY_MILLIS * 3);
+        assertEquals(1, cache.deleteInTransaction.size());
+        assertEquals("OPEN", store.readDatabase(1L));
+    }
+
+    private static void runInOtherThread(Runnable action) {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                action.run();
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    private static boolean await(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    static class TestConfig {
+
+        @Bean
+        DataSource dataSource() {
+            return new DriverManagerDataSource("jdbc:h2:mem:cache_double_delete;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        InMemoryCache cache() {
+            return new InMemoryCache();
+        }
+
+        @Bean
+        CacheInvalidator cacheInvalidator(InMemoryCache cache) {
+            CacheConsistencyProperties properties = new CacheConsistencyProperties();
+            properties.setDelay(DELAY_MILLIS);
+            properties.setTickMillis(10);
+            return new CacheInvalidator(cache, properties);
+        }
+
+        @Bean
+        CacheDoubleDeleteAspect cacheDoubleDeleteAspect(CacheInvalidator cacheInvalidator) {
+            return new CacheDoubleDeleteAspect(cacheInvalidator);
+        }
+
+        @Bean
+        CaseStore caseStore(JdbcTemplate jdbcTemplate, InMemoryCache cache) {
+            return new CaseStore(jdbcTemplate, cache);
+        }
+    }
+
+    /**
+     * Cache Aside读写的最小实现
+     */
+    static class CaseStore {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final InMemoryCache cache;
+
+        CaseStore(JdbcTemplate jdbcTemplate, InMemoryCache cache) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.cache = cache;
+        }
+
+        public String read(Long id) {
+            String key = "case:" + id;
+            Object cached = cache.values.get(key);
+            if (cached != null) {
+                return (String) cached;
+            }
+            String value = readDatabase(id);
+            cache.values.put(key, value);
+            return value;
+        }
+
+        public String readDatabase(Long id) {
+            return jdbcTemplate.queryForObject("SELECT case_status FROM t_case WHERE id = ?", String.class, id);
+        }
+
+        /**
+         * @param duringWrite 更新后、提交前执行，模拟并发读
+         */
+        @Transactional
+        @CacheDoubleDelete(keys = "'case:' + #id")
+        public void update(Long id, String status, Runnable duringWrite) {
+            jdbcTemplate.update("UPDATE t_case SET case_status = ? WHERE id = ?", status, id);
+            duringWrite.run();
+        }
+    }
+
+    /**
+     * CacheInvalidator只调用delete(Collection)，以Map代替Redis
+     */
+    static class InMemoryCache extends RedisTemplate<String, Object> {
+
+        final Map<String, Object> values = new ConcurrentHashMap<>();
+        final List<String> deletedKeys = new CopyOnWriteArrayList<>();
+        final List<Boolean> deleteInTransaction = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Long delete(Collection<String> keys) {
+            deleteInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            long count = 0;
+            for (String key : keys) {
+                deletedKeys.add(key);
+                if (values.remove(key) != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.matrix.lawsuit.common.security.config;
 
+import com.matrix.lawsuit.common.security.identity.IdentityHeader;
+import com.matrix.lawsuit.common.security.identity.IdentityHeaderFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
@@ -9,6 +12,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 /**
  * Spring Security配置
@@ -26,11 +30,19 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
     
+    /**
+     * 网关身份头编解码，密钥需与网关一致，未配置时启动失败
+     */
+    @Bean
+    public IdentityHeader identityHeader(@Value("${dlmp.identity.secret:}") String secret) {
+        return new IdentityHeader(secret);
+    }
+    
     /**
      * 安全过滤器链
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, IdentityHeader identityHeader) throws Exception {
         return http
             // 禁用CSRF
             .csrf(csrf -> csrf.disable())
@@ -45,6 +57,8 @@ public class SecurityConfig {
                 // 其他请求需要认证
                 .anyRequest().authenticated()
             )
+            // 信任网关验证后下发的身份头
+            .addFilterBefore(new IdentityHeaderFilter(identityHeader), UsernamePasswordAuthenticationFilter.class)
             // 禁用默认登录页面
             .formLogin(form -> form.disable())
             // 禁用默认登出页面
@@ -0,0 +1,145 @@
+package com.matrix.lawsuit.common.security.identity;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * 网关身份头编解码
+ *
+ * 网关完成JWT验证后，将用户身份压缩为签名字符串向下游传递，下游服务只需一次HMAC校验即可信任身份，无需再解析JWT。
+ * 格式：v1.{userId}.{base64url(username)}.{过期时间秒}.{base64url(HMAC-SHA256前16字节)}
+ */
+public class IdentityHeader {
+    
+    /**
+     * 请求头名称
+     */
+    public static final String HEADER_NAME = "X-Dlmp-Identity";
+    
+    private static final String VERSION = "v1";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+    private static final int MIN_SECRET_BYTES = 32;
+    
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    
+    private final SecretKeySpec key;
+    
+    /**
+     * Mac实例非线程安全，按线程复用
+     */
+    private final ThreadLocal<Mac> macs;
+    
+    /**
+     * @param secret dlmp.identity.secret，网关与各服务必须一致；未配置或短于32字节时拒绝启动，
+     *               避免以公开的默认密钥签名，任何能直连服务的调用方都可伪造身份
+     */
+    public IdentityHeader(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("未配置dlmp.identity.secret（可通过环境变量DLMP_IDENTITY_SECRET设置），"
+                    + "网关与各服务需使用同一个随机密钥");
+        }
+        if (secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("dlmp.identity.secret长度不足" + MIN_SECRET_BYTES + "字节");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+    
+    /**
+     * 生成身份头
+     */
+    public String encode(Long userId, String username, long expiresAtSeconds) {
+        String payload = VERSION + "." + userId + "."
+                + ENCODER.encodeToString((username != null ? username : "").getBytes(StandardCharsets.UTF_8)) + "."
+                + expiresAtSeconds;
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+    
+    /**
+     * 校验并解析身份头，签名错误、格式错误或已过期时返回null
+     */
+    public Identity decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        int signatureStart = value.lastIndexOf('.');
+        if (signatureStart <= 0) {
+            return null;
+        }
+        String payload = value.substring(0, signatureStart);
+        
+        try {
+            byte[] signature = DECODER.decode(value.substring(signatureStart + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return null;
+            }
+            
+            String[] parts = payload.split("\\.");
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                return null;
+            }
+            long expiresAt = Long.parseLong(parts[3]);
+            if (expiresAt * 1000 <= System.currentTimeMillis()) {
+                return null;
+            }
+            return new Identity(Long.valueOf(parts[1]),
+                                new String(DECODER.decode(parts[2]), StandardCharsets.UTF_8),
+                                expiresAt);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private byte[] sign(String payload) {
+        byte[] full = macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        byte[] truncated = new byte[SIGNATURE_BYTES];
+        System.arraycopy(full, 0, truncated, 0, SIGNATURE_BYTES);
+        return truncated;
+    }
+    
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("初始化身份头签名失败", e);
+        }
+    }
+    
+    /**
+     * 用户身份
+     */
+    public static class Identity {
+        private final Long userId;
+        private final String username;
+        private final long expiresAt;
+        
+        public Identity(Long userId, String username, long expiresAt) {
+            this.userId = userId;
+            this.username = username;
+            this.expiresAt = expiresAt;
+        }
+        
+        public Long getUserId() {
+            return userId;
+        }
+        
+        public String getUsername() {
+            return username;
+        }
+        
+        /**
+         * 过期时间（秒）
+         */
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
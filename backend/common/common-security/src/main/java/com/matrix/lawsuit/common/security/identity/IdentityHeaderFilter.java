@@ -0,0 +1,38 @@
+package com.matrix.lawsuit.common.security.identity;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * 网关身份头认证过滤器
+ * 校验网关下发的身份头并写入安全上下文，服务内不再重复解析JWT
+ */
+public class IdentityHeaderFilter extends OncePerRequestFilter {
+    
+    private final IdentityHeader identityHeader;
+    
+    public IdentityHeaderFilter(IdentityHeader identityHeader) {
+        this.identityHeader = identityHeader;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        IdentityHeader.Identity identity = identityHeader.decode(request.getHeader(IdentityHeader.HEADER_NAME));
+        if (identity != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(identity.getUsername(), null, Collections.emptyList());
+            authentication.setDetails(identity);
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -3,6 +3,8 @@ package com.matrix.lawsuit.common.security.utils;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,10 +23,12 @@ public class JwtUtils {
     
     private static final Logger log = LoggerFactory.getLogger(JwtUtils.class);
     
+    private static final int HS512_MIN_KEY_BYTES = 64;
+    
     /**
-     * JWT密钥
+     * JWT密钥，Base64编码，与网关共用；无默认值，未配置时启动失败
      */
-    @Value("${jwt.secret:lawsuit-platform-secret}")
+    @Value("${jwt.secret:}")
     private String secret;
     
     /**
@@ -33,13 +37,44 @@ public class JwtUtils {
     @Value("${jwt.expiration:86400}")
     private Long expiration;
     
+    /**
+     * 校验密钥，规则与网关JwtVerifier一致，避免服务签发的令牌在网关验签失败
+     */
+    @PostConstruct
+    public void validateSecret() {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("未配置jwt.secret（可通过环境变量JWT_SECRET设置），"
+                    + "HS512需要Base64编码、解码后不少于64字节的密钥，可用openssl rand -base64 64生成");
+        }
+        byte[] key;
+        try {
+            key = Decoders.BASE64.decode(secret);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("jwt.secret必须为Base64编码的密钥", e);
+        }
+        if (key.length < HS512_MIN_KEY_BYTES) {
+            throw new IllegalStateException("jwt.secret解码后为" + key.length + "字节，HS512要求不少于"
+                    + HS512_MIN_KEY_BYTES + "字节");
+        }
+    }
+    
     /**
      * 生成JWT令牌
      */
     public String generateToken(String username, Long userId) {
+        return generateToken(username, userId, null);
+    }
+    
+    /**
+     * 生成JWT令牌，tenantId为用户所属机构，网关据此隔离租户级缓存和配额
+     */
+    public String generateToken(String username, Long userId, Long tenantId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("username", username);
         claims.put("userId", userId);
+        if (tenantId != null) {
+            claims.put("tenantId", tenantId);
+        }
         return createToken(claims, username);
     }
     
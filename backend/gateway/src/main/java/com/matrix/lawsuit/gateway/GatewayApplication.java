@@ -2,12 +2,15 @@ package com.matrix.lawsuit.gateway;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 
 /**
  * 个贷不良资产分散诉讼调解平台 - API网关启动类
+ *
+ * 数据源仅供访问日志使用，由AccessLogDataSourceConfig按sink条件创建
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class)
 @EnableDiscoveryClient
 public class GatewayApplication {
     
@@ -0,0 +1,31 @@
+package com.matrix.lawsuit.gateway.accesslog;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 访问日志库数据源
+ *
+ * 网关不访问业务库，已排除DataSourceAutoConfiguration；仅sink为jdbc时才创建连接池，
+ * 连接参数仍读取spring.datasource。file模式下不建池，log_db不可用也不影响网关启动。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.access-log", name = "sink", havingValue = "jdbc", matchIfMissing = true)
+public class AccessLogDataSourceConfig {
+    
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource")
+    public DataSourceProperties accessLogDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+    
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource accessLogDataSource(DataSourceProperties accessLogDataSourceProperties) {
+        return accessLogDataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,167 @@
+package com.matrix.lawsuit.gateway.accesslog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 访问日志异步分发
+ *
+ * 请求线程只把记录放入无锁环形缓冲区；后台单线程按批量或时间间隔取出并写入目标。
+ * 缓冲区占用超过水位后按比例采样，错误和慢请求始终保留；缓冲区满时丢弃并计数，请求线程从不等待。
+ */
+@Component
+public class AccessLogDispatcher {
+    
+    private static final Logger log = LoggerFactory.getLogger(AccessLogDispatcher.class);
+    
+    private final AccessLogProperties properties;
+    private final ObjectProvider<DataSource> dataSourceProvider;
+    private final AccessLogRingBuffer<AccessLogEntry> buffer;
+    private final int samplingThreshold;
+    
+    private final Counter accepted;
+    private final Counter sampledOut;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+    private final Timer batchTimer;
+    
+    private AccessLogSink sink;
+    private Thread drainer;
+    private volatile boolean running;
+    
+    public AccessLogDispatcher(AccessLogProperties properties, ObjectProvider<DataSource> dataSourceProvider,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.dataSourceProvider = dataSourceProvider;
+        this.buffer = new AccessLogRingBuffer<>(properties.getBufferSize());
+        this.samplingThreshold = (int) (buffer.capacity() * properties.getSamplingWatermark());
+        
+        this.accepted = outcomeCounter(meterRegistry, "accepted");
+        this.sampledOut = outcomeCounter(meterRegistry, "sampled_out");
+        this.dropped = outcomeCounter(meterRegistry, "dropped");
+        this.written = outcomeCounter(meterRegistry, "written");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        this.batchTimer = Timer.builder("gateway.access.log.batch")
+                .description("访问日志批量写入耗时")
+                .register(meterRegistry);
+        Gauge.builder("gateway.access.log.buffer.size", buffer, AccessLogRingBuffer::size)
+                .description("访问日志缓冲区占用")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        sink = properties.getSink() == AccessLogProperties.Sink.FILE
+                ? new FileAccessLogSink(properties.getDirectory())
+                : new JdbcAccessLogSink(dataSourceProvider.getObject(), properties.getTable());
+        running = true;
+        drainer = new Thread(this::drainLoop, "gateway-access-log");
+        drainer.setDaemon(true);
+        drainer.start();
+        log.info("网关访问日志已启动: sink={}, bufferSize={}, batchSize={}",
+                 properties.getSink(), buffer.capacity(), properties.getBatchSize());
+    }
+    
+    /**
+     * 提交一条记录，不阻塞
+     */
+    public void submit(AccessLogEntry entry) {
+        if (!running) {
+            return;
+        }
+        if (buffer.size() >= samplingThreshold && !mustKeep(entry)
+                && ThreadLocalRandom.current().nextDouble() >= properties.getOverflowSampleRate()) {
+            sampledOut.increment();
+            return;
+        }
+        if (buffer.offer(entry)) {
+            accepted.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sink.close();
+    }
+    
+    private boolean mustKeep(AccessLogEntry entry) {
+        return entry.getStatus() >= 500 || entry.getLatencyMillis() >= properties.getSlowThreshold().toMillis();
+    }
+    
+    private void drainLoop() {
+        int batchSize = properties.getBatchSize();
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        List<AccessLogEntry> batch = new ArrayList<>(batchSize);
+        long lastFlush = System.nanoTime();
+        
+        while (running || buffer.size() > 0) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            long now = System.nanoTime();
+            if (batch.size() >= batchSize || (!batch.isEmpty() && (now - lastFlush >= flushIntervalNanos || !running))) {
+                flush(batch);
+                lastFlush = now;
+                continue;
+            }
+            if (batch.isEmpty() && !running) {
+                break;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+    
+    private void flush(List<AccessLogEntry> batch) {
+        long startTime = System.nanoTime();
+        try {
+            sink.write(batch);
+            written.increment(batch.size());
+        } catch (Exception e) {
+            // 写入失败的批次直接丢弃，不重试，避免日志积压拖垮网关
+            failed.increment(batch.size());
+            log.error("访问日志写入失败: count={}", batch.size(), e);
+        } finally {
+            batchTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            batch.clear();
+        }
+    }
+    
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("gateway.access.log.records")
+                .description("网关访问日志记录数")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,56 @@
+package com.matrix.lawsuit.gateway.accesslog;
+
+/**
+ * 一条网关访问记录
+ */
+public class AccessLogEntry {
+    
+    private final long accessTime;
+    private final String traceId;
+    private final String method;
+    private final String uri;
+    private final String query;
+    private final String routeId;
+    private final String tenantId;
+    private final Long userId;
+    private final String username;
+    private final String clientIp;
+    private final String userAgent;
+    private final int status;
+    private final long responseBytes;
+    private final long latencyMillis;
+    
+    public AccessLogEntry(long accessTime, String traceId, String method, String uri, String query,
+                          String routeId, String tenantId, Long userId, String username,
+                          String clientIp, String userAgent, int status, long responseBytes, long latencyMillis) {
+        this.accessTime = accessTime;
+        this.traceId = traceId;
+        this.method = method;
+        this.uri = uri;
+        this.query = query;
+        this.routeId = routeId;
+        this.tenantId = tenantId;
+        this.userId = userId;
+        this.username = username;
+        this.clientIp = clientIp;
+        this.userAgent = userAgent;
+        this.status = status;
+        this.responseBytes = responseBytes;
+        this.latencyMillis = latencyMillis;
+    }
+    
+    public long getAccessTime() { return accessTime; }
+    public String getTraceId() { return traceId; }
+    public String getMethod() { return method; }
+    public String getUri() { return uri; }
+    public String getQuery() { return query; }
+    public String getRouteId() { return routeId; }
+    public String getTenantId() { return tenantId; }
+    public Long getUserId() { return userId; }
+    public String getUsername() { return username; }
+    public String getClientIp() { return clientIp; }
+    public String getUserAgent() { return userAgent; }
+    public int getStatus() { return status; }
+    public long getResponseBytes() { return responseBytes; }
+    public long getLatencyMillis() { return latencyMillis; }
+}
@@ -0,0 +1,117 @@
+package com.matrix.lawsuit.gateway.accesslog;
+
+import com.matrix.lawsuit.gateway.auth.VerifiedToken;
+import com.matrix.lawsuit.gateway.filter.AuthGlobalFilter;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * 网关访问日志全局过滤器
+ *
+ * 最先执行、最后结束，认证失败、限流、熔断等被网关直接拒绝的请求同样记录。
+ * 请求结束时只组装一条记录交给AccessLogDispatcher，不做任何IO。
+ */
+@Component
+public class AccessLogGlobalFilter implements GlobalFilter, Ordered {
+    
+    private static final String TRACE_ID_HEADER = "X-Trace-Id";
+    
+    private final AccessLogProperties properties;
+    private final AccessLogDispatcher dispatcher;
+    
+    public AccessLogGlobalFilter(AccessLogProperties properties, AccessLogDispatcher dispatcher) {
+        this.properties = properties;
+        this.dispatcher = dispatcher;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        
+        long accessTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
+        CountingResponseDecorator response = new CountingResponseDecorator(exchange.getResponse());
+        ServerWebExchange counted = exchange.mutate().response(response).build();
+        
+        return chain.filter(counted)
+                .doFinally(signal -> dispatcher.submit(buildEntry(counted, response, accessTime, System.nanoTime() - startTime)));
+    }
+    
+    private AccessLogEntry buildEntry(ServerWebExchange exchange, CountingResponseDecorator response,
+                                      long accessTime, long elapsedNanos) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpHeaders headers = request.getHeaders();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        VerifiedToken token = exchange.getAttribute(AuthGlobalFilter.VERIFIED_TOKEN_ATTR);
+        HttpStatusCode status = response.getStatusCode();
+        
+        return new AccessLogEntry(
+            accessTime,
+            headers.getFirst(TRACE_ID_HEADER),
+            request.getMethod().name(),
+            request.getURI().getRawPath(),
+            request.getURI().getRawQuery(),
+            route != null ? route.getId() : null,
+            token != null ? token.getTenantId() : null,
+            token != null ? token.getUserId() : null,
+            token != null ? token.getUsername() : null,
+            clientIp(request),
+            headers.getFirst(HttpHeaders.USER_AGENT),
+            status != null ? status.value() : 200,
+            response.bytesWritten,
+            elapsedNanos / 1_000_000
+        );
+    }
+    
+    private static String clientIp(ServerHttpRequest request) {
+        String forwarded = request.getHeaders().getFirst("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isEmpty()) {
+            int comma = forwarded.indexOf(',');
+            return (comma > 0 ? forwarded.substring(0, comma) : forwarded).trim();
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress() : null;
+    }
+    
+    @Override
+    public int getOrder() {
+        // 在认证之前执行，覆盖所有请求
+        return -200;
+    }
+    
+    /**
+     * 统计响应字节数
+     */
+    private static final class CountingResponseDecorator extends ServerHttpResponseDecorator {
+        
+        private volatile long bytesWritten;
+        
+        CountingResponseDecorator(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+        
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(buffer -> bytesWritten += buffer.readableByteCount()));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.matrix.lawsuit.gateway.accesslog;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 网关访问日志配置
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.access-log")
+public class AccessLogProperties {
+    
+    /**
+     * 输出目标
+     */
+    public enum Sink {
+        /** 批量写入t_access_log */
+        JDBC,
+        /** 按日滚动的本地文件 */
+        FILE
+    }
+    
+    /**
+     * 是否启用
+     */
+    private boolean enabled = true;
+    
+    private Sink sink = Sink.JDBC;
+    
+    /**
+     * 环形缓冲区容量（向上取2的幂）
+     */
+    private int bufferSize = 65536;
+    
+    /**
+     * 缓冲区占用超过该比例后开始采样，错误和慢请求始终保留
+     */
+    private double samplingWatermark = 0.75;
+    
+    /**
+     * 采样阶段保留的比例
+     */
+    private double overflowSampleRate = 0.1;
+    
+    /**
+     * 慢请求阈值，采样阶段也始终保留
+     */
+    private Duration slowThreshold = Duration.ofSeconds(3);
+    
+    /**
+     * 每批写入条数
+     */
+    private int batchSize = 500;
+    
+    /**
+     * 不足一批时的最长等待时间
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+    
+    /**
+     * JDBC目标表
+     */
+    private String table = "t_access_log";
+    
+    /**
+     * FILE目标目录
+     */
+    private String directory = "logs/access";
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Sink getSink() { return sink; }
+    public void setSink(Sink sink) { this.sink = sink; }
+    public int getBufferSize() { return bufferSize; }
+    public void setBufferSize(int bufferSize) { this.bufferSize = bufferSize; }
+    public double getSamplingWatermark() { return samplingWatermark; }
+    public void setSamplingWatermark(double samplingWatermark) { this.samplingWatermark = samplingWatermark; }
+    public double getOverflowSampleRate() { return overflowSampleRate; }
+    public void setOverflowSampleRate(double overflowSampleRate) { this.overflowSampleRate = overflowSampleRate; }
+    public Duration getSlowThreshold() { return slowThreshold; }
+    public void setSlowThreshold(Duration slowThreshold) { this.slowThreshold = slowThreshold; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public Duration getFlushInterval() { return flushInterval; }
+    public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+    public String getTable() { return table; }
+    public void setTable(String table) { this.table = table; }
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+}
@@ -0,0 +1,86 @@
+package com.matrix.lawsuit.gateway.accesslog;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁环形缓冲区（多生产者单消费者）
+ *
+ * 每个槽位带序号：生产者CAS抢占写位置后写入元素并发布序号，消费者按序号判断槽位是否可读。
+ * 缓冲区满时offer直接返回false，生产者从不阻塞。
+ */
+public class AccessLogRingBuffer<E> {
+    
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    
+    public AccessLogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+    
+    /**
+     * 写入元素，缓冲区满时返回false
+     */
+    public boolean offer(E element) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & mask);
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (sequence < position) {
+                return false;
+            }
+        }
+        elements.lazySet(index, element);
+        sequences.set(index, position + 1);
+        return true;
+    }
+    
+    /**
+     * 取出最多max个元素，只允许单线程调用
+     */
+    public int drainTo(List<E> target, int max) {
+        int drained = 0;
+        long position = head.get();
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            target.add(elements.get(index));
+            elements.lazySet(index, null);
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head.set(position);
+        return drained;
+    }
+    
+    /**
+     * 当前元素数（近似值）
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+    
+    public int capacity() {
+        return mask + 1;
+    }
+}
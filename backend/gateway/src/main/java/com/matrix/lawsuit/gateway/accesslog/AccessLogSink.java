@@ -0,0 +1,20 @@
+package com.matrix.lawsuit.gateway.accesslog;
+
+import java.util.List;
+
+/**
+ * 访问日志输出目标
+ */
+public interface AccessLogSink {
+    
+    /**
+     * 批量写入，由后台线程调用
+     */
+    void write(List<AccessLogEntry> entries) throws Exception;
+    
+    /**
+     * 关闭并释放资源
+     */
+    default void close() {
+    }
+}
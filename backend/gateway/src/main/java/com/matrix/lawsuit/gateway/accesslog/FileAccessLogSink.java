@@ -0,0 +1,92 @@
+package com.matrix.lawsuit.gateway.accesslog;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 按日滚动的访问日志文件，每行一条记录，字段以制表符分隔
+ */
+public class FileAccessLogSink implements AccessLogSink {
+    
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    
+    private final Path directory;
+    private final ZoneId zone = ZoneId.systemDefault();
+    
+    private LocalDate currentDate;
+    private BufferedWriter writer;
+    
+    public FileAccessLogSink(String directory) {
+        this.directory = Paths.get(directory);
+    }
+    
+    @Override
+    public void write(List<AccessLogEntry> entries) throws IOException {
+        StringBuilder line = new StringBuilder(256);
+        for (AccessLogEntry entry : entries) {
+            BufferedWriter out = writerFor(Instant.ofEpochMilli(entry.getAccessTime()).atZone(zone).toLocalDate());
+            line.setLength(0);
+            line.append(Instant.ofEpochMilli(entry.getAccessTime())).append('\t')
+                .append(entry.getRouteId()).append('\t')
+                .append(entry.getMethod()).append('\t')
+                .append(entry.getUri());
+            if (entry.getQuery() != null) {
+                line.append('?').append(entry.getQuery());
+            }
+            line.append('\t').append(entry.getStatus())
+                .append('\t').append(entry.getLatencyMillis())
+                .append('\t').append(entry.getResponseBytes())
+                .append('\t').append(entry.getTenantId())
+                .append('\t').append(entry.getUserId())
+                .append('\t').append(entry.getClientIp())
+                .append('\t').append(entry.getTraceId())
+                .append('\n');
+            out.write(line.toString());
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+    
+    @Override
+    public void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // 关闭时忽略
+            }
+            writer = null;
+        }
+    }
+    
+    private BufferedWriter writerFor(LocalDate date) throws IOException {
+        if (writer != null && date.equals(currentDate)) {
+            return writer;
+        }
+        if (writer != null) {
+            writer.flush();
+            if (date.isBefore(currentDate)) {
+                // 跨日边界处的迟到记录写入当前文件
+                return writer;
+            }
+            writer.close();
+        }
+        Files.createDirectories(directory);
+        Path file = directory.resolve("access-" + FILE_DATE.format(date) + ".log");
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                                         StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        currentDate = date;
+        return writer;
+    }
+}
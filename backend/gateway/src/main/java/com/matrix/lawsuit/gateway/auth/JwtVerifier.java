@@ -0,0 +1,217 @@
+package com.matrix.lawsuit.gateway.auth;
+
+import com.matrix.lawsuit.common.security.identity.IdentityHeader;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 网关JWT验证器
+ *
+ * 支持HS512（与JwtUtils共用jwt.secret）和RS256（jwt.public-key）。验证为纯CPU计算，不涉及IO，可直接在reactor线程执行。
+ * 验证结果按令牌SHA-256摘要缓存，过期时间与令牌exp对齐且不超过max-ttl；缓存不保存令牌原文。
+ */
+@Component
+public class JwtVerifier {
+    
+    private static final Logger log = LoggerFactory.getLogger(JwtVerifier.class);
+    
+    private static final long PURGE_INTERVAL_MILLIS = 1000;
+    private static final int HS512_MIN_KEY_BYTES = 64;
+    
+    private final JwtParser jwtParser;
+    private final IdentityHeader identityHeader;
+    private final int maxSize;
+    private final long maxTtlMillis;
+    
+    private final ConcurrentHashMap<TokenKey, VerifiedToken> cache = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurge = new AtomicLong();
+    
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+    
+    public JwtVerifier(@Value("${jwt.algorithm:HS512}") String algorithm,
+                       @Value("${jwt.secret:}") String secret,
+                       @Value("${jwt.public-key:}") String publicKey,
+                       @Value("${dlmp.identity.secret:}") String identitySecret,
+                       @Value("${gateway.auth.cache.max-size:100000}") int maxSize,
+                       @Value("${gateway.auth.cache.max-ttl:600}") long maxTtlSeconds) {
+        if ("RS256".equalsIgnoreCase(algorithm)) {
+            this.jwtParser = Jwts.parser().verifyWith(parsePublicKey(publicKey)).build();
+        } else {
+            this.jwtParser = Jwts.parser().verifyWith(parseSecretKey(secret)).build();
+        }
+        this.identityHeader = new IdentityHeader(identitySecret);
+        this.maxSize = maxSize;
+        this.maxTtlMillis = maxTtlSeconds * 1000;
+        log.info("网关JWT验证器初始化完成: algorithm={}, cacheMaxSize={}", algorithm, maxSize);
+    }
+    
+    /**
+     * 验证令牌
+     *
+     * @throws JwtException 签名错误、格式错误或已过期
+     */
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        TokenKey key = TokenKey.of(digests.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+        
+        VerifiedToken cached = cache.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            cache.remove(key, cached);
+        }
+        
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        Object userId = claims.get("userId");
+        if (userId == null) {
+            throw new JwtException("令牌缺少userId");
+        }
+        Date expiration = claims.getExpiration();
+        long expiresAt = expiration != null ? expiration.getTime() : now + maxTtlMillis;
+        Object tenantId = claims.get("tenantId");
+        
+        VerifiedToken verified = new VerifiedToken(
+                Long.valueOf(userId.toString()),
+                claims.getSubject(),
+                tenantId != null ? tenantId.toString() : null,
+                expiresAt,
+                identityHeader.encode(Long.valueOf(userId.toString()), claims.getSubject(), expiresAt / 1000));
+        put(key, verified, now);
+        return verified;
+    }
+    
+    /**
+     * 缓存条目数
+     */
+    public int getCacheSize() {
+        return cache.size();
+    }
+    
+    private void put(TokenKey key, VerifiedToken verified, long now) {
+        if (cache.size() >= maxSize) {
+            purgeExpired(now);
+            if (cache.size() >= maxSize) {
+                // 缓存已满且无过期条目时不再缓存，仍返回验证结果
+                return;
+            }
+        }
+        // 缓存期限不超过max-ttl，令牌被提前注销时影响有界
+        long cacheUntil = Math.min(verified.getExpiresAtMillis(), now + maxTtlMillis);
+        cache.put(key, cacheUntil == verified.getExpiresAtMillis() ? verified
+                : new VerifiedToken(verified.getUserId(), verified.getUsername(), verified.getTenantId(),
+                                    cacheUntil, verified.getIdentityHeader()));
+    }
+    
+    private void purgeExpired(long now) {
+        long last = lastPurge.get();
+        if (now - last < PURGE_INTERVAL_MILLIS || !lastPurge.compareAndSet(last, now)) {
+            return;
+        }
+        cache.values().removeIf(token -> token.isExpired(now));
+    }
+    
+    /**
+     * 与JwtUtils.signWith(HS512, secret)一致：密钥按Base64解码，HS512要求解码后不少于64字节
+     * 不提供默认密钥，未配置时启动失败并提示配置项，可用openssl rand -base64 64生成
+     */
+    private static SecretKey parseSecretKey(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("未配置jwt.secret（可通过环境变量JWT_SECRET设置），"
+                    + "HS512需要Base64编码、解码后不少于64字节的密钥，可用openssl rand -base64 64生成");
+        }
+        byte[] key;
+        try {
+            key = Decoders.BASE64.decode(secret);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("jwt.secret必须为Base64编码的密钥", e);
+        }
+        if (key.length < HS512_MIN_KEY_BYTES) {
+            throw new IllegalStateException("jwt.secret解码后为" + key.length + "字节，HS512要求不少于"
+                    + HS512_MIN_KEY_BYTES + "字节");
+        }
+        return new SecretKeySpec(key, "HmacSHA512");
+    }
+    
+    private static PublicKey parsePublicKey(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) PUBLIC KEY-----", "").replaceAll("\\s", "");
+        try {
+            return KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(base64)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("jwt.public-key配置无效", e);
+        }
+    }
+    
+    /**
+     * 令牌摘要key
+     */
+    private static final class TokenKey {
+        private final long h0;
+        private final long h1;
+        private final long h2;
+        private final long h3;
+        
+        private TokenKey(long h0, long h1, long h2, long h3) {
+            this.h0 = h0;
+            this.h1 = h1;
+            this.h2 = h2;
+            this.h3 = h3;
+        }
+        
+        static TokenKey of(byte[] digest) {
+            return new TokenKey(toLong(digest, 0), toLong(digest, 8), toLong(digest, 16), toLong(digest, 24));
+        }
+        
+        private static long toLong(byte[] bytes, int offset) {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (bytes[offset + i] & 0xFF);
+            }
+            return value;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TokenKey)) {
+                return false;
+            }
+            TokenKey other = (TokenKey) o;
+            return h0 == other.h0 && h1 == other.h1 && h2 == other.h2 && h3 == other.h3;
+        }
+        
+        @Override
+        public int hashCode() {
+            return (int) (h0 ^ (h0 >>> 32));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.matrix.lawsuit.gateway.auth;
+
+/**
+ * 已验证的令牌信息
+ */
+public class VerifiedToken {
+    
+    private final Long userId;
+    private final String username;
+    
+    /**
+     * 令牌tenantId声明（用户所属机构），未签发该声明时为null
+     */
+    private final String tenantId;
+    
+    private final long expiresAtMillis;
+    
+    /**
+     * 预先生成的下游身份头，缓存命中时直接复用
+     */
+    private final String identityHeader;
+    
+    public VerifiedToken(Long userId, String username, String tenantId, long expiresAtMillis, String identityHeader) {
+        this.userId = userId;
+        this.username = username;
+        this.tenantId = tenantId;
+        this.expiresAtMillis = expiresAtMillis;
+        this.identityHeader = identityHeader;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public String getTenantId() {
+        return tenantId;
+    }
+    
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+    
+    public String getIdentityHeader() {
+        return identityHeader;
+    }
+    
+    public boolean isExpired(long now) {
+        return expiresAtMillis <= now;
+    }
+}
@@ -0,0 +1,69 @@
+package com.matrix.lawsuit.gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.util.function.Consumer;
+
+/**
+ * 有界响应体捕获
+ *
+ * 下游数据块原样转发给客户端，同时复制一份；累计超过上限后丢弃已复制的内容并停止复制，
+ * 内存占用不超过上限，分块传输（无Content-Length）的大响应也不会被整体聚合。
+ * 数据块按Reactive Streams规范串行到达，无需加锁。
+ */
+public class BoundedBodyCapture {
+    
+    private final int maxBytes;
+    private final Consumer<byte[]> onComplete;
+    private final Runnable onOverflow;
+    
+    private ByteArrayOutputStream captured;
+    
+    /**
+     * @param contentLength 响应声明的长度，未知时为-1
+     * @param onComplete    下游正常结束且未超限时回调完整响应体
+     * @param onOverflow    超过上限时回调一次
+     */
+    public BoundedBodyCapture(int maxBytes, long contentLength, Consumer<byte[]> onComplete, Runnable onOverflow) {
+        this.maxBytes = maxBytes;
+        this.onComplete = onComplete;
+        this.onOverflow = onOverflow;
+        this.captured = new ByteArrayOutputStream(contentLength > 0 ? (int) contentLength : 1024);
+    }
+    
+    /**
+     * 包装下游响应体
+     */
+    public Flux<DataBuffer> tee(Publisher<? extends DataBuffer> body) {
+        return Flux.<DataBuffer>from(body)
+                .doOnNext(this::copy)
+                .doOnComplete(() -> {
+                    if (captured != null) {
+                        byte[] bytes = captured.toByteArray();
+                        captured = null;
+                        onComplete.accept(bytes);
+                    }
+                });
+    }
+    
+    private void copy(DataBuffer buffer) {
+        if (captured == null) {
+            return;
+        }
+        int length = buffer.readableByteCount();
+        if (captured.size() + length > maxBytes) {
+            captured = null;
+            onOverflow.run();
+            return;
+        }
+        // 复制后恢复读位置，转发给客户端的内容不受影响
+        int position = buffer.readPosition();
+        byte[] bytes = new byte[length];
+        buffer.read(bytes);
+        buffer.readPosition(position);
+        captured.write(bytes, 0, length);
+    }
+}
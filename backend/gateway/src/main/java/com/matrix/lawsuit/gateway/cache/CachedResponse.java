@@ -0,0 +1,63 @@
+package com.matrix.lawsuit.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * 缓存的下游响应
+ */
+public class CachedResponse {
+    
+    private final String path;
+    private final int status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final String etag;
+    private final long storedAt;
+    private final long expiresAt;
+    
+    public CachedResponse(String path, int status, HttpHeaders headers, byte[] body, String etag,
+                          long storedAt, long expiresAt) {
+        this.path = path;
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+        this.etag = etag;
+        this.storedAt = storedAt;
+        this.expiresAt = expiresAt;
+    }
+    
+    public String getPath() {
+        return path;
+    }
+    
+    public int getStatus() {
+        return status;
+    }
+    
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+    
+    public byte[] getBody() {
+        return body;
+    }
+    
+    public String getEtag() {
+        return etag;
+    }
+    
+    public long getStoredAt() {
+        return storedAt;
+    }
+    
+    public boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+    
+    /**
+     * 估算占用字节数
+     */
+    public int weight() {
+        return body.length + 256;
+    }
+}
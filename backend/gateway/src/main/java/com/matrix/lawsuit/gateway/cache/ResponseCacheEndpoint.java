@@ -0,0 +1,28 @@
+package com.matrix.lawsuit.gateway.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 响应缓存端点
+ * GET /actuator/responsecache 查看统计。/actuator/**在认证白名单内，端点只读；
+ * 清空缓存通过失效频道发布路径模式（如/**），由ResponseCacheInvalidationListener处理
+ */
+@Component
+@Endpoint(id = "responsecache")
+public class ResponseCacheEndpoint {
+    
+    private final ResponseCacheStore store;
+    
+    public ResponseCacheEndpoint(ResponseCacheStore store) {
+        this.store = store;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return store.stats();
+    }
+}
@@ -0,0 +1,313 @@
+package com.matrix.lawsuit.gateway.cache;
+
+import com.matrix.lawsuit.gateway.auth.VerifiedToken;
+import com.matrix.lawsuit.gateway.filter.AuthGlobalFilter;
+import com.matrix.lawsuit.gateway.route.PathPatternTrie;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 响应缓存全局过滤器
+ *
+ * 只缓存配置中列出的GET路由，key由隔离范围（租户/用户）、路径、查询串、Accept和Accept-Encoding组成。
+ * 缓存条目保留下游的Content-Encoding和Vary，因此响应Vary了key之外的请求头（或Vary: *）时不缓存，
+ * 避免把压缩或按其他请求头协商出的变体返回给未协商该变体的客户端。
+ * 遵循Cache-Control：请求no-cache/no-store时绕过缓存，响应no-store、private或带Set-Cookie时不缓存，
+ * 响应max-age/s-maxage优先于路由配置的TTL。响应无ETag时按内容摘要生成弱ETag，缓存命中时If-None-Match匹配返回304。
+ * 租户范围取自已验证令牌的tenantId声明，令牌无租户时不缓存。
+ */
+@Component
+public class ResponseCacheGlobalFilter implements GlobalFilter, Ordered {
+    
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheGlobalFilter.class);
+    
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    
+    /**
+     * 缓存时保留的响应头
+     */
+    private static final List<String> CACHED_HEADERS = Arrays.asList(
+        HttpHeaders.CONTENT_TYPE,
+        HttpHeaders.CONTENT_ENCODING,
+        HttpHeaders.CONTENT_LANGUAGE,
+        HttpHeaders.LAST_MODIFIED,
+        HttpHeaders.CACHE_CONTROL,
+        HttpHeaders.VARY
+    );
+    
+    /**
+     * 已计入缓存key的请求头，响应只Vary这些头时可以缓存
+     */
+    private static final List<String> KEYED_REQUEST_HEADERS = Arrays.asList(
+        HttpHeaders.ACCEPT,
+        HttpHeaders.ACCEPT_ENCODING
+    );
+    
+    private final ResponseCacheProperties properties;
+    private final ResponseCacheStore store;
+    
+    private volatile PathPatternTrie<ResponseCacheProperties.Route> routes;
+    
+    public ResponseCacheGlobalFilter(ResponseCacheProperties properties, ResponseCacheStore store) {
+        this.properties = properties;
+        this.store = store;
+        this.routes = PathPatternTrie.compile(properties.getRoutes());
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        
+        String path = request.getURI().getPath();
+        ResponseCacheProperties.Route route = routes.match(path);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        
+        String key = buildKey(exchange, route, path);
+        if (key == null) {
+            return chain.filter(exchange);
+        }
+        
+        String requestCacheControl = request.getHeaders().getCacheControl();
+        boolean noStore = requestCacheControl != null && requestCacheControl.contains("no-store");
+        boolean noCache = noStore || (requestCacheControl != null && requestCacheControl.contains("no-cache"));
+        
+        long now = System.currentTimeMillis();
+        if (!noCache) {
+            CachedResponse cached = store.get(key, now);
+            if (cached != null) {
+                return writeCached(exchange, cached, now);
+            }
+        }
+        if (noStore) {
+            return chain.filter(exchange);
+        }
+        
+        exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+        CachingResponseDecorator decorator = new CachingResponseDecorator(exchange, key, path, route, now);
+        return chain.filter(exchange.mutate().response(decorator).build());
+    }
+    
+    /**
+     * 配置刷新后重新编译缓存路由
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void reload() {
+        try {
+            this.routes = PathPatternTrie.compile(properties.getRoutes());
+            log.info("响应缓存路由已重新加载: routes={}", routes.size());
+        } catch (Exception e) {
+            log.error("响应缓存路由重新加载失败，继续使用旧配置", e);
+        }
+    }
+    
+    private String buildKey(ServerWebExchange exchange, ResponseCacheProperties.Route route, String path) {
+        String scope;
+        VerifiedToken token = exchange.getAttribute(AuthGlobalFilter.VERIFIED_TOKEN_ATTR);
+        switch (route.getScope()) {
+            case USER:
+                if (token == null) {
+                    return null;
+                }
+                scope = "u:" + token.getUserId();
+                break;
+            case TENANT:
+                // 租户取自已验证令牌，不信任客户端请求头；无租户时不缓存
+                if (token == null || token.getTenantId() == null) {
+                    return null;
+                }
+                scope = "t:" + token.getTenantId();
+                break;
+            default:
+                scope = "g";
+        }
+        StringBuilder key = new StringBuilder(64).append(scope).append('|').append(path);
+        String query = exchange.getRequest().getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        for (String name : KEYED_REQUEST_HEADERS) {
+            String value = headers.getFirst(name);
+            key.append('|').append(value != null ? value : "");
+        }
+        return key.toString();
+    }
+    
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached, long now) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.getHeaders());
+        headers.setETag(cached.getEtag());
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        headers.set(HttpHeaders.AGE, String.valueOf((now - cached.getStoredAt()) / 1000));
+        
+        if (etagMatches(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH), cached.getEtag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        
+        response.setStatusCode(HttpStatusCode.valueOf(cached.getStatus()));
+        headers.setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+    
+    /**
+     * If-None-Match比较，忽略弱校验前缀
+     */
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        if ("*".equals(ifNoneMatch.trim())) {
+            return true;
+        }
+        String expected = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            if (stripWeak(candidate.trim()).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+    
+    /**
+     * 解析响应的缓存时间，返回0表示不可缓存，-1表示未指定
+     */
+    private static long responseTtlMillis(HttpHeaders headers, ResponseCacheProperties.Route route) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return 0;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return -1;
+        }
+        long maxAge = -1;
+        for (String directive : cacheControl.split(",")) {
+            String value = directive.trim().toLowerCase();
+            if (value.equals("no-store") || value.equals("no-cache")
+                    || (value.equals("private") && route.getScope() != ResponseCacheProperties.Scope.USER)) {
+                return 0;
+            }
+            try {
+                if (value.startsWith("s-maxage=")) {
+                    // 共享缓存优先使用s-maxage
+                    return Long.parseLong(value.substring(9)) * 1000;
+                }
+                if (value.startsWith("max-age=")) {
+                    maxAge = Long.parseLong(value.substring(8)) * 1000;
+                }
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return maxAge;
+    }
+    
+    /**
+     * 响应的Vary是否只涉及已计入key的请求头
+     */
+    private static boolean varyCoveredByKey(HttpHeaders headers) {
+        for (String value : headers.getOrEmpty(HttpHeaders.VARY)) {
+            for (String name : value.split(",")) {
+                String header = name.trim();
+                if (header.isEmpty()) {
+                    continue;
+                }
+                if (KEYED_REQUEST_HEADERS.stream().noneMatch(header::equalsIgnoreCase)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public int getOrder() {
+        // 认证之后、配额之前：缓存命中的请求不消耗下游配额
+        return -95;
+    }
+    
+    /**
+     * 捕获下游响应体并写入缓存，未命中的请求按下游响应原样返回
+     */
+    private class CachingResponseDecorator extends ServerHttpResponseDecorator {
+        
+        private final String key;
+        private final String path;
+        private final ResponseCacheProperties.Route route;
+        private final long requestTime;
+        
+        CachingResponseDecorator(ServerWebExchange exchange, String key, String path,
+                                 ResponseCacheProperties.Route route, long requestTime) {
+            super(exchange.getResponse());
+            this.key = key;
+            this.path = path;
+            this.route = route;
+            this.requestTime = requestTime;
+        }
+        
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = getHeaders();
+            long ttl = responseTtlMillis(headers, route);
+            long contentLength = headers.getContentLength();
+            if (status == null || status.value() != HttpStatus.OK.value() || ttl == 0
+                    || contentLength > properties.getMaxEntryBytes() || !varyCoveredByKey(headers)) {
+                return super.writeWith(body);
+            }
+            long ttlMillis = ttl > 0 ? ttl : route.getTtl().toMillis();
+            
+            // 响应边转发边复制，超过单条上限即放弃缓存，不在内存中聚合整个响应
+            BoundedBodyCapture capture = new BoundedBodyCapture(properties.getMaxEntryBytes(), contentLength,
+                    bytes -> saveEntry(status, headers, bytes, ttlMillis), () -> { });
+            return super.writeWith(capture.tee(body));
+        }
+        
+        private void saveEntry(HttpStatusCode status, HttpHeaders headers, byte[] bytes, long ttlMillis) {
+            String etag = headers.getETag();
+            if (etag == null) {
+                etag = "W/\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+            }
+            HttpHeaders cachedHeaders = new HttpHeaders();
+            for (String name : CACHED_HEADERS) {
+                List<String> values = headers.get(name);
+                if (values != null) {
+                    cachedHeaders.put(name, values);
+                }
+            }
+            store.put(key, new CachedResponse(path, status.value(), cachedHeaders, bytes, etag,
+                                              requestTime, requestTime + ttlMillis));
+        }
+    }
+}
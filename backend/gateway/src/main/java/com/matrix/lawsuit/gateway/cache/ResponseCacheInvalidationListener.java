@@ -0,0 +1,77 @@
+package com.matrix.lawsuit.gateway.cache;
+
+import com.matrix.lawsuit.gateway.route.PathPatternTrie;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * 响应缓存失效监听
+ *
+ * 订阅Redis频道，消息内容为路径模式（如 /user/dict/**）。服务在写操作后发布消息，所有网关实例同时失效本地缓存。
+ */
+@Component
+public class ResponseCacheInvalidationListener {
+    
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheInvalidationListener.class);
+    
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ResponseCacheProperties properties;
+    private final ResponseCacheStore store;
+    
+    private volatile Disposable subscription;
+    
+    public ResponseCacheInvalidationListener(ReactiveStringRedisTemplate redisTemplate,
+                                             ResponseCacheProperties properties,
+                                             ResponseCacheStore store) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.store = store;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        subscription = redisTemplate.listenToChannel(properties.getInvalidationChannel())
+                .doOnNext(message -> invalidate(message.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("响应缓存失效订阅中断，准备重连: {}",
+                                                          signal.failure().getMessage())))
+                .subscribe();
+        log.info("响应缓存失效订阅已启动: channel={}", properties.getInvalidationChannel());
+    }
+    
+    /**
+     * 按路径模式失效
+     */
+    public int invalidate(String pattern) {
+        try {
+            PathPatternTrie<Boolean> matcher = PathPatternTrie.compile(Collections.singletonMap(pattern, Boolean.TRUE));
+            int removed = store.invalidate(matcher::matches);
+            log.debug("响应缓存失效: pattern={}, removed={}", pattern, removed);
+            return removed;
+        } catch (Exception e) {
+            log.error("响应缓存失效处理失败: pattern={}", pattern, e);
+            return 0;
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+}
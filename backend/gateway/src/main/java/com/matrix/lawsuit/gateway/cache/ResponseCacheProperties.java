@@ -0,0 +1,82 @@
+package com.matrix.lawsuit.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 网关响应缓存配置
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+    
+    /**
+     * 是否启用响应缓存
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 缓存总容量（字节）
+     */
+    private long maxBytes = 64L * 1024 * 1024;
+    
+    /**
+     * 单个响应上限（字节），超过时不缓存
+     */
+    private int maxEntryBytes = 512 * 1024;
+    
+    /**
+     * 失效通知的Redis频道，消息内容为路径模式
+     */
+    private String invalidationChannel = "dlmp:gateway:cache:invalidate";
+    
+    /**
+     * 可缓存的路径模式
+     */
+    private Map<String, Route> routes = new LinkedHashMap<>();
+    
+    /**
+     * 缓存key的隔离范围
+     */
+    public enum Scope {
+        /** 所有请求共享 */
+        GLOBAL,
+        /** 按租户隔离 */
+        TENANT,
+        /** 按用户隔离 */
+        USER
+    }
+    
+    public static class Route {
+        
+        /**
+         * 下游未返回max-age时的缓存时间
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+        
+        /**
+         * 隔离范围
+         */
+        private Scope scope = Scope.TENANT;
+        
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+        public Scope getScope() { return scope; }
+        public void setScope(Scope scope) { this.scope = scope; }
+    }
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public long getMaxBytes() { return maxBytes; }
+    public void setMaxBytes(long maxBytes) { this.maxBytes = maxBytes; }
+    public int getMaxEntryBytes() { return maxEntryBytes; }
+    public void setMaxEntryBytes(int maxEntryBytes) { this.maxEntryBytes = maxEntryBytes; }
+    public String getInvalidationChannel() { return invalidationChannel; }
+    public void setInvalidationChannel(String invalidationChannel) { this.invalidationChannel = invalidationChannel; }
+    public Map<String, Route> getRoutes() { return routes; }
+    public void setRoutes(Map<String, Route> routes) { this.routes = routes; }
+}
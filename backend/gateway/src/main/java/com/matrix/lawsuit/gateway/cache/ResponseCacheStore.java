@@ -0,0 +1,105 @@
+package com.matrix.lawsuit.gateway.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 按字节数限制的响应缓存（LRU）
+ * 访问顺序LinkedHashMap的get也会调整链表，读写都在同一把对象锁内完成，临界区只做链表调整；
+ * 超出容量时从最久未访问的条目开始淘汰
+ */
+@Component
+public class ResponseCacheStore {
+    
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final long maxBytes;
+    private long currentBytes;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public ResponseCacheStore(ResponseCacheProperties properties) {
+        this.maxBytes = properties.getMaxBytes();
+    }
+    
+    /**
+     * 获取未过期的缓存
+     */
+    public CachedResponse get(String key, long now) {
+        CachedResponse response;
+        synchronized (entries) {
+            response = entries.get(key);
+            if (response != null && response.isExpired(now)) {
+                entries.remove(key);
+                currentBytes -= response.weight();
+                response = null;
+            }
+        }
+        (response != null ? hits : misses).incrementAndGet();
+        return response;
+    }
+    
+    /**
+     * 写入缓存
+     */
+    public void put(String key, CachedResponse response) {
+        synchronized (entries) {
+            CachedResponse previous = entries.put(key, response);
+            if (previous != null) {
+                currentBytes -= previous.weight();
+            }
+            currentBytes += response.weight();
+            
+            Iterator<CachedResponse> iterator = entries.values().iterator();
+            while (currentBytes > maxBytes && iterator.hasNext()) {
+                CachedResponse eldest = iterator.next();
+                iterator.remove();
+                currentBytes -= eldest.weight();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+    
+    /**
+     * 按路径失效
+     *
+     * @return 失效条目数
+     */
+    public int invalidate(Predicate<String> pathMatcher) {
+        int removed = 0;
+        synchronized (entries) {
+            Iterator<CachedResponse> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                CachedResponse response = iterator.next();
+                if (pathMatcher.test(response.getPath())) {
+                    iterator.remove();
+                    currentBytes -= response.weight();
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+    
+    /**
+     * 统计信息
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("entries", entries.size());
+            stats.put("bytes", currentBytes);
+        }
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+}
@@ -0,0 +1,69 @@
+package com.matrix.lawsuit.gateway.coalesce;
+
+import com.matrix.lawsuit.gateway.cache.ResponseCacheProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 网关请求合并配置
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.coalescing")
+public class CoalescingProperties {
+    
+    /**
+     * 是否启用请求合并
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 在途表容量上限，超过时新请求直接转发不合并
+     */
+    private int maxInFlight = 10000;
+    
+    /**
+     * 可共享的响应体上限（字节），超过时跟随者各自转发
+     */
+    private int maxBodyBytes = 1024 * 1024;
+    
+    /**
+     * 跟随者最长等待时间，超时后各自转发
+     */
+    private Duration maxWait = Duration.ofSeconds(30);
+    
+    /**
+     * 未单独配置的GET请求使用的隔离范围，默认按用户合并
+     */
+    private ResponseCacheProperties.Scope defaultScope = ResponseCacheProperties.Scope.USER;
+    
+    /**
+     * 路径模式到隔离范围的映射，例如多人共看的看板可按租户合并
+     */
+    private Map<String, ResponseCacheProperties.Scope> routes = new LinkedHashMap<>();
+    
+    /**
+     * 不参与合并的路径模式（如验证码等每次结果不同的接口）
+     */
+    private List<String> excludes = new ArrayList<>();
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getMaxInFlight() { return maxInFlight; }
+    public void setMaxInFlight(int maxInFlight) { this.maxInFlight = maxInFlight; }
+    public int getMaxBodyBytes() { return maxBodyBytes; }
+    public void setMaxBodyBytes(int maxBodyBytes) { this.maxBodyBytes = maxBodyBytes; }
+    public Duration getMaxWait() { return maxWait; }
+    public void setMaxWait(Duration maxWait) { this.maxWait = maxWait; }
+    public ResponseCacheProperties.Scope getDefaultScope() { return defaultScope; }
+    public void setDefaultScope(ResponseCacheProperties.Scope defaultScope) { this.defaultScope = defaultScope; }
+    public Map<String, ResponseCacheProperties.Scope> getRoutes() { return routes; }
+    public void setRoutes(Map<String, ResponseCacheProperties.Scope> routes) { this.routes = routes; }
+    public List<String> getExcludes() { return excludes; }
+    public void setExcludes(List<String> excludes) { this.excludes = excludes; }
+}
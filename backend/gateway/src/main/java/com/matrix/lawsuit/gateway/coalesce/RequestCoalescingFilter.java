@@ -0,0 +1,363 @@
+package com.matrix.lawsuit.gateway.coalesce;
+
+import com.matrix.lawsuit.gateway.auth.VerifiedToken;
+import com.matrix.lawsuit.gateway.cache.BoundedBodyCapture;
+import com.matrix.lawsuit.gateway.cache.ResponseCacheProperties;
+import com.matrix.lawsuit.gateway.filter.AuthGlobalFilter;
+import com.matrix.lawsuit.gateway.route.PathPatternTrie;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 相同GET请求合并过滤器
+ *
+ * 路由、路径、查询串和身份范围都相同的请求在途时，只有第一个请求（领导者）转发到下游，
+ * 其余请求（跟随者）订阅同一个Mono等待领导者的响应并直接写回。
+ * 领导者失败、被取消、响应不可共享（Set-Cookie、非文本内容、超过体积上限）或跟随者等待超时时，跟随者各自转发，
+ * 合并只会减少下游调用，不会改变任何请求的结果。
+ * 租户范围取自已验证令牌的tenantId声明，令牌无租户时不合并。
+ * 条件请求（If-None-Match等）和Range请求不合并，避免把领导者的304/206回放给未携带验证器的请求；
+ * key包含Accept和Accept-Encoding，压缩与否不同的请求不会共享响应。
+ * 共享的只有下游返回的响应头，网关为领导者单独设置的头（跟踪ID、剩余配额、缓存状态等）不会复制给跟随者。
+ */
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+    
+    private static final Logger log = LoggerFactory.getLogger(RequestCoalescingFilter.class);
+    
+    private static final String COALESCED_HEADER = "X-Coalesced";
+    
+    /**
+     * 使响应依赖于请求方已有副本的请求头，携带时不合并
+     */
+    private static final List<String> CONDITIONAL_HEADERS = List.of(HttpHeaders.RANGE, HttpHeaders.IF_NONE_MATCH,
+            HttpHeaders.IF_MODIFIED_SINCE, HttpHeaders.IF_MATCH, HttpHeaders.IF_UNMODIFIED_SINCE, HttpHeaders.IF_RANGE);
+    
+    /**
+     * 逐请求或逐连接的响应头，不共享给跟随者
+     */
+    private static final Set<String> PER_REQUEST_HEADERS = caseInsensitiveSet(HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, HttpHeaders.SET_COOKIE, HttpHeaders.DATE,
+            "Keep-Alive", "X-Trace-Id", "X-Request-Id", "X-RateLimit-Remaining", "X-Cache", COALESCED_HEADER);
+    
+    private final CoalescingProperties properties;
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter fallbacks;
+    private final Counter bypassed;
+    
+    private volatile Compiled compiled;
+    
+    public RequestCoalescingFilter(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.compiled = compile(properties);
+        
+        this.leaders = requestCounter(meterRegistry, "leader");
+        this.followers = requestCounter(meterRegistry, "follower");
+        this.fallbacks = requestCounter(meterRegistry, "fallback");
+        this.bypassed = requestCounter(meterRegistry, "bypass");
+        Gauge.builder("gateway.coalescing.inflight", inFlight, Map::size)
+                .description("网关请求合并在途表大小")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.ratio", this, RequestCoalescingFilter::coalescingRatio)
+                .description("被合并的请求占比")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || request.getMethod() != HttpMethod.GET || isConditional(request.getHeaders())) {
+            return chain.filter(exchange);
+        }
+        
+        String path = request.getURI().getPath();
+        Compiled current = compiled;
+        if (current.excludes.matches(path)) {
+            return chain.filter(exchange);
+        }
+        
+        ResponseCacheProperties.Scope scope = current.routes.match(path);
+        String key = buildKey(exchange, scope != null ? scope : properties.getDefaultScope(), path);
+        if (key == null) {
+            return chain.filter(exchange);
+        }
+        
+        InFlight existing = inFlight.get(key);
+        if (existing != null) {
+            return follow(exchange, chain, existing);
+        }
+        if (inFlight.size() >= properties.getMaxInFlight()) {
+            bypassed.increment();
+            return chain.filter(exchange);
+        }
+        
+        InFlight created = new InFlight(key);
+        existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return follow(exchange, chain, existing);
+        }
+        return lead(exchange, chain, created);
+    }
+    
+    /**
+     * 配置刷新后重新编译路径规则
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void reload() {
+        try {
+            this.compiled = compile(properties);
+            log.info("请求合并规则已重新加载: routes={}, excludes={}", compiled.routes.size(), compiled.excludes.size());
+        } catch (Exception e) {
+            log.error("请求合并规则重新加载失败，继续使用旧配置", e);
+        }
+    }
+    
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, InFlight flight) {
+        leaders.increment();
+        // 此前过滤器为领导者本次请求设置的响应头，共享时排除
+        Set<String> presetHeaders = caseInsensitiveSet(exchange.getResponse().getHeaders().keySet().toArray(new String[0]));
+        SharingResponseDecorator decorator = new SharingResponseDecorator(exchange.getResponse(), flight, presetHeaders);
+        return chain.filter(exchange.mutate().response(decorator).build())
+                // 任何未共享响应的结束方式（异常、取消、不可共享）都通知跟随者自行转发
+                .doFinally(signal -> release(flight, null));
+    }
+    
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, InFlight flight) {
+        followers.increment();
+        return flight.sink.asMono()
+                .timeout(properties.getMaxWait(), Mono.empty())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(shared -> {
+                    if (shared.isPresent() && !exchange.getResponse().isCommitted()) {
+                        return writeShared(exchange, shared.get());
+                    }
+                    fallbacks.increment();
+                    return chain.filter(exchange);
+                });
+    }
+    
+    /**
+     * 从在途表移除并向跟随者发布结果，response为null表示不可共享
+     */
+    private void release(InFlight flight, SharedResponse response) {
+        inFlight.remove(flight.key, flight);
+        if (response != null) {
+            flight.sink.tryEmitValue(response);
+        } else {
+            flight.sink.tryEmitEmpty();
+        }
+    }
+    
+    private Mono<Void> writeShared(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(shared.getStatus()));
+        HttpHeaders headers = response.getHeaders();
+        // 本请求前序过滤器已设置的响应头（如剩余配额）优先
+        shared.getHeaders().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.put(name, new ArrayList<>(values));
+            }
+        });
+        headers.set(COALESCED_HEADER, "HIT");
+        headers.setContentLength(shared.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.getBody())));
+    }
+    
+    /**
+     * 合并key：路由ID、隔离范围、路径、查询串、Accept和Accept-Encoding
+     */
+    private String buildKey(ServerWebExchange exchange, ResponseCacheProperties.Scope scope, String path) {
+        String scopeKey;
+        VerifiedToken token = exchange.getAttribute(AuthGlobalFilter.VERIFIED_TOKEN_ATTR);
+        switch (scope) {
+            case USER:
+                if (token == null) {
+                    // 匿名请求（白名单接口）不合并
+                    return null;
+                }
+                scopeKey = "u:" + token.getUserId();
+                break;
+            case TENANT:
+                // 租户取自已验证令牌，不信任客户端请求头；无租户时不合并
+                if (token == null || token.getTenantId() == null) {
+                    return null;
+                }
+                scopeKey = "t:" + token.getTenantId();
+                break;
+            default:
+                scopeKey = "g";
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String query = exchange.getRequest().getURI().getRawQuery();
+        String accept = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT);
+        String acceptEncoding = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+        
+        StringBuilder key = new StringBuilder(64)
+                .append(route != null ? route.getId() : "-").append('|')
+                .append(scopeKey).append('|')
+                .append(path);
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        key.append('|').append(accept != null ? accept : "");
+        key.append('|').append(acceptEncoding != null ? acceptEncoding : "");
+        return key.toString();
+    }
+    
+    private static boolean isConditional(HttpHeaders headers) {
+        for (String name : CONDITIONAL_HEADERS) {
+            if (headers.containsKey(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static Set<String> caseInsensitiveSet(String... names) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        Collections.addAll(set, names);
+        return set;
+    }
+    
+    private double coalescingRatio() {
+        double total = leaders.count() + followers.count();
+        return total > 0 ? followers.count() / total : 0;
+    }
+    
+    private static Compiled compile(CoalescingProperties properties) {
+        Map<String, Boolean> excludes = new LinkedHashMap<>();
+        for (String pattern : properties.getExcludes()) {
+            excludes.put(pattern, Boolean.TRUE);
+        }
+        return new Compiled(PathPatternTrie.compile(new LinkedHashMap<>(properties.getRoutes())),
+                            PathPatternTrie.compile(excludes));
+    }
+    
+    private static Counter requestCounter(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("gateway.coalescing.requests")
+                .description("网关请求合并计数")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 只共享文本类响应，文件下载等二进制内容不在内存中聚合
+     */
+    private static boolean isShareableContentType(MediaType contentType) {
+        return contentType == null
+                || MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                || "text".equals(contentType.getType());
+    }
+    
+    @Override
+    public int getOrder() {
+        // 认证、缓存、配额之后，容错过滤器之前：跟随者不占用下游并发名额
+        return -85;
+    }
+    
+    /**
+     * 在途请求
+     */
+    private static final class InFlight {
+        private final String key;
+        private final Sinks.One<SharedResponse> sink = Sinks.one();
+        
+        InFlight(String key) {
+            this.key = key;
+        }
+    }
+    
+    /**
+     * 编译后的路径规则
+     */
+    private static final class Compiled {
+        private final PathPatternTrie<ResponseCacheProperties.Scope> routes;
+        private final PathPatternTrie<Boolean> excludes;
+        
+        Compiled(PathPatternTrie<ResponseCacheProperties.Scope> routes, PathPatternTrie<Boolean> excludes) {
+            this.routes = routes;
+            this.excludes = excludes;
+        }
+    }
+    
+    /**
+     * 捕获领导者的下游响应并发布给跟随者
+     */
+    private class SharingResponseDecorator extends ServerHttpResponseDecorator {
+        
+        private final InFlight flight;
+        private final Set<String> presetHeaders;
+        
+        SharingResponseDecorator(ServerHttpResponse delegate, InFlight flight, Set<String> presetHeaders) {
+            super(delegate);
+            this.flight = flight;
+            this.presetHeaders = presetHeaders;
+        }
+        
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = getHeaders();
+            if (status == null || status.value() == 304 || status.value() == 206
+                    || headers.containsKey(HttpHeaders.SET_COOKIE)
+                    || headers.getContentLength() > properties.getMaxBodyBytes()
+                    || !isShareableContentType(headers.getContentType())) {
+                release(flight, null);
+                return super.writeWith(body);
+            }
+            
+            // 领导者响应边转发边复制，超过上限立即通知跟随者自行转发，不在内存中聚合整个响应
+            BoundedBodyCapture capture = new BoundedBodyCapture(properties.getMaxBodyBytes(), headers.getContentLength(),
+                    bytes -> release(flight, new SharedResponse(status.value(), sharedHeaders(headers), bytes)),
+                    () -> release(flight, null));
+            return super.writeWith(capture.tee(body));
+        }
+        
+        private HttpHeaders sharedHeaders(HttpHeaders headers) {
+            HttpHeaders sharedHeaders = new HttpHeaders();
+            headers.forEach((name, values) -> {
+                if (!PER_REQUEST_HEADERS.contains(name) && !presetHeaders.contains(name)) {
+                    sharedHeaders.put(name, values);
+                }
+            });
+            return sharedHeaders;
+        }
+    }
+}
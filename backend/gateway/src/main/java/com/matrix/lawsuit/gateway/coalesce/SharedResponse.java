@@ -0,0 +1,31 @@
+package com.matrix.lawsuit.gateway.coalesce;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * 合并请求之间共享的下游响应
+ */
+public class SharedResponse {
+    
+    private final int status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    
+    public SharedResponse(int status, HttpHeaders headers, byte[] body) {
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+    }
+    
+    public int getStatus() {
+        return status;
+    }
+    
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+    
+    public byte[] getBody() {
+        return body;
+    }
+}
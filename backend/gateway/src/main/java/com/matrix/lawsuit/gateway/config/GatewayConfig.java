@@ -1,9 +1,24 @@
 package com.matrix.lawsuit.gateway.config;
 
+import com.matrix.lawsuit.gateway.httpclient.HttpClientPoolProperties;
+import com.matrix.lawsuit.gateway.httpclient.HttpClientPoolRegistry;
+import com.matrix.lawsuit.gateway.httpclient.RoutedNettyRoutingFilter;
+import com.matrix.lawsuit.gateway.resilience.ResilienceProperties;
+import com.matrix.lawsuit.gateway.resilience.RouteGuardRegistry;
+import com.matrix.lawsuit.gateway.upload.StreamingUploadGatewayFilter;
+import com.matrix.lawsuit.gateway.upload.UploadProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
 
 /**
  * 网关配置类
@@ -15,11 +30,43 @@ public class GatewayConfig {
      * 配置路由规则
      */
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
-        return builder.routes()
+    public RouteLocator customRouteLocator(RouteLocatorBuilder builder, UploadProperties uploadProperties,
+                                           StreamingUploadGatewayFilter streamingUploadGatewayFilter) {
+        RouteLocatorBuilder.Builder routes = builder.routes()
             // 健康检查路由
             .route("health", r -> r.path("/health")
-                .uri("http://localhost:8080"))
-            .build();
+                .uri("http://localhost:8080"));
+        
+        if (uploadProperties.isEnabled()) {
+            // 文件上传路由：请求体流式转发，优先于/file/**通用路由匹配
+            routes.route("file-upload", r -> r.order(-1)
+                .path(uploadProperties.getPath())
+                .filters(f -> f.stripPrefix(1).filter(streamingUploadGatewayFilter))
+                // 关闭Netty客户端的响应超时（从开始发送请求体计时），整体超时由gateway.policy控制
+                .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, -1)
+                .uri(uploadProperties.getUri()));
+        }
+        return routes.build();
+    }
+    
+    /**
+     * 路由容错守卫注册表（隔离舱、熔断、自适应超时）
+     */
+    @Bean
+    public RouteGuardRegistry routeGuardRegistry(ResilienceProperties resilienceProperties, MeterRegistry meterRegistry) {
+        return new RouteGuardRegistry(resilienceProperties, meterRegistry);
+    }
+    
+    /**
+     * 按路由连接池转发请求，替换默认的NettyRoutingFilter
+     */
+    @Bean
+    public RoutedNettyRoutingFilter routedNettyRoutingFilter(HttpClient httpClient,
+                                                             ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                                             HttpClientProperties httpClientProperties,
+                                                             HttpClientPoolRegistry httpClientPoolRegistry,
+                                                             HttpClientPoolProperties httpClientPoolProperties) {
+        return new RoutedNettyRoutingFilter(httpClient, headersFilters, httpClientProperties,
+                                            httpClientPoolRegistry, httpClientPoolProperties);
     }
-}
\ No newline at end of file
+}
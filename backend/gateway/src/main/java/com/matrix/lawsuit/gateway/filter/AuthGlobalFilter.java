@@ -3,6 +3,13 @@ package com.matrix.lawsuit.gateway.filter;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.matrix.lawsuit.common.core.domain.Result;
+import com.matrix.lawsuit.common.security.identity.IdentityHeader;
+import com.matrix.lawsuit.gateway.auth.JwtVerifier;
+import com.matrix.lawsuit.gateway.auth.VerifiedToken;
+import com.matrix.lawsuit.gateway.route.RoutePolicyMatcher;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
@@ -12,14 +19,11 @@ import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.List;
 
 /**
  * 认证全局过滤器
@@ -27,19 +31,26 @@ import java.util.List;
 @Component
 public class AuthGlobalFilter implements GlobalFilter, Ordered {
     
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private static final Logger log = LoggerFactory.getLogger(AuthGlobalFilter.class);
+    
+    /**
+     * 已验证令牌在exchange中的属性名，供后续过滤器读取用户身份
+     */
+    public static final String VERIFIED_TOKEN_ATTR = AuthGlobalFilter.class.getName() + ".verifiedToken";
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
     
+    private final JwtVerifier jwtVerifier;
+    
     /**
-     * 白名单路径，无需认证
+     * 白名单和路由策略匹配，配置见gateway.policy
      */
-    private final List<String> whiteList = Arrays.asList(
-        "/user/auth/login",
-        "/user/auth/register", 
-        "/user/auth/captcha",
-        "/actuator/**",
-        "/health"
-    );
+    private final RoutePolicyMatcher routePolicyMatcher;
+    
+    public AuthGlobalFilter(JwtVerifier jwtVerifier, RoutePolicyMatcher routePolicyMatcher) {
+        this.jwtVerifier = jwtVerifier;
+        this.routePolicyMatcher = routePolicyMatcher;
+    }
     
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
@@ -48,6 +59,12 @@ public class AuthGlobalFilter implements GlobalFilter, Ordered {
         
         // 检查是否在白名单中
         if (isWhiteList(path)) {
+            // 清除客户端伪造的身份头
+            if (request.getHeaders().containsKey(IdentityHeader.HEADER_NAME)) {
+                return chain.filter(exchange.mutate()
+                        .request(request.mutate().headers(headers -> headers.remove(IdentityHeader.HEADER_NAME)).build())
+                        .build());
+            }
             return chain.filter(exchange);
         }
         
@@ -57,17 +74,29 @@ public class AuthGlobalFilter implements GlobalFilter, Ordered {
             return unauthorizedResponse(exchange, "未提供认证令牌");
         }
         
-        // TODO: 验证token有效性
-        // 这里暂时跳过token验证，后续集成JWT验证逻辑
+        // 验证token，结果按令牌摘要缓存
+        VerifiedToken verified;
+        try {
+            verified = jwtVerifier.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("认证令牌验证失败: path={}, error={}", path, e.getMessage());
+            return unauthorizedResponse(exchange, "认证令牌无效或已过期");
+        }
+        
+        exchange.getAttributes().put(VERIFIED_TOKEN_ATTR, verified);
         
-        return chain.filter(exchange);
+        // 向下游传递签名身份头，服务无需再解析JWT
+        ServerHttpRequest mutated = request.mutate()
+                .headers(headers -> headers.set(IdentityHeader.HEADER_NAME, verified.getIdentityHeader()))
+                .build();
+        return chain.filter(exchange.mutate().request(mutated).build());
     }
     
     /**
-     * 检查路径是否在白名单中
+     * 检查路径是否无需认证（白名单或策略中authRequired=false）
      */
     private boolean isWhiteList(String path) {
-        return whiteList.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+        return !routePolicyMatcher.isAuthRequired(path);
     }
     
     /**
@@ -89,7 +118,7 @@ public class AuthGlobalFilter implements GlobalFilter, Ordered {
         response.setStatusCode(HttpStatus.UNAUTHORIZED);
         response.getHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
         
-        Result<String> result = Result.error(401, message);
+        Result<String> result = Result.fail(401, message);
         String body;
         try {
             body = objectMapper.writeValueAsString(result);
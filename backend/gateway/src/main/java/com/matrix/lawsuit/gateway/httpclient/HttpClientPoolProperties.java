@@ -0,0 +1,146 @@
+package com.matrix.lawsuit.gateway.httpclient;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 网关到下游服务的HTTP客户端配置，每个路由独立连接池
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.http-client")
+public class HttpClientPoolProperties {
+    
+    /**
+     * 是否启用按路由连接池，关闭时使用Spring Cloud Gateway默认客户端
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 默认连接池配置
+     */
+    private Pool defaults = new Pool();
+    
+    /**
+     * 路由ID到连接池配置的映射
+     */
+    private Map<String, Pool> routes = new LinkedHashMap<>();
+    
+    /**
+     * 取路由连接池配置
+     */
+    public Pool forRoute(String routeId) {
+        return routes.getOrDefault(routeId, defaults);
+    }
+    
+    public static class Pool {
+        
+        /**
+         * 最大连接数
+         */
+        private int maxConnections = 500;
+        
+        /**
+         * 等待获取连接的请求队列上限
+         */
+        private int pendingAcquireMaxCount = 1000;
+        
+        /**
+         * 等待获取连接的超时时间
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+        
+        /**
+         * 连接最长空闲时间，应小于下游服务的keep-alive超时，避免复用已被对端关闭的连接
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        
+        /**
+         * 连接最长存活时间，定期重建连接以便负载均衡到新实例
+         */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        
+        /**
+         * 后台清理空闲连接的间隔
+         */
+        private Duration evictInterval = Duration.ofSeconds(30);
+        
+        /**
+         * 连接池重建时旧连接池的优雅关闭等待时间
+         */
+        private Duration disposeTimeout = Duration.ofSeconds(30);
+        
+        /**
+         * 建连超时
+         */
+        private Duration connectTimeout = Duration.ofSeconds(3);
+        
+        /**
+         * 下游协议：http11、h2c，同时配置时通过Upgrade协商
+         */
+        private List<HttpProtocol> protocols = new ArrayList<>(List.of(HttpProtocol.HTTP11));
+        
+        /**
+         * HTTP keep-alive
+         */
+        private boolean keepAlive = true;
+        
+        /**
+         * TCP keep-alive探测：空闲多久后开始探测、探测间隔、探测次数
+         */
+        private Duration tcpKeepIdle = Duration.ofSeconds(60);
+        
+        private Duration tcpKeepInterval = Duration.ofSeconds(10);
+        
+        private int tcpKeepCount = 3;
+        
+        /**
+         * 配置指纹，用于刷新时判断连接池是否需要重建
+         */
+        public String fingerprint() {
+            return maxConnections + "|" + pendingAcquireMaxCount + "|" + pendingAcquireTimeout + "|" + maxIdleTime
+                    + "|" + maxLifeTime + "|" + evictInterval + "|" + disposeTimeout + "|" + connectTimeout
+                    + "|" + protocols + "|" + keepAlive + "|" + tcpKeepIdle + "|" + tcpKeepInterval + "|" + tcpKeepCount;
+        }
+        
+        public int getMaxConnections() { return maxConnections; }
+        public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+        public int getPendingAcquireMaxCount() { return pendingAcquireMaxCount; }
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) { this.pendingAcquireMaxCount = pendingAcquireMaxCount; }
+        public Duration getPendingAcquireTimeout() { return pendingAcquireTimeout; }
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) { this.pendingAcquireTimeout = pendingAcquireTimeout; }
+        public Duration getMaxIdleTime() { return maxIdleTime; }
+        public void setMaxIdleTime(Duration maxIdleTime) { this.maxIdleTime = maxIdleTime; }
+        public Duration getMaxLifeTime() { return maxLifeTime; }
+        public void setMaxLifeTime(Duration maxLifeTime) { this.maxLifeTime = maxLifeTime; }
+        public Duration getEvictInterval() { return evictInterval; }
+        public void setEvictInterval(Duration evictInterval) { this.evictInterval = evictInterval; }
+        public Duration getDisposeTimeout() { return disposeTimeout; }
+        public void setDisposeTimeout(Duration disposeTimeout) { this.disposeTimeout = disposeTimeout; }
+        public Duration getConnectTimeout() { return connectTimeout; }
+        public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+        public List<HttpProtocol> getProtocols() { return protocols; }
+        public void setProtocols(List<HttpProtocol> protocols) { this.protocols = protocols; }
+        public boolean isKeepAlive() { return keepAlive; }
+        public void setKeepAlive(boolean keepAlive) { this.keepAlive = keepAlive; }
+        public Duration getTcpKeepIdle() { return tcpKeepIdle; }
+        public void setTcpKeepIdle(Duration tcpKeepIdle) { this.tcpKeepIdle = tcpKeepIdle; }
+        public Duration getTcpKeepInterval() { return tcpKeepInterval; }
+        public void setTcpKeepInterval(Duration tcpKeepInterval) { this.tcpKeepInterval = tcpKeepInterval; }
+        public int getTcpKeepCount() { return tcpKeepCount; }
+        public void setTcpKeepCount(int tcpKeepCount) { this.tcpKeepCount = tcpKeepCount; }
+    }
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Pool getDefaults() { return defaults; }
+    public void setDefaults(Pool defaults) { this.defaults = defaults; }
+    public Map<String, Pool> getRoutes() { return routes; }
+    public void setRoutes(Map<String, Pool> routes) { this.routes = routes; }
+}
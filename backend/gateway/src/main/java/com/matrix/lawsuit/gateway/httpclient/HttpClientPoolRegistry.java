@@ -0,0 +1,193 @@
+package com.matrix.lawsuit.gateway.httpclient;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.socket.nio.NioChannelOption;
+import jakarta.annotation.PreDestroy;
+import jdk.net.ExtendedSocketOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按路由的HTTP客户端注册表
+ *
+ * 每个路由独立一个ConnectionProvider，热点路由的连接池耗尽不会影响其他路由。
+ * 客户端与默认客户端一样经由HttpClientFactory构建，spring.cloud.gateway.httpclient的ssl、proxy、响应解码等配置
+ * 以及HttpClientCustomizer都会生效，之后再叠加路由级的协议、连接超时和keep-alive配置。
+ * 连接池开启Reactor Netty内置指标（reactor.netty.connection.provider.*，按name标签区分路由）。
+ * Nacos配置变更后只重建配置发生变化的连接池，旧连接池在disposeTimeout内等待在途请求完成后关闭。
+ */
+@Component
+public class HttpClientPoolRegistry {
+    
+    private static final Logger log = LoggerFactory.getLogger(HttpClientPoolRegistry.class);
+    
+    private static final String POOL_NAME_PREFIX = "gateway-";
+    
+    private final HttpClientPoolProperties properties;
+    private final HttpClientProperties gatewayClientProperties;
+    private final ServerProperties serverProperties;
+    private final HttpClientSslConfigurer sslConfigurer;
+    private final ObjectProvider<HttpClientCustomizer> customizers;
+    private final ConcurrentHashMap<String, PooledClient> clients = new ConcurrentHashMap<>();
+    
+    public HttpClientPoolRegistry(HttpClientPoolProperties properties, HttpClientProperties gatewayClientProperties,
+                                  ServerProperties serverProperties, ObjectProvider<HttpClientSslConfigurer> sslConfigurer,
+                                  ObjectProvider<HttpClientCustomizer> customizers) {
+        this.properties = properties;
+        this.gatewayClientProperties = gatewayClientProperties;
+        this.serverProperties = serverProperties;
+        this.sslConfigurer = sslConfigurer.getIfAvailable(
+                () -> new HttpClientSslConfigurer(gatewayClientProperties.getSsl(), serverProperties));
+        this.customizers = customizers;
+    }
+    
+    /**
+     * 获取路由对应的HTTP客户端
+     */
+    public HttpClient get(String routeId) {
+        PooledClient client = clients.get(routeId);
+        if (client == null) {
+            client = clients.computeIfAbsent(routeId, id -> build(id, properties.forRoute(id)));
+        }
+        return client.httpClient;
+    }
+    
+    /**
+     * 配置刷新后重建发生变化的连接池
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void reload() {
+        clients.forEach((routeId, current) -> {
+            HttpClientPoolProperties.Pool pool = properties.forRoute(routeId);
+            if (pool.fingerprint().equals(current.fingerprint)) {
+                return;
+            }
+            try {
+                PooledClient rebuilt = build(routeId, pool);
+                if (clients.replace(routeId, current, rebuilt)) {
+                    current.provider.disposeLater().subscribe();
+                    log.info("路由连接池已重建: route={}, maxConnections={}, protocols={}",
+                             routeId, pool.getMaxConnections(), pool.getProtocols());
+                } else {
+                    rebuilt.provider.dispose();
+                }
+            } catch (Exception e) {
+                log.error("路由连接池重建失败，继续使用旧配置: route={}", routeId, e);
+            }
+        });
+    }
+    
+    @PreDestroy
+    public void destroy() {
+        clients.values().forEach(client -> client.provider.dispose());
+        clients.clear();
+    }
+    
+    private PooledClient build(String routeId, HttpClientPoolProperties.Pool pool) {
+        ConnectionProvider provider = ConnectionProvider.builder(POOL_NAME_PREFIX + routeId)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInterval())
+                .disposeTimeout(pool.getDisposeTimeout())
+                .metrics(true)
+                .build();
+        
+        HttpClient httpClient;
+        try {
+            httpClient = new RouteHttpClientFactory(gatewayClientProperties, serverProperties, sslConfigurer,
+                                                    customizers.orderedStream().toList(), provider).create();
+        } catch (RuntimeException e) {
+            provider.dispose();
+            throw e;
+        }
+        
+        // 路由级配置覆盖全局配置
+        httpClient = httpClient
+                .protocol(pool.getProtocols().toArray(new HttpProtocol[0]))
+                .keepAlive(pool.isKeepAlive())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true);
+        httpClient = applyTcpKeepAlive(httpClient, pool);
+        
+        log.info("路由连接池已创建: route={}, maxConnections={}, pendingAcquireMaxCount={}, protocols={}",
+                 routeId, pool.getMaxConnections(), pool.getPendingAcquireMaxCount(), pool.getProtocols());
+        return new PooledClient(pool.fingerprint(), provider, httpClient);
+    }
+    
+    /**
+     * TCP keep-alive探测参数，原生epoll传输和NIO传输使用不同的选项
+     */
+    private static HttpClient applyTcpKeepAlive(HttpClient httpClient, HttpClientPoolProperties.Pool pool) {
+        int idle = (int) pool.getTcpKeepIdle().getSeconds();
+        int interval = (int) pool.getTcpKeepInterval().getSeconds();
+        int count = pool.getTcpKeepCount();
+        if (Epoll.isAvailable()) {
+            return httpClient
+                    .option(EpollChannelOption.TCP_KEEPIDLE, idle)
+                    .option(EpollChannelOption.TCP_KEEPINTVL, interval)
+                    .option(EpollChannelOption.TCP_KEEPCNT, count);
+        }
+        return httpClient
+                .option(NioChannelOption.of(ExtendedSocketOptions.TCP_KEEPIDLE), idle)
+                .option(NioChannelOption.of(ExtendedSocketOptions.TCP_KEEPINTERVAL), interval)
+                .option(NioChannelOption.of(ExtendedSocketOptions.TCP_KEEPCOUNT), count);
+    }
+    
+    /**
+     * 使用路由连接池的HttpClientFactory，其余构建步骤（ssl、proxy、响应解码、压缩、wiretap、customizer）与默认客户端一致
+     */
+    private static final class RouteHttpClientFactory extends HttpClientFactory {
+        private final ConnectionProvider provider;
+        
+        RouteHttpClientFactory(HttpClientProperties properties, ServerProperties serverProperties,
+                               HttpClientSslConfigurer sslConfigurer, List<HttpClientCustomizer> customizers,
+                               ConnectionProvider provider) {
+            super(properties, serverProperties, sslConfigurer, customizers);
+            this.provider = provider;
+        }
+        
+        HttpClient create() {
+            return createInstance();
+        }
+        
+        @Override
+        protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+            return provider;
+        }
+    }
+    
+    /**
+     * 连接池及其客户端
+     */
+    private static final class PooledClient {
+        private final String fingerprint;
+        private final ConnectionProvider provider;
+        private final HttpClient httpClient;
+        
+        PooledClient(String fingerprint, ConnectionProvider provider, HttpClient httpClient) {
+            this.fingerprint = fingerprint;
+            this.provider = provider;
+            this.httpClient = httpClient;
+        }
+    }
+}
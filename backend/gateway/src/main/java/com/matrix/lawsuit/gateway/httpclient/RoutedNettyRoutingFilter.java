@@ -0,0 +1,49 @@
+package com.matrix.lawsuit.gateway.httpclient;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * 按路由选择连接池的Netty路由过滤器
+ *
+ * 替换Spring Cloud Gateway默认的NettyRoutingFilter（spring.cloud.gateway.global-filter.netty-routing.enabled=false），
+ * 请求转发逻辑不变，只把共享的HttpClient换成路由独立的客户端。
+ */
+public class RoutedNettyRoutingFilter extends NettyRoutingFilter {
+    
+    private final HttpClientPoolRegistry registry;
+    private final HttpClientPoolProperties poolProperties;
+    
+    public RoutedNettyRoutingFilter(HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                    HttpClientProperties properties, HttpClientPoolRegistry registry,
+                                    HttpClientPoolProperties poolProperties) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.registry = registry;
+        this.poolProperties = poolProperties;
+    }
+    
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        if (!poolProperties.isEnabled()) {
+            return super.getHttpClient(route, exchange);
+        }
+        HttpClient httpClient = registry.get(route.getId());
+        // 路由元数据中的connect-timeout优先
+        Object connectTimeout = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout != null) {
+            int millis = connectTimeout instanceof Number
+                    ? ((Number) connectTimeout).intValue() : Integer.parseInt(connectTimeout.toString());
+            httpClient = httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, millis);
+        }
+        return httpClient;
+    }
+}
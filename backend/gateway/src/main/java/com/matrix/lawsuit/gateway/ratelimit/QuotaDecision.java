@@ -0,0 +1,38 @@
+package com.matrix.lawsuit.gateway.ratelimit;
+
+/**
+ * 配额判定结果
+ */
+public class QuotaDecision {
+    
+    private static final QuotaDecision UNLIMITED = new QuotaDecision(true, Long.MAX_VALUE, 0);
+    
+    private final boolean allowed;
+    private final long remaining;
+    private final long retryAfterMillis;
+    
+    public QuotaDecision(boolean allowed, long remaining, long retryAfterMillis) {
+        this.allowed = allowed;
+        this.remaining = remaining;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+    
+    /**
+     * 未配置配额时的放行结果
+     */
+    public static QuotaDecision unlimited() {
+        return UNLIMITED;
+    }
+    
+    public boolean isAllowed() {
+        return allowed;
+    }
+    
+    public long getRemaining() {
+        return remaining;
+    }
+    
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
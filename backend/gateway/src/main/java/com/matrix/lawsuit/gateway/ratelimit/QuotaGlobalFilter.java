@@ -0,0 +1,191 @@
+package com.matrix.lawsuit.gateway.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matrix.lawsuit.common.core.domain.Result;
+import com.matrix.lawsuit.gateway.auth.VerifiedToken;
+import com.matrix.lawsuit.gateway.filter.AuthGlobalFilter;
+import com.matrix.lawsuit.gateway.route.PathPatternTrie;
+import com.matrix.lawsuit.gateway.route.RoutePolicy;
+import com.matrix.lawsuit.gateway.route.RoutePolicyProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 配额限流全局过滤器
+ *
+ * 依次按路由、租户、用户三个维度判定，任一维度超限返回429并附带Retry-After。
+ * 租户和用户取自AuthGlobalFilter验证后的令牌，匿名请求只受路由配额限制。
+ * 配额在Nacos中修改后随RefreshScopeRefreshedEvent重新编译，无需重启。
+ */
+@Component
+public class QuotaGlobalFilter implements GlobalFilter, Ordered {
+    
+    private static final Logger log = LoggerFactory.getLogger(QuotaGlobalFilter.class);
+    
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private final QuotaProperties properties;
+    private final RoutePolicyProperties routePolicyProperties;
+    private final ReactiveTokenBucketLimiter limiter;
+    
+    private volatile PathPatternTrie<RouteQuota> routeQuotas;
+    
+    public QuotaGlobalFilter(QuotaProperties properties, RoutePolicyProperties routePolicyProperties,
+                             ReactiveTokenBucketLimiter limiter) {
+        this.properties = properties;
+        this.routePolicyProperties = routePolicyProperties;
+        this.limiter = limiter;
+        this.routeQuotas = compileRoutes();
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        
+        String path = exchange.getRequest().getURI().getPath();
+        RouteQuota routeQuota = routeQuotas.match(path);
+        
+        // 租户和用户都取自已验证令牌，客户端请求头不能绕过或占用其他租户的配额
+        VerifiedToken token = exchange.getAttribute(AuthGlobalFilter.VERIFIED_TOKEN_ATTR);
+        String tenantId = token != null ? token.getTenantId() : null;
+        QuotaRule tenantRule = tenantId != null
+                ? properties.getTenants().getOrDefault(tenantId, properties.getTenantDefault()) : null;
+        
+        String userId = token != null ? String.valueOf(token.getUserId()) : null;
+        QuotaRule userRule = userId != null
+                ? properties.getUsers().getOrDefault(userId, properties.getUserDefault()) : null;
+        
+        if (routeQuota == null && tenantRule == null && userRule == null) {
+            return chain.filter(exchange);
+        }
+        
+        Mono<QuotaDecision> decision = Mono.just(QuotaDecision.unlimited());
+        if (routeQuota != null) {
+            decision = next(decision, "route:" + routeQuota.pattern, routeQuota.rule);
+        }
+        if (tenantRule != null) {
+            decision = next(decision, "tenant:" + tenantId, tenantRule);
+        }
+        if (userRule != null) {
+            decision = next(decision, "user:" + userId, userRule);
+        }
+        
+        return decision.flatMap(result -> {
+            if (!result.isAllowed()) {
+                log.debug("请求超出配额: path={}, tenant={}, user={}, retryAfter={}ms",
+                          path, tenantId, userId, result.getRetryAfterMillis());
+                return tooManyRequests(exchange, result.getRetryAfterMillis());
+            }
+            if (result.getRemaining() != Long.MAX_VALUE) {
+                exchange.getResponse().getHeaders().set(REMAINING_HEADER, String.valueOf(result.getRemaining()));
+            }
+            return chain.filter(exchange);
+        });
+    }
+    
+    /**
+     * 配置刷新后重新编译路由配额
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void reload() {
+        try {
+            this.routeQuotas = compileRoutes();
+            limiter.clearLocalPermits();
+            log.info("网关配额已重新加载: routes={}, tenants={}, users={}",
+                     routeQuotas.size(), properties.getTenants().size(), properties.getUsers().size());
+        } catch (Exception e) {
+            log.error("网关配额重新加载失败，继续使用旧配置", e);
+        }
+    }
+    
+    /**
+     * 前一维度放行时继续判定下一维度，返回剩余许可最少的结果
+     */
+    private Mono<QuotaDecision> next(Mono<QuotaDecision> previous, String key, QuotaRule rule) {
+        return previous.flatMap(prior -> {
+            if (!prior.isAllowed()) {
+                return Mono.just(prior);
+            }
+            return limiter.tryAcquire(key, rule)
+                    .map(current -> !current.isAllowed() || current.getRemaining() < prior.getRemaining() ? current : prior);
+        });
+    }
+    
+    /**
+     * 合并gateway.quota.routes与gateway.policy.routes中的rate-limit，前者优先
+     */
+    private PathPatternTrie<RouteQuota> compileRoutes() {
+        Map<String, RouteQuota> routes = new LinkedHashMap<>();
+        for (Map.Entry<String, RoutePolicy> entry : routePolicyProperties.getRoutes().entrySet()) {
+            Integer rateLimit = entry.getValue().getRateLimit();
+            if (rateLimit != null && rateLimit > 0) {
+                routes.put(entry.getKey(), new RouteQuota(entry.getKey(), new QuotaRule(rateLimit, rateLimit)));
+            }
+        }
+        for (Map.Entry<String, QuotaRule> entry : properties.getRoutes().entrySet()) {
+            routes.put(entry.getKey(), new RouteQuota(entry.getKey(), entry.getValue()));
+        }
+        return PathPatternTrie.compile(routes);
+    }
+    
+    /**
+     * 返回429响应
+     */
+    private Mono<Void> tooManyRequests(ServerWebExchange exchange, long retryAfterMillis) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfterMillis + 999) / 1000)));
+        response.getHeaders().set(REMAINING_HEADER, "0");
+        
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(Result.fail(429, "请求过于频繁，请稍后重试"));
+        } catch (JsonProcessingException e) {
+            body = "{\"code\":429,\"message\":\"请求过于频繁，请稍后重试\"}";
+        }
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+    
+    @Override
+    public int getOrder() {
+        // 在认证之后执行，以便读取用户身份
+        return -90;
+    }
+    
+    /**
+     * 编译后的路由配额
+     */
+    private static final class RouteQuota {
+        private final String pattern;
+        private final QuotaRule rule;
+        
+        RouteQuota(String pattern, QuotaRule rule) {
+            this.pattern = pattern;
+            this.rule = rule;
+        }
+    }
+}
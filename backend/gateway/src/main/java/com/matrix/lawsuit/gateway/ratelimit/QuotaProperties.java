@@ -0,0 +1,65 @@
+package com.matrix.lawsuit.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 网关配额配置，支持通过Nacos配置中心热更新
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.quota")
+public class QuotaProperties {
+    
+    /**
+     * 是否启用配额限流
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Redis不可用时是否放行
+     */
+    private boolean failOpen = true;
+    
+    /**
+     * 租户默认配额，为空表示不限制；租户取自已验证令牌的tenantId声明
+     */
+    private QuotaRule tenantDefault;
+    
+    /**
+     * 指定租户的配额
+     */
+    private Map<String, QuotaRule> tenants = new LinkedHashMap<>();
+    
+    /**
+     * 用户默认配额，为空表示不限制
+     */
+    private QuotaRule userDefault;
+    
+    /**
+     * 指定用户（用户ID）的配额
+     */
+    private Map<String, QuotaRule> users = new LinkedHashMap<>();
+    
+    /**
+     * 路径模式到配额的映射；未配置时使用gateway.policy中路由的rate-limit
+     */
+    private Map<String, QuotaRule> routes = new LinkedHashMap<>();
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public boolean isFailOpen() { return failOpen; }
+    public void setFailOpen(boolean failOpen) { this.failOpen = failOpen; }
+    public QuotaRule getTenantDefault() { return tenantDefault; }
+    public void setTenantDefault(QuotaRule tenantDefault) { this.tenantDefault = tenantDefault; }
+    public Map<String, QuotaRule> getTenants() { return tenants; }
+    public void setTenants(Map<String, QuotaRule> tenants) { this.tenants = tenants; }
+    public QuotaRule getUserDefault() { return userDefault; }
+    public void setUserDefault(QuotaRule userDefault) { this.userDefault = userDefault; }
+    public Map<String, QuotaRule> getUsers() { return users; }
+    public void setUsers(Map<String, QuotaRule> users) { this.users = users; }
+    public Map<String, QuotaRule> getRoutes() { return routes; }
+    public void setRoutes(Map<String, QuotaRule> routes) { this.routes = routes; }
+}
@@ -0,0 +1,52 @@
+package com.matrix.lawsuit.gateway.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * 配额规则（令牌桶）
+ */
+public class QuotaRule {
+    
+    /**
+     * 桶容量，即允许的突发请求数
+     */
+    private long capacity = 100;
+    
+    /**
+     * 每秒补充令牌数
+     */
+    private double refillPerSecond = 100;
+    
+    /**
+     * 本地批量预取令牌数，大于1时按批从Redis获取并在本地扣减
+     */
+    private int localBatch = 10;
+    
+    /**
+     * 本地预取令牌的有效期，过期未用完的令牌作废，限制多实例下的超发
+     */
+    private Duration localLease = Duration.ofMillis(200);
+    
+    public QuotaRule() {
+    }
+    
+    public QuotaRule(long capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+    }
+    
+    public long getCapacity() { return capacity; }
+    public void setCapacity(long capacity) { this.capacity = capacity; }
+    public double getRefillPerSecond() { return refillPerSecond; }
+    public void setRefillPerSecond(double refillPerSecond) { this.refillPerSecond = refillPerSecond; }
+    public int getLocalBatch() { return localBatch; }
+    public void setLocalBatch(int localBatch) { this.localBatch = localBatch; }
+    public Duration getLocalLease() { return localLease; }
+    public void setLocalLease(Duration localLease) { this.localLease = localLease; }
+    
+    @Override
+    public String toString() {
+        return "QuotaRule{capacity=" + capacity + ", refillPerSecond=" + refillPerSecond
+                + ", localBatch=" + localBatch + ", localLease=" + localLease + "}";
+    }
+}
@@ -0,0 +1,153 @@
+package com.matrix.lawsuit.gateway.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于Redis的响应式令牌桶
+ *
+ * 令牌桶以Lua脚本原子执行，通过响应式Lettuce连接访问Redis，不阻塞reactor线程。
+ * 本地预检层按批预取令牌并在租约期内本地扣减；Redis拒绝后在建议等待时间内本地直接拒绝。
+ */
+@Component
+public class ReactiveTokenBucketLimiter {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTokenBucketLimiter.class);
+    
+    private static final String KEY_PREFIX = "dlmp:gateway:quota:";
+    private static final int PURGE_THRESHOLD = 10000;
+    private static final long PURGE_INTERVAL_MILLIS = 10000;
+    
+    /**
+     * 令牌桶脚本由common-redis提供
+     */
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> script =
+            RedisScript.of(new ClassPathResource("scripts/ratelimit/token_bucket.lua"), List.class);
+    
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final QuotaProperties properties;
+    
+    private final ConcurrentHashMap<String, LocalPermits> localPermits = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurge = new AtomicLong();
+    
+    public ReactiveTokenBucketLimiter(ReactiveStringRedisTemplate redisTemplate, QuotaProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+    
+    /**
+     * 获取一个许可
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<QuotaDecision> tryAcquire(String key, QuotaRule rule) {
+        String redisKey = KEY_PREFIX + key;
+        long now = System.currentTimeMillis();
+        
+        LocalPermits local = localPermits.get(redisKey);
+        if (local != null) {
+            long deniedUntil = local.deniedUntil;
+            if (deniedUntil > now) {
+                return Mono.just(new QuotaDecision(false, 0, deniedUntil - now));
+            }
+            if (local.tryTake(now)) {
+                return Mono.just(new QuotaDecision(true, local.permits.get(), 0));
+            }
+        }
+        
+        boolean batching = rule.getLocalBatch() > 1;
+        long requested = batching ? rule.getLocalBatch() : 1;
+        List<String> args = Arrays.asList(
+                String.valueOf(rule.getCapacity()),
+                String.valueOf(rule.getRefillPerSecond()),
+                String.valueOf(requested),
+                batching ? "1" : "0");
+        
+        return redisTemplate.execute(script, Collections.singletonList(redisKey), args)
+                .next()
+                .map(reply -> toDecision(redisKey, rule, (List<Object>) reply, now))
+                .onErrorResume(e -> {
+                    log.error("配额令牌桶执行失败: key={}, error={}", redisKey, e.getMessage());
+                    return Mono.just(new QuotaDecision(properties.isFailOpen(), 0, 0));
+                });
+    }
+    
+    /**
+     * 清空本地预取状态（配额调整后调用）
+     */
+    public void clearLocalPermits() {
+        localPermits.clear();
+    }
+    
+    private QuotaDecision toDecision(String redisKey, QuotaRule rule, List<Object> reply, long now) {
+        long granted = ((Number) reply.get(0)).longValue();
+        long remaining = ((Number) reply.get(1)).longValue();
+        long waitMillis = ((Number) reply.get(2)).longValue();
+        
+        if (granted <= 0) {
+            if (waitMillis > 0) {
+                permits(redisKey, now).deniedUntil = now + waitMillis;
+            }
+            return new QuotaDecision(false, remaining, waitMillis);
+        }
+        if (granted > 1) {
+            // 当前请求消耗1个，其余放入本地租约
+            permits(redisKey, now).refill(granted - 1, now + rule.getLocalLease().toMillis());
+        }
+        return new QuotaDecision(true, remaining + granted - 1, 0);
+    }
+    
+    private LocalPermits permits(String redisKey, long now) {
+        if (localPermits.size() > PURGE_THRESHOLD) {
+            long last = lastPurge.get();
+            if (now - last > PURGE_INTERVAL_MILLIS && lastPurge.compareAndSet(last, now)) {
+                localPermits.values().removeIf(permits -> permits.isExpired(now));
+            }
+        }
+        return localPermits.computeIfAbsent(redisKey, k -> new LocalPermits());
+    }
+    
+    /**
+     * 本地许可租约
+     */
+    private static class LocalPermits {
+        private final AtomicLong permits = new AtomicLong(0);
+        private volatile long leaseExpireAt;
+        private volatile long deniedUntil;
+        
+        boolean tryTake(long now) {
+            if (leaseExpireAt <= now) {
+                return false;
+            }
+            long current;
+            do {
+                current = permits.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!permits.compareAndSet(current, current - 1));
+            return true;
+        }
+        
+        void refill(long count, long expireAt) {
+            permits.set(count);
+            leaseExpireAt = expireAt;
+            deniedUntil = 0;
+        }
+        
+        boolean isExpired(long now) {
+            return leaseExpireAt <= now && deniedUntil <= now;
+        }
+    }
+}
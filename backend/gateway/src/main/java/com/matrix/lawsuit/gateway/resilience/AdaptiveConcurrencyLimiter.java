@@ -0,0 +1,132 @@
+package com.matrix.lawsuit.gateway.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于RTT梯度的自适应并发上限
+ *
+ * 每个采样窗口计算平均RTT（短期），并维护其指数平均（长期，近似无排队时的RTT）：
+ * gradient = clamp(容忍倍数 × 长期RTT / 短期RTT, 0.5, 1)，新上限 = 上限 × gradient + sqrt(上限)。
+ * 排队导致RTT上升时上限随之收缩，RTT恢复后按sqrt(上限)逐步探测增长；窗口内有失败时按比例收缩。
+ * 在途请求不足上限一半时视为流量不足，不调整上限，避免空闲期把上限抬得过高。
+ */
+public class AdaptiveConcurrencyLimiter {
+    
+    private final LoadSheddingProperties properties;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private volatile double longRttNanos;
+    
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final AtomicLong windowRttSum = new AtomicLong();
+    private final AtomicLong windowSamples = new AtomicLong();
+    private final AtomicLong windowDrops = new AtomicLong();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private volatile long windowStart = System.nanoTime();
+    
+    public AdaptiveConcurrencyLimiter(LoadSheddingProperties properties) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+    }
+    
+    /**
+     * 申请并发名额
+     *
+     * @param share 可使用上限的比例，高优先级大于1，低优先级小于1
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+        return true;
+    }
+    
+    /**
+     * 请求完成，记录RTT样本
+     */
+    public void onComplete(long rttNanos, boolean dropped) {
+        inFlight.decrementAndGet();
+        windowRttSum.addAndGet(rttNanos);
+        windowSamples.incrementAndGet();
+        if (dropped) {
+            windowDrops.incrementAndGet();
+        }
+        
+        long now = System.nanoTime();
+        if (now - windowStart >= properties.getWindow().toNanos()
+                && windowSamples.get() >= properties.getMinWindowSamples()
+                && updateLock.tryLock()) {
+            try {
+                update(now);
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * 请求被取消，只释放名额不记录样本
+     */
+    public void onCancel() {
+        inFlight.decrementAndGet();
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    public double getLimit() {
+        return limit;
+    }
+    
+    public double getLongRttMillis() {
+        return longRttNanos / 1_000_000;
+    }
+    
+    private void update(long now) {
+        long samples = windowSamples.getAndSet(0);
+        long rttSum = windowRttSum.getAndSet(0);
+        long drops = windowDrops.getAndSet(0);
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        windowStart = now;
+        if (samples == 0) {
+            return;
+        }
+        
+        double shortRtt = (double) rttSum / samples;
+        double longRtt = longRttNanos;
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) / properties.getLongWindow();
+            // 短期RTT明显低于长期RTT时加快长期RTT回落，尽快恢复上限
+            if (longRtt > shortRtt * 2) {
+                longRtt *= 0.95;
+            }
+        }
+        longRttNanos = longRtt;
+        
+        double current = limit;
+        double target;
+        if (drops > 0) {
+            target = current * properties.getBackoffRatio();
+        } else if (maxInFlight < current / 2) {
+            return;
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * longRtt / shortRtt));
+            target = current * gradient + Math.sqrt(current);
+        }
+        
+        double smoothed = current * (1 - properties.getSmoothing()) + target * properties.getSmoothing();
+        limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), smoothed));
+    }
+}
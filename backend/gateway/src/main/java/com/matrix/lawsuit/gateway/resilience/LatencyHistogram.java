@@ -0,0 +1,108 @@
+package com.matrix.lawsuit.gateway.resilience;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 滑动窗口延迟直方图
+ *
+ * 以微秒为单位按对数分桶（每个2的幂区间再分4个子桶，相对误差约25%），记录无锁。
+ * 保留当前和上一个窗口，分位数基于两个窗口合并计算，窗口到期时整体轮转。
+ */
+public class LatencyHistogram {
+    
+    private static final int BUCKETS = 160;
+    
+    private final long windowMillis;
+    
+    private volatile AtomicLongArray current = new AtomicLongArray(BUCKETS);
+    private volatile AtomicLongArray previous = new AtomicLongArray(BUCKETS);
+    private volatile long windowStart = System.currentTimeMillis();
+    
+    public LatencyHistogram(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+    
+    /**
+     * 记录一次耗时
+     */
+    public void record(long nanos) {
+        rotateIfNeeded(System.currentTimeMillis());
+        current.incrementAndGet(bucketOf(Math.max(1, nanos / 1000)));
+    }
+    
+    /**
+     * 两个窗口内的样本数
+     */
+    public long count() {
+        AtomicLongArray cur = current;
+        AtomicLongArray prev = previous;
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += cur.get(i) + prev.get(i);
+        }
+        return count;
+    }
+    
+    /**
+     * 分位数（微秒），无样本时返回0
+     */
+    public long percentileMicros(double quantile) {
+        rotateIfNeeded(System.currentTimeMillis());
+        AtomicLongArray cur = current;
+        AtomicLongArray prev = previous;
+        
+        long[] merged = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            merged[i] = cur.get(i) + prev.get(i);
+            total += merged[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        
+        long threshold = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += merged[i];
+            if (seen >= threshold) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(BUCKETS - 1);
+    }
+    
+    private void rotateIfNeeded(long now) {
+        if (now - windowStart < windowMillis) {
+            return;
+        }
+        synchronized (this) {
+            if (now - windowStart < windowMillis) {
+                return;
+            }
+            // 超过两个窗口无流量时旧数据全部作废
+            previous = now - windowStart < windowMillis * 2 ? current : new AtomicLongArray(BUCKETS);
+            current = new AtomicLongArray(BUCKETS);
+            windowStart = now;
+        }
+    }
+    
+    static int bucketOf(long micros) {
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent < 2) {
+            return (int) micros;
+        }
+        int sub = (int) ((micros >>> (exponent - 2)) & 3);
+        return Math.min(exponent * 4 + sub, BUCKETS - 1);
+    }
+    
+    static long upperBoundOf(int bucket) {
+        if (bucket < 8) {
+            // 1-3微秒直接落在对应桶，4-7号桶不会被使用
+            return bucket;
+        }
+        int exponent = bucket >>> 2;
+        int sub = bucket & 3;
+        return (4L + sub + 1) << (exponent - 2);
+    }
+}
@@ -0,0 +1,201 @@
+package com.matrix.lawsuit.gateway.resilience;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matrix.lawsuit.common.core.domain.Result;
+import com.matrix.lawsuit.gateway.route.PathPatternTrie;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 自适应过载保护全局过滤器
+ *
+ * 每个路由维护一个按RTT梯度调整的并发上限，超过上限的请求立即返回503，而不是排队到超时再被客户端重试。
+ * 低优先级请求只能使用上限的一部分，高优先级请求可以超出上限，过载时导出类请求先被拒绝，认证和分案保持可用。
+ */
+@Component
+public class LoadSheddingFilter implements GlobalFilter, Ordered {
+    
+    private static final Logger log = LoggerFactory.getLogger(LoadSheddingFilter.class);
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private final LoadSheddingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, RouteLimiter> limiters = new ConcurrentHashMap<>();
+    
+    private volatile PathPatternTrie<RequestPriority> priorities;
+    
+    public LoadSheddingFilter(LoadSheddingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.priorities = PathPatternTrie.compile(new LinkedHashMap<>(properties.getPriorities()));
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null || properties.getExcludedRoutes().contains(route.getId())) {
+            return chain.filter(exchange);
+        }
+        
+        String path = exchange.getRequest().getURI().getPath();
+        RequestPriority matched = priorities.match(path);
+        RequestPriority priority = matched != null ? matched : properties.getDefaultPriority();
+        
+        RouteLimiter routeLimiter = limiters.get(route.getId());
+        if (routeLimiter == null) {
+            routeLimiter = limiters.computeIfAbsent(route.getId(), this::createLimiter);
+        }
+        AdaptiveConcurrencyLimiter limiter = routeLimiter.limiter;
+        
+        if (!limiter.tryAcquire(shareOf(priority))) {
+            routeLimiter.rejected.get(priority).increment();
+            log.debug("路由过载，拒绝请求: route={}, path={}, priority={}, inFlight={}, limit={}",
+                      route.getId(), path, priority, limiter.getInFlight(), (int) limiter.getLimit());
+            return serviceUnavailable(exchange);
+        }
+        
+        long startTime = System.nanoTime();
+        AtomicBoolean completed = new AtomicBoolean();
+        return chain.filter(exchange)
+                .doOnSuccess(v -> {
+                    if (completed.compareAndSet(false, true)) {
+                        limiter.onComplete(System.nanoTime() - startTime, isOverloadStatus(exchange.getResponse().getStatusCode()));
+                    }
+                })
+                .doOnError(e -> {
+                    if (completed.compareAndSet(false, true)) {
+                        limiter.onComplete(System.nanoTime() - startTime, true);
+                    }
+                })
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL && completed.compareAndSet(false, true)) {
+                        limiter.onCancel();
+                    }
+                });
+    }
+    
+    /**
+     * 配置刷新后重新编译优先级规则，上限参数在调整时直接读取最新配置
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void reload() {
+        try {
+            this.priorities = PathPatternTrie.compile(new LinkedHashMap<>(properties.getPriorities()));
+            log.info("过载保护优先级规则已重新加载: priorities={}", priorities.size());
+        } catch (Exception e) {
+            log.error("过载保护优先级规则重新加载失败，继续使用旧配置", e);
+        }
+    }
+    
+    private double shareOf(RequestPriority priority) {
+        switch (priority) {
+            case HIGH:
+                return properties.getHighPriorityHeadroom();
+            case LOW:
+                return properties.getLowPriorityShare();
+            default:
+                return 1.0;
+        }
+    }
+    
+    /**
+     * 下游过载信号：网关自身的503/504或下游返回的503/504
+     */
+    private static boolean isOverloadStatus(HttpStatusCode status) {
+        return status != null && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+    
+    private RouteLimiter createLimiter(String routeId) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        Gauge.builder("gateway.shedding.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("网关路由自适应并发上限")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.shedding.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("网关路由在途请求数")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.shedding.rtt.long", limiter, AdaptiveConcurrencyLimiter::getLongRttMillis)
+                .description("网关路由长期RTT（毫秒）")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        
+        Map<RequestPriority, Counter> rejected = new EnumMap<>(RequestPriority.class);
+        for (RequestPriority priority : RequestPriority.values()) {
+            rejected.put(priority, Counter.builder("gateway.shedding.rejected")
+                    .description("网关过载保护拒绝次数")
+                    .tag("route", routeId)
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        return new RouteLimiter(limiter, rejected);
+    }
+    
+    /**
+     * 返回503响应
+     */
+    private Mono<Void> serviceUnavailable(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(Result.fail(503, "系统繁忙，请稍后重试"));
+        } catch (JsonProcessingException e) {
+            body = "{\"code\":503,\"message\":\"系统繁忙，请稍后重试\"}";
+        }
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+    
+    @Override
+    public int getOrder() {
+        // 合并之后执行：跟随者不占用并发名额；容错过滤器之前：被拒绝的请求不进入隔离舱
+        return -80;
+    }
+    
+    /**
+     * 路由限流器及其指标
+     */
+    private static final class RouteLimiter {
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final Map<RequestPriority, Counter> rejected;
+        
+        RouteLimiter(AdaptiveConcurrencyLimiter limiter, Map<RequestPriority, Counter> rejected) {
+            this.limiter = limiter;
+            this.rejected = rejected;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.matrix.lawsuit.gateway.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 网关自适应限流（过载保护）配置
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.load-shedding")
+public class LoadSheddingProperties {
+    
+    /**
+     * 是否启用
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 初始并发上限
+     */
+    private int initialLimit = 100;
+    
+    private int minLimit = 10;
+    
+    private int maxLimit = 1000;
+    
+    /**
+     * 采样窗口，窗口结束且样本数达到min-window-samples时调整一次上限
+     */
+    private Duration window = Duration.ofSeconds(1);
+    
+    private int minWindowSamples = 10;
+    
+    /**
+     * 上限调整的平滑系数
+     */
+    private double smoothing = 0.2;
+    
+    /**
+     * 允许短期RTT相对长期RTT的放大倍数，超过后开始收缩上限
+     */
+    private double rttTolerance = 2.0;
+    
+    /**
+     * 长期RTT的指数平均窗口（以采样窗口计）
+     */
+    private int longWindow = 600;
+    
+    /**
+     * 窗口内出现失败（异常、5xx）时的上限收缩比例
+     */
+    private double backoffRatio = 0.9;
+    
+    /**
+     * 高优先级请求可超出上限的比例
+     */
+    private double highPriorityHeadroom = 1.5;
+    
+    /**
+     * 低优先级请求只能使用上限的比例
+     */
+    private double lowPriorityShare = 0.8;
+    
+    /**
+     * 未配置路径的优先级
+     */
+    private RequestPriority defaultPriority = RequestPriority.NORMAL;
+    
+    /**
+     * 路径模式到优先级的映射
+     */
+    private Map<String, RequestPriority> priorities = new LinkedHashMap<>();
+    
+    /**
+     * 不参与自适应限流的路由ID（如文件上传，RTT与文件大小相关，不反映排队）
+     */
+    private Set<String> excludedRoutes = new HashSet<>();
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getInitialLimit() { return initialLimit; }
+    public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+    public int getMinLimit() { return minLimit; }
+    public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+    public int getMaxLimit() { return maxLimit; }
+    public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+    public Duration getWindow() { return window; }
+    public void setWindow(Duration window) { this.window = window; }
+    public int getMinWindowSamples() { return minWindowSamples; }
+    public void setMinWindowSamples(int minWindowSamples) { this.minWindowSamples = minWindowSamples; }
+    public double getSmoothing() { return smoothing; }
+    public void setSmoothing(double smoothing) { this.smoothing = smoothing; }
+    public double getRttTolerance() { return rttTolerance; }
+    public void setRttTolerance(double rttTolerance) { this.rttTolerance = rttTolerance; }
+    public int getLongWindow() { return longWindow; }
+    public void setLongWindow(int longWindow) { this.longWindow = longWindow; }
+    public double getBackoffRatio() { return backoffRatio; }
+    public void setBackoffRatio(double backoffRatio) { this.backoffRatio = backoffRatio; }
+    public double getHighPriorityHeadroom() { return highPriorityHeadroom; }
+    public void setHighPriorityHeadroom(double highPriorityHeadroom) { this.highPriorityHeadroom = highPriorityHeadroom; }
+    public double getLowPriorityShare() { return lowPriorityShare; }
+    public void setLowPriorityShare(double lowPriorityShare) { this.lowPriorityShare = lowPriorityShare; }
+    public RequestPriority getDefaultPriority() { return defaultPriority; }
+    public void setDefaultPriority(RequestPriority defaultPriority) { this.defaultPriority = defaultPriority; }
+    public Map<String, RequestPriority> getPriorities() { return priorities; }
+    public void setPriorities(Map<String, RequestPriority> priorities) { this.priorities = priorities; }
+    public Set<String> getExcludedRoutes() { return excludedRoutes; }
+    public void setExcludedRoutes(Set<String> excludedRoutes) { this.excludedRoutes = excludedRoutes; }
+}
@@ -0,0 +1,13 @@
+package com.matrix.lawsuit.gateway.resilience;
+
+/**
+ * 请求优先级，过载时低优先级先被拒绝
+ */
+public enum RequestPriority {
+    /** 认证、分案等核心链路 */
+    HIGH,
+    /** 普通业务请求 */
+    NORMAL,
+    /** 导出、报表等可延后的请求 */
+    LOW
+}
@@ -0,0 +1,135 @@
+package com.matrix.lawsuit.gateway.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 网关下游容错配置，按路由ID配置，未配置的路由使用defaults
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.resilience")
+public class ResilienceProperties {
+    
+    /**
+     * 是否启用
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 默认配置
+     */
+    private RouteResilience defaults = new RouteResilience();
+    
+    /**
+     * 路由ID到配置的映射
+     */
+    private Map<String, RouteResilience> routes = new LinkedHashMap<>();
+    
+    /**
+     * 取路由配置
+     */
+    public RouteResilience forRoute(String routeId) {
+        return routes.getOrDefault(routeId, defaults);
+    }
+    
+    public static class RouteResilience {
+        
+        /**
+         * 隔离舱：单路由最大并发请求数
+         */
+        private int maxConcurrent = 200;
+        
+        /**
+         * 熔断：失败率阈值（百分比）
+         */
+        private int failureRateThreshold = 50;
+        
+        /**
+         * 熔断：统计最近N次调用
+         */
+        private int slidingWindowSize = 100;
+        
+        /**
+         * 熔断：最少调用次数，达到后才计算失败率
+         */
+        private int minimumCalls = 20;
+        
+        /**
+         * 熔断：打开状态持续时间，之后进入半开
+         */
+        private Duration openDuration = Duration.ofSeconds(10);
+        
+        /**
+         * 熔断：半开状态允许的探测请求数，全部成功后关闭
+         */
+        private int halfOpenProbes = 5;
+        
+        /**
+         * 是否启用自适应超时，关闭时直接使用路由策略超时（如大文件上传，耗时与文件大小成正比）
+         */
+        private boolean adaptiveTimeout = true;
+        
+        /**
+         * 自适应超时 = p99 × 倍数，限制在[min-timeout, max-timeout]内
+         */
+        private double timeoutMultiplier = 3.0;
+        
+        private Duration minTimeout = Duration.ofSeconds(1);
+        
+        private Duration maxTimeout = Duration.ofSeconds(30);
+        
+        /**
+         * 样本数达到后才启用自适应超时和对冲
+         */
+        private int minSamples = 100;
+        
+        /**
+         * GET请求对冲重试：超过p95仍未收到响应头时取消并重发一次
+         * 取消后重发而非并发取先到者，会放大慢下游的压力，默认关闭，仅对幂等且延迟抖动大的路由开启
+         */
+        private boolean hedgeEnabled = false;
+        
+        /**
+         * 对冲最小等待时间
+         */
+        private Duration hedgeMinDelay = Duration.ofMillis(200);
+        
+        public int getMaxConcurrent() { return maxConcurrent; }
+        public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+        public int getFailureRateThreshold() { return failureRateThreshold; }
+        public void setFailureRateThreshold(int failureRateThreshold) { this.failureRateThreshold = failureRateThreshold; }
+        public int getSlidingWindowSize() { return slidingWindowSize; }
+        public void setSlidingWindowSize(int slidingWindowSize) { this.slidingWindowSize = slidingWindowSize; }
+        public int getMinimumCalls() { return minimumCalls; }
+        public void setMinimumCalls(int minimumCalls) { this.minimumCalls = minimumCalls; }
+        public Duration getOpenDuration() { return openDuration; }
+        public void setOpenDuration(Duration openDuration) { this.openDuration = openDuration; }
+        public int getHalfOpenProbes() { return halfOpenProbes; }
+        public void setHalfOpenProbes(int halfOpenProbes) { this.halfOpenProbes = halfOpenProbes; }
+        public boolean isAdaptiveTimeout() { return adaptiveTimeout; }
+        public void setAdaptiveTimeout(boolean adaptiveTimeout) { this.adaptiveTimeout = adaptiveTimeout; }
+        public double getTimeoutMultiplier() { return timeoutMultiplier; }
+        public void setTimeoutMultiplier(double timeoutMultiplier) { this.timeoutMultiplier = timeoutMultiplier; }
+        public Duration getMinTimeout() { return minTimeout; }
+        public void setMinTimeout(Duration minTimeout) { this.minTimeout = minTimeout; }
+        public Duration getMaxTimeout() { return maxTimeout; }
+        public void setMaxTimeout(Duration maxTimeout) { this.maxTimeout = maxTimeout; }
+        public int getMinSamples() { return minSamples; }
+        public void setMinSamples(int minSamples) { this.minSamples = minSamples; }
+        public boolean isHedgeEnabled() { return hedgeEnabled; }
+        public void setHedgeEnabled(boolean hedgeEnabled) { this.hedgeEnabled = hedgeEnabled; }
+        public Duration getHedgeMinDelay() { return hedgeMinDelay; }
+        public void setHedgeMinDelay(Duration hedgeMinDelay) { this.hedgeMinDelay = hedgeMinDelay; }
+    }
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public RouteResilience getDefaults() { return defaults; }
+    public void setDefaults(RouteResilience defaults) { this.defaults = defaults; }
+    public Map<String, RouteResilience> getRoutes() { return routes; }
+    public void setRoutes(Map<String, RouteResilience> routes) { this.routes = routes; }
+}
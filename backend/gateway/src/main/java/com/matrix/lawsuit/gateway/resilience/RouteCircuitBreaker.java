@@ -0,0 +1,151 @@
+package com.matrix.lawsuit.gateway.resilience;
+
+import java.util.Arrays;
+
+/**
+ * 路由熔断器
+ *
+ * 关闭状态下统计最近N次调用的失败率，超过阈值后打开；打开期满进入半开，放行有限的探测请求，
+ * 全部成功则关闭，任一失败则重新打开。每次状态切换递增代次，旧代次的调用结果不影响新状态。
+ */
+public class RouteCircuitBreaker {
+    
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+    
+    private volatile ResilienceProperties.RouteResilience config;
+    
+    private State state = State.CLOSED;
+    private long generation;
+    private long openUntil;
+    
+    private boolean[] outcomes;
+    private int position;
+    private int recorded;
+    private int failures;
+    
+    private int probesInFlight;
+    private int probeSuccesses;
+    
+    public RouteCircuitBreaker(ResilienceProperties.RouteResilience config) {
+        this.config = config;
+        this.outcomes = new boolean[Math.max(1, config.getSlidingWindowSize())];
+    }
+    
+    /**
+     * 申请调用许可
+     *
+     * @return 许可代次，拒绝时返回-1
+     */
+    public synchronized long tryAcquire(long now) {
+        switch (state) {
+            case OPEN:
+                if (now < openUntil) {
+                    return -1;
+                }
+                transition(State.HALF_OPEN);
+                probesInFlight = 1;
+                return generation;
+            case HALF_OPEN:
+                if (probesInFlight + probeSuccesses >= config.getHalfOpenProbes()) {
+                    return -1;
+                }
+                probesInFlight++;
+                return generation;
+            default:
+                return generation;
+        }
+    }
+    
+    /**
+     * 记录调用结果
+     */
+    public synchronized void onResult(long permit, boolean failure, long now) {
+        if (permit != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+            if (failure) {
+                open(now);
+            } else if (++probeSuccesses >= config.getHalfOpenProbes()) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            return;
+        }
+        
+        if (recorded == outcomes.length) {
+            if (outcomes[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % outcomes.length;
+        
+        if (recorded >= config.getMinimumCalls() && failures * 100 >= recorded * config.getFailureRateThreshold()) {
+            open(now);
+        }
+    }
+    
+    /**
+     * 调用被取消（客户端断开），释放半开探测名额
+     */
+    public synchronized void onCancel(long permit) {
+        if (permit == generation && state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    /**
+     * 距离进入半开的剩余时间（毫秒）
+     */
+    public synchronized long remainingOpenMillis(long now) {
+        return state == State.OPEN ? Math.max(0, openUntil - now) : 0;
+    }
+    
+    /**
+     * 更新配置，保留当前状态和代次
+     *
+     * 配置中心任意变更都会刷新全部路由，不能借此把打开的熔断器关闭；
+     * 仅滑动窗口大小变化时重建窗口统计，阈值等其余参数在下次判定时生效。
+     */
+    public synchronized void updateConfig(ResilienceProperties.RouteResilience config) {
+        this.config = config;
+        int windowSize = Math.max(1, config.getSlidingWindowSize());
+        if (windowSize != outcomes.length) {
+            outcomes = new boolean[windowSize];
+            position = 0;
+            recorded = 0;
+            failures = 0;
+        }
+    }
+    
+    private void open(long now) {
+        transition(State.OPEN);
+        openUntil = now + config.getOpenDuration().toMillis();
+    }
+    
+    private void transition(State target) {
+        state = target;
+        generation++;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        Arrays.fill(outcomes, false);
+    }
+}
@@ -0,0 +1,238 @@
+package com.matrix.lawsuit.gateway.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单路由容错守卫：隔离舱 + 熔断器 + 延迟直方图
+ *
+ * 每个下游路由独占一个守卫，慢服务只会耗尽自己的并发名额，不会拖垮其他路由。
+ */
+public class RouteGuard {
+    
+    private static final long SNAPSHOT_INTERVAL_MILLIS = 1000;
+    
+    private final String routeId;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final RouteCircuitBreaker circuitBreaker;
+    private final LatencyHistogram histogram = new LatencyHistogram(60000);
+    
+    private volatile ResilienceProperties.RouteResilience config;
+    private volatile PercentileSnapshot percentiles = new PercentileSnapshot(0, -1, -1);
+    
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Timer timeoutTimer;
+    private final Counter bulkheadRejected;
+    private final Counter circuitRejected;
+    private final Counter hedged;
+    
+    public RouteGuard(String routeId, ResilienceProperties.RouteResilience config, MeterRegistry meterRegistry) {
+        this.routeId = routeId;
+        this.config = config;
+        this.circuitBreaker = new RouteCircuitBreaker(config);
+        
+        this.successTimer = latencyTimer(meterRegistry, "success");
+        this.failureTimer = latencyTimer(meterRegistry, "failure");
+        this.timeoutTimer = latencyTimer(meterRegistry, "timeout");
+        this.bulkheadRejected = rejectedCounter(meterRegistry, "bulkhead");
+        this.circuitRejected = rejectedCounter(meterRegistry, "circuit");
+        this.hedged = Counter.builder("gateway.route.hedged")
+                .description("网关对冲重试次数")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        
+        Gauge.builder("gateway.route.inflight", inFlight, AtomicInteger::get)
+                .description("网关路由在途请求数")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.route.circuit.state", this, guard -> guard.circuitBreaker.getState().ordinal())
+                .description("熔断器状态：0关闭，1半开，2打开")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.route.timeout.ms", this, guard -> guard.currentTimeout(null).toMillis())
+                .description("网关路由当前自适应超时")
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 占用隔离舱名额
+     */
+    public boolean tryEnterBulkhead() {
+        int limit = config.getMaxConcurrent();
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                bulkheadRejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+    
+    /**
+     * 释放隔离舱名额
+     */
+    public void exitBulkhead() {
+        inFlight.decrementAndGet();
+    }
+    
+    /**
+     * 申请熔断器许可，返回-1表示熔断中
+     */
+    public long tryAcquireCircuit() {
+        long permit = circuitBreaker.tryAcquire(System.currentTimeMillis());
+        if (permit < 0) {
+            circuitRejected.increment();
+        }
+        return permit;
+    }
+    
+    /**
+     * 记录一次完成的调用
+     */
+    public void onSuccess(long permit, long nanos) {
+        histogram.record(nanos);
+        successTimer.record(nanos, TimeUnit.NANOSECONDS);
+        circuitBreaker.onResult(permit, false, System.currentTimeMillis());
+    }
+    
+    /**
+     * 记录一次失败的调用（异常或5xx）
+     */
+    public void onFailure(long permit, long nanos) {
+        histogram.record(nanos);
+        failureTimer.record(nanos, TimeUnit.NANOSECONDS);
+        circuitBreaker.onResult(permit, true, System.currentTimeMillis());
+    }
+    
+    /**
+     * 记录一次超时，超时样本不计入直方图，避免超时阈值被自身推高
+     */
+    public void onTimeout(long permit, long nanos) {
+        timeoutTimer.record(nanos, TimeUnit.NANOSECONDS);
+        circuitBreaker.onResult(permit, true, System.currentTimeMillis());
+    }
+    
+    /**
+     * 客户端取消
+     */
+    public void onCancel(long permit) {
+        circuitBreaker.onCancel(permit);
+    }
+    
+    public void onHedge() {
+        hedged.increment();
+    }
+    
+    /**
+     * 当前超时时间：样本充足时为p99 × 倍数，限制在[minTimeout, 上限]内；上限取路由策略超时，未配置时取maxTimeout
+     */
+    public Duration currentTimeout(Duration policyTimeout) {
+        ResilienceProperties.RouteResilience current = config;
+        Duration cap = policyTimeout != null ? policyTimeout : current.getMaxTimeout();
+        if (!current.isAdaptiveTimeout()) {
+            return cap;
+        }
+        long p99Micros = snapshot().p99Micros;
+        if (p99Micros < 0) {
+            return cap;
+        }
+        long adaptiveMillis = (long) (p99Micros * current.getTimeoutMultiplier() / 1000);
+        long millis = Math.min(Math.max(adaptiveMillis, current.getMinTimeout().toMillis()), cap.toMillis());
+        return Duration.ofMillis(millis);
+    }
+    
+    /**
+     * 对冲等待时间，样本不足时返回null表示不对冲
+     */
+    public Duration hedgeDelay() {
+        ResilienceProperties.RouteResilience current = config;
+        long p95Micros = snapshot().p95Micros;
+        if (!current.isHedgeEnabled() || p95Micros < 0) {
+            return null;
+        }
+        return Duration.ofMillis(Math.max(p95Micros / 1000, current.getHedgeMinDelay().toMillis()));
+    }
+    
+    /**
+     * 分位数快照，每秒最多重算一次，避免每个请求遍历直方图
+     */
+    private PercentileSnapshot snapshot() {
+        PercentileSnapshot current = percentiles;
+        long now = System.currentTimeMillis();
+        if (now - current.computedAt < SNAPSHOT_INTERVAL_MILLIS) {
+            return current;
+        }
+        PercentileSnapshot refreshed = histogram.count() < config.getMinSamples()
+                ? new PercentileSnapshot(now, -1, -1)
+                : new PercentileSnapshot(now, histogram.percentileMicros(0.95), histogram.percentileMicros(0.99));
+        percentiles = refreshed;
+        return refreshed;
+    }
+    
+    /**
+     * 熔断打开剩余时间（毫秒）
+     */
+    public long remainingOpenMillis() {
+        return circuitBreaker.remainingOpenMillis(System.currentTimeMillis());
+    }
+    
+    /**
+     * 配置刷新后更新，保留已注册的指标
+     */
+    public void updateConfig(ResilienceProperties.RouteResilience config) {
+        this.config = config;
+        this.percentiles = new PercentileSnapshot(0, -1, -1);
+        circuitBreaker.updateConfig(config);
+    }
+    
+    public String getRouteId() {
+        return routeId;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    public RouteCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+    
+    private Timer latencyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("gateway.route.latency")
+                .description("网关下游路由响应耗时")
+                .tag("route", routeId)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+    
+    private Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("gateway.route.rejected")
+                .description("网关容错拒绝次数")
+                .tag("route", routeId)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+    
+    private static final class PercentileSnapshot {
+        private final long computedAt;
+        private final long p95Micros;
+        private final long p99Micros;
+        
+        PercentileSnapshot(long computedAt, long p95Micros, long p99Micros) {
+            this.computedAt = computedAt;
+            this.p95Micros = p95Micros;
+            this.p99Micros = p99Micros;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.matrix.lawsuit.gateway.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 路由容错守卫注册表，按路由ID懒创建
+ */
+public class RouteGuardRegistry {
+    
+    private static final Logger log = LoggerFactory.getLogger(RouteGuardRegistry.class);
+    
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, RouteGuard> guards = new ConcurrentHashMap<>();
+    
+    public RouteGuardRegistry(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * 获取路由守卫
+     */
+    public RouteGuard get(String routeId) {
+        RouteGuard guard = guards.get(routeId);
+        if (guard != null) {
+            return guard;
+        }
+        return guards.computeIfAbsent(routeId, id -> new RouteGuard(id, properties.forRoute(id), meterRegistry));
+    }
+    
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+    
+    public Collection<RouteGuard> getGuards() {
+        return guards.values();
+    }
+    
+    /**
+     * 配置刷新后原地更新守卫，指标句柄保持不变
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void reload() {
+        guards.forEach((routeId, guard) -> guard.updateConfig(properties.forRoute(routeId)));
+        log.info("网关容错配置已重新加载: routes={}", guards.size());
+    }
+}
@@ -0,0 +1,192 @@
+package com.matrix.lawsuit.gateway.resilience;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matrix.lawsuit.common.core.domain.Result;
+import com.matrix.lawsuit.gateway.route.RoutePolicyMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 下游容错全局过滤器
+ *
+ * 按路由依次执行：隔离舱限制并发 → 熔断器判定 → 自适应超时。
+ * 超时只约束收到下游响应头之前的等待，响应体的流式传输（如大文件下载）不受限制；
+ * 延迟直方图同样按响应头到达计时，记录下游处理延迟而非传输时间。
+ * 幂等GET请求在超过p95仍未收到下游响应头时取消当前调用并重发一次（对冲重试）。
+ * 网关过滤器链共享同一个响应对象，无法让两个下游调用真正并行竞速，因此对冲采用取消后重发的方式。
+ */
+@Component
+public class RouteResilienceFilter implements GlobalFilter, Ordered {
+    
+    private static final Logger log = LoggerFactory.getLogger(RouteResilienceFilter.class);
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private final RouteGuardRegistry registry;
+    private final RoutePolicyMatcher routePolicyMatcher;
+    
+    public RouteResilienceFilter(RouteGuardRegistry registry, RoutePolicyMatcher routePolicyMatcher) {
+        this.registry = registry;
+        this.routePolicyMatcher = routePolicyMatcher;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!registry.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+        
+        RouteGuard guard = registry.get(route.getId());
+        if (!guard.tryEnterBulkhead()) {
+            log.warn("路由并发已满，拒绝请求: route={}, inFlight={}", route.getId(), guard.getInFlight());
+            return serviceUnavailable(exchange, "服务繁忙，请稍后重试", 0);
+        }
+        
+        long permit = guard.tryAcquireCircuit();
+        if (permit < 0) {
+            guard.exitBulkhead();
+            log.debug("路由熔断中，拒绝请求: route={}", route.getId());
+            return serviceUnavailable(exchange, "服务暂时不可用，请稍后重试", guard.remainingOpenMillis());
+        }
+        
+        String path = exchange.getRequest().getURI().getPath();
+        Duration timeout = guard.currentTimeout(routePolicyMatcher.getPolicy(path).getTimeout());
+        Duration hedgeDelay = HttpMethod.GET.equals(exchange.getRequest().getMethod()) ? guard.hedgeDelay() : null;
+        
+        long startTime = System.nanoTime();
+        AtomicBoolean recorded = new AtomicBoolean();
+        AtomicLong headersAt = new AtomicLong();
+        exchange.getResponse().beforeCommit(() -> {
+            headersAt.compareAndSet(0, System.nanoTime());
+            return Mono.empty();
+        });
+        
+        Mono<Void> call = hedgeDelay != null && hedgeDelay.compareTo(timeout) < 0
+                ? hedged(exchange, chain, guard, hedgeDelay)
+                : chain.filter(exchange);
+        
+        return call
+                .timeout(untilHeaders(exchange, timeout))
+                .doOnSuccess(v -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        if (status != null && status.is5xxServerError()) {
+                            guard.onFailure(permit, elapsedToHeaders(startTime, headersAt));
+                        } else {
+                            guard.onSuccess(permit, elapsedToHeaders(startTime, headersAt));
+                        }
+                    }
+                })
+                .onErrorResume(TimeoutException.class, e -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        guard.onTimeout(permit, System.nanoTime() - startTime);
+                    }
+                    log.warn("下游响应超时: route={}, path={}, timeout={}ms", route.getId(), path, timeout.toMillis());
+                    if (exchange.getResponse().isCommitted()) {
+                        return Mono.error(e);
+                    }
+                    return writeError(exchange, HttpStatus.GATEWAY_TIMEOUT, "下游服务响应超时", 0);
+                })
+                .doOnError(e -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        guard.onFailure(permit, elapsedToHeaders(startTime, headersAt));
+                    }
+                })
+                .doFinally(signal -> {
+                    guard.exitBulkhead();
+                    if (signal == SignalType.CANCEL && recorded.compareAndSet(false, true)) {
+                        guard.onCancel(permit);
+                    }
+                });
+    }
+    
+    /**
+     * 超时信号：到期时仍未收到下游响应头才触发，已开始传输响应体则永不触发
+     */
+    private static Mono<Long> untilHeaders(ServerWebExchange exchange, Duration timeout) {
+        return Mono.delay(timeout)
+                .filter(tick -> exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_ATTR) == null
+                        && !exchange.getResponse().isCommitted())
+                .switchIfEmpty(Mono.never());
+    }
+    
+    /**
+     * 从发起调用到响应头写出的耗时，未写出响应头时取当前时间
+     */
+    private static long elapsedToHeaders(long startTime, AtomicLong headersAt) {
+        long end = headersAt.get();
+        return (end != 0 ? end : System.nanoTime()) - startTime;
+    }
+    
+    /**
+     * 对冲调用：等待hedgeDelay后仍未收到响应头则取消首次调用并重发
+     */
+    private Mono<Void> hedged(ServerWebExchange exchange, GatewayFilterChain chain, RouteGuard guard, Duration hedgeDelay) {
+        Mono<Long> trigger = Mono.delay(hedgeDelay)
+                .filter(tick -> exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_ATTR) == null
+                        && !exchange.getResponse().isCommitted())
+                .switchIfEmpty(Mono.never());
+        
+        return chain.filter(exchange).timeout(trigger, Mono.defer(() -> {
+            guard.onHedge();
+            log.debug("下游响应慢，发起对冲重试: route={}, delay={}ms", guard.getRouteId(), hedgeDelay.toMillis());
+            ServerWebExchangeUtils.reset(exchange);
+            return chain.filter(exchange);
+        }));
+    }
+    
+    private Mono<Void> serviceUnavailable(ServerWebExchange exchange, String message, long retryAfterMillis) {
+        return writeError(exchange, HttpStatus.SERVICE_UNAVAILABLE, message, retryAfterMillis);
+    }
+    
+    /**
+     * 写出错误响应
+     */
+    private Mono<Void> writeError(ServerWebExchange exchange, HttpStatus status, String message, long retryAfterMillis) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        if (retryAfterMillis > 0) {
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfterMillis + 999) / 1000)));
+        }
+        
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(Result.fail(status.value(), message));
+        } catch (JsonProcessingException e) {
+            body = "{\"code\":" + status.value() + ",\"message\":\"" + message + "\"}";
+        }
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+    
+    @Override
+    public int getOrder() {
+        // 在认证、缓存和配额之后执行，被拒绝或命中缓存的请求不占用下游并发名额
+        return 0;
+    }
+}
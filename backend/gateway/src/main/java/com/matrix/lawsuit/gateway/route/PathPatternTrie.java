@@ -0,0 +1,213 @@
+package com.matrix.lawsuit.gateway.route;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按路径段预编译的模式匹配树
+ *
+ * 支持的模式段：字面量、*（匹配单个段）、{var}（等同*）、**（匹配零个或多个段）。
+ * 构建后只读，可被多线程并发查询；查询直接在原路径字符串上按下标比较，不切分、不创建对象。
+ * 多个模式同时匹配时，逐段按 字面量 > * > ** 的优先级返回最具体的模式。
+ */
+public class PathPatternTrie<T> {
+    
+    private final Node<T> root;
+    private final int size;
+    
+    private PathPatternTrie(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+    
+    /**
+     * 编译模式表，key为模式，value为匹配后返回的值；重复模式以后者为准
+     */
+    public static <T> PathPatternTrie<T> compile(Map<String, T> patterns) {
+        Builder<T> root = new Builder<>();
+        for (Map.Entry<String, T> entry : patterns.entrySet()) {
+            Builder<T> node = root;
+            for (String segment : entry.getKey().split("/")) {
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                if ("**".equals(segment)) {
+                    node = node.multiWildcard != null ? node.multiWildcard : (node.multiWildcard = new Builder<>());
+                } else if ("*".equals(segment) || (segment.startsWith("{") && segment.endsWith("}"))) {
+                    node = node.wildcard != null ? node.wildcard : (node.wildcard = new Builder<>());
+                } else {
+                    node = node.literals.computeIfAbsent(segment, s -> new Builder<>());
+                }
+            }
+            node.value = entry.getValue();
+        }
+        return new PathPatternTrie<>(root.build(), patterns.size());
+    }
+    
+    /**
+     * 查找匹配值，无匹配时返回null
+     */
+    public T match(String path) {
+        return match(root, path, skipSlashes(path, 0));
+    }
+    
+    /**
+     * 是否存在匹配的模式
+     */
+    public boolean matches(String path) {
+        return match(path) != null;
+    }
+    
+    /**
+     * 模式数量
+     */
+    public int size() {
+        return size;
+    }
+    
+    private static <T> T match(Node<T> node, String path, int start) {
+        int length = path.length();
+        if (start >= length) {
+            if (node.value != null) {
+                return node.value;
+            }
+            // 末尾的**可匹配零个段
+            return node.multiWildcard != null ? node.multiWildcard.value : null;
+        }
+        
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+        int next = skipSlashes(path, end);
+        
+        Node<T> literal = node.findLiteral(path, start, end);
+        if (literal != null) {
+            T value = match(literal, path, next);
+            if (value != null) {
+                return value;
+            }
+        }
+        
+        if (node.wildcard != null) {
+            T value = match(node.wildcard, path, next);
+            if (value != null) {
+                return value;
+            }
+        }
+        
+        Node<T> multi = node.multiWildcard;
+        if (multi != null) {
+            if (multi.isLeaf()) {
+                return multi.value;
+            }
+            // **吞掉0..n个段后继续匹配剩余模式
+            int position = start;
+            while (true) {
+                T value = match(multi, path, position);
+                if (value != null) {
+                    return value;
+                }
+                if (position >= length) {
+                    break;
+                }
+                int segmentEnd = path.indexOf('/', position);
+                position = segmentEnd < 0 ? length : skipSlashes(path, segmentEnd);
+            }
+        }
+        return null;
+    }
+    
+    private static int skipSlashes(String path, int index) {
+        while (index < path.length() && path.charAt(index) == '/') {
+            index++;
+        }
+        return index;
+    }
+    
+    /**
+     * 计算路径片段的哈希，与String.hashCode一致
+     */
+    private static int regionHash(String path, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + path.charAt(i);
+        }
+        return hash;
+    }
+    
+    /**
+     * 只读节点，字面量子节点保存在开放寻址哈希表中
+     */
+    private static final class Node<T> {
+        private final T value;
+        private final String[] literalKeys;
+        private final int[] literalHashes;
+        private final Node<T>[] literalNodes;
+        private final int mask;
+        private final Node<T> wildcard;
+        private final Node<T> multiWildcard;
+        
+        @SuppressWarnings("unchecked")
+        Node(T value, Map<String, Node<T>> literals, Node<T> wildcard, Node<T> multiWildcard) {
+            this.value = value;
+            this.wildcard = wildcard;
+            this.multiWildcard = multiWildcard;
+            
+            int capacity = literals.isEmpty() ? 0 : Integer.highestOneBit(literals.size() * 2 - 1) << 1;
+            this.literalKeys = new String[capacity];
+            this.literalHashes = new int[capacity];
+            this.literalNodes = (Node<T>[]) new Node[capacity];
+            this.mask = capacity - 1;
+            for (Map.Entry<String, Node<T>> entry : literals.entrySet()) {
+                int hash = entry.getKey().hashCode();
+                int slot = hash & mask;
+                while (literalKeys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                literalKeys[slot] = entry.getKey();
+                literalHashes[slot] = hash;
+                literalNodes[slot] = entry.getValue();
+            }
+        }
+        
+        Node<T> findLiteral(String path, int start, int end) {
+            if (literalKeys.length == 0) {
+                return null;
+            }
+            int length = end - start;
+            int hash = regionHash(path, start, end);
+            int slot = hash & mask;
+            String key;
+            while ((key = literalKeys[slot]) != null) {
+                if (literalHashes[slot] == hash && key.length() == length && path.regionMatches(start, key, 0, length)) {
+                    return literalNodes[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+        
+        boolean isLeaf() {
+            return literalKeys.length == 0 && wildcard == null && multiWildcard == null;
+        }
+    }
+    
+    /**
+     * 构建期可变节点
+     */
+    private static final class Builder<T> {
+        private T value;
+        private final Map<String, Builder<T>> literals = new LinkedHashMap<>();
+        private Builder<T> wildcard;
+        private Builder<T> multiWildcard;
+        
+        Node<T> build() {
+            Map<String, Node<T>> built = new LinkedHashMap<>();
+            literals.forEach((segment, child) -> built.put(segment, child.build()));
+            return new Node<>(value, built,
+                              wildcard != null ? wildcard.build() : null,
+                              multiWildcard != null ? multiWildcard.build() : null);
+        }
+    }
+}
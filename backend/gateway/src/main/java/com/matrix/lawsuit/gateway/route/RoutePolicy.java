@@ -0,0 +1,53 @@
+package com.matrix.lawsuit.gateway.route;
+
+import java.time.Duration;
+
+/**
+ * 路由策略
+ */
+public class RoutePolicy {
+    
+    /**
+     * 是否需要认证
+     */
+    private boolean authRequired = true;
+    
+    /**
+     * 每秒请求上限，为空表示不限流
+     */
+    private Integer rateLimit;
+    
+    /**
+     * 下游响应超时，为空时使用全局超时
+     */
+    private Duration timeout;
+    
+    public boolean isAuthRequired() {
+        return authRequired;
+    }
+    
+    public void setAuthRequired(boolean authRequired) {
+        this.authRequired = authRequired;
+    }
+    
+    public Integer getRateLimit() {
+        return rateLimit;
+    }
+    
+    public void setRateLimit(Integer rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+    
+    public Duration getTimeout() {
+        return timeout;
+    }
+    
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+    
+    @Override
+    public String toString() {
+        return "RoutePolicy{authRequired=" + authRequired + ", rateLimit=" + rateLimit + ", timeout=" + timeout + "}";
+    }
+}
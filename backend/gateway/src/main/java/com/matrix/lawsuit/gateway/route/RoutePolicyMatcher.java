@@ -0,0 +1,99 @@
+package com.matrix.lawsuit.gateway.route;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 路由策略匹配器
+ *
+ * 白名单和路由策略在启动时编译为PathPatternTrie，请求时只做无分配的树查找。
+ * Nacos配置变更后Spring Cloud先重新绑定RoutePolicyProperties，再发布RefreshScopeRefreshedEvent，此时重新编译并整体替换。
+ */
+@Component
+public class RoutePolicyMatcher {
+    
+    private static final Logger log = LoggerFactory.getLogger(RoutePolicyMatcher.class);
+    
+    private final RoutePolicyProperties properties;
+    
+    private volatile Compiled compiled;
+    
+    public RoutePolicyMatcher(RoutePolicyProperties properties) {
+        this.properties = properties;
+        this.compiled = compile(properties);
+    }
+    
+    /**
+     * 是否在白名单中
+     */
+    public boolean isWhiteList(String path) {
+        return compiled.whitelist.matches(path);
+    }
+    
+    /**
+     * 是否需要认证
+     */
+    public boolean isAuthRequired(String path) {
+        Compiled current = compiled;
+        return !current.whitelist.matches(path) && current.policyFor(path).isAuthRequired();
+    }
+    
+    /**
+     * 查找路径对应的策略，未匹配时返回默认策略
+     */
+    public RoutePolicy getPolicy(String path) {
+        return compiled.policyFor(path);
+    }
+    
+    /**
+     * 配置刷新后重新编译
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void reload() {
+        try {
+            Compiled reloaded = compile(properties);
+            this.compiled = reloaded;
+            log.info("路由策略已重新加载: whitelist={}, routes={}", reloaded.whitelist.size(), reloaded.routes.size());
+        } catch (Exception e) {
+            // 新配置编译失败时保留旧策略
+            log.error("路由策略重新加载失败，继续使用旧配置", e);
+        }
+    }
+    
+    private static Compiled compile(RoutePolicyProperties properties) {
+        Map<String, Boolean> whitelist = new LinkedHashMap<>();
+        for (String pattern : properties.getWhitelist()) {
+            whitelist.put(pattern, Boolean.TRUE);
+        }
+        RoutePolicy defaults = properties.getDefaults() != null ? properties.getDefaults() : new RoutePolicy();
+        return new Compiled(PathPatternTrie.compile(whitelist),
+                            PathPatternTrie.compile(new LinkedHashMap<>(properties.getRoutes())),
+                            defaults);
+    }
+    
+    /**
+     * 编译后的不可变快照
+     */
+    private static final class Compiled {
+        private final PathPatternTrie<Boolean> whitelist;
+        private final PathPatternTrie<RoutePolicy> routes;
+        private final RoutePolicy defaults;
+        
+        Compiled(PathPatternTrie<Boolean> whitelist, PathPatternTrie<RoutePolicy> routes, RoutePolicy defaults) {
+            this.whitelist = whitelist;
+            this.routes = routes;
+            this.defaults = defaults;
+        }
+        
+        RoutePolicy policyFor(String path) {
+            RoutePolicy policy = routes.match(path);
+            return policy != null ? policy : defaults;
+        }
+    }
+}
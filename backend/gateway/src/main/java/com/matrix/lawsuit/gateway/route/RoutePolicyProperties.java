@@ -0,0 +1,63 @@
+package com.matrix.lawsuit.gateway.route;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 网关路由策略配置，支持通过Nacos配置中心热更新
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.policy")
+public class RoutePolicyProperties {
+    
+    /**
+     * 白名单路径，无需认证
+     */
+    private List<String> whitelist = new ArrayList<>(Arrays.asList(
+        "/user/auth/login",
+        "/user/auth/register",
+        "/user/auth/captcha",
+        "/actuator/**",
+        "/health"
+    ));
+    
+    /**
+     * 未匹配任何路由模式时的默认策略
+     */
+    private RoutePolicy defaults = new RoutePolicy();
+    
+    /**
+     * 路径模式到策略的映射
+     */
+    private Map<String, RoutePolicy> routes = new LinkedHashMap<>();
+    
+    public List<String> getWhitelist() {
+        return whitelist;
+    }
+    
+    public void setWhitelist(List<String> whitelist) {
+        this.whitelist = whitelist;
+    }
+    
+    public RoutePolicy getDefaults() {
+        return defaults;
+    }
+    
+    public void setDefaults(RoutePolicy defaults) {
+        this.defaults = defaults;
+    }
+    
+    public Map<String, RoutePolicy> getRoutes() {
+        return routes;
+    }
+    
+    public void setRoutes(Map<String, RoutePolicy> routes) {
+        this.routes = routes;
+    }
+}
@@ -0,0 +1,120 @@
+package com.matrix.lawsuit.gateway.upload;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matrix.lawsuit.common.core.domain.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 上传流式转发过滤器
+ *
+ * 请求体以DataBuffer流的形式直接交给NettyRoutingFilter写往下游，不做任何聚合；
+ * 通过limitRate限制向客户端的预取量，下游写入变慢时不再读取客户端数据，背压贯穿客户端到文件服务。
+ * 声明了Content-Length的请求在读取请求体之前校验大小，分块传输的请求边转发边累计，超过上限立即中断并返回413。
+ */
+@Component
+public class StreamingUploadGatewayFilter implements GatewayFilter {
+    
+    private static final Logger log = LoggerFactory.getLogger(StreamingUploadGatewayFilter.class);
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private final UploadProperties properties;
+    
+    public StreamingUploadGatewayFilter(UploadProperties properties) {
+        this.properties = properties;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long limit = properties.getMaxRequestSize().toBytes();
+        ServerHttpRequest request = exchange.getRequest();
+        
+        long contentLength = request.getHeaders().getContentLength();
+        if (contentLength > limit) {
+            // 未订阅请求体，带Expect: 100-continue的客户端不会发送数据
+            log.warn("上传文件超过大小限制: path={}, contentLength={}, limit={}",
+                     request.getURI().getPath(), contentLength, limit);
+            return payloadTooLarge(exchange, limit);
+        }
+        
+        ServerHttpRequest limited = new SizeLimitedRequest(request, limit, properties.getPrefetch());
+        return chain.filter(exchange.mutate().request(limited).build())
+                .onErrorResume(UploadSizeExceededException.class, e -> {
+                    log.warn("上传文件超过大小限制: path={}, limit={}", request.getURI().getPath(), limit);
+                    if (exchange.getResponse().isCommitted()) {
+                        return Mono.error(e);
+                    }
+                    return payloadTooLarge(exchange, limit);
+                });
+    }
+    
+    /**
+     * 返回413响应
+     */
+    private Mono<Void> payloadTooLarge(ServerWebExchange exchange, long limit) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.PAYLOAD_TOO_LARGE);
+        response.getHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        // 拒绝后不再读取剩余请求体，关闭连接
+        response.getHeaders().set(HttpHeaders.CONNECTION, "close");
+        
+        String message = "上传文件不能超过" + (limit / 1024 / 1024) + "MB";
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(Result.fail(413, message));
+        } catch (JsonProcessingException e) {
+            body = "{\"code\":413,\"message\":\"" + message + "\"}";
+        }
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+    
+    /**
+     * 边读边计数的请求体
+     */
+    private static final class SizeLimitedRequest extends ServerHttpRequestDecorator {
+        
+        private final long limit;
+        private final int prefetch;
+        
+        SizeLimitedRequest(ServerHttpRequest delegate, long limit, int prefetch) {
+            super(delegate);
+            this.limit = limit;
+            this.prefetch = prefetch;
+        }
+        
+        @Override
+        public Flux<DataBuffer> getBody() {
+            AtomicLong received = new AtomicLong();
+            return super.getBody()
+                    .limitRate(prefetch)
+                    .handle((buffer, sink) -> {
+                        if (received.addAndGet(buffer.readableByteCount()) > limit) {
+                            DataBufferUtils.release(buffer);
+                            sink.error(new UploadSizeExceededException(limit));
+                        } else {
+                            sink.next(buffer);
+                        }
+                    });
+        }
+    }
+}
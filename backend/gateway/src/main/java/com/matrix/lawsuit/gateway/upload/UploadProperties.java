@@ -0,0 +1,49 @@
+package com.matrix.lawsuit.gateway.upload;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 大文件上传流式转发配置
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.upload")
+public class UploadProperties {
+    
+    /**
+     * 是否启用上传专用路由
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 上传路径模式
+     */
+    private String path = "/file/upload/**";
+    
+    /**
+     * 下游地址，压测时可指向本地桩服务
+     */
+    private String uri = "lb://dlmp-file-service";
+    
+    /**
+     * 单个请求体上限
+     */
+    private DataSize maxRequestSize = DataSize.ofGigabytes(2);
+    
+    /**
+     * 每次向客户端请求的数据块数量，决定单个上传在网关中最多滞留的缓冲区
+     */
+    private int prefetch = 16;
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+    public String getUri() { return uri; }
+    public void setUri(String uri) { this.uri = uri; }
+    public DataSize getMaxRequestSize() { return maxRequestSize; }
+    public void setMaxRequestSize(DataSize maxRequestSize) { this.maxRequestSize = maxRequestSize; }
+    public int getPrefetch() { return prefetch; }
+    public void setPrefetch(int prefetch) { this.prefetch = prefetch; }
+}
@@ -0,0 +1,11 @@
+package com.matrix.lawsuit.gateway.upload;
+
+/**
+ * 上传请求体超过上限
+ */
+public class UploadSizeExceededException extends RuntimeException {
+    
+    public UploadSizeExceededException(long limit) {
+        super("上传文件超过大小限制: " + limit + " bytes");
+    }
+}
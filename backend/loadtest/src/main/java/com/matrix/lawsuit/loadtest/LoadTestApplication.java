@@ -0,0 +1,187 @@
+package com.matrix.lawsuit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matrix.lawsuit.loadtest.datagen.CaseRecordGenerator;
+import com.matrix.lawsuit.loadtest.infra.ServiceProcess;
+import com.matrix.lawsuit.loadtest.infra.TestInfrastructure;
+import com.matrix.lawsuit.loadtest.runner.LoadReport;
+import com.matrix.lawsuit.loadtest.runner.LoadRunner;
+import com.matrix.lawsuit.loadtest.runner.ScenarioStats;
+import com.matrix.lawsuit.loadtest.scenario.AssignCaseScenario;
+import com.matrix.lawsuit.loadtest.scenario.BatchImportScenario;
+import com.matrix.lawsuit.loadtest.scenario.CaseDetailScenario;
+import com.matrix.lawsuit.loadtest.scenario.CaseListScenario;
+import com.matrix.lawsuit.loadtest.scenario.LoginScenario;
+import com.matrix.lawsuit.loadtest.scenario.ScenarioContext;
+import com.matrix.lawsuit.loadtest.scenario.VirtualUser;
+import com.matrix.lawsuit.loadtest.seed.DataSeeder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 端到端压测入口
+ *
+ * 流程：启动MySQL/Redis容器并建表 → 写入种子用户、案件及关联数据 → 以独立进程启动用户服务、案件服务和网关（关闭Nacos，
+ * 网关通过静态服务发现路由到本机端口）→ 虚拟用户登录 → 预热并按权重执行场景 → 输出延迟分位和吞吐并保存JSON。
+ */
+public class LoadTestApplication {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestApplication.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestProperties properties = new LoadTestProperties();
+        Path backendDir = properties.getBackendDir().toAbsolutePath().normalize();
+        Path logDir = properties.getResultDir().resolve("logs");
+
+        List<ServiceProcess> services = new ArrayList<>();
+        try (TestInfrastructure infrastructure = new TestInfrastructure(properties)) {
+            infrastructure.start();
+
+            DataSeeder seeder = new DataSeeder(infrastructure, properties);
+            seeder.seedUsers();
+            seeder.seedCases();
+            long[] unassignedCaseIds = seeder.unassignedCaseIds();
+
+            // 每次运行生成新的密钥，网关与用户服务共用
+            String jwtSecret = randomSecret();
+            String identitySecret = randomSecret();
+
+            ServiceProcess userService = new ServiceProcess("user-service", backendDir.resolve("services/user-service"),
+                    "com.matrix.lawsuit.user.UserServiceApplication", properties.getUserServicePort());
+            ServiceProcess caseService = new ServiceProcess("case-service", backendDir.resolve("services/case-service"),
+                    "com.matrix.lawsuit.caseservice.CaseServiceApplication", properties.getCaseServicePort());
+            ServiceProcess gateway = new ServiceProcess("gateway", backendDir.resolve("gateway"),
+                    "com.matrix.lawsuit.gateway.GatewayApplication", properties.getGatewayPort());
+            services.add(gateway);
+            services.add(caseService);
+            services.add(userService);
+
+            userService.start(properties.getJavaBin(), properties.getServiceJvmOpts(),
+                    serviceArgs(properties, infrastructure, "user_db", jwtSecret, identitySecret), logDir);
+            caseService.start(properties.getJavaBin(), properties.getServiceJvmOpts(),
+                    serviceArgs(properties, infrastructure, "case_db", jwtSecret, identitySecret), logDir);
+            List<String> gatewayArgs = serviceArgs(properties, infrastructure, "log_db", jwtSecret, identitySecret);
+            gatewayArgs.addAll(gatewayArgs(properties));
+            gateway.start(properties.getJavaBin(), properties.getServiceJvmOpts(), gatewayArgs, logDir);
+
+            for (ServiceProcess service : services) {
+                service.awaitHealthy(properties.getStartupTimeout());
+            }
+
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            ScenarioContext context = new ScenarioContext(httpClient, new ObjectMapper(), properties,
+                    "http://localhost:" + properties.getGatewayPort(),
+                    new CaseRecordGenerator(seeder.generatorOptions()), unassignedCaseIds);
+
+            List<VirtualUser> users = login(context, properties);
+
+            LoadRunner runner = new LoadRunner(context, Arrays.asList(new LoginScenario(), new CaseListScenario(),
+                    new CaseDetailScenario(), new BatchImportScenario(), new AssignCaseScenario()), properties.getWeights());
+            Map<String, ScenarioStats> stats = runner.run(users, properties.getWarmup(), properties.getDuration());
+
+            LoadReport report = new LoadReport(metadata(properties), stats, properties.getDuration());
+            log.info(report.toTable());
+            Path file = report.write(properties.getResultDir(), System.getProperty("loadtest.commit", "local"));
+            log.info("压测结果已保存: {}", file);
+        } finally {
+            services.forEach(ServiceProcess::close);
+        }
+    }
+
+    /**
+     * 所有服务共用的启动参数：关闭Nacos，指向容器中的MySQL和Redis
+     */
+    private static List<String> serviceArgs(LoadTestProperties properties, TestInfrastructure infrastructure,
+                                            String database, String jwtSecret, String identitySecret) {
+        List<String> args = new ArrayList<>(Arrays.asList(
+            "--spring.cloud.nacos.discovery.enabled=false",
+            "--spring.cloud.nacos.config.enabled=false",
+            "--spring.cloud.nacos.config.import-check.enabled=false",
+            "--spring.datasource.url=" + infrastructure.jdbcUrl(database),
+            "--spring.datasource.username=" + TestInfrastructure.DB_USER,
+            "--spring.datasource.password=" + TestInfrastructure.DB_PASSWORD,
+            "--spring.data.redis.host=" + infrastructure.getRedisHost(),
+            "--spring.data.redis.port=" + infrastructure.getRedisPort(),
+            "--spring.redis.host=" + infrastructure.getRedisHost(),
+            "--spring.redis.port=" + infrastructure.getRedisPort(),
+            "--jwt.secret=" + jwtSecret,
+            "--dlmp.identity.secret=" + identitySecret,
+            "--logging.level.com.matrix.lawsuit=info"
+        ));
+        if (!properties.getServiceArgs().isBlank()) {
+            args.addAll(Arrays.asList(properties.getServiceArgs().trim().split("\\s+")));
+        }
+        return args;
+    }
+
+    /**
+     * 网关参数：静态服务发现替代Nacos；关闭配额限流和请求合并，测量的是服务本身的处理能力
+     */
+    private static List<String> gatewayArgs(LoadTestProperties properties) {
+        return new ArrayList<>(Arrays.asList(
+            "--spring.cloud.discovery.client.simple.instances.dlmp-user-service[0].uri=http://localhost:"
+                + properties.getUserServicePort(),
+            "--spring.cloud.discovery.client.simple.instances.dlmp-case-service[0].uri=http://localhost:"
+                + properties.getCaseServicePort(),
+            "--gateway.quota.enabled=false",
+            "--gateway.coalescing.enabled=false"
+        ));
+    }
+
+    /**
+     * 每个虚拟用户先登录一次，压测期间的登录场景再刷新令牌
+     */
+    private static List<VirtualUser> login(ScenarioContext context, LoadTestProperties properties) throws Exception {
+        LoginScenario login = new LoginScenario();
+        List<VirtualUser> users = new ArrayList<>();
+        for (int i = 0; i < properties.getConcurrency(); i++) {
+            VirtualUser user = new VirtualUser(i, DataSeeder.username(i % properties.getSeedUsers() + 1), 0x5DEECE66DL + i);
+            if (!login.execute(user, context)) {
+                throw new IllegalStateException("虚拟用户登录失败: " + user.getUsername());
+            }
+            users.add(user);
+        }
+        log.info("虚拟用户登录完成: {}", users.size());
+        return users;
+    }
+
+    private static Map<String, Object> metadata(LoadTestProperties properties) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("seedCases", properties.getSeedCases());
+        config.put("seedClients", properties.getSeedClients());
+        config.put("seedCenters", properties.getSeedCenters());
+        config.put("concurrency", properties.getConcurrency());
+        config.put("warmupSeconds", properties.getWarmup().getSeconds());
+        config.put("durationSeconds", properties.getDuration().getSeconds());
+        config.put("weights", properties.getWeights());
+        config.put("importBatchSize", properties.getImportBatchSize());
+        config.put("serviceJvmOpts", properties.getServiceJvmOpts());
+        config.put("serviceArgs", properties.getServiceArgs());
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("commit", System.getProperty("loadtest.commit", "local"));
+        metadata.put("javaVersion", System.getProperty("java.version"));
+        metadata.put("config", config);
+        return metadata;
+    }
+
+    private static String randomSecret() {
+        byte[] key = new byte[64];
+        new SecureRandom().nextBytes(key);
+        return Base64.getEncoder().encodeToString(key);
+    }
+}
@@ -0,0 +1,123 @@
+package com.matrix.lawsuit.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 压测参数，均可通过 -Dloadtest.xxx 覆盖
+ */
+public class LoadTestProperties {
+
+    private static final String PREFIX = "loadtest.";
+
+    /** backend目录，用于定位服务模块和SQL脚本 */
+    private Path backendDir = Paths.get(get("backend-dir", "."));
+
+    /** 结果输出目录 */
+    private Path resultDir = Paths.get(get("result-dir", backendDir.resolve("loadtest/results").toString()));
+
+    /** 种子案件数量 */
+    private long seedCases = Long.parseLong(get("seed-cases", "1000000"));
+
+    /** 种子写入线程数 */
+    private int seedThreads = Integer.parseInt(get("seed-threads", "4"));
+
+    /** 每次LOAD DATA的行数 */
+    private int seedBatchRows = Integer.parseInt(get("seed-batch-rows", "5000"));
+
+    /** 种子数据的案源端客户数量 */
+    private int seedClients = Integer.parseInt(get("seed-clients", "200"));
+
+    /** 种子数据的调解中心数量，每个中心20名调解员 */
+    private int seedCenters = Integer.parseInt(get("seed-centers", "60"));
+
+    /** 种子登录用户数量 */
+    private int seedUsers = Integer.parseInt(get("seed-users", "200"));
+
+    /** 种子用户统一密码 */
+    private String userPassword = get("user-password", "LoadTest@123");
+
+    /** 并发虚拟用户数 */
+    private int concurrency = Integer.parseInt(get("concurrency", "50"));
+
+    /** 预热时长，预热期间的请求不计入结果 */
+    private Duration warmup = Duration.parse(get("warmup", "PT30S"));
+
+    /** 统计时长 */
+    private Duration duration = Duration.parse(get("duration", "PT2M"));
+
+    /** 单次请求超时 */
+    private Duration requestTimeout = Duration.parse(get("request-timeout", "PT30S"));
+
+    /** 场景权重，格式 login:5,list:40,detail:40,import:5,assign:10 */
+    private Map<String, Integer> weights = parseWeights(get("weights", "login:5,list:40,detail:40,import:5,assign:10"));
+
+    /** 批量导入每次请求的案件数 */
+    private int importBatchSize = Integer.parseInt(get("import-batch-size", "50"));
+
+    /** MySQL镜像 */
+    private String mysqlImage = get("mysql-image", "mysql:8.0.33");
+
+    /** Redis镜像 */
+    private String redisImage = get("redis-image", "redis:7.2-alpine");
+
+    /** 启动服务的java命令 */
+    private String javaBin = get("java-bin", "java");
+
+    /** 服务JVM参数 */
+    private String serviceJvmOpts = get("service-jvm-opts", "-Xms1g -Xmx1g");
+
+    /** 服务启动超时 */
+    private Duration startupTimeout = Duration.parse(get("startup-timeout", "PT3M"));
+
+    /** 端口：网关、用户服务、案件服务 */
+    private int gatewayPort = Integer.parseInt(get("gateway-port", "18080"));
+    private int userServicePort = Integer.parseInt(get("user-service-port", "18081"));
+    private int caseServicePort = Integer.parseInt(get("case-service-port", "18082"));
+
+    /** 附加给所有服务的启动参数，多个参数以空格分隔，例如 --gateway.quota.enabled=true */
+    private String serviceArgs = get("service-args", "");
+
+    private static String get(String key, String defaultValue) {
+        return System.getProperty(PREFIX + key, defaultValue);
+    }
+
+    private static Map<String, Integer> parseWeights(String value) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String item : value.split(",")) {
+            String[] pair = item.trim().split(":");
+            if (pair.length == 2) {
+                result.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+            }
+        }
+        return result;
+    }
+
+    public Path getBackendDir() { return backendDir; }
+    public Path getResultDir() { return resultDir; }
+    public long getSeedCases() { return seedCases; }
+    public int getSeedThreads() { return seedThreads; }
+    public int getSeedBatchRows() { return seedBatchRows; }
+    public int getSeedClients() { return seedClients; }
+    public int getSeedCenters() { return seedCenters; }
+    public int getSeedUsers() { return seedUsers; }
+    public String getUserPassword() { return userPassword; }
+    public int getConcurrency() { return concurrency; }
+    public Duration getWarmup() { return warmup; }
+    public Duration getDuration() { return duration; }
+    public Duration getRequestTimeout() { return requestTimeout; }
+    public Map<String, Integer> getWeights() { return weights; }
+    public int getImportBatchSize() { return importBatchSize; }
+    public String getMysqlImage() { return mysqlImage; }
+    public String getRedisImage() { return redisImage; }
+    public String getJavaBin() { return javaBin; }
+    public String getServiceJvmOpts() { return serviceJvmOpts; }
+    public Duration getStartupTimeout() { return startupTimeout; }
+    public int getGatewayPort() { return gatewayPort; }
+    public int getUserServicePort() { return userServicePort; }
+    public int getCaseServicePort() { return caseServicePort; }
+    public String getServiceArgs() { return serviceArgs; }
+}
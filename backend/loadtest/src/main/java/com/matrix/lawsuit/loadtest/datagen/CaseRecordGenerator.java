@@ -0,0 +1,377 @@
+package com.matrix.lawsuit.loadtest.datagen;
+
+import com.matrix.lawsuit.loadtest.datagen.Catalogs.City;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 合成案件及其关联数据
+ *
+ * 每个案件以种子和ID派生独立的随机数，与线程划分无关，相同参数重复生成结果一致。
+ * 分布：省市按人口加权，客户和调解中心按Zipf偏斜，借款金额按产品对数正态，逾期天数指数分布；
+ * 身份证号满足GB 11643校验位，手机号取真实号段。
+ */
+public class CaseRecordGenerator {
+
+    private static final int[] ID_CARD_WEIGHTS = {7, 9, 10, 5, 8, 4, 2, 1, 6, 3, 7, 9, 10, 5, 8, 4, 2};
+    private static final char[] ID_CARD_CHECK = {'1', '0', 'X', '9', '8', '7', '6', '5', '4', '3', '2'};
+    private static final int[] PERIODS = {3, 6, 12, 12, 24, 36};
+    private static final String[] FILE_TYPES = {"pdf", "jpg", "png"};
+
+    private final long seed;
+    private final long referenceDay;
+    private final int mediatorsPerCenter;
+    private final double extraMaterials;
+    private final WeightedSampler clientSampler;
+    private final WeightedSampler centerSampler;
+
+    public CaseRecordGenerator(GeneratorOptions options) {
+        this.seed = options.getSeed();
+        this.referenceDay = options.getReferenceDate().toEpochDay();
+        this.mediatorsPerCenter = options.getMediatorsPerCenter();
+        this.extraMaterials = Math.max(0, options.getMaterialsPerCase() - 2);
+        this.clientSampler = WeightedSampler.zipf(options.getClients(), options.getClientSkew());
+        this.centerSampler = WeightedSampler.zipf(options.getCenters(), options.getCenterSkew());
+    }
+
+    /**
+     * 生成案件及其材料、调解记录，并计入结算汇总
+     */
+    void generate(long id, RowBatch batch, SettlementAggregator settlements) throws Exception {
+        SplittableRandom random = random(id);
+        CaseData data = newCase(id, random);
+        batch.add(TableSpec.CASE, caseRow(data));
+        writeMaterials(data, random, batch);
+
+        if (data.centerId > 0) {
+            MediationData mediation = newMediation(data, random);
+            batch.add(TableSpec.MEDIATION, mediationRow(data, mediation));
+            boolean success = mediation.status == 2;
+            settlements.addClientCase(data.clientId, data.assignedTime / 86400, data.totalCents, success,
+                                      mediation.settlementCents);
+            if (success) {
+                settlements.addCenterSuccess(data.centerId, mediation.completionTime / 86400, data.totalCents,
+                                             mediation.settlementCents);
+            }
+        }
+    }
+
+    /**
+     * 批量导入接口的请求体，字段与CaseService.CreateCaseRequest一致
+     */
+    public Map<String, Object> createRequest(long seq) {
+        CaseData data = newCase(seq, random(seq));
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("batchNo", data.batchNo);
+        request.put("iouNumber", data.iouNumber);
+        request.put("contractAmount", BigDecimal.valueOf(data.loanCents, 2));
+        request.put("debtorId", "D" + seq);
+        request.put("debtorName", data.name);
+        request.put("debtorIdCard", data.idCard);
+        request.put("debtorPhone", data.phone);
+        request.put("gender", data.gender);
+        request.put("education", data.education);
+        request.put("ethnicity", data.ethnicity);
+        request.put("maritalStatus", data.maritalStatus);
+        request.put("householdProvince", data.household.province);
+        request.put("householdCity", data.household.name);
+        request.put("householdAddress", data.householdAddress);
+        request.put("currentProvince", data.current.province);
+        request.put("currentCity", data.current.name);
+        request.put("currentAddress", data.currentAddress);
+        request.put("companyName", data.companyName);
+        request.put("jobPosition", data.jobPosition);
+        request.put("companyPhone", data.companyPhone);
+        request.put("companyProvince", data.current.province);
+        request.put("companyCity", data.current.name);
+        request.put("companyAddress", data.companyAddress);
+        request.put("loanProductType", Catalogs.PRODUCTS[data.product]);
+        request.put("loanDate", RowFormat.date(data.loanDay));
+        request.put("loanAmount", BigDecimal.valueOf(data.loanCents, 2));
+        request.put("overduePrincipal", BigDecimal.valueOf(data.principalCents, 2));
+        request.put("overdueInterest", BigDecimal.valueOf(data.interestCents, 2));
+        request.put("overdueFees", BigDecimal.valueOf(data.feeCents, 2));
+        request.put("overdueTotalAmount", BigDecimal.valueOf(data.totalCents, 2));
+        request.put("overdueDays", data.overdueDays);
+        request.put("clientId", data.clientId);
+        return request;
+    }
+
+    /**
+     * 调解中心维表
+     */
+    static Object[] centerRow(long centerId, long referenceDay) {
+        SplittableRandom random = new SplittableRandom(centerId * 0x9E3779B97F4A7C15L);
+        City city = Catalogs.CITIES[Catalogs.CITY_SAMPLER.sample(random)];
+        return new Object[] {
+            centerId, "MC" + RowFormat.pad(centerId, 4), centerName(centerId), random.nextInt(3) + 1,
+            city.province, city.name, city.name + street(random), personName(random), phone(random),
+            random.nextInt(3) + 1, 2000 + random.nextInt(8) * 1000, 1,
+            RowFormat.dateTime((referenceDay - 900 - random.nextInt(900)) * 86400 + 9 * 3600)
+        };
+    }
+
+    /**
+     * 调解员维表，ID为（中心ID-1）*每中心人数+序号
+     */
+    static Object[] mediatorRow(long mediatorId, long centerId, long referenceDay) {
+        SplittableRandom random = new SplittableRandom(mediatorId * 0xC2B2AE3D27D4EB4FL);
+        return new Object[] {
+            mediatorId, "MD" + RowFormat.pad(mediatorId, 6), centerId, personName(random), phone(random),
+            random.nextInt(100) < 45 ? 1 : 2, random.nextInt(3) + 1, 1 + random.nextInt(15),
+            100 + random.nextInt(5) * 50, 1,
+            RowFormat.dateTime((referenceDay - 30 - random.nextInt(1500)) * 86400 + 9 * 3600)
+        };
+    }
+
+    static String clientName(long clientId) {
+        return "案源机构" + RowFormat.pad(clientId, 3);
+    }
+
+    static String centerName(long centerId) {
+        return "调解中心" + RowFormat.pad(centerId, 3);
+    }
+
+    private SplittableRandom random(long id) {
+        return new SplittableRandom(seed ^ (id * 0x9E3779B97F4A7C15L));
+    }
+
+    private CaseData newCase(long id, SplittableRandom random) {
+        CaseData data = new CaseData();
+        data.id = id;
+        data.clientId = clientSampler.sample(random) + 1;
+        data.product = Catalogs.PRODUCT_SAMPLER.sample(random);
+        data.household = Catalogs.CITIES[Catalogs.CITY_SAMPLER.sample(random)];
+        // 七成债务人在户籍地居住和工作
+        data.current = random.nextInt(10) < 7 ? data.household : Catalogs.CITIES[Catalogs.CITY_SAMPLER.sample(random)];
+        data.gender = random.nextInt(100) < 58 ? 1 : 2;
+        data.name = personName(random);
+        // 年龄集中在25~40岁
+        int age = Math.min(60, 22 + (int) Math.abs(random.nextGaussian() * 10));
+        data.idCard = idCard(random, data.household.code, referenceDay - age * 365L - random.nextInt(365), data.gender);
+        data.phone = phone(random);
+        data.education = Catalogs.EDUCATIONS[Catalogs.EDUCATION_SAMPLER.sample(random)];
+        data.ethnicity = Catalogs.ETHNICITIES[Catalogs.ETHNICITY_SAMPLER.sample(random)];
+        data.maritalStatus = Catalogs.MARITAL_STATUSES[Catalogs.MARITAL_SAMPLER.sample(random)];
+        data.householdAddress = data.household.name + street(random);
+        data.currentAddress = data.current.name + street(random);
+        data.companyName = data.current.name.substring(0, data.current.name.length() - 1)
+                + Catalogs.COMPANY_WORDS[random.nextInt(Catalogs.COMPANY_WORDS.length)]
+                + Catalogs.COMPANY_WORDS[random.nextInt(Catalogs.COMPANY_WORDS.length)]
+                + Catalogs.COMPANY_SUFFIXES[random.nextInt(Catalogs.COMPANY_SUFFIXES.length)];
+        data.jobPosition = Catalogs.JOB_POSITIONS[random.nextInt(Catalogs.JOB_POSITIONS.length)];
+        data.companyPhone = "0" + (10 + random.nextInt(90)) + "-" + (20_000_000 + random.nextInt(70_000_000));
+        data.companyAddress = data.current.name + street(random);
+
+        // 借款金额按产品对数正态分布，取整到百元
+        double loan = Catalogs.PRODUCT_MEDIAN_AMOUNT[data.product] * Math.exp(random.nextGaussian() * 0.7);
+        data.loanCents = Math.round(Math.max(500, Math.min(1_000_000, loan)) / 100) * 10_000;
+        data.periods = PERIODS[random.nextInt(PERIODS.length)];
+
+        // 逾期天数指数分布，均值约一年，上限约七年
+        data.overdueDays = 1 + (int) Math.min(2500, -Math.log(1 - random.nextDouble()) * 360);
+        data.overdueDay = referenceDay - data.overdueDays;
+        data.loanDay = data.overdueDay - 30L * (1 + random.nextInt(data.periods));
+        data.principalCents = data.loanCents * (20 + random.nextInt(81)) / 100;
+        // 年化12%~36%，计息不超过两年
+        long rateBasisPoints = 1200 + random.nextInt(2401);
+        data.interestCents = data.principalCents * rateBasisPoints / 10_000 * Math.min(data.overdueDays, 730) / 365;
+        data.feeCents = random.nextInt(10) < 3 ? 0 : data.principalCents * (1 + random.nextInt(5)) / 100;
+        data.totalCents = data.principalCents + data.interestCents + data.feeCents;
+
+        // 逾期满30天后委托，工作时间导入
+        long consignDay = data.overdueDays > 30
+                ? data.overdueDay + 30 + random.nextInt(Math.min(data.overdueDays - 30, 365) + 1)
+                : referenceDay;
+        data.createdTime = consignDay * 86400 + (9 + random.nextInt(9)) * 3600L + random.nextInt(3600);
+        data.batchNo = "B" + RowFormat.compactDate(consignDay) + RowFormat.pad(data.clientId, 3);
+        data.caseNo = "DLMP" + RowFormat.compactDate(consignDay) + RowFormat.pad(id, 8);
+        data.iouNumber = "IOU" + data.clientId + "-" + id;
+
+        data.status = Catalogs.CASE_STATUS_SAMPLER.sample(random) + 1;
+        if (data.status >= 2 && data.status <= 6) {
+            data.centerId = centerSampler.sample(random) + 1;
+            data.mediatorId = (data.centerId - 1) * mediatorsPerCenter + 1 + random.nextInt(mediatorsPerCenter);
+            data.assignedTime = clamp(data.createdTime + random.nextInt(7) * 86400L + random.nextInt(4 * 3600));
+        }
+        return data;
+    }
+
+    private Object[] caseRow(CaseData data) {
+        boolean assigned = data.centerId > 0;
+        long statusTime = assigned ? data.assignedTime : data.createdTime;
+        String created = RowFormat.dateTime(data.createdTime);
+        String total = RowFormat.money(data.totalCents);
+        return new Object[] {
+            data.id, data.caseNo, data.batchNo, data.iouNumber, RowFormat.money(data.loanCents), "D" + data.id,
+            data.name, data.idCard, data.phone, data.gender, data.education, data.ethnicity, data.maritalStatus,
+            data.household.province, data.household.name, data.householdAddress,
+            data.current.province, data.current.name, data.currentAddress,
+            data.companyName, data.jobPosition, data.companyPhone, data.current.province, data.current.name,
+            data.companyAddress, Catalogs.PRODUCTS[data.product], Catalogs.PRODUCTS[data.product] + "-" + data.periods + "期",
+            RowFormat.money(data.loanCents), data.periods, RowFormat.date(data.loanDay), RowFormat.date(data.overdueDay),
+            total, RowFormat.money(data.principalCents), RowFormat.money(data.interestCents),
+            RowFormat.money(data.feeCents), total, data.overdueDays, Math.min(7, (data.overdueDays + 29) / 30),
+            data.clientId, clientName(data.clientId), data.clientId, data.status, assigned ? 1 : 0,
+            assigned ? data.centerId : null, assigned ? data.mediatorId : null, assigned ? data.centerId : null,
+            assigned ? RowFormat.dateTime(data.assignedTime) : null, RowFormat.dateTime(statusTime),
+            data.totalCents >= 5_000_000 ? 1 : (data.totalCents >= 1_000_000 ? 2 : 3),
+            data.overdueDays > 360 ? 1 : (data.overdueDays > 90 ? 2 : 3),
+            0, created, RowFormat.dateTime(statusTime)
+        };
+    }
+
+    /**
+     * 借款合同和身份证必有，其余按泊松分布补充
+     */
+    private void writeMaterials(CaseData data, SplittableRandom random, RowBatch batch) throws Exception {
+        batch.add(TableSpec.MATERIAL, materialRow(data, random, 1, 1));
+        batch.add(TableSpec.MATERIAL, materialRow(data, random, 6, 2));
+        int extra = poisson(random, extraMaterials);
+        for (int i = 0; i < extra; i++) {
+            batch.add(TableSpec.MATERIAL, materialRow(data, random, Catalogs.MATERIAL_TYPE_SAMPLER.sample(random) + 1, i + 3));
+        }
+    }
+
+    private Object[] materialRow(CaseData data, SplittableRandom random, int type, int index) {
+        String fileType = type == 6 ? "jpg" : FILE_TYPES[random.nextInt(FILE_TYPES.length)];
+        String fileName = data.caseNo + "_" + type + "_" + index + "." + fileType;
+        String path = "materials/" + data.batchNo + "/" + data.caseNo + "/" + fileName;
+        // 文件大小对数正态，中位数约300KB
+        long size = Math.max(10_240, (long) (300_000 * Math.exp(random.nextGaussian() * 0.8)));
+        return new Object[] {
+            data.id, data.caseNo, type, Catalogs.MATERIAL_NAMES[type - 1], Catalogs.MATERIAL_CATEGORIES[type - 1],
+            fileName, path, size, fileType, RowFormat.hex(random.nextLong(), random.nextLong(), random.nextLong(),
+            random.nextLong()), 2, "dlmp-materials", 1, type == 6 ? 3 : 2, random.nextInt(10) < 8 ? 1 : 0,
+            null, RowFormat.dateTime(data.createdTime + random.nextInt(600))
+        };
+    }
+
+    private MediationData newMediation(CaseData data, SplittableRandom random) {
+        MediationData mediation = new MediationData();
+        mediation.startTime = clamp(data.assignedTime + random.nextInt(2 * 86400));
+        // 案件状态：2-调解中，3/6-调解成功（6为成功后结案），4/5-调解失败（5为转诉讼）
+        mediation.status = data.status == 2 ? 1 : (data.status == 3 || data.status == 6 ? 2 : 3);
+        if (mediation.status != 1) {
+            mediation.completionTime = clamp(mediation.startTime + (5 + random.nextInt(56)) * 86400L);
+        }
+        if (mediation.status == 2) {
+            mediation.settlementCents = data.totalCents * (40 + random.nextInt(61)) / 100;
+        }
+        return mediation;
+    }
+
+    private Object[] mediationRow(CaseData data, MediationData mediation) {
+        boolean success = mediation.status == 2;
+        boolean finished = mediation.status != 1;
+        // 完成超过30天的调解费已收取
+        boolean feeCollected = success && referenceDay * 86400 - mediation.completionTime > 30 * 86400L;
+        return new Object[] {
+            data.id, data.caseNo, data.centerId, data.mediatorId, RowFormat.dateTime(data.assignedTime), 1,
+            RowFormat.dateTime(mediation.startTime), RowFormat.dateTime(clamp(mediation.startTime + 3600)),
+            RowFormat.dateTime(mediation.startTime + 30 * 86400L),
+            finished ? RowFormat.dateTime(mediation.completionTime) : null,
+            mediation.status, finished ? (success ? 1 : 3) : null,
+            success ? RowFormat.money(mediation.settlementCents) : null,
+            success ? "AG" + data.caseNo.substring(4) : null,
+            success ? RowFormat.dateTime(mediation.completionTime) : null,
+            RowFormat.money(success ? mediation.settlementCents * 5 / 100 : 0), feeCollected ? 1 : 0,
+            RowFormat.dateTime(data.assignedTime)
+        };
+    }
+
+    private long clamp(long epochSecond) {
+        return Math.min(epochSecond, referenceDay * 86400 + 18 * 3600);
+    }
+
+    private static String personName(SplittableRandom random) {
+        String name = Catalogs.SURNAMES[Catalogs.SURNAME_SAMPLER.sample(random)]
+                + Catalogs.GIVEN_NAMES[random.nextInt(Catalogs.GIVEN_NAMES.length)];
+        return random.nextInt(10) < 7 ? name + Catalogs.GIVEN_NAMES[random.nextInt(Catalogs.GIVEN_NAMES.length)] : name;
+    }
+
+    private static String phone(SplittableRandom random) {
+        return Catalogs.PHONE_PREFIXES[random.nextInt(Catalogs.PHONE_PREFIXES.length)]
+                + RowFormat.pad(random.nextInt(100_000_000), 8);
+    }
+
+    private static String street(SplittableRandom random) {
+        return Catalogs.STREETS[random.nextInt(Catalogs.STREETS.length)] + (random.nextInt(999) + 1) + "号";
+    }
+
+    /**
+     * 生成符合GB 11643校验规则的身份证号，区县码取01~09
+     */
+    private static String idCard(SplittableRandom random, String cityCode, long birthDay, int gender) {
+        int order = random.nextInt(500) * 2 + (gender == 1 ? 1 : 0);
+        String body = cityCode + "0" + (random.nextInt(9) + 1) + RowFormat.compactDate(birthDay)
+                + RowFormat.pad(order, 3);
+        int sum = 0;
+        for (int i = 0; i < 17; i++) {
+            sum += (body.charAt(i) - '0') * ID_CARD_WEIGHTS[i];
+        }
+        return body + ID_CARD_CHECK[sum % 11];
+    }
+
+    private static int poisson(SplittableRandom random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private static final class CaseData {
+        long id;
+        long clientId;
+        int product;
+        City household;
+        City current;
+        int gender;
+        String name;
+        String idCard;
+        String phone;
+        String education;
+        String ethnicity;
+        String maritalStatus;
+        String householdAddress;
+        String currentAddress;
+        String companyName;
+        String jobPosition;
+        String companyPhone;
+        String companyAddress;
+        long loanCents;
+        int periods;
+        int overdueDays;
+        long overdueDay;
+        long loanDay;
+        long principalCents;
+        long interestCents;
+        long feeCents;
+        long totalCents;
+        long createdTime;
+        String batchNo;
+        String caseNo;
+        String iouNumber;
+        int status;
+        long centerId;
+        long mediatorId;
+        long assignedTime;
+    }
+
+    private static final class MediationData {
+        long startTime;
+        int status;
+        long completionTime;
+        long settlementCents;
+    }
+}
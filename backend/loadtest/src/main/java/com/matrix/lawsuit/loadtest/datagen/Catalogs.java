@@ -0,0 +1,141 @@
+package com.matrix.lawsuit.loadtest.datagen;
+
+/**
+ * 合成数据使用的静态字典
+ * 省份权重近似人口（百万），城市编码为身份证地址码前四位
+ */
+final class Catalogs {
+
+    private Catalogs() {
+    }
+
+    /**
+     * 城市
+     */
+    static final class City {
+        final String province;
+        final String name;
+        final String code;
+
+        City(String province, String name, String code) {
+            this.province = province;
+            this.name = name;
+            this.code = code;
+        }
+    }
+
+    /** {省份, 权重, 城市名:编码...}，首个城市为省会，抽样时权重加倍 */
+    private static final Object[][] PROVINCES = {
+        {"广东省", 126, "广州市:4401", "深圳市:4403", "东莞市:4419", "佛山市:4406"},
+        {"山东省", 101, "济南市:3701", "青岛市:3702", "临沂市:3713"},
+        {"河南省", 99, "郑州市:4101", "洛阳市:4103", "南阳市:4113"},
+        {"江苏省", 85, "南京市:3201", "苏州市:3205", "无锡市:3202"},
+        {"四川省", 84, "成都市:5101", "绵阳市:5107", "南充市:5113"},
+        {"河北省", 75, "石家庄市:1301", "保定市:1306", "唐山市:1302"},
+        {"湖南省", 66, "长沙市:4301", "衡阳市:4304", "株洲市:4302"},
+        {"浙江省", 65, "杭州市:3301", "宁波市:3302", "温州市:3303"},
+        {"安徽省", 61, "合肥市:3401", "阜阳市:3412", "芜湖市:3402"},
+        {"湖北省", 58, "武汉市:4201", "宜昌市:4205", "襄阳市:4206"},
+        {"广西壮族自治区", 50, "南宁市:4501", "柳州市:4502", "桂林市:4503"},
+        {"云南省", 47, "昆明市:5301", "曲靖市:5303"},
+        {"江西省", 45, "南昌市:3601", "赣州市:3607"},
+        {"辽宁省", 43, "沈阳市:2101", "大连市:2102"},
+        {"福建省", 42, "福州市:3501", "厦门市:3502", "泉州市:3505"},
+        {"陕西省", 40, "西安市:6101", "宝鸡市:6103"},
+        {"贵州省", 39, "贵阳市:5201", "遵义市:5203"},
+        {"山西省", 35, "太原市:1401", "大同市:1402"},
+        {"重庆市", 32, "重庆市:5001"},
+        {"黑龙江省", 31, "哈尔滨市:2301", "大庆市:2306"},
+        {"新疆维吾尔自治区", 26, "乌鲁木齐市:6501"},
+        {"上海市", 25, "上海市:3101"},
+        {"甘肃省", 25, "兰州市:6201"},
+        {"内蒙古自治区", 24, "呼和浩特市:1501", "包头市:1502"},
+        {"吉林省", 24, "长春市:2201", "吉林市:2202"},
+        {"北京市", 22, "北京市:1101"},
+        {"天津市", 14, "天津市:1201"},
+        {"海南省", 10, "海口市:4601", "三亚市:4602"},
+        {"宁夏回族自治区", 7, "银川市:6401"},
+        {"青海省", 6, "西宁市:6301"},
+        {"西藏自治区", 4, "拉萨市:5401"}
+    };
+
+    static final City[] CITIES;
+    static final WeightedSampler CITY_SAMPLER;
+
+    static {
+        int count = 0;
+        for (Object[] province : PROVINCES) {
+            count += province.length - 2;
+        }
+        CITIES = new City[count];
+        double[] weights = new double[count];
+        int index = 0;
+        for (Object[] province : PROVINCES) {
+            int cities = province.length - 2;
+            double provinceWeight = ((Number) province[1]).doubleValue();
+            for (int i = 2; i < province.length; i++) {
+                String[] city = ((String) province[i]).split(":");
+                CITIES[index] = new City((String) province[0], city[0], city[1]);
+                // 省会占双份权重
+                weights[index] = provinceWeight * (i == 2 ? 2.0 : 1.0) / (cities + 1);
+                index++;
+            }
+        }
+        CITY_SAMPLER = new WeightedSampler(weights);
+    }
+
+    /** 常见姓氏及近似占比（%） */
+    static final String[] SURNAMES = {
+        "王", "李", "张", "刘", "陈", "杨", "黄", "赵", "吴", "周", "徐", "孙", "马", "朱", "胡",
+        "郭", "何", "高", "林", "罗", "郑", "梁", "谢", "宋", "唐", "许", "韩", "冯", "邓", "曹"
+    };
+    static final WeightedSampler SURNAME_SAMPLER = new WeightedSampler(new double[] {
+        7.1, 7.0, 6.7, 5.4, 4.5, 3.1, 2.2, 2.0, 2.0, 1.7, 1.6, 1.5, 1.4, 1.3, 1.2,
+        1.1, 1.1, 1.0, 1.0, 0.9, 0.9, 0.8, 0.8, 0.8, 0.8, 0.7, 0.7, 0.7, 0.6, 0.6
+    });
+
+    static final String[] GIVEN_NAMES = {
+        "伟", "芳", "娜", "敏", "静", "丽", "强", "磊", "军", "洋", "勇", "艳", "杰", "娟", "涛",
+        "明", "超", "秀", "霞", "平", "刚", "桂", "英", "华", "玉", "建", "文", "辉", "鑫", "宇",
+        "婷", "浩", "斌", "晨", "欣", "佳", "俊", "鹏", "琳", "雪"
+    };
+
+    static final String[] EDUCATIONS = {"初中及以下", "高中", "中专", "大专", "本科", "硕士及以上"};
+    static final WeightedSampler EDUCATION_SAMPLER = new WeightedSampler(new double[] {18, 22, 10, 25, 22, 3});
+
+    static final String[] ETHNICITIES = {"汉族", "壮族", "回族", "满族", "维吾尔族", "苗族", "彝族", "土家族"};
+    static final WeightedSampler ETHNICITY_SAMPLER = new WeightedSampler(new double[] {91.5, 1.4, 0.8, 0.8, 0.8, 0.7, 0.7, 0.7});
+
+    static final String[] MARITAL_STATUSES = {"未婚", "已婚", "离异", "丧偶"};
+    static final WeightedSampler MARITAL_SAMPLER = new WeightedSampler(new double[] {35, 55, 9, 1});
+
+    static final String[] JOB_POSITIONS = {"普通职员", "工人", "销售", "技术人员", "个体经营", "自由职业", "管理人员", "司机", "服务员"};
+
+    static final String[] COMPANY_SUFFIXES = {"科技有限公司", "商贸有限公司", "建筑工程有限公司", "物流有限公司", "餐饮管理有限公司", "电子有限公司"};
+    static final String[] COMPANY_WORDS = {"华", "盛", "鑫", "达", "恒", "通", "宏", "鼎", "瑞", "信", "安", "隆", "泰", "兴"};
+
+    static final String[] STREETS = {"人民路", "解放路", "中山路", "建设路", "和平路", "新华路", "文化路", "胜利路", "长江路", "青年路"};
+
+    /** 手机号段及占比 */
+    static final String[] PHONE_PREFIXES = {
+        "138", "139", "137", "136", "135", "150", "151", "152", "158", "159", "182", "187", "188",
+        "130", "131", "132", "155", "156", "185", "186", "176", "133", "153", "180", "189", "177", "199"
+    };
+
+    /** 借款产品：名称、放款金额中位数、期数 */
+    static final String[] PRODUCTS = {"消费贷", "现金贷", "信用卡分期", "汽车金融", "小微经营贷", "教育分期"};
+    static final WeightedSampler PRODUCT_SAMPLER = new WeightedSampler(new double[] {35, 30, 15, 8, 7, 5});
+    static final double[] PRODUCT_MEDIAN_AMOUNT = {15000, 8000, 20000, 80000, 120000, 18000};
+
+    /** 案件状态1~7及占比：待分配、调解中、调解成功、调解失败、诉讼中、已结案、已撤回 */
+    static final WeightedSampler CASE_STATUS_SAMPLER = new WeightedSampler(new double[] {25, 35, 14, 10, 8, 6, 2});
+
+    /** 材料类型1~10及名称 */
+    static final String[] MATERIAL_NAMES = {
+        "借款合同", "借据", "放款凭证", "还款记录", "催收记录", "身份证", "银行流水", "担保合同", "抵押合同", "其他材料"
+    };
+    static final String[] MATERIAL_CATEGORIES = {
+        "合同类", "合同类", "凭证类", "凭证类", "过程类", "身份类", "凭证类", "合同类", "合同类", "其他"
+    };
+    static final WeightedSampler MATERIAL_TYPE_SAMPLER = new WeightedSampler(new double[] {0, 0, 20, 25, 20, 0, 20, 5, 3, 7});
+}
@@ -0,0 +1,180 @@
+package com.matrix.lawsuit.loadtest.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * 合成数据生成器
+ *
+ * 生成调解中心、调解员维表，以及案件、案件材料、调解记录和结算记录，案件ID显式指定，
+ * 关联表引用一致。多线程按ID区间领取任务，每个线程独占一个写入目标。
+ *
+ * 示例：
+ *   java -cp loadtest.jar com.matrix.lawsuit.loadtest.datagen.DataGenerator --cases=5000000 --threads=8 \
+ *        --jdbc-url=jdbc:mysql://127.0.0.1:3306/case_db --user=root --password=xxx
+ *   java -cp loadtest.jar com.matrix.lawsuit.loadtest.datagen.DataGenerator --cases=5000000 --mode=file --out=/data/gen
+ */
+public class DataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DataGenerator.class);
+
+    private final GeneratorOptions options;
+    private final CaseRecordGenerator generator;
+
+    public DataGenerator(GeneratorOptions options) {
+        this.options = options;
+        this.generator = new CaseRecordGenerator(options);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new DataGenerator(GeneratorOptions.parse(args)).run();
+    }
+
+    /**
+     * 执行生成，返回各表写入行数
+     */
+    public Map<TableSpec, Long> run() throws Exception {
+        long startTime = System.currentTimeMillis();
+        int threads = Math.max(1, options.getThreads());
+        AtomicLongArray written = new AtomicLongArray(TableSpec.values().length);
+        log.info("开始生成数据: 案件={}, 起始ID={}, 线程={}, 模式={}, 表={}", options.getCases(), options.getStartId(),
+                 threads, options.getMode(), options.getTables());
+
+        // 维表和结算记录量小，由主线程使用单独的写入目标
+        try (RowSink sink = options.getMode().open(options, threads)) {
+            RowBatch batch = new RowBatch(sink, options.getBatchRows(), options.getTables());
+            writeDimensions(batch);
+            batch.flush();
+            addWritten(written, batch);
+
+            SettlementAggregator settlements = generateCases(threads, written, startTime);
+
+            for (Object[] row : settlements.toRows(options.getReferenceDate())) {
+                batch.add(TableSpec.SETTLEMENT, row);
+            }
+            batch.flush();
+            addWritten(written, batch);
+        }
+
+        if (options.getMode() == SinkMode.FILE) {
+            writeLoadScript();
+        }
+
+        long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+        Map<TableSpec, Long> result = new EnumMap<>(TableSpec.class);
+        long totalRows = 0;
+        for (TableSpec table : TableSpec.values()) {
+            long rows = written.get(table.ordinal());
+            if (rows > 0) {
+                result.put(table, rows);
+                totalRows += rows;
+            }
+        }
+        log.info("数据生成完成: {}, 耗时={}ms, 合计{}行/秒", result, elapsed, totalRows * 1000 / elapsed);
+        return result;
+    }
+
+    private void writeDimensions(RowBatch batch) throws Exception {
+        long referenceDay = options.getReferenceDate().toEpochDay();
+        for (long centerId = 1; centerId <= options.getCenters(); centerId++) {
+            batch.add(TableSpec.CENTER, CaseRecordGenerator.centerRow(centerId, referenceDay));
+            for (int i = 1; i <= options.getMediatorsPerCenter(); i++) {
+                long mediatorId = (centerId - 1) * options.getMediatorsPerCenter() + i;
+                batch.add(TableSpec.MEDIATOR, CaseRecordGenerator.mediatorRow(mediatorId, centerId, referenceDay));
+            }
+        }
+    }
+
+    private SettlementAggregator generateCases(int threads, AtomicLongArray written, long startTime) throws Exception {
+        long endId = options.getStartId() + options.getCases();
+        int chunk = Math.max(1, options.getChunkCases());
+        AtomicLong nextId = new AtomicLong(options.getStartId());
+        AtomicLong generated = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SettlementAggregator>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int worker = t;
+                futures.add(executor.submit(() -> {
+                    SettlementAggregator settlements = new SettlementAggregator();
+                    try (RowSink sink = options.getMode().open(options, worker)) {
+                        RowBatch batch = new RowBatch(sink, options.getBatchRows(), options.getTables());
+                        long from;
+                        while ((from = nextId.getAndAdd(chunk)) < endId) {
+                            long to = Math.min(endId, from + chunk);
+                            for (long id = from; id < to; id++) {
+                                generator.generate(id, batch, settlements);
+                            }
+                            logProgress(generated.addAndGet(to - from), startTime);
+                        }
+                        batch.flush();
+                        addWritten(written, batch);
+                    }
+                    return settlements;
+                }));
+            }
+            SettlementAggregator merged = new SettlementAggregator();
+            for (Future<SettlementAggregator> future : futures) {
+                merged.merge(future.get());
+            }
+            return merged;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void logProgress(long done, long startTime) {
+        int chunk = Math.max(1, options.getChunkCases());
+        long step = Math.max(chunk, options.getCases() / 20 / chunk * chunk);
+        if (done % step < chunk) {
+            log.info("案件生成进度: {}/{}, {}案件/秒", done, options.getCases(),
+                     done * 1000 / Math.max(1, System.currentTimeMillis() - startTime));
+        }
+    }
+
+    private static void addWritten(AtomicLongArray written, RowBatch batch) {
+        long[] rows = batch.getWritten();
+        for (int i = 0; i < rows.length; i++) {
+            written.addAndGet(i, rows[i]);
+            rows[i] = 0;
+        }
+    }
+
+    /**
+     * file模式生成导入脚本，在mysql客户端以--local-infile=1执行
+     */
+    private void writeLoadScript() throws IOException {
+        Path dir = options.getOutDir().toAbsolutePath();
+        List<String> lines = new ArrayList<>();
+        lines.add("-- 由DataGenerator生成，执行前t_case需已按sql/entity-alignment.sql补齐实体列");
+        lines.add("SET SESSION unique_checks = 0, foreign_key_checks = 0;");
+        for (TableSpec table : TableSpec.values()) {
+            try (Stream<Path> files = Files.list(dir)) {
+                files.filter(file -> {
+                    String name = file.getFileName().toString();
+                    return name.startsWith(table.fileName() + "-") && name.endsWith(FileSink.SUFFIX);
+                }).sorted().forEach(file -> lines.add("LOAD DATA LOCAL INFILE '" + file + "' INTO TABLE "
+                        + table.getTable() + " CHARACTER SET utf8mb4 (" + table.columnList() + ");"));
+            }
+        }
+        Path script = dir.resolve("load.sql");
+        Files.write(script, lines, StandardCharsets.UTF_8);
+        log.info("导入脚本已生成: {}", script);
+    }
+}
@@ -0,0 +1,51 @@
+package com.matrix.lawsuit.loadtest.datagen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 写入数据文件，每个线程每张表一个文件：&lt;表&gt;-&lt;线程&gt;.tsv
+ * 文件为LOAD DATA默认格式，可直接用DataGenerator生成的load.sql导入
+ */
+class FileSink implements RowSink {
+
+    static final String SUFFIX = ".tsv";
+
+    private final Path dir;
+    private final int worker;
+    private final Map<TableSpec, Writer> writers = new EnumMap<>(TableSpec.class);
+    private final StringBuilder buffer = new StringBuilder(1 << 20);
+
+    FileSink(Path dir, int worker) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.worker = worker;
+    }
+
+    @Override
+    public void write(TableSpec table, List<Object[]> rows) throws IOException {
+        Writer writer = writers.get(table);
+        if (writer == null) {
+            writer = Files.newBufferedWriter(dir.resolve(table.fileName() + "-" + worker + SUFFIX),
+                                             StandardCharsets.UTF_8);
+            writers.put(table, writer);
+        }
+        buffer.setLength(0);
+        for (Object[] row : rows) {
+            RowFormat.appendTsv(buffer, row);
+        }
+        writer.append(buffer);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Writer writer : writers.values()) {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.matrix.lawsuit.loadtest.datagen;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 数据生成参数
+ * 命令行以--name=value传入，名称与字段对应（如--cases=5000000 --mode=file），也可在代码中直接设置
+ */
+public class GeneratorOptions {
+
+    /** 案件数量 */
+    private long cases = 1_000_000;
+
+    /** 起始案件ID，追加数据时设为已有最大ID+1 */
+    private long startId = 1;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /** 线程每次领取的案件数 */
+    private int chunkCases = 10_000;
+
+    /** 每次LOAD/INSERT的行数 */
+    private int batchRows = 5_000;
+
+    /** 单条INSERT语句的字节上限 */
+    private int maxStatementBytes = 16 * 1024 * 1024;
+
+    private SinkMode mode = SinkMode.LOAD;
+
+    private String jdbcUrl = "jdbc:mysql://localhost:3306/case_db?useUnicode=true&characterEncoding=utf8"
+            + "&useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=GMT%2B8";
+    private String user = "root";
+    private String password = "";
+
+    /** file模式的输出目录 */
+    private Path outDir = Paths.get("generated-data");
+
+    /** 随机种子，相同种子和ID生成相同数据 */
+    private long seed = 20240101L;
+
+    /** 案源端客户数量及Zipf偏斜指数，头部客户占大部分案件 */
+    private int clients = 200;
+    private double clientSkew = 1.1;
+
+    /** 调解中心数量、Zipf偏斜指数及每个中心的调解员数 */
+    private int centers = 60;
+    private double centerSkew = 0.8;
+    private int mediatorsPerCenter = 20;
+
+    /** 每个案件的平均材料数，至少2份（借款合同和身份证） */
+    private double materialsPerCase = 3.0;
+
+    /** 数据基准日，逾期天数和各类时间都不晚于该日 */
+    private LocalDate referenceDate = LocalDate.of(2024, 12, 31);
+
+    private Set<TableSpec> tables = EnumSet.allOf(TableSpec.class);
+
+    public static GeneratorOptions parse(String[] args) {
+        GeneratorOptions options = new GeneratorOptions();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("参数格式应为--name=value: " + arg);
+            }
+            options.set(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private void set(String name, String value) {
+        switch (name) {
+            case "cases" -> cases = Long.parseLong(value);
+            case "start-id" -> startId = Long.parseLong(value);
+            case "threads" -> threads = Integer.parseInt(value);
+            case "chunk-cases" -> chunkCases = Integer.parseInt(value);
+            case "batch-rows" -> batchRows = Integer.parseInt(value);
+            case "max-statement-bytes" -> maxStatementBytes = Integer.parseInt(value);
+            case "mode" -> mode = SinkMode.valueOf(value.toUpperCase());
+            case "jdbc-url" -> jdbcUrl = value;
+            case "user" -> user = value;
+            case "password" -> password = value;
+            case "out" -> outDir = Paths.get(value);
+            case "seed" -> seed = Long.parseLong(value);
+            case "clients" -> clients = Integer.parseInt(value);
+            case "client-skew" -> clientSkew = Double.parseDouble(value);
+            case "centers" -> centers = Integer.parseInt(value);
+            case "center-skew" -> centerSkew = Double.parseDouble(value);
+            case "mediators-per-center" -> mediatorsPerCenter = Integer.parseInt(value);
+            case "materials-per-case" -> materialsPerCase = Double.parseDouble(value);
+            case "reference-date" -> referenceDate = LocalDate.parse(value);
+            case "tables" -> tables = parseTables(value);
+            default -> throw new IllegalArgumentException("未知参数: " + name);
+        }
+    }
+
+    private static Set<TableSpec> parseTables(String value) {
+        Set<TableSpec> tables = EnumSet.noneOf(TableSpec.class);
+        for (String name : value.split(",")) {
+            tables.add(TableSpec.valueOf(name.trim().toUpperCase()));
+        }
+        return tables;
+    }
+
+    /**
+     * LOAD模式要求连接允许本地文件，未显式配置时自动追加
+     */
+    Connection openConnection() throws SQLException {
+        String url = jdbcUrl;
+        if (mode == SinkMode.LOAD && !url.contains("allowLoadLocalInfile")) {
+            url += (url.contains("?") ? "&" : "?") + "allowLoadLocalInfile=true";
+        }
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    public long getCases() { return cases; }
+    public void setCases(long cases) { this.cases = cases; }
+    public long getStartId() { return startId; }
+    public void setStartId(long startId) { this.startId = startId; }
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+    public int getChunkCases() { return chunkCases; }
+    public void setChunkCases(int chunkCases) { this.chunkCases = chunkCases; }
+    public int getBatchRows() { return batchRows; }
+    public void setBatchRows(int batchRows) { this.batchRows = batchRows; }
+    public int getMaxStatementBytes() { return maxStatementBytes; }
+    public void setMaxStatementBytes(int maxStatementBytes) { this.maxStatementBytes = maxStatementBytes; }
+    public SinkMode getMode() { return mode; }
+    public void setMode(SinkMode mode) { this.mode = mode; }
+    public String getJdbcUrl() { return jdbcUrl; }
+    public void setJdbcUrl(String jdbcUrl) { this.jdbcUrl = jdbcUrl; }
+    public String getUser() { return user; }
+    public void setUser(String user) { this.user = user; }
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+    public Path getOutDir() { return outDir; }
+    public void setOutDir(Path outDir) { this.outDir = outDir; }
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+    public int getClients() { return clients; }
+    public void setClients(int clients) { this.clients = clients; }
+    public double getClientSkew() { return clientSkew; }
+    public void setClientSkew(double clientSkew) { this.clientSkew = clientSkew; }
+    public int getCenters() { return centers; }
+    public void setCenters(int centers) { this.centers = centers; }
+    public double getCenterSkew() { return centerSkew; }
+    public void setCenterSkew(double centerSkew) { this.centerSkew = centerSkew; }
+    public int getMediatorsPerCenter() { return mediatorsPerCenter; }
+    public void setMediatorsPerCenter(int mediatorsPerCenter) { this.mediatorsPerCenter = mediatorsPerCenter; }
+    public double getMaterialsPerCase() { return materialsPerCase; }
+    public void setMaterialsPerCase(double materialsPerCase) { this.materialsPerCase = materialsPerCase; }
+    public LocalDate getReferenceDate() { return referenceDate; }
+    public void setReferenceDate(LocalDate referenceDate) { this.referenceDate = referenceDate; }
+    public Set<TableSpec> getTables() { return tables; }
+    public void setTables(Set<TableSpec> tables) { this.tables = tables; }
+}
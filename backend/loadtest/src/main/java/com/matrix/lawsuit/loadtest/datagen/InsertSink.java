@@ -0,0 +1,53 @@
+package com.matrix.lawsuit.loadtest.datagen;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 以多行INSERT写入，单条语句超过上限时拆分，避免超出max_allowed_packet
+ */
+class InsertSink implements RowSink {
+
+    private final Connection connection;
+    private final int maxStatementBytes;
+    private final StringBuilder sql = new StringBuilder(1 << 20);
+
+    InsertSink(Connection connection, int maxStatementBytes) throws SQLException {
+        this.connection = connection;
+        this.maxStatementBytes = maxStatementBytes;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION unique_checks = 0, foreign_key_checks = 0");
+        }
+    }
+
+    @Override
+    public void write(TableSpec table, List<Object[]> rows) throws SQLException {
+        String head = "INSERT INTO " + table.getTable() + " (" + table.columnList() + ") VALUES ";
+        try (Statement statement = connection.createStatement()) {
+            sql.setLength(0);
+            for (Object[] row : rows) {
+                if (sql.length() == 0) {
+                    sql.append(head);
+                } else {
+                    sql.append(',');
+                }
+                RowFormat.appendSql(sql, row);
+                // 按字符数估算，中文在UTF-8下最多3字节
+                if (sql.length() * 3 >= maxStatementBytes) {
+                    statement.executeUpdate(sql.toString());
+                    sql.setLength(0);
+                }
+            }
+            if (sql.length() > 0) {
+                statement.executeUpdate(sql.toString());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        connection.close();
+    }
+}
@@ -0,0 +1,54 @@
+package com.matrix.lawsuit.loadtest.datagen;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 按表缓冲生成的行，攒满一批后交给写入目标
+ * 未选择的表直接丢弃，线程私有
+ */
+class RowBatch {
+
+    private final RowSink sink;
+    private final int batchRows;
+    private final Set<TableSpec> tables;
+    private final Map<TableSpec, List<Object[]>> pending = new EnumMap<>(TableSpec.class);
+    private final long[] written = new long[TableSpec.values().length];
+
+    RowBatch(RowSink sink, int batchRows, Set<TableSpec> tables) {
+        this.sink = sink;
+        this.batchRows = batchRows;
+        this.tables = tables;
+    }
+
+    void add(TableSpec table, Object[] row) throws Exception {
+        if (!tables.contains(table)) {
+            return;
+        }
+        List<Object[]> rows = pending.computeIfAbsent(table, t -> new ArrayList<>(batchRows));
+        rows.add(row);
+        if (rows.size() >= batchRows) {
+            flush(table, rows);
+        }
+    }
+
+    void flush() throws Exception {
+        for (Map.Entry<TableSpec, List<Object[]>> entry : pending.entrySet()) {
+            flush(entry.getKey(), entry.getValue());
+        }
+    }
+
+    long[] getWritten() { return written; }
+
+    private void flush(TableSpec table, List<Object[]> rows) throws Exception {
+        if (rows.isEmpty()) {
+            return;
+        }
+        sink.write(table, rows);
+        written[table.ordinal()] += rows.size();
+        rows.clear();
+    }
+}
@@ -0,0 +1,155 @@
+package com.matrix.lawsuit.loadtest.datagen;
+
+import java.time.LocalDate;
+
+/**
+ * 行数据的文本格式
+ *
+ * 生成器产出的值只有String、Number和null，金额以分存储、日期以纪元天/秒存储后在此格式化，
+ * 避免每行创建BigDecimal和LocalDateTime。
+ */
+final class RowFormat {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private RowFormat() {
+    }
+
+    /**
+     * MySQL LOAD DATA默认格式：制表符分隔、换行结束，NULL写作\N
+     */
+    static void appendTsv(StringBuilder out, Object[] row) {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                out.append('\t');
+            }
+            Object value = row[i];
+            if (value == null) {
+                out.append("\\N");
+            } else if (value instanceof String) {
+                escapeTsv(out, (String) value);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append('\n');
+    }
+
+    /**
+     * 多行INSERT中的一组值
+     */
+    static void appendSql(StringBuilder out, Object[] row) {
+        out.append('(');
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            Object value = row[i];
+            if (value == null) {
+                out.append("NULL");
+            } else if (value instanceof String) {
+                out.append('\'');
+                escapeSql(out, (String) value);
+                out.append('\'');
+            } else {
+                out.append(value);
+            }
+        }
+        out.append(')');
+    }
+
+    /**
+     * 以分为单位的金额转为两位小数
+     */
+    static String money(long cents) {
+        StringBuilder text = new StringBuilder(16);
+        if (cents < 0) {
+            text.append('-');
+            cents = -cents;
+        }
+        long fraction = cents % 100;
+        text.append(cents / 100).append('.');
+        if (fraction < 10) {
+            text.append('0');
+        }
+        return text.append(fraction).toString();
+    }
+
+    static String date(long epochDay) {
+        return LocalDate.ofEpochDay(epochDay).toString();
+    }
+
+    /**
+     * 纪元秒转为yyyy-MM-dd HH:mm:ss，按UTC计算，不涉及时区换算
+     */
+    static String dateTime(long epochSecond) {
+        long day = Math.floorDiv(epochSecond, 86400);
+        int secondOfDay = (int) Math.floorMod(epochSecond, 86400);
+        StringBuilder text = new StringBuilder(19).append(LocalDate.ofEpochDay(day)).append(' ');
+        pad2(text, secondOfDay / 3600).append(':');
+        pad2(text, secondOfDay / 60 % 60).append(':');
+        return pad2(text, secondOfDay % 60).toString();
+    }
+
+    /**
+     * 紧凑日期yyyyMMdd，用于编号
+     */
+    static String compactDate(long epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        StringBuilder text = new StringBuilder(8).append(date.getYear());
+        pad2(text, date.getMonthValue());
+        return pad2(text, date.getDayOfMonth()).toString();
+    }
+
+    /**
+     * 左补零到指定位数，代替热点路径上的String.format
+     */
+    static String pad(long value, int width) {
+        String digits = Long.toString(value);
+        if (digits.length() >= width) {
+            return digits;
+        }
+        return "0".repeat(width - digits.length()) + digits;
+    }
+
+    static String hex(long... values) {
+        char[] text = new char[values.length * 16];
+        int index = 0;
+        for (long value : values) {
+            for (int shift = 60; shift >= 0; shift -= 4) {
+                text[index++] = HEX[(int) (value >>> shift) & 0xF];
+            }
+        }
+        return new String(text);
+    }
+
+    private static StringBuilder pad2(StringBuilder text, int value) {
+        if (value < 10) {
+            text.append('0');
+        }
+        return text.append(value);
+    }
+
+    private static void escapeTsv(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '\t' -> out.append("\\t");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private static void escapeSql(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\'' || c == '\\') {
+                out.append('\\');
+            }
+            out.append(c);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.matrix.lawsuit.loadtest.datagen;
+
+import java.util.List;
+
+/**
+ * 行数据的写入目标，每个生成线程独占一个实例
+ */
+public interface RowSink extends AutoCloseable {
+
+    /**
+     * 写入一批同一张表的行，调用返回后行数组可被复用
+     */
+    void write(TableSpec table, List<Object[]> rows) throws Exception;
+
+    @Override
+    void close() throws Exception;
+}
@@ -0,0 +1,123 @@
+package com.matrix.lawsuit.loadtest.datagen;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 按机构和月份汇总案件，生成与案件一致的结算记录
+ * 案源端按分案月份汇总（分散诉讼服务费），调解中心按调解成功月份汇总（成功收费）；
+ * 每个生成线程一份，结束后合并
+ */
+class SettlementAggregator {
+
+    static final int ORG_CLIENT = 1;
+    static final int ORG_CENTER = 2;
+
+    private static final int TOTAL_CASES = 0;
+    private static final int SUCCESS_CASES = 1;
+    private static final int CASE_AMOUNT = 2;
+    private static final int RECOVERED = 3;
+
+    /** 键：机构类型、机构ID、月份序号（年*12+月-1）；值：案件数、成功数、案件金额（分）、回收金额（分） */
+    private final Map<Long, long[]> totals = new TreeMap<>();
+
+    void addClientCase(long clientId, long epochDay, long amountCents, boolean success, long recoveredCents) {
+        long[] acc = totals.computeIfAbsent(key(ORG_CLIENT, clientId, epochDay), k -> new long[4]);
+        acc[TOTAL_CASES]++;
+        acc[CASE_AMOUNT] += amountCents;
+        if (success) {
+            acc[SUCCESS_CASES]++;
+            acc[RECOVERED] += recoveredCents;
+        }
+    }
+
+    void addCenterSuccess(long centerId, long epochDay, long amountCents, long recoveredCents) {
+        long[] acc = totals.computeIfAbsent(key(ORG_CENTER, centerId, epochDay), k -> new long[4]);
+        acc[TOTAL_CASES]++;
+        acc[SUCCESS_CASES]++;
+        acc[CASE_AMOUNT] += amountCents;
+        acc[RECOVERED] += recoveredCents;
+    }
+
+    void merge(SettlementAggregator other) {
+        other.totals.forEach((key, value) -> {
+            long[] acc = totals.computeIfAbsent(key, k -> new long[4]);
+            for (int i = 0; i < acc.length; i++) {
+                acc[i] += value[i];
+            }
+        });
+    }
+
+    /**
+     * 生成结算记录行，基准日所在月份尚未结束不结算
+     */
+    List<Object[]> toRows(LocalDate referenceDate) {
+        int currentMonth = referenceDate.getYear() * 12 + referenceDate.getMonthValue() - 1;
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<Long, long[]> entry : totals.entrySet()) {
+            long key = entry.getKey();
+            int orgType = (int) (key >>> 56);
+            long orgId = (key >>> 20) & 0xFFFFFFFFFL;
+            int month = (int) (key & 0xFFFFF);
+            if (month >= currentMonth) {
+                continue;
+            }
+            long[] acc = entry.getValue();
+            LocalDate start = LocalDate.of(month / 12, month % 12 + 1, 1);
+            LocalDate end = start.plusMonths(1).minusDays(1);
+            int age = currentMonth - month;
+
+            long baseFee;
+            long percentageFee;
+            if (orgType == ORG_CLIENT) {
+                // 分散诉讼服务：每案5元基础费，另按回收金额收取3%
+                baseFee = acc[TOTAL_CASES] * 500;
+                percentageFee = acc[RECOVERED] * 3 / 100;
+            } else {
+                // 调解中心成功收费：按回收金额8%
+                baseFee = 0;
+                percentageFee = acc[RECOVERED] * 8 / 100;
+            }
+            long gross = baseFee + percentageFee;
+            long tax = gross * 6 / 100;
+            String period = RowFormat.compactDate(start.toEpochDay()).substring(0, 6);
+
+            rows.add(new Object[] {
+                String.format("ST%s%d%06d", period, orgType, orgId),
+                "SB" + period,
+                orgId,
+                orgType == ORG_CLIENT ? CaseRecordGenerator.clientName(orgId) : CaseRecordGenerator.centerName(orgId),
+                orgType,
+                start.toString(),
+                end.toString(),
+                orgType == ORG_CLIENT ? 2 : 3,
+                acc[TOTAL_CASES],
+                acc[SUCCESS_CASES],
+                acc[SUCCESS_CASES],
+                acc[SUCCESS_CASES],
+                RowFormat.money(acc[CASE_AMOUNT]),
+                RowFormat.money(acc[RECOVERED]),
+                RowFormat.money(acc[RECOVERED]),
+                RowFormat.money(baseFee),
+                RowFormat.money(percentageFee),
+                RowFormat.money(gross),
+                RowFormat.money(tax),
+                RowFormat.money(gross - tax),
+                // 三个月前的账期已支付，上月待支付，其余待确认
+                age > 3 ? 4 : (age > 1 ? 3 : 1),
+                age > 3 ? 2 : 0,
+                RowFormat.dateTime(end.plusDays(3).toEpochDay() * 86400 + 9 * 3600)
+            });
+        }
+        return rows;
+    }
+
+    private static long key(int orgType, long orgId, long epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        long month = date.getYear() * 12L + date.getMonthValue() - 1;
+        return ((long) orgType << 56) | (orgId << 20) | month;
+    }
+}
@@ -0,0 +1,27 @@
+package com.matrix.lawsuit.loadtest.datagen;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * 写入方式
+ */
+public enum SinkMode {
+
+    /** LOAD DATA LOCAL INFILE，数据由客户端内存流直接发送，最快 */
+    LOAD,
+
+    /** 多行INSERT，适用于服务端关闭了local_infile的环境 */
+    INSERT,
+
+    /** 只生成制表符分隔的数据文件和load.sql，由DBA自行导入 */
+    FILE;
+
+    RowSink open(GeneratorOptions options, int worker) throws SQLException, IOException {
+        return switch (this) {
+            case LOAD -> new LoadDataSink(options.openConnection());
+            case INSERT -> new InsertSink(options.openConnection(), options.getMaxStatementBytes());
+            case FILE -> new FileSink(options.getOutDir(), worker);
+        };
+    }
+}
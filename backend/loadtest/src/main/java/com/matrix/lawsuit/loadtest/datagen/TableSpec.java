@@ -0,0 +1,70 @@
+package com.matrix.lawsuit.loadtest.datagen;
+
+/**
+ * 生成的目标表及列顺序
+ * 表名带库名，一个连接即可写入所有库；t_case的列以案件实体为准，需先执行sql/entity-alignment.sql
+ */
+public enum TableSpec {
+
+    CENTER("mediation_db.t_mediation_center",
+        "id", "center_code", "center_name", "center_type", "province", "city", "address", "contact_person",
+        "contact_phone", "capacity_level", "max_concurrent_cases", "status", "entry_time"),
+
+    MEDIATOR("mediation_db.t_mediator",
+        "id", "mediator_code", "mediation_center_id", "name", "phone", "gender", "qualification_level",
+        "work_experience", "max_concurrent_cases", "status", "join_time"),
+
+    CASE("case_db.t_case",
+        "id", "case_no", "batch_no", "iou_number", "contract_amount", "debtor_id", "debtor_name", "debtor_id_card",
+        "debtor_phone", "gender", "education", "ethnicity", "marital_status", "household_province", "household_city",
+        "household_address", "current_province", "current_city", "current_address", "company_name", "job_position",
+        "company_phone", "company_province", "company_city", "company_address", "loan_product_type", "loan_project",
+        "loan_amount", "total_periods", "loan_date", "overdue_date", "debt_amount", "overdue_principal",
+        "overdue_interest", "overdue_fees", "overdue_total_amount", "overdue_days", "overdue_m_value",
+        "source_org_id", "source_org_name", "client_id", "case_status", "assignment_status", "mediation_center_id",
+        "mediator_id", "assigned_mediation_id", "assigned_time", "status_update_time", "priority_level",
+        "risk_level", "deleted", "created_time", "updated_time"),
+
+    MATERIAL("case_db.t_case_material",
+        "case_id", "case_no", "material_type", "material_name", "material_category", "file_name", "file_path",
+        "file_size", "file_type", "file_hash", "storage_type", "storage_bucket", "status", "access_level",
+        "review_status", "uploaded_by", "uploaded_time"),
+
+    MEDIATION("mediation_db.t_mediation_case",
+        "case_id", "case_no", "mediation_center_id", "mediator_id", "received_time", "acceptance_status",
+        "mediation_start_time", "first_contact_time", "expected_completion_time", "actual_completion_time",
+        "mediation_status", "mediation_result", "settlement_amount", "agreement_no", "sign_time", "mediation_fee",
+        "fee_status", "created_time"),
+
+    SETTLEMENT("settlement_db.t_settlement_record",
+        "settlement_no", "settlement_batch_no", "settlement_org_id", "settlement_org_name", "settlement_org_type",
+        "settlement_period_start", "settlement_period_end", "settlement_type", "total_cases", "successful_cases",
+        "mediation_success_cases", "completed_cases", "total_case_amount", "recovered_amount",
+        "settlement_base_amount", "base_fee", "percentage_fee", "gross_amount", "tax_amount", "net_amount",
+        "settlement_status", "payment_status", "generated_time");
+
+    private final String table;
+    private final String[] columns;
+
+    TableSpec(String table, String... columns) {
+        this.table = table;
+        this.columns = columns;
+    }
+
+    public String getTable() { return table; }
+    public String[] getColumns() { return columns; }
+
+    /**
+     * 逗号分隔的列名，用于INSERT和LOAD DATA的列清单
+     */
+    public String columnList() {
+        return String.join(", ", columns);
+    }
+
+    /**
+     * 文件名及命令行--tables取值，如case、material
+     */
+    public String fileName() {
+        return name().toLowerCase();
+    }
+}
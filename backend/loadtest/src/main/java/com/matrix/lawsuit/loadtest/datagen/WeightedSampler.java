@@ -0,0 +1,49 @@
+package com.matrix.lawsuit.loadtest.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 按权重抽样，返回下标
+ * 累积权重加二分查找，构建后只读，可在多线程间共享
+ */
+public final class WeightedSampler {
+
+    private final double[] cumulative;
+
+    public WeightedSampler(double[] weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("权重不能为空");
+        }
+        cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    /**
+     * Zipf分布：第k项权重为1/k^s，s越大头部越集中
+     */
+    public static WeightedSampler zipf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int k = 1; k <= size; k++) {
+            weights[k - 1] = 1.0 / Math.pow(k, exponent);
+        }
+        return new WeightedSampler(weights);
+    }
+
+    public int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        index = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(index, cumulative.length - 1);
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+}
@@ -0,0 +1,134 @@
+package com.matrix.lawsuit.loadtest.infra;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 以独立JVM进程运行的被测服务
+ *
+ * 各服务的组件扫描范围都是com.matrix.lawsuit且各自带application.yml，不能放在同一个类路径中启动，
+ * 因此每个服务使用自己模块的target/classes和target/classpath.txt（由scripts/loadtest.sh生成）单独启动。
+ */
+public class ServiceProcess implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceProcess.class);
+
+    private final String name;
+    private final Path moduleDir;
+    private final String mainClass;
+    private final int port;
+    private Process process;
+    private Path logFile;
+
+    public ServiceProcess(String name, Path moduleDir, String mainClass, int port) {
+        this.name = name;
+        this.moduleDir = moduleDir;
+        this.mainClass = mainClass;
+        this.port = port;
+    }
+
+    /**
+     * 启动进程
+     *
+     * @param javaBin java命令
+     * @param jvmOpts JVM参数，空格分隔
+     * @param args    Spring Boot启动参数
+     * @param logDir  进程输出目录
+     */
+    public void start(String javaBin, String jvmOpts, List<String> args, Path logDir) throws IOException {
+        Path classpathFile = moduleDir.resolve("target/classpath.txt");
+        if (!Files.exists(classpathFile)) {
+            throw new IOException("缺少类路径文件，请先执行scripts/loadtest.sh构建: " + classpathFile);
+        }
+        String classpath = moduleDir.resolve("target/classes") + File.pathSeparator
+                + Files.readString(classpathFile, StandardCharsets.UTF_8).trim();
+
+        List<String> command = new ArrayList<>();
+        command.add(javaBin);
+        if (!jvmOpts.isBlank()) {
+            command.addAll(Arrays.asList(jvmOpts.trim().split("\\s+")));
+        }
+        command.add("-cp");
+        command.add(classpath);
+        command.add(mainClass);
+        command.add("--server.port=" + port);
+        command.addAll(args);
+
+        Files.createDirectories(logDir);
+        logFile = logDir.resolve(name + ".log");
+        process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        log.info("服务进程已启动: name={}, port={}, pid={}, log={}", name, port, process.pid(), logFile);
+    }
+
+    /**
+     * 轮询健康检查直到服务可用
+     */
+    public void awaitHealthy(Duration timeout) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("服务进程已退出: " + name + ", exitCode=" + process.exitValue() + ", 日志: " + logFile);
+            }
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    log.info("服务已就绪: {}", name);
+                    return;
+                }
+            } catch (IOException e) {
+                // 端口尚未监听，继续等待
+            }
+            Thread.sleep(1000);
+        }
+        throw new IOException("服务启动超时: " + name + ", 日志: " + logFile);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public void close() {
+        if (process == null || !process.isAlive()) {
+            return;
+        }
+        process.destroy();
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+        log.info("服务进程已停止: {}", name);
+    }
+}
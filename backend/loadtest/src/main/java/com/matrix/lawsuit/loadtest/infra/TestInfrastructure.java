@@ -0,0 +1,169 @@
+package com.matrix.lawsuit.loadtest.infra;
+
+import com.matrix.lawsuit.loadtest.LoadTestProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 压测依赖的MySQL和Redis容器
+ *
+ * 所有业务库放在同一个MySQL实例中，按sql/schema初始化后再执行实体对齐脚本，
+ * 补齐实体类中存在但建表脚本中缺失的列。
+ */
+public class TestInfrastructure implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TestInfrastructure.class);
+
+    public static final String DB_USER = "dlmp_user";
+    public static final String DB_PASSWORD = "dlmp123456";
+
+    /**
+     * 按顺序执行的建表脚本（相对仓库根目录）
+     */
+    private static final String[] SCHEMA_SCRIPTS = {
+        "sql/schema/01_init_database.sql",
+        "sql/schema/02_user_tables.sql",
+        "sql/schema/03_case_tables_enhanced.sql",
+        "sql/schema/04_mediation_tables.sql",
+        "sql/schema/06_settlement_tables.sql",
+        "sql/schema/07_log_tables.sql",
+        "sql/migration/add_access_log_gateway_columns.sql"
+    };
+
+    private static final String ALIGNMENT_SCRIPT = "sql/entity-alignment.sql";
+
+    private final LoadTestProperties properties;
+    private MySQLContainer<?> mysql;
+    private GenericContainer<?> redis;
+
+    public TestInfrastructure(LoadTestProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 启动容器并初始化库表
+     */
+    public void start() throws IOException, SQLException {
+        mysql = new MySQLContainer<>(DockerImageName.parse(properties.getMysqlImage()).asCompatibleSubstituteFor("mysql"))
+                .withUsername("root")
+                .withPassword(DB_PASSWORD)
+                .withCommand("--character-set-server=utf8mb4",
+                             "--collation-server=utf8mb4_unicode_ci",
+                             "--local-infile=1",
+                             "--innodb-buffer-pool-size=1G",
+                             "--innodb-flush-log-at-trx-commit=2",
+                             "--max-connections=1000");
+        redis = new GenericContainer<>(DockerImageName.parse(properties.getRedisImage()))
+                .withExposedPorts(6379);
+
+        long startTime = System.currentTimeMillis();
+        mysql.start();
+        redis.start();
+        log.info("容器启动完成: mysql={}:{}, redis={}:{}, 耗时={}ms",
+                 mysql.getHost(), mysql.getFirstMappedPort(), redis.getHost(), redis.getFirstMappedPort(),
+                 System.currentTimeMillis() - startTime);
+
+        Path repoDir = properties.getBackendDir().toAbsolutePath().normalize().getParent();
+        try (Connection connection = rootConnection()) {
+            for (String script : SCHEMA_SCRIPTS) {
+                executeScript(connection, script, Files.readString(repoDir.resolve(script), StandardCharsets.UTF_8));
+            }
+            try (InputStream in = TestInfrastructure.class.getClassLoader().getResourceAsStream(ALIGNMENT_SCRIPT)) {
+                if (in == null) {
+                    throw new IOException("缺少实体对齐脚本: " + ALIGNMENT_SCRIPT);
+                }
+                executeScript(connection, ALIGNMENT_SCRIPT, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * 以root连接指定库，开启批量重写以提高种子写入速度
+     */
+    public Connection connection(String database) throws SQLException {
+        return DriverManager.getConnection(jdbcUrl(database) + "&rewriteBatchedStatements=true&allowLoadLocalInfile=true",
+                                           "root", DB_PASSWORD);
+    }
+
+    /**
+     * 服务使用的JDBC地址
+     */
+    public String jdbcUrl(String database) {
+        return "jdbc:mysql://" + mysql.getHost() + ":" + mysql.getFirstMappedPort() + "/" + database
+                + "?useUnicode=true&characterEncoding=utf8&useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=GMT%2B8";
+    }
+
+    public String getRedisHost() {
+        return redis.getHost();
+    }
+
+    public int getRedisPort() {
+        return redis.getFirstMappedPort();
+    }
+
+    @Override
+    public void close() {
+        if (redis != null) {
+            redis.stop();
+        }
+        if (mysql != null) {
+            mysql.stop();
+        }
+    }
+
+    private Connection rootConnection() throws SQLException {
+        return connection(mysql.getDatabaseName());
+    }
+
+    private static void executeScript(Connection connection, String name, String script) throws SQLException {
+        long startTime = System.currentTimeMillis();
+        List<String> statements = splitStatements(script);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new SQLException("执行脚本失败: " + name + ", " + e.getMessage(), e);
+        }
+        log.info("执行脚本完成: {}, 语句数={}, 耗时={}ms", name, statements.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 拆分SQL脚本：去掉整行注释，按行尾分号切分
+     */
+    private static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\r?\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().trim();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (current.toString().trim().length() > 0) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,91 @@
+package com.matrix.lawsuit.loadtest.runner;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 压测报告：控制台表格和JSON文件
+ * JSON按场景给出吞吐、错误数和延迟分位（毫秒），scripts/loadtest.sh compare据此对比两次结果
+ */
+public class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final Map<String, Object> document = new LinkedHashMap<>();
+    private final Map<String, Map<String, Object>> scenarios = new LinkedHashMap<>();
+
+    public LoadReport(Map<String, Object> metadata, Map<String, ScenarioStats> stats, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        ScenarioStats total = new ScenarioStats("total");
+        stats.values().forEach(total::merge);
+        stats.values().forEach(s -> scenarios.put(s.getName(), summarize(s, seconds)));
+        scenarios.put(total.getName(), summarize(total, seconds));
+
+        document.put("timestamp", LocalDateTime.now().toString());
+        document.putAll(metadata);
+        document.put("scenarios", scenarios);
+    }
+
+    /**
+     * 控制台输出
+     */
+    public String toTable() {
+        StringBuilder table = new StringBuilder(String.format("%n%-8s %10s %8s %10s %9s %9s %9s %9s %9s %9s %9s%n",
+                "场景", "请求数", "错误数", "吞吐/s", "平均ms", "p50", "p90", "p95", "p99", "p99.9", "max"));
+        scenarios.forEach((name, s) -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> latency = (Map<String, Object>) s.get("latencyMs");
+            table.append(String.format("%-8s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, s.get("requests"), s.get("errors"), s.get("throughput"), latency.get("mean"),
+                    latency.get("p50"), latency.get("p90"), latency.get("p95"), latency.get("p99"),
+                    latency.get("p99.9"), latency.get("max")));
+        });
+        return table.toString();
+    }
+
+    /**
+     * 写入结果目录，文件名为 <时间>-<提交>.json
+     */
+    public Path write(Path resultDir, String commit) throws IOException {
+        Files.createDirectories(resultDir);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = resultDir.resolve(timestamp + "-" + commit + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), document);
+        return file;
+    }
+
+    private static Map<String, Object> summarize(ScenarioStats stats, double seconds) {
+        Histogram histogram = stats.getHistogram();
+        long requests = histogram.getTotalCount();
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", round(histogram.getMean() / 1000.0));
+        for (double percentile : PERCENTILES) {
+            String key = "p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile));
+            latency.put(key, round(histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        latency.put("max", round(histogram.getMaxValue() / 1000.0));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests);
+        summary.put("errors", stats.getErrors());
+        summary.put("errorRate", requests > 0 ? round((double) stats.getErrors() / requests) : 0.0);
+        summary.put("throughput", round(requests / seconds));
+        summary.put("latencyMs", latency);
+        return summary;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
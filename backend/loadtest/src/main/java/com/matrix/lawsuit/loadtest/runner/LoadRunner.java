@@ -0,0 +1,151 @@
+package com.matrix.lawsuit.loadtest.runner;
+
+import com.matrix.lawsuit.loadtest.scenario.Scenario;
+import com.matrix.lawsuit.loadtest.scenario.ScenarioContext;
+import com.matrix.lawsuit.loadtest.scenario.VirtualUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 闭环压测执行器
+ *
+ * 每个虚拟用户一个线程，按权重随机选择场景并连续执行，不设思考时间；
+ * 预热期间的请求照常发送但不计入统计。
+ */
+public class LoadRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadRunner.class);
+
+    private final ScenarioContext context;
+    private final List<Scenario> scenarios = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    public LoadRunner(ScenarioContext context, List<Scenario> candidates, Map<String, Integer> weights) {
+        this.context = context;
+        List<Integer> cumulative = new ArrayList<>();
+        int sum = 0;
+        for (Scenario scenario : candidates) {
+            int weight = weights.getOrDefault(scenario.name(), 0);
+            if (weight > 0) {
+                sum += weight;
+                scenarios.add(scenario);
+                cumulative.add(sum);
+            }
+        }
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("没有权重大于0的场景: " + weights);
+        }
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+        this.totalWeight = sum;
+    }
+
+    /**
+     * 执行压测并返回合并后的各场景统计
+     */
+    public Map<String, ScenarioStats> run(List<VirtualUser> users, Duration warmup, Duration duration)
+            throws InterruptedException {
+        verify(users.get(0));
+        long startNanos = System.nanoTime();
+        long measureFrom = startNanos + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        AtomicLong failures = new AtomicLong();
+
+        List<Map<String, ScenarioStats>> perUser = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (VirtualUser user : users) {
+            Map<String, ScenarioStats> stats = newStats();
+            perUser.add(stats);
+            Thread thread = new Thread(() -> loop(user, stats, measureFrom, deadline, failures),
+                                       "loadtest-vu-" + user.getIndex());
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+
+        log.info("开始压测: 并发={}, 预热={}s, 统计={}s, 场景={}", users.size(), warmup.getSeconds(),
+                 duration.getSeconds(), scenarios.stream().map(Scenario::name).toList());
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<String, ScenarioStats> merged = newStats();
+        for (Map<String, ScenarioStats> stats : perUser) {
+            stats.forEach((name, value) -> merged.get(name).merge(value));
+        }
+        if (failures.get() > 0) {
+            log.warn("压测期间请求异常: {}次（详见各场景错误数）", failures.get());
+        }
+        return merged;
+    }
+
+    /**
+     * 正式压测前每个场景先执行一次，任一失败即终止，避免统计的全是错误响应（如参数绑定失败的4xx/5xx）
+     */
+    private void verify(VirtualUser user) throws InterruptedException {
+        for (Scenario scenario : scenarios) {
+            boolean success;
+            try {
+                success = scenario.execute(user, context);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("场景预检异常: " + scenario.name(), e);
+            }
+            if (!success) {
+                throw new IllegalStateException("场景预检失败，响应非2xx或业务码非200: " + scenario.name());
+            }
+        }
+        log.info("场景预检通过: {}", scenarios.stream().map(Scenario::name).toList());
+    }
+
+    private void loop(VirtualUser user, Map<String, ScenarioStats> stats, long measureFrom, long deadline,
+                      AtomicLong failures) {
+        long now = System.nanoTime();
+        while (now < deadline) {
+            Scenario scenario = pick(user);
+            boolean success;
+            long begin = System.nanoTime();
+            try {
+                success = scenario.execute(user, context);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                success = false;
+                if (failures.incrementAndGet() <= 10) {
+                    log.warn("场景执行异常: scenario={}, user={}, error={}", scenario.name(), user.getUsername(), e.toString());
+                }
+            }
+            now = System.nanoTime();
+            if (begin >= measureFrom && now <= deadline) {
+                stats.get(scenario.name()).record(now - begin, success);
+            }
+        }
+    }
+
+    private Scenario pick(VirtualUser user) {
+        int value = user.getRandom().nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return scenarios.get(i);
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private Map<String, ScenarioStats> newStats() {
+        Map<String, ScenarioStats> stats = new LinkedHashMap<>();
+        for (Scenario scenario : scenarios) {
+            stats.put(scenario.name(), new ScenarioStats(scenario.name()));
+        }
+        return stats;
+    }
+}
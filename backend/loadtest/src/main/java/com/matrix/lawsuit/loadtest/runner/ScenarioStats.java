@@ -0,0 +1,34 @@
+package com.matrix.lawsuit.loadtest.runner;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * 单个场景的统计：延迟直方图（微秒）和错误数
+ * 每个虚拟用户线程持有自己的实例，结束后合并，记录过程中无需同步
+ */
+public class ScenarioStats {
+
+    private final String name;
+    private final Histogram histogram = new Histogram(3);
+    private long errors;
+
+    public ScenarioStats(String name) {
+        this.name = name;
+    }
+
+    public void record(long latencyNanos, boolean success) {
+        histogram.recordValue(Math.max(1, latencyNanos / 1000));
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public void merge(ScenarioStats other) {
+        histogram.add(other.histogram);
+        errors += other.errors;
+    }
+
+    public String getName() { return name; }
+    public Histogram getHistogram() { return histogram; }
+    public long getErrors() { return errors; }
+}
@@ -0,0 +1,28 @@
+package com.matrix.lawsuit.loadtest.scenario;
+
+import java.net.http.HttpRequest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 分案：逐个分配未分案的种子案件，调解员属于所选调解中心
+ */
+public class AssignCaseScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "assign";
+    }
+
+    @Override
+    public boolean execute(VirtualUser user, ScenarioContext context) throws Exception {
+        long caseId = context.nextAssignId();
+        Map<String, Object> body = new LinkedHashMap<>();
+        long centerId = user.getRandom().nextInt(context.getProperties().getSeedCenters()) + 1;
+        body.put("mediationCenterId", centerId);
+        body.put("mediatorId", (centerId - 1) * 20 + user.getRandom().nextInt(20) + 1);
+
+        return context.successBody(context.send(user,
+                HttpRequest.newBuilder().POST(context.json(body)), "/case/cases/" + caseId + "/assign")) != null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.matrix.lawsuit.loadtest.scenario;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量导入：每次提交一批新的合成案件
+ */
+public class BatchImportScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "import";
+    }
+
+    @Override
+    public boolean execute(VirtualUser user, ScenarioContext context) throws Exception {
+        int size = context.getProperties().getImportBatchSize();
+        long firstSeq = context.nextImportSeq(size);
+        List<Map<String, Object>> cases = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cases.add(context.newCaseRequest(firstSeq + i));
+        }
+
+        return context.successBody(context.send(user,
+                HttpRequest.newBuilder().POST(context.json(cases)), "/case/cases/batch-import")) != null;
+    }
+}
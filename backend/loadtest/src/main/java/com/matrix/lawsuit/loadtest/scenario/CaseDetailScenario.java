@@ -0,0 +1,20 @@
+package com.matrix.lawsuit.loadtest.scenario;
+
+import java.net.http.HttpRequest;
+
+/**
+ * 案件详情：随机读取种子案件
+ */
+public class CaseDetailScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "detail";
+    }
+
+    @Override
+    public boolean execute(VirtualUser user, ScenarioContext context) throws Exception {
+        String path = "/case/cases/" + context.randomCaseId(user);
+        return context.successBody(context.send(user, HttpRequest.newBuilder().GET(), path)) != null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.matrix.lawsuit.loadtest.scenario;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * 案件列表：按案源端客户、状态、调解中心和姓名模糊查询组合过滤，翻前5页
+ */
+public class CaseListScenario implements Scenario {
+
+    private static final String[] NAME_KEYWORDS = {"王", "李", "张伟", "刘芳", "陈"};
+
+    @Override
+    public String name() {
+        return "list";
+    }
+
+    @Override
+    public boolean execute(VirtualUser user, ScenarioContext context) throws Exception {
+        SplittableRandom random = user.getRandom();
+        StringBuilder path = new StringBuilder("/case/cases?size=20&page=").append(random.nextInt(5) + 1);
+
+        int clients = context.getProperties().getSeedClients();
+        int centers = context.getProperties().getSeedCenters();
+        int filter = random.nextInt(10);
+        if (filter < 4) {
+            path.append("&clientId=").append(random.nextInt(clients) + 1);
+        } else if (filter < 7) {
+            path.append("&clientId=").append(random.nextInt(clients) + 1)
+                .append("&caseStatus=").append(random.nextInt(2) + 1);
+        } else if (filter < 9) {
+            path.append("&assignmentStatus=1&mediationCenterId=").append(random.nextInt(centers) + 1);
+        } else {
+            path.append("&debtorName=")
+                .append(URLEncoder.encode(NAME_KEYWORDS[random.nextInt(NAME_KEYWORDS.length)], StandardCharsets.UTF_8));
+        }
+
+        return context.successBody(context.send(user, HttpRequest.newBuilder().GET(), path.toString())) != null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.matrix.lawsuit.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.http.HttpRequest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 登录：经网关白名单转发到用户服务，成功后刷新虚拟用户的令牌
+ */
+public class LoginScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "login";
+    }
+
+    @Override
+    public boolean execute(VirtualUser user, ScenarioContext context) throws Exception {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("username", user.getUsername());
+        body.put("password", context.getProperties().getUserPassword());
+
+        JsonNode result = context.successBody(context.send(user,
+                HttpRequest.newBuilder().POST(context.json(body)), "/user/auth/login"));
+        if (result == null) {
+            return false;
+        }
+        user.setToken(result.path("data").path("token").asText());
+        return true;
+    }
+}
@@ -0,0 +1,19 @@
+package com.matrix.lawsuit.loadtest.scenario;
+
+/**
+ * 压测场景，一次执行对应一次计时
+ */
+public interface Scenario {
+
+    /**
+     * 场景名称，与权重配置中的key一致
+     */
+    String name();
+
+    /**
+     * 执行一次场景
+     *
+     * @return 是否成功（HTTP 2xx且Result.code为200）
+     */
+    boolean execute(VirtualUser user, ScenarioContext context) throws Exception;
+}
@@ -0,0 +1,108 @@
+package com.matrix.lawsuit.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matrix.lawsuit.loadtest.LoadTestProperties;
+import com.matrix.lawsuit.loadtest.datagen.CaseRecordGenerator;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 场景共享状态：HTTP客户端、网关地址、种子数据范围和案件生成器
+ */
+public class ScenarioContext {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final LoadTestProperties properties;
+    private final String baseUrl;
+    private final long minCaseId;
+    private final long maxCaseId;
+    private final CaseRecordGenerator caseGenerator;
+
+    /** 种子数据中未分案的案件，分案场景按ID降序逐个消费 */
+    private final long[] unassignedCaseIds;
+    private final AtomicInteger nextAssignIndex = new AtomicInteger();
+
+    /** 批量导入场景的案件序号，从种子数据之后开始，保证不重复 */
+    private final AtomicLong nextImportSeq;
+
+    public ScenarioContext(HttpClient httpClient, ObjectMapper objectMapper, LoadTestProperties properties,
+                           String baseUrl, CaseRecordGenerator caseGenerator, long[] unassignedCaseIds) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.baseUrl = baseUrl;
+        this.minCaseId = 1;
+        this.maxCaseId = properties.getSeedCases();
+        this.caseGenerator = caseGenerator;
+        this.unassignedCaseIds = unassignedCaseIds;
+        this.nextImportSeq = new AtomicLong(properties.getSeedCases() + 1);
+    }
+
+    /**
+     * 发送请求，已登录时附带令牌
+     */
+    public HttpResponse<String> send(VirtualUser user, HttpRequest.Builder builder, String path)
+            throws IOException, InterruptedException {
+        builder.uri(URI.create(baseUrl + path))
+               .timeout(properties.getRequestTimeout())
+               .header("Content-Type", "application/json");
+        if (user.getToken() != null) {
+            builder.header("Authorization", "Bearer " + user.getToken());
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * 解析统一响应，HTTP非2xx或业务码非200时返回null
+     */
+    public JsonNode successBody(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            return null;
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.path("code").asInt() == 200 ? body : null;
+    }
+
+    public HttpRequest.BodyPublisher json(Object value) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value));
+    }
+
+    /**
+     * 随机选取一个种子案件ID
+     */
+    public long randomCaseId(VirtualUser user) {
+        return minCaseId + user.getRandom().nextLong(maxCaseId - minCaseId + 1);
+    }
+
+    /**
+     * 下一个未分案的案件，耗尽后返回已分案的最大ID，接口返回业务失败并计入错误数
+     */
+    public long nextAssignId() {
+        int index = nextAssignIndex.getAndIncrement();
+        return index < unassignedCaseIds.length ? unassignedCaseIds[index] : maxCaseId;
+    }
+
+    public long nextImportSeq(int count) {
+        return nextImportSeq.getAndAdd(count);
+    }
+
+    /**
+     * 与种子数据同分布的新案件导入请求
+     */
+    public Map<String, Object> newCaseRequest(long seq) {
+        return caseGenerator.createRequest(seq);
+    }
+
+    public LoadTestProperties getProperties() {
+        return properties;
+    }
+}
@@ -0,0 +1,26 @@
+package com.matrix.lawsuit.loadtest.scenario;
+
+import java.util.SplittableRandom;
+
+/**
+ * 虚拟用户，每个压测线程持有一个，保存登录令牌和独立的随机数源
+ */
+public class VirtualUser {
+
+    private final int index;
+    private final String username;
+    private final SplittableRandom random;
+    private volatile String token;
+
+    public VirtualUser(int index, String username, long seed) {
+        this.index = index;
+        this.username = username;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public int getIndex() { return index; }
+    public String getUsername() { return username; }
+    public SplittableRandom getRandom() { return random; }
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+}
@@ -0,0 +1,109 @@
+package com.matrix.lawsuit.loadtest.seed;
+
+import com.matrix.lawsuit.loadtest.LoadTestProperties;
+import com.matrix.lawsuit.loadtest.datagen.DataGenerator;
+import com.matrix.lawsuit.loadtest.datagen.GeneratorOptions;
+import com.matrix.lawsuit.loadtest.datagen.SinkMode;
+import com.matrix.lawsuit.loadtest.infra.TestInfrastructure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 压测种子数据：登录用户、调解中心及调解员、案件及其材料、调解和结算记录
+ *
+ * 案件由DataGenerator以LOAD DATA LOCAL INFILE多线程写入，约四分之一的案件未分案，供分案场景消费。
+ */
+public class DataSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    /** 分案场景最多预取的未分案案件数 */
+    private static final int UNASSIGNED_LIMIT = 200_000;
+
+    private final TestInfrastructure infrastructure;
+    private final LoadTestProperties properties;
+
+    public DataSeeder(TestInfrastructure infrastructure, LoadTestProperties properties) {
+        this.infrastructure = infrastructure;
+        this.properties = properties;
+    }
+
+    /**
+     * 写入登录用户，用户名为loadtest0001起
+     */
+    public void seedUsers() throws SQLException {
+        String password = new BCryptPasswordEncoder().encode(properties.getUserPassword());
+        String sql = "INSERT INTO t_user (username, password, real_name, user_type, status, deleted) VALUES (?, ?, ?, ?, 1, 0)";
+        try (Connection connection = infrastructure.connection("user_db");
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= properties.getSeedUsers(); i++) {
+                statement.setString(1, username(i));
+                statement.setString(2, password);
+                statement.setString(3, "压测用户" + i);
+                statement.setInt(4, i % 4 + 1);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        log.info("种子用户写入完成: {}", properties.getSeedUsers());
+    }
+
+    /**
+     * 写入案件及关联数据，ID从1开始连续
+     */
+    public void seedCases() throws Exception {
+        new DataGenerator(generatorOptions()).run();
+
+        try (Connection connection = infrastructure.connection("case_db");
+             Statement statement = connection.createStatement()) {
+            // 刷新统计信息，避免批量写入后执行计划基于空表统计
+            statement.execute("ANALYZE TABLE case_db.t_case, case_db.t_case_material, mediation_db.t_mediation_case");
+        }
+    }
+
+    /**
+     * 未分案的案件ID，按ID降序
+     */
+    public long[] unassignedCaseIds() throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Connection connection = infrastructure.connection("case_db");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id FROM t_case WHERE assignment_status = 0 AND case_status = 1"
+                     + " ORDER BY id DESC LIMIT " + UNASSIGNED_LIMIT)) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * 种子数据的生成参数，批量导入场景使用同一参数生成后续序号的案件
+     */
+    public GeneratorOptions generatorOptions() {
+        GeneratorOptions options = new GeneratorOptions();
+        options.setCases(properties.getSeedCases());
+        options.setThreads(properties.getSeedThreads());
+        options.setBatchRows(properties.getSeedBatchRows());
+        options.setClients(properties.getSeedClients());
+        options.setCenters(properties.getSeedCenters());
+        options.setMode(SinkMode.LOAD);
+        options.setJdbcUrl(infrastructure.jdbcUrl("case_db"));
+        options.setUser("root");
+        options.setPassword(TestInfrastructure.DB_PASSWORD);
+        return options;
+    }
+
+    public static String username(int index) {
+        return String.format("loadtest%04d", index);
+    }
+}
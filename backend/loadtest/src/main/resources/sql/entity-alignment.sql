@@ -0,0 +1,30 @@
+-- 压测环境实体对齐脚本
+-- 在sql/schema建表后执行，补齐Case、User实体中存在但建表脚本中缺失的列，
+-- 并放宽实体不写入的非空列，使服务的增删改查可以直接运行
+
+USE case_db;
+
+ALTER TABLE t_case
+    ADD COLUMN loan_product_type VARCHAR(100) COMMENT '借款产品类型' AFTER company_address,
+    ADD COLUMN overdue_principal DECIMAL(15,2) COMMENT '逾期本金' AFTER debt_amount,
+    ADD COLUMN overdue_interest DECIMAL(15,2) COMMENT '逾期利息' AFTER overdue_principal,
+    ADD COLUMN overdue_fees DECIMAL(15,2) COMMENT '逾期费用' AFTER overdue_interest,
+    ADD COLUMN overdue_total_amount DECIMAL(15,2) COMMENT '逾期总金额' AFTER overdue_fees,
+    ADD COLUMN assignment_status TINYINT DEFAULT 0 COMMENT '分案状态：0-未分案，1-已分案' AFTER case_status,
+    ADD COLUMN mediation_center_id BIGINT COMMENT '调解中心ID' AFTER assignment_status,
+    ADD COLUMN mediator_id BIGINT COMMENT '调解员ID' AFTER mediation_center_id,
+    ADD COLUMN client_id BIGINT COMMENT '案源端客户ID' AFTER mediator_id,
+    ADD COLUMN deleted TINYINT DEFAULT 0 COMMENT '删除标记：1-已删除，0-正常' AFTER updated_time,
+    MODIFY COLUMN debtor_id VARCHAR(50) COMMENT '债务人编号',
+    MODIFY COLUMN debt_amount DECIMAL(15,2) DEFAULT 0 COMMENT '剩余应还金额',
+    MODIFY COLUMN source_org_id BIGINT COMMENT '案源机构ID',
+    ADD INDEX idx_assignment_status (assignment_status),
+    ADD INDEX idx_mediation_center (mediation_center_id),
+    ADD INDEX idx_mediator (mediator_id),
+    ADD INDEX idx_client_deleted (client_id, deleted);
+
+USE user_db;
+
+ALTER TABLE t_user
+    ADD COLUMN remark VARCHAR(500) COMMENT '备注' AFTER updated_time,
+    ADD COLUMN deleted TINYINT DEFAULT 0 COMMENT '删除标记：1-已删除，0-正常' AFTER remark;
@@ -0,0 +1,107 @@
+#!/bin/bash
+
+# JMH微基准测试脚本
+# run：构建benchmarks模块并运行基准，结果以JSON保存到 benchmarks/results/<日期>-<提交>.json
+# compare：对比两次结果，按基准方法和参数逐项输出得分变化
+#
+# 示例：
+#   ./scripts/benchmark.sh run                       # 运行全部基准
+#   ./scripts/benchmark.sh run 'Jwt|WhiteList'       # 只运行匹配的基准类
+#   ./scripts/benchmark.sh compare benchmarks/results/a.json benchmarks/results/b.json
+#
+# 可通过JMH_OPTS传入额外的JMH参数，例如 JMH_OPTS="-f 3 -wi 5 -i 10"
+
+set -e
+
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+BACKEND_DIR=$(dirname "$SCRIPT_DIR")
+RESULT_DIR=${RESULT_DIR:-$BACKEND_DIR/benchmarks/results}
+JAVA_BIN=${JAVA_BIN:-java}
+JMH_OPTS=${JMH_OPTS:-}
+# 得分变化超过该百分比时标记
+THRESHOLD=${THRESHOLD:-10}
+
+log_info() {
+    echo "[$(date '+%Y-%m-%d %H:%M:%S')] [INFO] $1"
+}
+
+log_error() {
+    echo "[$(date '+%Y-%m-%d %H:%M:%S')] [ERROR] $1"
+}
+
+run_benchmarks() {
+    local pattern=${1:-.*}
+    local commit
+    commit=$(git -C "$BACKEND_DIR" rev-parse --short HEAD 2>/dev/null || echo "nogit")
+    if [ -n "$(git -C "$BACKEND_DIR" status --porcelain 2>/dev/null)" ]; then
+        commit="${commit}-dirty"
+    fi
+    local result_file="$RESULT_DIR/$(date '+%Y%m%d-%H%M%S')-${commit}.json"
+
+    log_info "构建基准测试模块..."
+    (cd "$BACKEND_DIR" && mvn -B -q -pl benchmarks -am package -DskipTests)
+
+    mkdir -p "$RESULT_DIR"
+    log_info "运行基准: $pattern"
+    "$JAVA_BIN" -jar "$BACKEND_DIR/benchmarks/target/benchmarks.jar" "$pattern" \
+        -rf json -rff "$result_file" $JMH_OPTS
+
+    log_info "结果已保存: $result_file"
+}
+
+compare_results() {
+    local base=$1
+    local current=$2
+    if [ ! -f "$base" ] || [ ! -f "$current" ]; then
+        log_error "请指定两个存在的结果文件"
+        exit 1
+    fi
+
+    python3 - "$base" "$current" "$THRESHOLD" <<'PY'
+import json, sys
+
+base_file, current_file, threshold = sys.argv[1], sys.argv[2], float(sys.argv[3])
+
+def load(path):
+    results = {}
+    for item in json.load(open(path)):
+        params = ",".join("%s=%s" % kv for kv in sorted((item.get("params") or {}).items()))
+        name = item["benchmark"].replace("com.matrix.lawsuit.benchmark.", "")
+        key = name + ("[" + params + "]" if params else "")
+        metric = item["primaryMetric"]
+        results[key] = (item["mode"], metric["score"], metric["scoreError"], metric["scoreUnit"])
+    return results
+
+base, current = load(base_file), load(current_file)
+print("%-72s %14s %14s %9s" % ("基准", "基线", "当前", "变化"))
+regressions = 0
+for key in sorted(set(base) | set(current)):
+    if key not in base or key not in current:
+        print("%-72s %s" % (key, "仅存在于" + ("当前" if key in current else "基线")))
+        continue
+    mode, old, _, unit = base[key]
+    _, new, error, _ = current[key]
+    # 吞吐模式得分越高越好，其余模式得分越低越好
+    change = (new - old) / old * 100 if old else 0
+    worse = change < -threshold if mode == "thrpt" else change > threshold
+    better = change > threshold if mode == "thrpt" else change < -threshold
+    flag = "  [退化]" if worse else ("  [提升]" if better else "")
+    if worse:
+        regressions += 1
+    print("%-72s %14.3f %14.3f %+8.1f%% %s%s" % (key, old, new, change, unit, flag))
+print("\n退化项: %d（阈值 %.0f%%）" % (regressions, threshold))
+PY
+}
+
+case "$1" in
+    run)
+        run_benchmarks "$2"
+        ;;
+    compare)
+        compare_results "$2" "$3"
+        ;;
+    *)
+        echo "用法: $0 {run [基准正则]|compare <基线结果> <当前结果>}"
+        exit 1
+        ;;
+esac
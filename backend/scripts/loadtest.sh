@@ -0,0 +1,123 @@
+#!/bin/bash
+
+# 端到端压测脚本
+# run：构建网关、用户服务、案件服务和压测模块，启动Testcontainers中的MySQL/Redis并执行压测，
+#      结果以JSON保存到 loadtest/results/<时间>-<提交>.json，服务日志在 loadtest/results/logs
+# compare：对比两次结果，按场景输出吞吐和延迟分位的变化
+# generate：构建压测模块后执行合成数据生成器，参数原样传给DataGenerator
+#
+# 示例：
+#   ./scripts/loadtest.sh run
+#   LOADTEST_OPTS="-Dloadtest.seed-cases=2000000 -Dloadtest.concurrency=200 -Dloadtest.duration=PT5M" ./scripts/loadtest.sh run
+#   LOADTEST_OPTS="-Dloadtest.weights=list:1" ./scripts/loadtest.sh run      # 只压列表查询
+#   ./scripts/loadtest.sh compare loadtest/results/a.json loadtest/results/b.json
+#   ./scripts/loadtest.sh generate --cases=5000000 --threads=8 --jdbc-url=jdbc:mysql://127.0.0.1:3306/case_db --password=xxx
+#   ./scripts/loadtest.sh generate --cases=5000000 --mode=file --out=/data/dlmp-gen     # 只生成文件和load.sql
+#
+# 需要本机可用的Docker环境
+
+set -e
+
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+BACKEND_DIR=$(dirname "$SCRIPT_DIR")
+JAVA_BIN=${JAVA_BIN:-java}
+LOADTEST_OPTS=${LOADTEST_OPTS:-}
+# 延迟或吞吐变化超过该百分比时标记
+THRESHOLD=${THRESHOLD:-10}
+
+SERVICE_MODULES="gateway,services/user-service,services/case-service"
+
+log_info() {
+    echo "[$(date '+%Y-%m-%d %H:%M:%S')] [INFO] $1"
+}
+
+log_error() {
+    echo "[$(date '+%Y-%m-%d %H:%M:%S')] [ERROR] $1"
+}
+
+run_loadtest() {
+    if ! docker info > /dev/null 2>&1; then
+        log_error "Docker不可用，压测依赖Testcontainers启动MySQL和Redis"
+        exit 1
+    fi
+
+    local commit
+    commit=$(git -C "$BACKEND_DIR" rev-parse --short HEAD 2>/dev/null || echo "nogit")
+    if [ -n "$(git -C "$BACKEND_DIR" status --porcelain 2>/dev/null)" ]; then
+        commit="${commit}-dirty"
+    fi
+
+    # 服务以独立进程启动，各自的类路径写入 target/classpath.txt
+    log_info "构建服务和压测模块..."
+    (cd "$BACKEND_DIR" && mvn -B -q -pl "$SERVICE_MODULES,loadtest" -am package \
+        dependency:build-classpath -Dmdep.outputFile=target/classpath.txt -DskipTests)
+
+    log_info "开始压测，提交: $commit"
+    "$JAVA_BIN" -Dloadtest.backend-dir="$BACKEND_DIR" -Dloadtest.commit="$commit" $LOADTEST_OPTS \
+        -jar "$BACKEND_DIR/loadtest/target/loadtest.jar"
+}
+
+generate_data() {
+    log_info "构建压测模块..."
+    (cd "$BACKEND_DIR" && mvn -B -q -pl loadtest -am package -DskipTests)
+
+    log_info "开始生成数据..."
+    "$JAVA_BIN" $LOADTEST_OPTS -cp "$BACKEND_DIR/loadtest/target/loadtest.jar" \
+        com.matrix.lawsuit.loadtest.datagen.DataGenerator "$@"
+}
+
+compare_results() {
+    local base=$1
+    local current=$2
+    if [ ! -f "$base" ] || [ ! -f "$current" ]; then
+        log_error "请指定两个存在的结果文件"
+        exit 1
+    fi
+
+    python3 - "$base" "$current" "$THRESHOLD" <<'PY'
+import json, sys
+
+base_file, current_file, threshold = sys.argv[1], sys.argv[2], float(sys.argv[3])
+base, current = json.load(open(base_file)), json.load(open(current_file))
+print("基线: %s (%s)  当前: %s (%s)" % (base.get("commit"), base.get("timestamp"), current.get("commit"), current.get("timestamp")))
+
+# 指标, 是否越大越好
+metrics = [("throughput", True), ("p50", False), ("p95", False), ("p99", False), ("p99.9", False)]
+print("%-8s %-10s %12s %12s %9s" % ("场景", "指标", "基线", "当前", "变化"))
+regressions = 0
+for name in current["scenarios"]:
+    if name not in base["scenarios"]:
+        print("%-8s 仅存在于当前结果" % name)
+        continue
+    old_s, new_s = base["scenarios"][name], current["scenarios"][name]
+    for metric, higher_better in metrics:
+        old = old_s[metric] if metric == "throughput" else old_s["latencyMs"][metric]
+        new = new_s[metric] if metric == "throughput" else new_s["latencyMs"][metric]
+        change = (new - old) / old * 100 if old else 0
+        worse = change < -threshold if higher_better else change > threshold
+        better = change > threshold if higher_better else change < -threshold
+        flag = "  [退化]" if worse else ("  [提升]" if better else "")
+        if worse:
+            regressions += 1
+        print("%-8s %-10s %12.2f %12.2f %+8.1f%%%s" % (name, metric, old, new, change, flag))
+    print("%-8s %-10s %12.4f %12.4f" % (name, "errorRate", old_s["errorRate"], new_s["errorRate"]))
+print("\n退化项: %d（阈值 %.0f%%）" % (regressions, threshold))
+PY
+}
+
+case "$1" in
+    run)
+        run_loadtest
+        ;;
+    compare)
+        compare_results "$2" "$3"
+        ;;
+    generate)
+        shift
+        generate_data "$@"
+        ;;
+    *)
+        echo "用法: $0 {run|compare <基线结果> <当前结果>|generate [--name=value ...]}"
+        exit 1
+        ;;
+esac
@@ -105,6 +105,18 @@ check_infrastructure() {
     log_success "基础设施状态检查通过"
 }
 
+# 检查密钥：网关和各服务无默认密钥，本地开发未设置时生成一组临时密钥供本次启动的所有服务共用
+check_secrets() {
+    if [ -z "$JWT_SECRET" ]; then
+        export JWT_SECRET="$(openssl rand -base64 64 | tr -d '\n')"
+        log_warning "未设置JWT_SECRET，已生成临时密钥，重启后已签发的令牌失效"
+    fi
+    if [ -z "$DLMP_IDENTITY_SECRET" ]; then
+        export DLMP_IDENTITY_SECRET="$(openssl rand -base64 48 | tr -d '\n')"
+        log_warning "未设置DLMP_IDENTITY_SECRET，已生成临时密钥"
+    fi
+}
+
 # 编译项目
 compile_project() {
     log_info "编译项目..."
@@ -299,6 +311,7 @@ main() {
             check_java
             check_maven
             check_infrastructure
+            check_secrets
             compile_project
             start_all_services
             
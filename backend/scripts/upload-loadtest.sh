@@ -0,0 +1,127 @@
+#!/bin/bash
+
+# 网关大文件上传压测脚本
+# 启动本地桩文件服务（只读取并丢弃请求体），通过网关并发上传大文件，采样网关进程RSS，验证流式转发下内存保持平稳
+#
+# 网关需指向桩服务启动，例如：
+#   java -jar dlmp-gateway.jar --gateway.upload.uri=http://127.0.0.1:18088 --gateway.policy.defaults.auth-required=false
+
+set -e
+
+GATEWAY_URL=${GATEWAY_URL:-http://127.0.0.1:8080}
+STUB_PORT=${STUB_PORT:-18088}
+CONCURRENCY=${CONCURRENCY:-20}
+FILE_SIZE_MB=${FILE_SIZE_MB:-1024}
+SAMPLE_INTERVAL=${SAMPLE_INTERVAL:-1}
+WORK_DIR=${WORK_DIR:-/tmp/dlmp-upload-loadtest}
+
+log_info() {
+    echo "[$(date '+%Y-%m-%d %H:%M:%S')] [INFO] $1"
+}
+
+log_error() {
+    echo "[$(date '+%Y-%m-%d %H:%M:%S')] [ERROR] $1"
+}
+
+GATEWAY_PID=${GATEWAY_PID:-$(pgrep -f dlmp-gateway | head -1)}
+if [ -z "$GATEWAY_PID" ]; then
+    log_error "未找到网关进程，请设置GATEWAY_PID"
+    exit 1
+fi
+
+mkdir -p "$WORK_DIR"
+UPLOAD_FILE="$WORK_DIR/upload-${FILE_SIZE_MB}m.bin"
+if [ ! -f "$UPLOAD_FILE" ]; then
+    # 稀疏文件，不占用实际磁盘空间
+    truncate -s "${FILE_SIZE_MB}M" "$UPLOAD_FILE"
+fi
+
+# 桩文件服务：按块读取请求体后丢弃，返回成功
+cat > "$WORK_DIR/stub.py" <<'PY'
+import sys
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+class Handler(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+
+    def do_POST(self):
+        received = 0
+        if self.headers.get("Transfer-Encoding", "").lower() == "chunked":
+            while True:
+                size = int(self.rfile.readline().strip(), 16)
+                if size == 0:
+                    self.rfile.readline()
+                    break
+                remaining = size
+                while remaining > 0:
+                    remaining -= len(self.rfile.read(min(remaining, 65536)))
+                self.rfile.readline()
+                received += size
+        else:
+            remaining = int(self.headers.get("Content-Length", 0))
+            while remaining > 0:
+                chunk = self.rfile.read(min(remaining, 65536))
+                remaining -= len(chunk)
+                received += len(chunk)
+        body = ('{"code":200,"message":"success","data":%d}' % received).encode()
+        self.send_response(200)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(body)))
+        self.end_headers()
+        self.wfile.write(body)
+
+    def log_message(self, *args):
+        pass
+
+ThreadingHTTPServer(("127.0.0.1", int(sys.argv[1])), Handler).serve_forever()
+PY
+
+python3 "$WORK_DIR/stub.py" "$STUB_PORT" &
+STUB_PID=$!
+trap 'kill $STUB_PID $SAMPLER_PID 2>/dev/null || true' EXIT
+sleep 1
+
+# 采样网关RSS（KB）
+RSS_LOG="$WORK_DIR/rss.log"
+: > "$RSS_LOG"
+(
+    while true; do
+        ps -o rss= -p "$GATEWAY_PID" >> "$RSS_LOG" || break
+        sleep "$SAMPLE_INTERVAL"
+    done
+) &
+SAMPLER_PID=$!
+
+log_info "开始压测: 并发=${CONCURRENCY}, 文件大小=${FILE_SIZE_MB}MB, 网关PID=${GATEWAY_PID}"
+START_TIME=$(date +%s)
+
+FAILED=0
+CURL_PIDS=()
+for i in $(seq 1 "$CONCURRENCY"); do
+    # -T从磁盘流式读取请求体；--data-binary @file会把整个文件读入每个curl进程的内存，测到的是客户端而非网关
+    curl -s -o "$WORK_DIR/result-$i.json" -w "%{http_code}\n" \
+         -X POST -T "$UPLOAD_FILE" \
+         -H "Content-Type: application/octet-stream" \
+         -H "Expect:" \
+         "$GATEWAY_URL/file/upload/stub-$i" > "$WORK_DIR/status-$i.txt" &
+    CURL_PIDS+=($!)
+done
+wait "${CURL_PIDS[@]}" || true
+
+END_TIME=$(date +%s)
+for i in $(seq 1 "$CONCURRENCY"); do
+    if [ "$(cat "$WORK_DIR/status-$i.txt")" != "200" ]; then
+        FAILED=$((FAILED + 1))
+    fi
+done
+
+ELAPSED=$((END_TIME - START_TIME))
+TOTAL_MB=$((CONCURRENCY * FILE_SIZE_MB))
+RSS_MIN=$(sort -n "$RSS_LOG" | head -1)
+RSS_MAX=$(sort -n "$RSS_LOG" | tail -1)
+
+log_info "压测完成: 耗时=${ELAPSED}s, 总上传=${TOTAL_MB}MB, 失败=${FAILED}"
+if [ "$ELAPSED" -gt 0 ]; then
+    log_info "吞吐量: $((TOTAL_MB / ELAPSED))MB/s"
+fi
+log_info "网关RSS: 最小=$((RSS_MIN / 1024))MB, 最大=$((RSS_MAX / 1024))MB, 增长=$(((RSS_MAX - RSS_MIN) / 1024))MB"
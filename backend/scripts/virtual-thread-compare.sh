@@ -0,0 +1,133 @@
+#!/bin/bash
+
+# 平台线程/虚拟线程模式对比压测脚本
+# 依次以两种模式启动同一个服务jar，用固定并发压测同一接口，输出吞吐量、延迟分位、峰值RSS和线程数
+#
+# 示例：
+#   SERVICE_JAR=services/case-service/target/case-service.jar TARGET_PATH=/case/list?pageNum=1 \
+#   CONCURRENCY=400 DURATION=60 ./scripts/virtual-thread-compare.sh
+#
+# 虚拟线程模式需要以JDK 21+运行（JAVA_BIN指定），JDK 17下两轮结果相同
+
+set -e
+
+SERVICE_JAR=${SERVICE_JAR:?请设置SERVICE_JAR}
+SERVICE_PORT=${SERVICE_PORT:-18080}
+TARGET_PATH=${TARGET_PATH:-/actuator/health}
+CONCURRENCY=${CONCURRENCY:-200}
+DURATION=${DURATION:-30}
+WARMUP=${WARMUP:-10}
+JAVA_BIN=${JAVA_BIN:-java}
+JAVA_OPTS=${JAVA_OPTS:--Xms1g -Xmx1g}
+AUTH_HEADER=${AUTH_HEADER:-}
+WORK_DIR=${WORK_DIR:-/tmp/dlmp-vt-compare}
+
+log_info() {
+    echo "[$(date '+%Y-%m-%d %H:%M:%S')] [INFO] $1"
+}
+
+log_error() {
+    echo "[$(date '+%Y-%m-%d %H:%M:%S')] [ERROR] $1"
+}
+
+mkdir -p "$WORK_DIR"
+
+# 压测客户端：固定并发的闭环请求，输出 请求数 错误数 吞吐 p50 p99（毫秒）
+cat > "$WORK_DIR/load.py" <<'PY'
+import sys, time, threading, http.client
+
+host, port, path, concurrency, duration, auth = sys.argv[1], int(sys.argv[2]), sys.argv[3], int(sys.argv[4]), float(sys.argv[5]), sys.argv[6]
+headers = {"Authorization": auth} if auth else {}
+latencies, errors, lock = [], [0], threading.Lock()
+deadline = time.time() + duration
+
+def worker():
+    conn = http.client.HTTPConnection(host, port, timeout=30)
+    local, failed = [], 0
+    while time.time() < deadline:
+        start = time.perf_counter()
+        try:
+            conn.request("GET", path, headers=headers)
+            resp = conn.getresponse()
+            resp.read()
+            if resp.status >= 500:
+                failed += 1
+        except Exception:
+            failed += 1
+            conn.close()
+            conn = http.client.HTTPConnection(host, port, timeout=30)
+        local.append((time.perf_counter() - start) * 1000)
+    with lock:
+        latencies.extend(local)
+        errors[0] += failed
+
+threads = [threading.Thread(target=worker) for _ in range(concurrency)]
+for t in threads: t.start()
+for t in threads: t.join()
+latencies.sort()
+n = len(latencies)
+pct = lambda p: latencies[min(n - 1, int(n * p))] if n else 0
+print("%d %d %.1f %.1f %.1f" % (n, errors[0], n / duration, pct(0.5), pct(0.99)))
+PY
+
+run_mode() {
+    local mode=$1
+    local virtual=false
+    local executor_mode=PLATFORM
+    if [ "$mode" = "virtual" ]; then
+        virtual=true
+        executor_mode=VIRTUAL
+    fi
+
+    log_info "启动服务: 模式=${mode}"
+    VIRTUAL_THREADS_ENABLED=$virtual EXECUTOR_MODE=$executor_mode \
+        $JAVA_BIN $JAVA_OPTS -jar "$SERVICE_JAR" --server.port="$SERVICE_PORT" > "$WORK_DIR/service-$mode.log" 2>&1 &
+    local pid=$!
+
+    for i in $(seq 1 120); do
+        if curl -s -o /dev/null "http://127.0.0.1:${SERVICE_PORT}/actuator/health"; then
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null; then
+            log_error "服务启动失败，见 $WORK_DIR/service-$mode.log"
+            exit 1
+        fi
+        sleep 1
+    done
+
+    python3 "$WORK_DIR/load.py" 127.0.0.1 "$SERVICE_PORT" "$TARGET_PATH" "$CONCURRENCY" "$WARMUP" "$AUTH_HEADER" > /dev/null
+
+    # 采样RSS（KB）和线程数
+    local sample_log="$WORK_DIR/samples-$mode.log"
+    : > "$sample_log"
+    (
+        while kill -0 "$pid" 2>/dev/null; do
+            echo "$(ps -o rss= -p "$pid") $(ls /proc/"$pid"/task 2>/dev/null | wc -l)" >> "$sample_log"
+            sleep 1
+        done
+    ) &
+    local sampler=$!
+
+    local result
+    result=$(python3 "$WORK_DIR/load.py" 127.0.0.1 "$SERVICE_PORT" "$TARGET_PATH" "$CONCURRENCY" "$DURATION" "$AUTH_HEADER")
+
+    kill "$sampler" 2>/dev/null || true
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+
+    local rss_max threads_max
+    rss_max=$(awk '{print $1}' "$sample_log" | sort -n | tail -1)
+    threads_max=$(awk '{print $2}' "$sample_log" | sort -n | tail -1)
+    echo "$mode $result $((rss_max / 1024)) $threads_max" >> "$WORK_DIR/summary.txt"
+}
+
+: > "$WORK_DIR/summary.txt"
+log_info "对比压测: 接口=${TARGET_PATH}, 并发=${CONCURRENCY}, 时长=${DURATION}s"
+run_mode platform
+run_mode virtual
+
+echo
+printf "%-10s %10s %8s %10s %10s %10s %10s %10s\n" "模式" "请求数" "错误" "吞吐/s" "p50(ms)" "p99(ms)" "RSS(MB)" "OS线程"
+while read -r mode total errors qps p50 p99 rss threads; do
+    printf "%-10s %10s %8s %10s %10s %10s %10s %10s\n" "$mode" "$total" "$errors" "$qps" "$p50" "$p99" "$rss" "$threads"
+done < "$WORK_DIR/summary.txt"
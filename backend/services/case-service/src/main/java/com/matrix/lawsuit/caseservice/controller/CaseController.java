@@ -26,18 +26,18 @@ public class CaseController {
     @Operation(summary = "分页查询案件列表")
     @GetMapping
     public Result<IPage<Case>> getCases(
-            @Parameter(description = "页码", example = "1") @RequestParam(defaultValue = "1") int page,
-            @Parameter(description = "每页大小", example = "10") @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "案件编号") @RequestParam(required = false) String caseNo,
-            @Parameter(description = "批次号") @RequestParam(required = false) String batchNo,
-            @Parameter(description = "债务人姓名") @RequestParam(required = false) String debtorName,
-            @Parameter(description = "身份证号") @RequestParam(required = false) String debtorIdCard,
-            @Parameter(description = "手机号") @RequestParam(required = false) String debtorPhone,
-            @Parameter(description = "案件状态") @RequestParam(required = false) Integer caseStatus,
-            @Parameter(description = "分案状态") @RequestParam(required = false) Integer assignmentStatus,
-            @Parameter(description = "调解中心ID") @RequestParam(required = false) Long mediationCenterId,
-            @Parameter(description = "调解员ID") @RequestParam(required = false) Long mediatorId,
-            @Parameter(description = "案源端客户ID") @RequestParam(required = false) Long clientId) {
+            @Parameter(description = "页码", example = "1") @RequestParam(value = "page", defaultValue = "1") int page,
+            @Parameter(description = "每页大小", example = "10") @RequestParam(value = "size", defaultValue = "10") int size,
+            @Parameter(description = "案件编号") @RequestParam(value = "caseNo", required = false) String caseNo,
+            @Parameter(description = "批次号") @RequestParam(value = "batchNo", required = false) String batchNo,
+            @Parameter(description = "债务人姓名") @RequestParam(value = "debtorName", required = false) String debtorName,
+            @Parameter(description = "身份证号") @RequestParam(value = "debtorIdCard", required = false) String debtorIdCard,
+            @Parameter(description = "手机号") @RequestParam(value = "debtorPhone", required = false) String debtorPhone,
+            @Parameter(description = "案件状态") @RequestParam(value = "caseStatus", required = false) Integer caseStatus,
+            @Parameter(description = "分案状态") @RequestParam(value = "assignmentStatus", required = false) Integer assignmentStatus,
+            @Parameter(description = "调解中心ID") @RequestParam(value = "mediationCenterId", required = false) Long mediationCenterId,
+            @Parameter(description = "调解员ID") @RequestParam(value = "mediatorId", required = false) Long mediatorId,
+            @Parameter(description = "案源端客户ID") @RequestParam(value = "clientId", required = false) Long clientId) {
         
         CaseService.CaseQueryRequest request = new CaseService.CaseQueryRequest();
         request.setCaseNo(caseNo);
@@ -56,7 +56,7 @@ public class CaseController {
     
     @Operation(summary = "根据ID获取案件详情")
     @GetMapping("/{id}")
-    public Result<Case> getCaseById(@Parameter(description = "案件ID") @PathVariable Long id) {
+    public Result<Case> getCaseById(@Parameter(description = "案件ID") @PathVariable("id") Long id) {
         return caseService.getCaseById(id);
     }
     
@@ -69,14 +69,14 @@ public class CaseController {
     @Operation(summary = "更新案件信息")
     @PutMapping("/{id}")
     public Result<String> updateCase(
-            @Parameter(description = "案件ID") @PathVariable Long id,
+            @Parameter(description = "案件ID") @PathVariable("id") Long id,
             @RequestBody CaseService.UpdateCaseRequest request) {
         return caseService.updateCase(id, request);
     }
     
     @Operation(summary = "删除案件")
     @DeleteMapping("/{id}")
-    public Result<String> deleteCase(@Parameter(description = "案件ID") @PathVariable Long id) {
+    public Result<String> deleteCase(@Parameter(description = "案件ID") @PathVariable("id") Long id) {
         return caseService.deleteCase(id);
     }
     
@@ -89,7 +89,7 @@ public class CaseController {
     @Operation(summary = "分案")
     @PostMapping("/{id}/assign")
     public Result<String> assignCase(
-            @Parameter(description = "案件ID") @PathVariable Long id,
+            @Parameter(description = "案件ID") @PathVariable("id") Long id,
             @RequestBody AssignCaseRequest request) {
         return caseService.assignCase(id, request.getMediationCenterId(), request.getMediatorId());
     }
@@ -5,6 +5,7 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.matrix.lawsuit.common.core.domain.Result;
+import com.matrix.lawsuit.common.redis.annotation.CacheDoubleDelete;
 import com.matrix.lawsuit.caseservice.entity.Case;
 import com.matrix.lawsuit.caseservice.mapper.CaseMapper;
 import lombok.RequiredArgsConstructor;
@@ -159,6 +160,7 @@ public class CaseService extends ServiceImpl<CaseMapper, Case> {
      * 更新案件信息
      */
     @Transactional
+    @CacheDoubleDelete(keys = "'dlmp:case:info:' + #id")
     public Result<String> updateCase(Long id, UpdateCaseRequest request) {
         Case caseEntity = getById(id);
         if (caseEntity == null || caseEntity.getDeleted() == 1) {
@@ -200,6 +202,7 @@ public class CaseService extends ServiceImpl<CaseMapper, Case> {
      * 删除案件（逻辑删除）
      */
     @Transactional
+    @CacheDoubleDelete(keys = "'dlmp:case:info:' + #id")
     public Result<String> deleteCase(Long id) {
         Case caseEntity = getById(id);
         if (caseEntity == null || caseEntity.getDeleted() == 1) {
@@ -254,6 +257,7 @@ public class CaseService extends ServiceImpl<CaseMapper, Case> {
      * 分案
      */
     @Transactional
+    @CacheDoubleDelete(keys = "'dlmp:case:info:' + #caseId")
     public Result<String> assignCase(Long caseId, Long mediationCenterId, Long mediatorId) {
         Case caseEntity = getById(caseId);
         if (caseEntity == null || caseEntity.getDeleted() == 1) {
@@ -24,22 +24,22 @@ public class UserController {
     @Operation(summary = "分页查询用户列表")
     @GetMapping
     public Result<IPage<User>> getUsers(
-            @Parameter(description = "页码", example = "1") @RequestParam(defaultValue = "1") int page,
-            @Parameter(description = "每页大小", example = "10") @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "搜索关键词") @RequestParam(required = false) String keyword) {
+            @Parameter(description = "页码", example = "1") @RequestParam(value = "page", defaultValue = "1") int page,
+            @Parameter(description = "每页大小", example = "10") @RequestParam(value = "size", defaultValue = "10") int size,
+            @Parameter(description = "搜索关键词") @RequestParam(value = "keyword", required = false) String keyword) {
         return userService.getUsers(page, size, keyword);
     }
     
     @Operation(summary = "根据ID获取用户信息")
     @GetMapping("/{id}")
-    public Result<User> getUserById(@Parameter(description = "用户ID") @PathVariable Long id) {
+    public Result<User> getUserById(@Parameter(description = "用户ID") @PathVariable("id") Long id) {
         return userService.getUserById(id);
     }
     
     @Operation(summary = "更新用户信息")
     @PutMapping("/{id}")
     public Result<String> updateUser(
-            @Parameter(description = "用户ID") @PathVariable Long id,
+            @Parameter(description = "用户ID") @PathVariable("id") Long id,
             @RequestBody UpdateUserRequest request) {
         
         UserService.UpdateUserRequest serviceRequest = new UserService.UpdateUserRequest();
@@ -53,14 +53,14 @@ public class UserController {
     
     @Operation(summary = "删除用户")
     @DeleteMapping("/{id}")
-    public Result<String> deleteUser(@Parameter(description = "用户ID") @PathVariable Long id) {
+    public Result<String> deleteUser(@Parameter(description = "用户ID") @PathVariable("id") Long id) {
         return userService.deleteUser(id);
     }
     
     @Operation(summary = "修改密码")
     @PostMapping("/{id}/password")
     public Result<String> changePassword(
-            @Parameter(description = "用户ID") @PathVariable Long id,
+            @Parameter(description = "用户ID") @PathVariable("id") Long id,
             @RequestBody ChangePasswordRequest request) {
         return userService.changePassword(id, request.getOldPassword(), request.getNewPassword());
     }
@@ -6,6 +6,7 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.matrix.lawsuit.common.core.domain.Result;
 import com.matrix.lawsuit.common.core.exception.BusinessException;
+import com.matrix.lawsuit.common.redis.annotation.CacheDoubleDelete;
 import com.matrix.lawsuit.common.security.utils.JwtUtils;
 import com.matrix.lawsuit.user.entity.User;
 import com.matrix.lawsuit.user.mapper.UserMapper;
@@ -58,7 +59,7 @@ public class UserService extends ServiceImpl<UserMapper, User> {
         }
         
         // 生成JWT token
-        String token = jwtUtils.generateToken(user.getId().toString(), username);
+        String token = jwtUtils.generateToken(username, user.getId(), user.getOrganizationId());
         
         LoginResponse response = new LoginResponse();
         response.setToken(token);
@@ -170,6 +171,7 @@ public class UserService extends ServiceImpl<UserMapper, User> {
      * 更新用户信息
      */
     @Transactional
+    @CacheDoubleDelete(keys = {"'dlmp:user:info:' + #id", "'dlmp:user:permissions:' + #id"})
     public Result<String> updateUser(Long id, UpdateUserRequest request) {
         User user = getById(id);
         if (user == null || user.getDeleted() == 1) {
@@ -214,6 +216,7 @@ public class UserService extends ServiceImpl<UserMapper, User> {
      * 删除用户（逻辑删除）
      */
     @Transactional
+    @CacheDoubleDelete(keys = {"'dlmp:user:info:' + #id", "'dlmp:user:permissions:' + #id"})
     public Result<String> deleteUser(Long id) {
         User user = getById(id);
         if (user == null || user.getDeleted() == 1) {
@@ -236,6 +239,7 @@ public class UserService extends ServiceImpl<UserMapper, User> {
      * 修改密码
      */
     @Transactional
+    @CacheDoubleDelete(keys = "'dlmp:user:info:' + #userId")
     public Result<String> changePassword(Long userId, String oldPassword, String newPassword) {
         if (!StringUtils.hasText(oldPassword) || !StringUtils.hasText(newPassword)) {
             return Result.error("密码不能为空");
@@ -1,23 +1,32 @@
 package com.dlmp.aspect;
 
-import com.dlmp.config.PerformanceConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.lang.annotation.ElementType;
-import java.lang.annotation.Retention;
-import java.lang.annotation.RetentionPolicy;
-import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 性能监控切面
  * 用于监控方法执行时间和性能指标
+ *
+ * 耗时以System.nanoTime计量并记录到Micrometer Timer（dlmp.method.duration，标签layer/class/method/outcome），
+ * 客户端计算p50/p95/p99，max由Timer自带。每个切点方法的Timer句柄首次调用时解析并缓存，之后每次调用只有两次Map查找。
+ * 正常调用不再写日志；慢调用和异常按方法限频记录，每个间隔内只打印一条并附带被抑制的次数。
+ * 标记@PerformanceMonitor的方法由common-log的PerformanceMonitorAspect剖析。
+ * 本类所在的旧源码树未纳入Maven模块，benchmarks模块无法引用，因此没有对应的JMH基准。
  */
 @Aspect
 @Component
@@ -27,35 +36,52 @@ public class PerformanceAspect {
     private static final Logger logger = LoggerFactory.getLogger(PerformanceAspect.class);
     private static final Logger performanceLogger = LoggerFactory.getLogger("performance");
     
+    private static final String METRIC_NAME = "dlmp.method.duration";
+    
+    private final MeterRegistry meterRegistry;
+    
+    /**
+     * 按层级分开的 目标类 -> 方法 -> 计量句柄；同一方法可能同时命中多个切点，以目标类区分同一接口方法的不同实现
+     */
+    private final EnumMap<Layer, ConcurrentHashMap<Class<?>, ConcurrentHashMap<Method, MethodMeters>>> meters = new EnumMap<>(Layer.class);
+    
+    @Value("${dlmp.performance.slow-threshold.service:1000}")
+    private long serviceThresholdMillis;
+    
+    @Value("${dlmp.performance.slow-threshold.controller:3000}")
+    private long controllerThresholdMillis;
+    
+    @Value("${dlmp.performance.slow-threshold.repository:500}")
+    private long repositoryThresholdMillis;
+    
+    @Value("${dlmp.performance.slow-threshold.cache:100}")
+    private long cacheThresholdMillis;
+    
+    /**
+     * 同一方法两次慢调用/异常日志之间的最小间隔
+     */
+    @Value("${dlmp.performance.slow-log-interval:10000}")
+    private long slowLogIntervalMillis;
+    
+    /**
+     * 是否额外发布直方图桶（供Prometheus跨实例聚合分位数），方法较多时注意时间序列数量
+     */
+    @Value("${dlmp.performance.percentile-histogram:false}")
+    private boolean percentileHistogram;
+    
+    public PerformanceAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Layer layer : Layer.values()) {
+            meters.put(layer, new ConcurrentHashMap<>());
+        }
+    }
+    
     /**
      * 监控Service层方法执行时间
      */
     @Around("execution(* com.dlmp.service..*.*(..))")
     public Object monitorServiceMethods(ProceedingJoinPoint joinPoint) throws Throwable {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        String fullMethodName = className + "." + methodName;
-        
-        long startTime = System.currentTimeMillis();
-        
-        try {
-            Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            // 记录性能日志
-            performanceLogger.info("Service方法执行时间 - {}: {}ms", fullMethodName, executionTime);
-            
-            // 超过阈值记录警告
-            if (executionTime > 1000) {
-                logger.warn("Service方法执行时间过长: {} - {}ms", fullMethodName, executionTime);
-            }
-            
-            return result;
-        } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            logger.error("Service方法执行异常: {} - {}ms - {}", fullMethodName, executionTime, e.getMessage());
-            throw e;
-        }
+        return monitor(joinPoint, Layer.SERVICE, serviceThresholdMillis);
     }
     
     /**
@@ -63,29 +89,7 @@ public class PerformanceAspect {
      */
     @Around("execution(* com.dlmp.controller..*.*(..))")
     public Object monitorControllerMethods(ProceedingJoinPoint joinPoint) throws Throwable {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        String fullMethodName = className + "." + methodName;
-        
-        long startTime = System.currentTimeMillis();
-        
-        try {
-            Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            performanceLogger.info("Controller方法执行时间 - {}: {}ms", fullMethodName, executionTime);
-            
-            // API响应时间超过3秒记录警告
-            if (executionTime > 3000) {
-                logger.warn("API响应时间过长: {} - {}ms", fullMethodName, executionTime);
-            }
-            
-            return result;
-        } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            logger.error("Controller方法执行异常: {} - {}ms - {}", fullMethodName, executionTime, e.getMessage());
-            throw e;
-        }
+        return monitor(joinPoint, Layer.CONTROLLER, controllerThresholdMillis);
     }
     
     /**
@@ -93,62 +97,7 @@ public class PerformanceAspect {
      */
     @Around("execution(* com.dlmp.repository..*.*(..))")
     public Object monitorRepositoryMethods(ProceedingJoinPoint joinPoint) throws Throwable {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        String fullMethodName = className + "." + methodName;
-        
-        long startTime = System.currentTimeMillis();
-        
-        try {
-            Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            performanceLogger.info("Repository方法执行时间 - {}: {}ms", fullMethodName, executionTime);
-            
-            // 数据库操作超过500ms记录警告
-            if (executionTime > 500) {
-                logger.warn("数据库操作时间过长: {} - {}ms", fullMethodName, executionTime);
-            }
-            
-            return result;
-        } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            logger.error("Repository方法执行异常: {} - {}ms - {}", fullMethodName, executionTime, e.getMessage());
-            throw e;
-        }
-    }
-    
-    /**
-     * 监控标记了@PerformanceMonitor注解的方法
-     */
-    @Around("@annotation(performanceMonitor)")
-    public Object monitorAnnotatedMethods(ProceedingJoinPoint joinPoint, PerformanceMonitor performanceMonitor) throws Throwable {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        String fullMethodName = className + "." + methodName;
-        
-        long startTime = System.currentTimeMillis();
-        
-        try {
-            Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            performanceLogger.info("自定义监控方法执行时间 - {}: {}ms [{}]", 
-                                   fullMethodName, executionTime, performanceMonitor.description());
-            
-            // 使用注解中定义的阈值
-            if (executionTime > performanceMonitor.threshold()) {
-                logger.warn("自定义监控方法执行时间超过阈值: {} - {}ms > {}ms [{}]", 
-                           fullMethodName, executionTime, performanceMonitor.threshold(), performanceMonitor.description());
-            }
-            
-            return result;
-        } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            logger.error("自定义监控方法执行异常: {} - {}ms - {} [{}]", 
-                        fullMethodName, executionTime, e.getMessage(), performanceMonitor.description());
-            throw e;
-        }
+        return monitor(joinPoint, Layer.REPOSITORY, repositoryThresholdMillis);
     }
     
     /**
@@ -158,57 +107,123 @@ public class PerformanceAspect {
             "@annotation(org.springframework.cache.annotation.CachePut) || " +
             "@annotation(org.springframework.cache.annotation.CacheEvict)")
     public Object monitorCacheOperations(ProceedingJoinPoint joinPoint) throws Throwable {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        String fullMethodName = className + "." + methodName;
-        
-        long startTime = System.currentTimeMillis();
+        return monitor(joinPoint, Layer.CACHE, cacheThresholdMillis);
+    }
+    
+    private Object monitor(ProceedingJoinPoint joinPoint, Layer layer, long thresholdMillis) throws Throwable {
+        MethodMeters methodMeters = resolve(joinPoint, layer, thresholdMillis);
+        long startTime = System.nanoTime();
         
         try {
             Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            performanceLogger.info("缓存操作执行时间 - {}: {}ms", fullMethodName, executionTime);
-            
-            // 缓存操作超过100ms记录警告
-            if (executionTime > 100) {
-                logger.warn("缓存操作时间过长: {} - {}ms", fullMethodName, executionTime);
+            long elapsed = System.nanoTime() - startTime;
+            methodMeters.success.record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsed > methodMeters.thresholdNanos) {
+                methodMeters.onSlow(elapsed);
             }
-            
             return result;
-        } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            logger.error("缓存操作异常: {} - {}ms - {}", fullMethodName, executionTime, e.getMessage());
+        } catch (Throwable e) {
+            long elapsed = System.nanoTime() - startTime;
+            methodMeters.error.record(elapsed, TimeUnit.NANOSECONDS);
+            methodMeters.onError(elapsed, e);
             throw e;
         }
     }
-}
-
-/**
- * 性能监控注解
- * 用于标记需要特殊监控的方法
- */
-@Target(ElementType.METHOD)
-@Retention(RetentionPolicy.RUNTIME)
-@interface PerformanceMonitor {
     
-    /**
-     * 监控描述
-     */
-    String description() default "";
-    
-    /**
-     * 性能阈值（毫秒）
-     */
-    long threshold() default 1000;
+    private MethodMeters resolve(ProceedingJoinPoint joinPoint, Layer layer, long thresholdMillis) {
+        Object target = joinPoint.getTarget();
+        Class<?> targetClass = target != null ? target.getClass() : joinPoint.getSignature().getDeclaringType();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        
+        ConcurrentHashMap<Class<?>, ConcurrentHashMap<Method, MethodMeters>> byClass = meters.get(layer);
+        ConcurrentHashMap<Method, MethodMeters> byMethod = byClass.get(targetClass);
+        if (byMethod == null) {
+            byMethod = byClass.computeIfAbsent(targetClass, k -> new ConcurrentHashMap<>());
+        }
+        MethodMeters methodMeters = byMethod.get(method);
+        if (methodMeters == null) {
+            methodMeters = byMethod.computeIfAbsent(method,
+                    m -> new MethodMeters(layer, targetClass.getSimpleName(), m.getName(), thresholdMillis));
+        }
+        return methodMeters;
+    }
     
     /**
-     * 是否记录方法参数
+     * 监控层级
      */
-    boolean logParameters() default false;
+    private enum Layer {
+        SERVICE("service", "Service方法"),
+        CONTROLLER("controller", "Controller方法"),
+        REPOSITORY("repository", "Repository方法"),
+        CACHE("cache", "缓存操作");
+        
+        private final String tag;
+        private final String label;
+        
+        Layer(String tag, String label) {
+            this.tag = tag;
+            this.label = label;
+        }
+    }
     
     /**
-     * 是否记录返回结果
+     * 单个方法的计量句柄和慢调用日志限频状态
      */
-    boolean logResult() default false;
-}
\ No newline at end of file
+    private final class MethodMeters {
+        private final Layer layer;
+        private final String fullMethodName;
+        private final long thresholdMillis;
+        private final long thresholdNanos;
+        private final Timer success;
+        private final Timer error;
+        
+        private final AtomicLong nextLogAt = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+        
+        MethodMeters(Layer layer, String className, String methodName, long thresholdMillis) {
+            this.layer = layer;
+            this.fullMethodName = className + "." + methodName;
+            this.thresholdMillis = thresholdMillis;
+            this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+            this.success = timer(className, methodName, "success");
+            this.error = timer(className, methodName, "error");
+        }
+        
+        private Timer timer(String className, String methodName, String outcome) {
+            return Timer.builder(METRIC_NAME)
+                        .tag("layer", layer.tag)
+                        .tag("class", className)
+                        .tag("method", methodName)
+                        .tag("outcome", outcome)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram(percentileHistogram)
+                        .register(meterRegistry);
+        }
+        
+        void onSlow(long elapsedNanos) {
+            if (acquireLogSlot()) {
+                performanceLogger.warn("{}执行时间过长: {} - {}ms > {}ms，上一间隔内抑制{}次",
+                                       layer.label, fullMethodName, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                                       thresholdMillis, suppressed.getAndSet(0));
+            }
+        }
+        
+        void onError(long elapsedNanos, Throwable e) {
+            if (acquireLogSlot()) {
+                logger.error("{}执行异常: {} - {}ms - {}，上一间隔内抑制{}次",
+                            layer.label, fullMethodName, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                            e.getMessage(), suppressed.getAndSet(0));
+            }
+        }
+        
+        private boolean acquireLogSlot() {
+            long now = System.currentTimeMillis();
+            long next = nextLogAt.get();
+            if (now >= next && nextLogAt.compareAndSet(next, now + slowLogIntervalMillis)) {
+                return true;
+            }
+            suppressed.incrementAndGet();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.dlmp.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ID存在性守卫
+ * 在缓存之前使用布隆过滤器拦截不可能存在的案件ID和用户ID，避免穿透到Redis和MySQL
+ *
+ * 过滤器在本地内存中定时重建。由于其他实例新建的数据不会立即进入本地过滤器，
+ * 大于水位线的请求一律放行，保证不会误拒真实存在的数据：
+ * 1. 水位线取构建时最大ID减去安全余量。自增ID按分配顺序而非提交顺序可见，扫描时未提交事务持有的较小ID
+ *    会在扫描之后才提交，余量覆盖这部分ID，直到下一次重建；
+ * 2. 重建期间登记的ID同时记录下来，在新过滤器发布前补入，不会因替换而丢失。
+ */
+@Component
+public class IdExistenceGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdExistenceGuard.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final IdFilter caseFilter = new IdFilter("case");
+    private final IdFilter userFilter = new IdFilter("user");
+
+    @Value("${dlmp.cache.bloom.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dlmp.cache.bloom.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    @Value("${dlmp.cache.bloom.case-id-sql:SELECT id FROM t_case}")
+    private String caseIdSql;
+
+    @Value("${dlmp.cache.bloom.user-id-sql:SELECT id FROM t_user}")
+    private String userIdSql;
+
+    /**
+     * 水位线低于构建时最大ID的余量，应大于重建扫描期间可能并发提交的新建记录数
+     */
+    @Value("${dlmp.cache.bloom.high-water-margin:1000}")
+    private long highWaterMargin;
+
+    public IdExistenceGuard(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // MySQL流式读取，避免一次性加载全部ID
+        this.jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * 案件ID是否可能存在
+     */
+    public boolean mightContainCase(Long caseId) {
+        return !enabled || caseFilter.mightContain(caseId);
+    }
+
+    /**
+     * 用户ID是否可能存在
+     */
+    public boolean mightContainUser(Long userId) {
+        return !enabled || userFilter.mightContain(userId);
+    }
+
+    /**
+     * 登记新建的案件ID
+     */
+    public void putCase(Long caseId) {
+        caseFilter.put(caseId);
+    }
+
+    /**
+     * 登记新建的用户ID
+     */
+    public void putUser(Long userId) {
+        userFilter.put(userId);
+    }
+
+    /**
+     * 定时重建过滤器
+     */
+    @Scheduled(initialDelayString = "${dlmp.cache.bloom.initial-delay:0}",
+               fixedDelayString = "${dlmp.cache.bloom.rebuild-interval:3600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuild(caseFilter, caseIdSql);
+        rebuild(userFilter, userIdSql);
+    }
+
+    private void rebuild(IdFilter filter, String idSql) {
+        long startTime = System.currentTimeMillis();
+        try {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + idSql + ") t", Long.class);
+            // 预留增长空间，避免重建周期内误判率快速上升
+            long expected = Math.max(count != null ? count : 0, 1000) * 2;
+
+            LongBloomFilter bloomFilter = LongBloomFilter.create(expected, falsePositiveRate);
+            AtomicLong maxId = new AtomicLong(0);
+            AtomicLong loaded = new AtomicLong(0);
+
+            filter.beginRebuild();
+            jdbcTemplate.query(idSql, rs -> {
+                long id = rs.getLong(1);
+                bloomFilter.put(id);
+                maxId.accumulateAndGet(id, Math::max);
+                loaded.incrementAndGet();
+            });
+
+            long highWaterMark = Math.max(0, maxId.get() - highWaterMargin);
+            int replayed = filter.swap(bloomFilter, highWaterMark);
+            logger.info("ID布隆过滤器重建完成: type={}, count={}, maxId={}, highWaterMark={}, replayed={}, bits={}, hashes={}, 耗时={}ms",
+                       filter.name, loaded.get(), maxId.get(), highWaterMark, replayed, bloomFilter.getBitSize(),
+                       bloomFilter.getHashFunctions(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            // 重建失败时保留旧过滤器；从未构建成功时守卫保持全部放行
+            filter.abortRebuild();
+            logger.error("ID布隆过滤器重建失败: type={}", filter.name, e);
+        }
+    }
+
+    /**
+     * 单类ID过滤器
+     */
+    private static class IdFilter {
+        private final String name;
+
+        /**
+         * 过滤器与水位线作为一个不可变快照整体发布，读线程不会拿到旧过滤器配新水位线的组合
+         */
+        private volatile Snapshot snapshot;
+
+        /**
+         * 重建期间登记的ID，发布新过滤器前补入；不在重建时为null。与put、swap一起由this保护
+         */
+        private List<Long> putsDuringRebuild;
+
+        IdFilter(String name) {
+            this.name = name;
+        }
+
+        boolean mightContain(Long id) {
+            if (id == null || id <= 0) {
+                return false;
+            }
+            Snapshot current = snapshot;
+            if (current == null || id > current.highWaterMark) {
+                return true;
+            }
+            return current.bloomFilter.mightContain(id);
+        }
+
+        /**
+         * 新建记录才会登记，频率低，加锁保证不会在swap补入之后、发布之前漏掉
+         */
+        synchronized void put(Long id) {
+            if (id == null) {
+                return;
+            }
+            Snapshot current = snapshot;
+            if (current != null) {
+                current.bloomFilter.put(id);
+            }
+            if (putsDuringRebuild != null) {
+                putsDuringRebuild.add(id);
+            }
+        }
+
+        synchronized void beginRebuild() {
+            putsDuringRebuild = new ArrayList<>();
+        }
+
+        synchronized void abortRebuild() {
+            putsDuringRebuild = null;
+        }
+
+        /**
+         * 补入重建期间登记的ID后发布新快照
+         *
+         * @return 补入的ID数量
+         */
+        synchronized int swap(LongBloomFilter newFilter, long highWaterMark) {
+            int replayed = 0;
+            if (putsDuringRebuild != null) {
+                for (Long id : putsDuringRebuild) {
+                    newFilter.put(id);
+                }
+                replayed = putsDuringRebuild.size();
+                putsDuringRebuild = null;
+            }
+            this.snapshot = new Snapshot(newFilter, highWaterMark);
+            return replayed;
+        }
+    }
+
+    /**
+     * 过滤器及其水位线
+     */
+    private static final class Snapshot {
+        private final LongBloomFilter bloomFilter;
+        private final long highWaterMark;
+
+        Snapshot(LongBloomFilter bloomFilter, long highWaterMark) {
+            this.bloomFilter = bloomFilter;
+            this.highWaterMark = highWaterMark;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.dlmp.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 基于长整型ID的布隆过滤器
+ * 线程安全，位数组使用AtomicLongArray保存，适合在构建期间并发写入
+ */
+public class LongBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    private LongBloomFilter(long bitSize, int hashFunctions) {
+        this.bitSize = bitSize;
+        this.hashFunctions = hashFunctions;
+        this.bits = new AtomicLongArray((int) ((bitSize + 63) >>> 6));
+    }
+
+    /**
+     * 按预期元素数量和误判率创建过滤器
+     */
+    public static LongBloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(expectedInsertions, 1);
+        double p = Math.min(Math.max(falsePositiveRate, 1e-6), 0.5);
+
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        // AtomicLongArray长度上限为Integer.MAX_VALUE
+        m = Math.min(Math.max(m, 64), (long) Integer.MAX_VALUE << 6);
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+
+        return new LongBloomFilter(m, k);
+    }
+
+    /**
+     * 添加元素
+     */
+    public void put(long value) {
+        long hash1 = mix(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashFunctions; i++) {
+            setBit(Math.floorMod(hash1 + i * hash2, bitSize));
+        }
+    }
+
+    /**
+     * 判断元素是否可能存在（false表示一定不存在）
+     */
+    public boolean mightContain(long value) {
+        long hash1 = mix(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashFunctions; i++) {
+            if (!getBit(Math.floorMod(hash1 + i * hash2, bitSize))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    private boolean getBit(long index) {
+        return (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    /**
+     * 64位混淆函数（SplitMix64终结步骤）
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
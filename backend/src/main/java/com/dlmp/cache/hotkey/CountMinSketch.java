@@ -0,0 +1,78 @@
+package com.dlmp.cache.hotkey;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch频率估计
+ * 固定内存估算任意key的访问次数，估计值只会偏大不会偏小；通过halve()周期性衰减，使估计值反映近期热度
+ */
+public class CountMinSketch {
+
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L,
+        0xD6E8FEB86659FD93L, 0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L
+    };
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray table;
+
+    /**
+     * @param depth 哈希行数（1-6），越大误差概率越低
+     * @param width 每行计数器数量，向上取整为2的幂，越大误差越小
+     */
+    public CountMinSketch(int depth, int width) {
+        this.depth = Math.max(1, Math.min(depth, SEEDS.length));
+        int size = Integer.highestOneBit(Math.max(width, 16) - 1) << 1;
+        this.mask = size - 1;
+        this.table = new AtomicLongArray(this.depth * size);
+    }
+
+    /**
+     * 计数加一并返回新的估计值
+     */
+    public long add(String key) {
+        long hash = hash(key);
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, table.incrementAndGet(index(hash, i)));
+        }
+        return min;
+    }
+
+    /**
+     * 估计访问次数
+     */
+    public long estimate(String key) {
+        long hash = hash(key);
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, table.get(index(hash, i)));
+        }
+        return min;
+    }
+
+    /**
+     * 所有计数减半（老化）
+     * 与并发add之间不加锁，个别计数的误差在下一次衰减后消除
+     */
+    public void halve() {
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, table.get(i) >>> 1);
+        }
+    }
+
+    private int index(long hash, int row) {
+        return row * (mask + 1) + (int) (mix(hash + SEEDS[row]) & mask);
+    }
+
+    private static long hash(String key) {
+        return mix(key.hashCode() * 0x9E3779B97F4A7C15L + key.length());
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,350 @@
+package com.dlmp.cache.hotkey;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+/**
+ * 缓存热点key探测器
+ *
+ * 由RedisCacheUtil在每次读写时回调，按采样率记录：
+ * 1. Count-Min Sketch估计key访问频次（含本地副本命中），候选表维护Top-K热点key；
+ * 2. 按key前缀（如dlmp:user:、dlmp:case:）统计操作耗时直方图和值字节数；
+ * 3. 估算QPS超过阈值的key晋升为热点，读取结果在本地内存中短TTL缓存，直接挡住Redis单分片热点。
+ *
+ * 本地副本只在当前实例的写操作时失效，其他实例写入后最多有local-ttl的不一致窗口，因此TTL应保持在秒级。
+ */
+@Component
+public class HotKeyDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotKeyDetector.class);
+
+    private static final String OTHER_PREFIX = "other";
+    private static final int MAX_PREFIXES = 64;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${dlmp.cache.hot-key.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dlmp.cache.hot-key.sample-rate:0.1}")
+    private double sampleRate;
+
+    @Value("${dlmp.cache.hot-key.top-k:50}")
+    private int topK;
+
+    @Value("${dlmp.cache.hot-key.window-seconds:10}")
+    private int windowSeconds;
+
+    @Value("${dlmp.cache.hot-key.qps-threshold:500}")
+    private double qpsThreshold;
+
+    @Value("${dlmp.cache.hot-key.local-ttl:2000}")
+    private long localTtlMillis;
+
+    private final CountMinSketch sketch;
+
+    /**
+     * Top-K候选表，key -> 最近一次估计频次（采样计数）
+     */
+    private final ConcurrentHashMap<String, Long> candidates = new ConcurrentHashMap<>();
+
+    /**
+     * 候选表准入阈值，为上一窗口Top-K中的最小频次
+     */
+    private volatile long admissionThreshold;
+
+    private volatile Set<String> hotKeys = Collections.emptySet();
+    private volatile List<Map<String, Object>> topKeys = Collections.emptyList();
+
+    private final ConcurrentHashMap<String, LocalEntry> localCache = new ConcurrentHashMap<>();
+    private final AtomicLong localHits = new AtomicLong();
+    private final AtomicLong promotions = new AtomicLong();
+
+    private final ConcurrentHashMap<String, PrefixStats> prefixStats = new ConcurrentHashMap<>();
+
+    public HotKeyDetector(MeterRegistry meterRegistry,
+                          @Value("${dlmp.cache.hot-key.sketch-depth:4}") int sketchDepth,
+                          @Value("${dlmp.cache.hot-key.sketch-width:16384}") int sketchWidth) {
+        this.meterRegistry = meterRegistry;
+        this.sketch = new CountMinSketch(sketchDepth, sketchWidth);
+    }
+
+    /**
+     * 读取本地热点副本，未命中返回null
+     * 本地命中同样按采样率计入访问频次，否则热点key在衰减后被降级，又在下一窗口重新晋升，反复在本地和Redis间切换
+     */
+    public Object getLocal(String key) {
+        if (hotKeys.isEmpty()) {
+            return null;
+        }
+        LocalEntry entry = localCache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expireAt <= System.currentTimeMillis()) {
+            localCache.remove(key, entry);
+            return null;
+        }
+        localHits.incrementAndGet();
+        if (enabled && sample()) {
+            track(key);
+        }
+        return entry.value;
+    }
+
+    /**
+     * 记录一次读操作
+     *
+     * @param sizer 值字节数计算函数，仅在采样命中时调用
+     */
+    public void onGet(String key, Object value, long elapsedNanos, ToIntFunction<Object> sizer) {
+        if (!enabled) {
+            return;
+        }
+        if (value != null && hotKeys.contains(key)) {
+            localCache.put(key, new LocalEntry(value, System.currentTimeMillis() + localTtlMillis));
+        }
+        if (!sample()) {
+            return;
+        }
+        PrefixStats stats = stats(key);
+        stats.getTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (value == null) {
+            stats.misses.incrementAndGet();
+        } else {
+            stats.valueBytes.record(sizer.applyAsInt(value));
+        }
+        track(key);
+    }
+
+    /**
+     * 记录一次写操作，同时使本地副本失效
+     */
+    public void onSet(String key, Object value, long elapsedNanos, ToIntFunction<Object> sizer) {
+        localCache.remove(key);
+        if (!enabled || !sample()) {
+            return;
+        }
+        PrefixStats stats = stats(key);
+        stats.setTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (value != null) {
+            stats.valueBytes.record(sizer.applyAsInt(value));
+        }
+    }
+
+    /**
+     * 使本地副本失效
+     */
+    public void invalidate(String key) {
+        localCache.remove(key);
+    }
+
+    /**
+     * 清空全部本地副本（批量删除时使用）
+     */
+    public void invalidateAll() {
+        localCache.clear();
+    }
+
+    /**
+     * 窗口轮转：重新计算Top-K和热点集合，并衰减计数
+     */
+    @Scheduled(fixedDelayString = "#{${dlmp.cache.hot-key.window-seconds:10} * 1000}")
+    public void rotate() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Map.Entry<String, Long>> ranked = new ArrayList<>(candidates.size());
+        for (String key : candidates.keySet()) {
+            ranked.add(Map.entry(key, sketch.estimate(key)));
+        }
+        ranked.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        if (ranked.size() > topK) {
+            ranked = ranked.subList(0, topK);
+        }
+
+        // 每窗口衰减一半，稳态下估计值约为单窗口采样计数的2倍
+        double scale = 1.0 / (sampleRate * windowSeconds * 2);
+        Set<String> newHotKeys = new HashSet<>();
+        List<Map<String, Object>> newTopKeys = new ArrayList<>(ranked.size());
+        for (Map.Entry<String, Long> entry : ranked) {
+            double qps = entry.getValue() * scale;
+            boolean hot = qps >= qpsThreshold;
+            if (hot) {
+                newHotKeys.add(entry.getKey());
+                if (!hotKeys.contains(entry.getKey())) {
+                    promotions.incrementAndGet();
+                    logger.info("检测到热点key: key={}, 估算QPS={}", entry.getKey(), Math.round(qps));
+                }
+            }
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("key", entry.getKey());
+            item.put("estimatedQps", Math.round(qps));
+            item.put("hot", hot);
+            newTopKeys.add(item);
+        }
+
+        hotKeys = newHotKeys.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(newHotKeys);
+        topKeys = Collections.unmodifiableList(newTopKeys);
+        localCache.keySet().removeIf(key -> !newHotKeys.contains(key));
+
+        sketch.halve();
+        candidates.clear();
+        for (Map.Entry<String, Long> entry : ranked) {
+            candidates.put(entry.getKey(), entry.getValue() >>> 1);
+        }
+        admissionThreshold = ranked.size() < topK ? 0 : ranked.get(ranked.size() - 1).getValue() >>> 1;
+    }
+
+    /**
+     * 分析快照
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("sampleRate", sampleRate);
+        result.put("qpsThreshold", qpsThreshold);
+        result.put("topKeys", topKeys);
+        result.put("hotKeys", hotKeys);
+
+        Map<String, Object> local = new LinkedHashMap<>();
+        local.put("size", localCache.size());
+        local.put("hits", localHits.get());
+        local.put("promotions", promotions.get());
+        local.put("ttlMillis", localTtlMillis);
+        result.put("localCache", local);
+
+        Map<String, Object> prefixes = new LinkedHashMap<>();
+        prefixStats.forEach((prefix, stats) -> prefixes.put(prefix, stats.toMap()));
+        result.put("prefixes", prefixes);
+        return result;
+    }
+
+    private boolean sample() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private void track(String key) {
+        long estimate = sketch.add(key);
+        if (candidates.containsKey(key)) {
+            candidates.put(key, estimate);
+            return;
+        }
+        // 候选表上限为4*K，超过时只接纳超过准入阈值的key
+        int size = candidates.size();
+        if (size < topK || (size < topK * 4 && estimate > admissionThreshold)) {
+            candidates.put(key, estimate);
+        }
+    }
+
+    private PrefixStats stats(String key) {
+        String prefix = prefixOf(key);
+        PrefixStats stats = prefixStats.get(prefix);
+        if (stats != null) {
+            return stats;
+        }
+        if (prefixStats.size() >= MAX_PREFIXES) {
+            prefix = OTHER_PREFIX;
+        }
+        return prefixStats.computeIfAbsent(prefix, p -> new PrefixStats(p, meterRegistry));
+    }
+
+    /**
+     * 取key前两段作为前缀，如 dlmp:case:info:1 -> dlmp:case:
+     */
+    static String prefixOf(String key) {
+        int first = key.indexOf(':');
+        if (first < 0) {
+            return OTHER_PREFIX;
+        }
+        int second = key.indexOf(':', first + 1);
+        return second < 0 ? key.substring(0, first + 1) : key.substring(0, second + 1);
+    }
+
+    /**
+     * 本地热点副本
+     */
+    private static final class LocalEntry {
+        private final Object value;
+        private final long expireAt;
+
+        LocalEntry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+
+    /**
+     * 单个前缀的统计
+     */
+    private static final class PrefixStats {
+        private final Timer getTimer;
+        private final Timer setTimer;
+        private final DistributionSummary valueBytes;
+        private final AtomicLong misses = new AtomicLong();
+
+        PrefixStats(String prefix, MeterRegistry registry) {
+            this.getTimer = Timer.builder("dlmp.cache.operation")
+                                 .tag("op", "get").tag("prefix", prefix)
+                                 .publishPercentiles(0.5, 0.95, 0.99)
+                                 .publishPercentileHistogram()
+                                 .register(registry);
+            this.setTimer = Timer.builder("dlmp.cache.operation")
+                                 .tag("op", "set").tag("prefix", prefix)
+                                 .publishPercentiles(0.5, 0.95, 0.99)
+                                 .publishPercentileHistogram()
+                                 .register(registry);
+            this.valueBytes = DistributionSummary.builder("dlmp.cache.value.size")
+                                                 .baseUnit("bytes")
+                                                 .tag("prefix", prefix)
+                                                 .publishPercentiles(0.5, 0.99)
+                                                 .register(registry);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("get", timerMap(getTimer.takeSnapshot()));
+            map.put("set", timerMap(setTimer.takeSnapshot()));
+            map.put("sampledMisses", misses.get());
+            HistogramSnapshot bytes = valueBytes.takeSnapshot();
+            map.put("valueBytesMean", Math.round(bytes.mean()));
+            map.put("valueBytesMax", Math.round(bytes.max()));
+            return map;
+        }
+
+        private static Map<String, Object> timerMap(HistogramSnapshot snapshot) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("sampledCount", snapshot.count());
+            map.put("meanMs", snapshot.mean(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                map.put("p" + Math.round(percentile.percentile() * 100) + "Ms",
+                        percentile.value(TimeUnit.MILLISECONDS));
+            }
+            map.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+            return map;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.dlmp.cache.hotkey;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 缓存热点key分析端点
+ * GET /actuator/cachehotkeys
+ */
+@Component
+@Endpoint(id = "cachehotkeys")
+public class HotKeyEndpoint {
+
+    private final HotKeyDetector hotKeyDetector;
+
+    public HotKeyEndpoint(HotKeyDetector hotKeyDetector) {
+        this.hotKeyDetector = hotKeyDetector;
+    }
+
+    @ReadOperation
+    public Map<String, Object> hotKeys() {
+        return hotKeyDetector.snapshot();
+    }
+}
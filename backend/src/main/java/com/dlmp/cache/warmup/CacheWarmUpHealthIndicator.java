@@ -0,0 +1,25 @@
+package com.dlmp.cache.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 缓存预热健康指示器
+ * 可加入就绪探针分组：management.endpoint.health.group.readiness.include=readinessState,cacheWarmUp
+ */
+@Component
+public class CacheWarmUpHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmUpManager cacheWarmUpManager;
+
+    public CacheWarmUpHealthIndicator(CacheWarmUpManager cacheWarmUpManager) {
+        this.cacheWarmUpManager = cacheWarmUpManager;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheWarmUpManager.isCompleted() ? Health.up() : Health.outOfService();
+        return builder.withDetail("warmers", cacheWarmUpManager.getLastResults()).build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.dlmp.cache.warmup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 缓存预热管理器
+ *
+ * 启动时以ApplicationRunner方式执行：Spring Boot在所有Runner完成后才发布ReadinessState.ACCEPTING_TRAFFIC，
+ * 因此预热期间就绪探针（/actuator/health/readiness）保持不可用，Pod不会被加入Service。
+ * 预热器在scheduledExecutor上并行执行，并发数和总时间预算可配置，超出预算的预热器被放弃，不阻塞上线。
+ */
+@Component
+public class CacheWarmUpManager implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmUpManager.class);
+
+    private final List<CacheWarmer> warmers;
+    private final AsyncTaskExecutor executor;
+
+    @Value("${dlmp.cache.warm-up.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dlmp.cache.warm-up.max-concurrency:3}")
+    private int maxConcurrency;
+
+    @Value("${dlmp.cache.warm-up.budget:60000}")
+    private long budgetMillis;
+
+    /**
+     * 预热是否已结束（成功、失败或超时）
+     */
+    private volatile boolean completed;
+
+    /**
+     * 最近一次预热的各预热器状态
+     */
+    private final Map<String, Map<String, Object>> lastResults = new ConcurrentHashMap<>();
+
+    public CacheWarmUpManager(List<CacheWarmer> warmers,
+                              @Qualifier("scheduledExecutor") AsyncTaskExecutor executor) {
+        this.warmers = new ArrayList<>(warmers);
+        this.warmers.sort(Comparator.comparingInt(CacheWarmer::getOrder));
+        this.executor = executor;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            logger.info("缓存预热已禁用");
+            completed = true;
+            return;
+        }
+        warmUp();
+    }
+
+    /**
+     * 执行一次全量预热
+     */
+    public synchronized Map<String, Map<String, Object>> warmUp() {
+        logger.info("开始预热缓存: warmers={}, concurrency={}, budget={}ms", warmers.size(), maxConcurrency, budgetMillis);
+        long startTime = System.currentTimeMillis();
+
+        WarmUpBudget budget = new WarmUpBudget(budgetMillis);
+        Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        lastResults.clear();
+
+        try {
+            for (CacheWarmer warmer : warmers) {
+                // 在提交线程上控制并发，避免占用执行器线程等待许可
+                if (!permits.tryAcquire(budget.remainingMillis(), TimeUnit.MILLISECONDS)) {
+                    record(warmer, "SKIPPED", 0, 0, "时间预算已用完");
+                    continue;
+                }
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        runWarmer(warmer, budget);
+                    } finally {
+                        permits.release();
+                    }
+                }, executor));
+            }
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(budget.remainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("缓存预热超出时间预算: {}ms，未完成的预热器将在后台结束", budgetMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("缓存预热被中断");
+        } catch (Exception e) {
+            logger.error("缓存预热失败", e);
+        } finally {
+            completed = true;
+        }
+
+        logger.info("缓存预热结束，耗时: {}ms, 结果: {}", System.currentTimeMillis() - startTime, lastResults);
+        return getLastResults();
+    }
+
+    /**
+     * 预热是否已结束
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * 最近一次预热结果
+     */
+    public Map<String, Map<String, Object>> getLastResults() {
+        return new LinkedHashMap<>(lastResults);
+    }
+
+    private void runWarmer(CacheWarmer warmer, WarmUpBudget budget) {
+        if (budget.isExhausted()) {
+            record(warmer, "SKIPPED", 0, 0, "时间预算已用完");
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            int count = warmer.warmUp(budget);
+            record(warmer, budget.isExhausted() ? "PARTIAL" : "SUCCESS", count,
+                   System.currentTimeMillis() - startTime, null);
+        } catch (Exception e) {
+            logger.error("缓存预热器执行失败: {}", warmer.getName(), e);
+            record(warmer, "FAILED", 0, System.currentTimeMillis() - startTime, e.getMessage());
+        }
+    }
+
+    private void record(CacheWarmer warmer, String status, int count, long elapsed, String error) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", status);
+        result.put("count", count);
+        result.put("elapsedMs", elapsed);
+        if (error != null) {
+            result.put("error", error);
+        }
+        lastResults.put(warmer.getName(), result);
+    }
+}
@@ -0,0 +1,28 @@
+package com.dlmp.cache.warmup;
+
+/**
+ * 缓存预热器
+ * 实现类注册为Spring Bean后由CacheWarmUpManager统一调度
+ */
+public interface CacheWarmer {
+
+    /**
+     * 预热器名称
+     */
+    String getName();
+
+    /**
+     * 执行顺序，数值越小越先提交
+     */
+    default int getOrder() {
+        return 0;
+    }
+
+    /**
+     * 执行预热
+     *
+     * @param budget 剩余时间预算，耗时较长的预热器应在循环中检查并提前结束
+     * @return 预热的缓存条目数
+     */
+    int warmUp(WarmUpBudget budget) throws Exception;
+}
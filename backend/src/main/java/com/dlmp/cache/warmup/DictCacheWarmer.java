@@ -0,0 +1,65 @@
+package com.dlmp.cache.warmup;
+
+import com.dlmp.service.CacheService;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 数据字典预热器
+ * 加载t_dict_type/t_dict_item中启用的字典，按字典编码写入字典缓存
+ */
+@Component
+public class DictCacheWarmer implements CacheWarmer {
+
+    private static final String DICT_SQL =
+            "SELECT t.dict_code, i.item_code, i.item_name, i.item_value, i.sort_order " +
+            "FROM t_dict_item i JOIN t_dict_type t ON i.dict_type_id = t.id " +
+            "WHERE t.status = 1 AND i.status = 1 " +
+            "ORDER BY t.dict_code, i.sort_order";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CacheService cacheService;
+
+    public DictCacheWarmer(NamedParameterJdbcTemplate jdbcTemplate, CacheService cacheService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheService = cacheService;
+    }
+
+    @Override
+    public String getName() {
+        return "dict";
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public int warmUp(WarmUpBudget budget) {
+        Map<String, List<Object>> dictData = new LinkedHashMap<>();
+        jdbcTemplate.getJdbcTemplate().query(DICT_SQL, rs -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("itemCode", rs.getString("item_code"));
+            item.put("itemName", rs.getString("item_name"));
+            item.put("itemValue", rs.getString("item_value"));
+            item.put("sortOrder", rs.getInt("sort_order"));
+            dictData.computeIfAbsent(rs.getString("dict_code"), k -> new ArrayList<>()).add(item);
+        });
+
+        int count = 0;
+        for (Map.Entry<String, List<Object>> entry : dictData.entrySet()) {
+            if (budget.isExhausted()) {
+                break;
+            }
+            cacheService.dict().setDictData(entry.getKey(), entry.getValue());
+            count++;
+        }
+        return count;
+    }
+}
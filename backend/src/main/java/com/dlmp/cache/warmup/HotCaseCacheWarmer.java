@@ -0,0 +1,59 @@
+package com.dlmp.cache.warmup;
+
+import com.dlmp.service.CacheService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 热点案件预热器
+ * 按近期访问次数取Top-N案件，批量回源后写入案件缓存
+ */
+@Component
+public class HotCaseCacheWarmer implements CacheWarmer {
+
+    private static final String CASE_SQL = "SELECT * FROM t_case WHERE id IN (:ids)";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CacheService cacheService;
+
+    @Value("${dlmp.cache.warm-up.hot-case-top-n:2000}")
+    private int topN;
+
+    public HotCaseCacheWarmer(NamedParameterJdbcTemplate jdbcTemplate, CacheService cacheService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheService = cacheService;
+    }
+
+    @Override
+    public String getName() {
+        return "hotCase";
+    }
+
+    @Override
+    public int getOrder() {
+        return 20;
+    }
+
+    @Override
+    public int warmUp(WarmUpBudget budget) {
+        List<Long> caseIds = cacheService.cases().getHotCaseIds(topN);
+
+        int count = 0;
+        for (int from = 0; from < caseIds.size() && !budget.isExhausted(); from += BATCH_SIZE) {
+            List<Long> batch = caseIds.subList(from, Math.min(from + BATCH_SIZE, caseIds.size()));
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(CASE_SQL, new MapSqlParameterSource("ids", batch));
+            for (Map<String, Object> row : rows) {
+                cacheService.cases().setCaseInfo(((Number) row.get("id")).longValue(), row);
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,47 @@
+package com.dlmp.cache.warmup;
+
+import com.dlmp.service.CacheService;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 调解中心预热器
+ * 加载状态正常的调解中心列表
+ */
+@Component
+public class MediationCenterCacheWarmer implements CacheWarmer {
+
+    private static final String ACTIVE_CENTER_SQL =
+            "SELECT id, center_code, center_name, center_type, province, city, district, " +
+            "capacity_level, max_concurrent_cases, success_rate, rating_score " +
+            "FROM t_mediation_center WHERE status = 1 ORDER BY id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CacheService cacheService;
+
+    public MediationCenterCacheWarmer(NamedParameterJdbcTemplate jdbcTemplate, CacheService cacheService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheService = cacheService;
+    }
+
+    @Override
+    public String getName() {
+        return "mediationCenter";
+    }
+
+    @Override
+    public int getOrder() {
+        return 10;
+    }
+
+    @Override
+    public int warmUp(WarmUpBudget budget) {
+        List<Map<String, Object>> centers = jdbcTemplate.getJdbcTemplate().queryForList(ACTIVE_CENTER_SQL);
+        cacheService.mediation().setActiveCenters(new ArrayList<>(centers));
+        return centers.size();
+    }
+}
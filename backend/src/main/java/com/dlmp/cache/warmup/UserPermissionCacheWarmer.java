@@ -0,0 +1,83 @@
+package com.dlmp.cache.warmup;
+
+import com.dlmp.service.CacheService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 用户权限预热器
+ * 为近期登录过的活跃用户加载权限编码集合
+ */
+@Component
+public class UserPermissionCacheWarmer implements CacheWarmer {
+
+    private static final String ACTIVE_USER_SQL =
+            "SELECT id FROM t_user WHERE status = 1 AND last_login_time >= :since " +
+            "ORDER BY last_login_time DESC LIMIT :limit";
+
+    private static final String PERMISSION_SQL =
+            "SELECT ur.user_id, p.permission_code FROM t_user_role ur " +
+            "JOIN t_role r ON r.id = ur.role_id AND r.status = 1 " +
+            "JOIN t_role_permission rp ON rp.role_id = ur.role_id " +
+            "JOIN t_permission p ON p.id = rp.permission_id AND p.status = 1 " +
+            "WHERE ur.user_id IN (:ids)";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CacheService cacheService;
+
+    @Value("${dlmp.cache.warm-up.active-user-days:7}")
+    private int activeUserDays;
+
+    @Value("${dlmp.cache.warm-up.active-user-limit:5000}")
+    private int activeUserLimit;
+
+    public UserPermissionCacheWarmer(NamedParameterJdbcTemplate jdbcTemplate, CacheService cacheService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheService = cacheService;
+    }
+
+    @Override
+    public String getName() {
+        return "userPermission";
+    }
+
+    @Override
+    public int getOrder() {
+        return 30;
+    }
+
+    @Override
+    public int warmUp(WarmUpBudget budget) {
+        MapSqlParameterSource userParams = new MapSqlParameterSource()
+                .addValue("since", LocalDateTime.now().minusDays(activeUserDays))
+                .addValue("limit", activeUserLimit);
+        List<Long> userIds = jdbcTemplate.queryForList(ACTIVE_USER_SQL, userParams, Long.class);
+
+        int count = 0;
+        for (int from = 0; from < userIds.size() && !budget.isExhausted(); from += BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + BATCH_SIZE, userIds.size()));
+
+            Map<Long, Set<String>> permissions = new HashMap<>();
+            batch.forEach(userId -> permissions.put(userId, new HashSet<>()));
+            jdbcTemplate.query(PERMISSION_SQL, new MapSqlParameterSource("ids", batch), rs -> {
+                permissions.get(rs.getLong("user_id")).add(rs.getString("permission_code"));
+            });
+
+            // 无权限的用户同样写入空集合，避免请求时回源
+            permissions.forEach((userId, codes) -> cacheService.user().setUserPermissions(userId, codes));
+            count += permissions.size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,27 @@
+package com.dlmp.cache.warmup;
+
+/**
+ * 预热时间预算
+ */
+public class WarmUpBudget {
+
+    private final long deadlineNanos;
+
+    public WarmUpBudget(long budgetMillis) {
+        this.deadlineNanos = System.nanoTime() + budgetMillis * 1_000_000L;
+    }
+
+    /**
+     * 预算是否已用完
+     */
+    public boolean isExhausted() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * 剩余时间（毫秒）
+     */
+    public long remainingMillis() {
+        return Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000L);
+    }
+}
@@ -0,0 +1,245 @@
+package com.dlmp.concurrency;
+
+import com.alibaba.druid.filter.FilterAdapter;
+import com.alibaba.druid.filter.FilterChain;
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.druid.pool.DruidPooledConnection;
+import com.alibaba.druid.proxy.jdbc.ConnectionProxy;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 在连接获取路径上挂载并发许可
+ *
+ * 1. Druid数据源：注册一个Druid Filter，getConnection前获取许可，连接归还或被丢弃时释放，不改变bean类型；
+ *    读写分离、分片等路由数据源最终都落到物理Druid连接池，每个连接只计一次许可；
+ * 2. RedisConnectionFactory：以CGLIB子类代理包装（仍是LettuceConnectionFactory等原类型，按具体类型注入不受影响），
+ *    每次getConnection获取许可，连接close时释放。RedisTemplate每个操作获取并关闭一次连接，因此许可数即同时执行的Redis命令数。
+ *    订阅连接（RedisMessageListenerContainer等）长期持有，调用subscribe/pSubscribe时即释放许可，不计入并发。
+ */
+@Component
+public class ResourceLimitPostProcessor implements BeanPostProcessor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ResourceLimitPostProcessor.class);
+    
+    private final ResourceLimitProperties properties;
+    private final ObjectProvider<ResourceLimiter> limiterProvider;
+    
+    public ResourceLimitPostProcessor(ResourceLimitProperties properties, ObjectProvider<ResourceLimiter> limiterProvider) {
+        this.properties = properties;
+        this.limiterProvider = limiterProvider;
+    }
+    
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (properties.isEnabled() && bean instanceof DruidDataSource) {
+            DruidDataSource dataSource = (DruidDataSource) bean;
+            if (dataSource.isInited()) {
+                logger.warn("数据源已初始化，无法挂载并发许可: {}", beanName);
+            } else {
+                dataSource.getProxyFilters().add(new DbPermitFilter(limiterProvider.getObject()));
+                logger.info("数据源已挂载并发许可: {}, permits={}", beanName, properties.getDbPermits());
+            }
+        }
+        return bean;
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (properties.isEnabled() && bean instanceof RedisConnectionFactory) {
+            logger.info("Redis连接工厂已挂载并发许可: {}, permits={}", beanName, properties.getRedisPermits());
+            ProxyFactory factory = new ProxyFactory(bean);
+            factory.setProxyTargetClass(true);
+            factory.addAdvice(new RedisFactoryInterceptor(limiterProvider.getObject()));
+            return factory.getProxy(bean.getClass().getClassLoader());
+        }
+        return bean;
+    }
+    
+    private static Object proxy(Object target, InvocationHandler handler) {
+        ClassLoader classLoader = target.getClass().getClassLoader();
+        return Proxy.newProxyInstance(classLoader, ClassUtils.getAllInterfacesForClass(target.getClass(), classLoader), handler);
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+    
+    /**
+     * Druid连接获取/归还过滤器
+     *
+     * 许可绑定到借出的DruidPooledConnection，每个连接只释放一次。正常归还走dataSource_releaseConnection；
+     * 致命异常（exceptionSorter）时Druid先disable连接再丢弃物理连接，之后close()直接返回、不经过过滤器链，
+     * 因此丢弃物理连接（connection_close）时也释放，许可耗尽时再回收已disable的连接，避免许可永久泄漏。
+     */
+    private static final class DbPermitFilter extends FilterAdapter {
+        private final ResourceLimiter limiter;
+        
+        /**
+         * 持有许可的借出连接，DruidPooledConnection未覆盖equals，按对象身份区分
+         */
+        private final ConcurrentHashMap<DruidPooledConnection, ResourcePermits> held = new ConcurrentHashMap<>();
+        
+        DbPermitFilter(ResourceLimiter limiter) {
+            this.limiter = limiter;
+        }
+        
+        @Override
+        public DruidPooledConnection dataSource_getConnection(FilterChain chain, DruidDataSource dataSource,
+                                                              long maxWaitMillis) throws SQLException {
+            ResourcePermits permits = limiter.db();
+            if (permits.available() == 0) {
+                reapDisabled();
+            }
+            if (!permits.tryAcquire(limiter.acquireTimeoutNanos())) {
+                throw new SQLTransientConnectionException("获取数据库并发许可超时: " + dataSource.getName());
+            }
+            DruidPooledConnection connection;
+            try {
+                connection = chain.dataSource_connect(dataSource, maxWaitMillis);
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+            held.put(connection, permits);
+            return connection;
+        }
+        
+        @Override
+        public void dataSource_releaseConnection(FilterChain chain, DruidPooledConnection connection) throws SQLException {
+            try {
+                chain.dataSource_recycle(connection);
+            } finally {
+                release(connection);
+            }
+        }
+        
+        /**
+         * 物理连接关闭：致命异常丢弃连接时借出的连接不会再归还，在此释放其许可
+         */
+        @Override
+        public void connection_close(FilterChain chain, ConnectionProxy connection) throws SQLException {
+            try {
+                chain.connection_close(connection);
+            } finally {
+                for (DruidPooledConnection pooled : held.keySet()) {
+                    if (pooled.getConnection() == connection) {
+                        release(pooled);
+                    }
+                }
+            }
+        }
+        
+        /**
+         * 回收已disable或已脱离连接池的借出连接的许可
+         */
+        private void reapDisabled() {
+            for (DruidPooledConnection pooled : held.keySet()) {
+                if (pooled.isDisable() || pooled.getConnectionHolder() == null) {
+                    release(pooled);
+                }
+            }
+        }
+        
+        private void release(DruidPooledConnection connection) {
+            ResourcePermits permits = held.remove(connection);
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+    
+    /**
+     * Redis连接工厂拦截器，拦截getConnection/getClusterConnection/getSentinelConnection
+     */
+    private static final class RedisFactoryInterceptor implements MethodInterceptor {
+        private final ResourceLimiter limiter;
+        
+        RedisFactoryInterceptor(ResourceLimiter limiter) {
+            this.limiter = limiter;
+        }
+        
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            String name = invocation.getMethod().getName();
+            boolean connection = invocation.getArguments().length == 0
+                    && ("getConnection".equals(name) || "getClusterConnection".equals(name) || "getSentinelConnection".equals(name));
+            if (!connection) {
+                return invocation.proceed();
+            }
+            
+            ResourcePermits permits = limiter.redis();
+            if (!permits.tryAcquire(limiter.acquireTimeoutNanos())) {
+                throw new RedisConnectionFailureException("获取Redis并发许可超时");
+            }
+            Object redisConnection;
+            try {
+                redisConnection = invocation.proceed();
+            } catch (Throwable e) {
+                permits.release();
+                throw e;
+            }
+            return proxy(redisConnection, new RedisConnectionHandler(redisConnection, permits));
+        }
+    }
+    
+    /**
+     * Redis连接代理，close或转为订阅连接时释放许可（只释放一次）
+     */
+    private static final class RedisConnectionHandler implements InvocationHandler {
+        private final Object target;
+        private final ResourcePermits permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        RedisConnectionHandler(Object target, ResourcePermits permits) {
+            this.target = target;
+            this.permits = permits;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("subscribe".equals(name) || "pSubscribe".equals(name)) {
+                // 订阅连接在取消订阅前一直占用，不计入命令并发；部分客户端subscribe会阻塞，先释放
+                release();
+                return ResourceLimitPostProcessor.invoke(target, method, args);
+            }
+            if (!"close".equals(name)) {
+                return ResourceLimitPostProcessor.invoke(target, method, args);
+            }
+            try {
+                return ResourceLimitPostProcessor.invoke(target, method, args);
+            } finally {
+                release();
+            }
+        }
+        
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.dlmp.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 下游资源并发上限
+ *
+ * 虚拟线程模式下线程数不再限制对数据库和Redis的并发，改由信号量限制同时持有连接的调用数。
+ *
+ * <pre>
+ * dlmp:
+ *   resource-limits:
+ *     enabled: true
+ *     db-permits: 80
+ *     redis-permits: 200
+ *     acquire-timeout: 3s
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "dlmp.resource-limits")
+public class ResourceLimitProperties {
+    
+    /**
+     * 是否启用，仅在启动时生效
+     */
+    private boolean enabled = false;
+    
+    /**
+     * 同时持有数据库连接的调用数上限（所有Druid数据源共享），运行中可调整
+     */
+    private int dbPermits = 80;
+    
+    /**
+     * 同时执行的Redis调用数上限，运行中可调整
+     */
+    private int redisPermits = 200;
+    
+    /**
+     * 获取许可的最长等待时间，超时抛出连接异常
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(3);
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getDbPermits() { return dbPermits; }
+    public void setDbPermits(int dbPermits) { this.dbPermits = dbPermits; }
+    public int getRedisPermits() { return redisPermits; }
+    public void setRedisPermits(int redisPermits) { this.redisPermits = redisPermits; }
+    public Duration getAcquireTimeout() { return acquireTimeout; }
+    public void setAcquireTimeout(Duration acquireTimeout) { this.acquireTimeout = acquireTimeout; }
+}
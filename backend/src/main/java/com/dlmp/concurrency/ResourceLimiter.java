@@ -0,0 +1,49 @@
+package com.dlmp.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 数据库与Redis的并发许可，由ResourceLimitPostProcessor挂到连接获取路径上
+ */
+@Component
+public class ResourceLimiter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ResourceLimiter.class);
+    
+    private final ResourceLimitProperties properties;
+    private final ResourcePermits db;
+    private final ResourcePermits redis;
+    
+    public ResourceLimiter(ResourceLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.db = new ResourcePermits("db", properties.getDbPermits(), meterRegistry);
+        this.redis = new ResourcePermits("redis", properties.getRedisPermits(), meterRegistry);
+    }
+    
+    public ResourcePermits db() {
+        return db;
+    }
+    
+    public ResourcePermits redis() {
+        return redis;
+    }
+    
+    public long acquireTimeoutNanos() {
+        return properties.getAcquireTimeout().toNanos();
+    }
+    
+    /**
+     * 配置刷新后调整许可上限
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        db.resize(properties.getDbPermits());
+        redis.resize(properties.getRedisPermits());
+        logger.info("下游并发许可已刷新: db={}, redis={}", properties.getDbPermits(), properties.getRedisPermits());
+    }
+}
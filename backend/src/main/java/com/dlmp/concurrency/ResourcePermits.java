@@ -0,0 +1,108 @@
+package com.dlmp.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单个下游资源的并发许可
+ */
+public class ResourcePermits {
+    
+    private final String resource;
+    private final AdjustableSemaphore semaphore;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private volatile int limit;
+    
+    private final Timer acquireWait;
+    private final Counter timeouts;
+    
+    ResourcePermits(String resource, int limit, MeterRegistry meterRegistry) {
+        this.resource = resource;
+        this.limit = Math.max(limit, 1);
+        this.semaphore = new AdjustableSemaphore(this.limit);
+        
+        this.acquireWait = Timer.builder("dlmp.resource.acquire")
+                .description("等待下游资源并发许可的时间")
+                .tag("resource", resource)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("dlmp.resource.timeouts").tag("resource", resource).register(meterRegistry);
+        Gauge.builder("dlmp.resource.permits.available", semaphore, Semaphore::availablePermits)
+                .tag("resource", resource).register(meterRegistry);
+        Gauge.builder("dlmp.resource.permits.limit", this, p -> p.limit)
+                .tag("resource", resource).register(meterRegistry);
+        Gauge.builder("dlmp.resource.permits.waiting", waiting, AtomicInteger::get)
+                .tag("resource", resource).register(meterRegistry);
+    }
+    
+    public String getResource() {
+        return resource;
+    }
+    
+    /**
+     * 在超时时间内获取许可
+     */
+    public boolean tryAcquire(long timeoutNanos) {
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            boolean acquired = semaphore.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                timeouts.increment();
+            }
+            return acquired;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waiting.decrementAndGet();
+            acquireWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    public void release() {
+        semaphore.release();
+    }
+    
+    /**
+     * 当前可用许可数
+     */
+    public int available() {
+        return semaphore.availablePermits();
+    }
+    
+    /**
+     * 调整许可上限；缩小时已发出的许可在归还时逐步收敛
+     */
+    public synchronized void resize(int newLimit) {
+        newLimit = Math.max(newLimit, 1);
+        int delta = newLimit - limit;
+        if (delta > 0) {
+            semaphore.release(delta);
+        } else if (delta < 0) {
+            semaphore.reduce(-delta);
+        }
+        limit = newLimit;
+    }
+    
+    /**
+     * 可减少许可的信号量
+     */
+    private static final class AdjustableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+        
+        AdjustableSemaphore(int permits) {
+            super(permits);
+        }
+        
+        void reduce(int reduction) {
+            reducePermits(reduction);
+        }
+    }
+}
@@ -1,24 +1,28 @@
 package com.dlmp.config;
 
+import com.dlmp.executor.ExecutorRegistry;
+import com.dlmp.executor.PoolSettings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.actuate.metrics.MetricsEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import javax.annotation.PreDestroy;
+import java.time.Duration;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * 性能优化配置
  * 包含线程池、异步处理、缓存等性能相关配置
+ * 线程池由ExecutorRegistry托管，参数可通过dlmp.executor.pools覆盖并在配置刷新后生效
  */
 @Configuration
 @EnableAsync
@@ -27,159 +31,72 @@ public class PerformanceConfig implements WebMvcConfigurer {
     
     private static final Logger logger = LoggerFactory.getLogger(PerformanceConfig.class);
     
+    private final ExecutorRegistry executorRegistry;
+    
+    public PerformanceConfig(ExecutorRegistry executorRegistry) {
+        this.executorRegistry = executorRegistry;
+    }
+    
     /**
      * 主要异步任务执行器
      */
     @Bean(name = "taskExecutor")
-    public ThreadPoolTaskExecutor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        
-        // 核心线程数
-        executor.setCorePoolSize(20);
-        // 最大线程数
-        executor.setMaxPoolSize(100);
-        // 队列容量
-        executor.setQueueCapacity(1000);
-        // 线程空闲时间
-        executor.setKeepAliveSeconds(60);
-        // 线程名前缀
-        executor.setThreadNamePrefix("dlmp-task-");
-        
+    public AsyncTaskExecutor taskExecutor() {
         // 拒绝策略 - 调用者运行
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        
-        // 等待所有任务完成后再关闭线程池
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(30);
-        
-        // 初始化
-        executor.initialize();
-        
-        logger.info("主任务执行器初始化完成: core={}, max={}, queue={}", 
-                   executor.getCorePoolSize(), 
-                   executor.getMaxPoolSize(), 
-                   executor.getQueueCapacity());
-        
-        return executor;
+        return executorRegistry.create("taskExecutor", "dlmp-task-",
+                new PoolSettings(20, 100, 1000, Duration.ofSeconds(60)),
+                new ThreadPoolExecutor.CallerRunsPolicy(), 30);
     }
     
     /**
      * 业务处理异步执行器 - 用于重要业务逻辑
      */
     @Bean(name = "businessExecutor")
-    public ThreadPoolTaskExecutor businessExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        
-        executor.setCorePoolSize(10);
-        executor.setMaxPoolSize(50);
-        executor.setQueueCapacity(500);
-        executor.setKeepAliveSeconds(60);
-        executor.setThreadNamePrefix("dlmp-business-");
-        
-        // 业务重要，使用AbortPolicy确保不丢失任务
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
-        
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(60);
-        
-        executor.initialize();
-        
-        logger.info("业务执行器初始化完成: core={}, max={}, queue={}", 
-                   executor.getCorePoolSize(), 
-                   executor.getMaxPoolSize(), 
-                   executor.getQueueCapacity());
-        
-        return executor;
+    public AsyncTaskExecutor businessExecutor() {
+        PoolSettings defaults = new PoolSettings(10, 50, 500, Duration.ofSeconds(60));
+        // 突发流量下先让提交线程等待队列空位，超时仍满才拒绝
+        defaults.setRejectBlockTimeout(Duration.ofSeconds(2));
+        
+        // 业务重要，使用AbortPolicy确保不静默丢失任务
+        return executorRegistry.create("businessExecutor", "dlmp-business-", defaults,
+                new ThreadPoolExecutor.AbortPolicy(), 60);
     }
     
     /**
      * 消息处理异步执行器 - 用于MQ消息处理
      */
     @Bean(name = "messageExecutor")
-    public ThreadPoolTaskExecutor messageExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        
-        executor.setCorePoolSize(15);
-        executor.setMaxPoolSize(30);
-        executor.setQueueCapacity(200);
-        executor.setKeepAliveSeconds(120);
-        executor.setThreadNamePrefix("dlmp-message-");
-        
+    public AsyncTaskExecutor messageExecutor() {
         // 消息处理使用CallerRunsPolicy保证处理
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(30);
-        
-        executor.initialize();
-        
-        logger.info("消息执行器初始化完成: core={}, max={}, queue={}", 
-                   executor.getCorePoolSize(), 
-                   executor.getMaxPoolSize(), 
-                   executor.getQueueCapacity());
-        
-        return executor;
+        return executorRegistry.create("messageExecutor", "dlmp-message-",
+                new PoolSettings(15, 30, 200, Duration.ofSeconds(120)),
+                new ThreadPoolExecutor.CallerRunsPolicy(), 30);
     }
     
     /**
      * 文件处理异步执行器 - 用于文件上传下载等IO密集操作
      */
     @Bean(name = "fileExecutor")
-    public ThreadPoolTaskExecutor fileExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        
+    public AsyncTaskExecutor fileExecutor() {
         // IO密集型，线程数可以多一些
-        executor.setCorePoolSize(20);
-        executor.setMaxPoolSize(50);
-        executor.setQueueCapacity(100);
-        executor.setKeepAliveSeconds(300);
-        executor.setThreadNamePrefix("dlmp-file-");
-        
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(60);
-        
-        executor.initialize();
-        
-        logger.info("文件执行器初始化完成: core={}, max={}, queue={}", 
-                   executor.getCorePoolSize(), 
-                   executor.getMaxPoolSize(), 
-                   executor.getQueueCapacity());
-        
-        return executor;
+        return executorRegistry.create("fileExecutor", "dlmp-file-",
+                new PoolSettings(20, 50, 100, Duration.ofSeconds(300)),
+                new ThreadPoolExecutor.CallerRunsPolicy(), 60);
     }
     
     /**
      * 定时任务执行器
      */
     @Bean(name = "scheduledExecutor")
-    public ThreadPoolTaskExecutor scheduledExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(50);
-        executor.setKeepAliveSeconds(60);
-        executor.setThreadNamePrefix("dlmp-scheduled-");
-        
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(30);
-        
-        executor.initialize();
-        
-        logger.info("定时任务执行器初始化完成: core={}, max={}, queue={}", 
-                   executor.getCorePoolSize(), 
-                   executor.getMaxPoolSize(), 
-                   executor.getQueueCapacity());
-        
-        return executor;
+    public AsyncTaskExecutor scheduledExecutor() {
+        return executorRegistry.create("scheduledExecutor", "dlmp-scheduled-",
+                new PoolSettings(5, 10, 50, Duration.ofSeconds(60)),
+                new ThreadPoolExecutor.CallerRunsPolicy(), 30);
     }
     
     /**
      * 配置Web异步支持
+     * dlmp.executor.mode=VIRTUAL时taskExecutor为虚拟线程执行器，异步请求随之切换
      */
     @Override
     public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
@@ -287,16 +204,4 @@ class PerformanceMonitor {
             logger.warn("内存使用率过高: {:.2f}%", usagePercent);
         }
     }
-    
-    /**
-     * 记录线程池使用情况
-     */
-    public void recordThreadPoolUsage(String poolName, int activeCount, int poolSize, int queueSize) {
-        performanceLogger.info("线程池使用统计 - 池: {}, 活跃: {}, 总数: {}, 队列: {}", 
-                               poolName, activeCount, poolSize, queueSize);
-        
-        if (activeCount >= poolSize * 0.8) {
-            logger.warn("线程池使用率过高: {} - {}/{}", poolName, activeCount, poolSize);
-        }
-    }
 }
\ No newline at end of file
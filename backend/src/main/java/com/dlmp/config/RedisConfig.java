@@ -1,19 +1,23 @@
 package com.dlmp.config;
 
+import com.dlmp.cache.hotkey.HotKeyDetector;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NullValue;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
@@ -22,6 +26,7 @@ import org.springframework.data.redis.connection.lettuce.LettucePoolingClientCon
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import io.lettuce.core.cluster.ClusterClientOptions;
 import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
@@ -71,6 +76,9 @@ public class RedisConfig {
     @Value("${spring.redis.lettuce.pool.max-wait:1000}")
     private long maxWait;
     
+    @Value("${dlmp.cache.null-value-ttl:60}")
+    private long nullValueTtlSeconds;
+    
     /**
      * Redis连接工厂配置
      */
@@ -204,8 +212,7 @@ public class RedisConfig {
     public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
         // 默认缓存配置
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(1))                    // 默认1小时过期
-                .disableCachingNullValues()                       // 不缓存null值
+                .entryTtl(nullAwareTtl(Duration.ofHours(1)))      // 默认1小时过期，null值使用短TTL
                 .serializeKeysWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
@@ -216,47 +223,47 @@ public class RedisConfig {
         
         // 用户缓存 - 30分钟
         cacheConfigurations.put("userCache", defaultConfig
-                .entryTtl(Duration.ofMinutes(30))
+                .entryTtl(nullAwareTtl(Duration.ofMinutes(30)))
                 .prefixCacheNameWith("dlmp:user:"));
         
         // 案件缓存 - 2小时
         cacheConfigurations.put("caseCache", defaultConfig
-                .entryTtl(Duration.ofHours(2))
+                .entryTtl(nullAwareTtl(Duration.ofHours(2)))
                 .prefixCacheNameWith("dlmp:case:"));
         
         // 系统配置缓存 - 24小时
         cacheConfigurations.put("systemCache", defaultConfig
-                .entryTtl(Duration.ofHours(24))
+                .entryTtl(nullAwareTtl(Duration.ofHours(24)))
                 .prefixCacheNameWith("dlmp:system:"));
         
         // 字典缓存 - 12小时
         cacheConfigurations.put("dictCache", defaultConfig
-                .entryTtl(Duration.ofHours(12))
+                .entryTtl(nullAwareTtl(Duration.ofHours(12)))
                 .prefixCacheNameWith("dlmp:dict:"));
         
         // 权限缓存 - 1小时
         cacheConfigurations.put("permissionCache", defaultConfig
-                .entryTtl(Duration.ofHours(1))
+                .entryTtl(nullAwareTtl(Duration.ofHours(1)))
                 .prefixCacheNameWith("dlmp:permission:"));
         
         // 会话缓存 - 2小时
         cacheConfigurations.put("sessionCache", defaultConfig
-                .entryTtl(Duration.ofHours(2))
+                .entryTtl(nullAwareTtl(Duration.ofHours(2)))
                 .prefixCacheNameWith("dlmp:session:"));
         
         // 验证码缓存 - 5分钟
         cacheConfigurations.put("captchaCache", defaultConfig
-                .entryTtl(Duration.ofMinutes(5))
+                .entryTtl(nullAwareTtl(Duration.ofMinutes(5)))
                 .prefixCacheNameWith("dlmp:captcha:"));
         
         // 限流缓存 - 1分钟
         cacheConfigurations.put("rateLimitCache", defaultConfig
-                .entryTtl(Duration.ofMinutes(1))
+                .entryTtl(nullAwareTtl(Duration.ofMinutes(1)))
                 .prefixCacheNameWith("dlmp:ratelimit:"));
         
         // 统计缓存 - 6小时
         cacheConfigurations.put("statisticsCache", defaultConfig
-                .entryTtl(Duration.ofHours(6))
+                .entryTtl(nullAwareTtl(Duration.ofHours(6)))
                 .prefixCacheNameWith("dlmp:stats:"));
         
         RedisCacheManager cacheManager = RedisCacheManager.builder(connectionFactory)
@@ -269,6 +276,15 @@ public class RedisConfig {
         return cacheManager;
     }
     
+    /**
+     * 空值感知的TTL策略
+     * 缓存null值（防穿透）时使用独立的短TTL，避免数据新建后长时间读到空值
+     */
+    private RedisCacheWriter.TtlFunction nullAwareTtl(Duration ttl) {
+        Duration nullValueTtl = Duration.ofSeconds(nullValueTtlSeconds);
+        return (key, value) -> (value == null || value instanceof NullValue) ? nullValueTtl : ttl;
+    }
+    
     /**
      * 创建JSON序列化器
      */
@@ -285,8 +301,9 @@ public class RedisConfig {
      * 缓存工具类
      */
     @Bean
-    public RedisCacheUtil redisCacheUtil(RedisTemplate<String, Object> redisTemplate) {
-        return new RedisCacheUtil(redisTemplate);
+    public RedisCacheUtil redisCacheUtil(RedisTemplate<String, Object> redisTemplate,
+                                         ObjectProvider<HotKeyDetector> hotKeyDetector) {
+        return new RedisCacheUtil(redisTemplate, hotKeyDetector.getIfAvailable());
     }
 }
 
@@ -296,10 +313,26 @@ public class RedisConfig {
 class RedisCacheUtil {
     
     private static final Logger logger = LoggerFactory.getLogger(RedisCacheUtil.class);
+    
+    /**
+     * 空值占位符，用于缓存不存在的数据（防缓存穿透）
+     */
+    public static final String NULL_VALUE = "@@null";
+    
     private final RedisTemplate<String, Object> redisTemplate;
     
+    /**
+     * 热点key探测器，为null时不做采样统计和本地热点缓存
+     */
+    private final HotKeyDetector hotKeyDetector;
+    
     public RedisCacheUtil(RedisTemplate<String, Object> redisTemplate) {
+        this(redisTemplate, null);
+    }
+    
+    public RedisCacheUtil(RedisTemplate<String, Object> redisTemplate, HotKeyDetector hotKeyDetector) {
         this.redisTemplate = redisTemplate;
+        this.hotKeyDetector = hotKeyDetector;
     }
     
     /**
@@ -307,19 +340,47 @@ class RedisCacheUtil {
      */
     public void set(String key, Object value, Duration timeout) {
         try {
+            long startTime = System.nanoTime();
             redisTemplate.opsForValue().set(key, value, timeout);
+            if (hotKeyDetector != null) {
+                hotKeyDetector.onSet(key, value, System.nanoTime() - startTime, this::sizeOf);
+            }
             logger.debug("设置缓存成功: key={}, timeout={}", key, timeout);
         } catch (Exception e) {
             logger.error("设置缓存失败: key={}", key, e);
         }
     }
     
+    /**
+     * 设置空值占位缓存
+     */
+    public void setNullValue(String key, Duration timeout) {
+        set(key, NULL_VALUE, timeout);
+    }
+    
+    /**
+     * 判断是否为空值占位符
+     */
+    public static boolean isNullValue(Object value) {
+        return NULL_VALUE.equals(value);
+    }
+    
     /**
      * 获取缓存
      */
     public Object get(String key) {
+        if (hotKeyDetector != null) {
+            Object local = hotKeyDetector.getLocal(key);
+            if (local != null) {
+                return local;
+            }
+        }
         try {
+            long startTime = System.nanoTime();
             Object value = redisTemplate.opsForValue().get(key);
+            if (hotKeyDetector != null) {
+                hotKeyDetector.onGet(key, value, System.nanoTime() - startTime, this::sizeOf);
+            }
             logger.debug("获取缓存: key={}, value={}", key, value != null ? "存在" : "不存在");
             return value;
         } catch (Exception e) {
@@ -332,6 +393,9 @@ class RedisCacheUtil {
      * 删除缓存
      */
     public boolean delete(String key) {
+        if (hotKeyDetector != null) {
+            hotKeyDetector.invalidate(key);
+        }
         try {
             Boolean result = redisTemplate.delete(key);
             logger.debug("删除缓存: key={}, result={}", key, result);
@@ -386,6 +450,9 @@ class RedisCacheUtil {
      * 批量删除缓存
      */
     public long deletePattern(String pattern) {
+        if (hotKeyDetector != null) {
+            hotKeyDetector.invalidateAll();
+        }
         try {
             var keys = redisTemplate.keys(pattern);
             if (keys != null && !keys.isEmpty()) {
@@ -425,4 +492,17 @@ class RedisCacheUtil {
             return 0;
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * 按值序列化器估算字节数，仅在采样时调用
+     */
+    @SuppressWarnings("unchecked")
+    private int sizeOf(Object value) {
+        try {
+            byte[] bytes = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+            return bytes != null ? bytes.length : 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+}
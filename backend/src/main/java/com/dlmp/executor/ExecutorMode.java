@@ -0,0 +1,24 @@
+package com.dlmp.executor;
+
+/**
+ * 执行器线程模式
+ */
+public enum ExecutorMode {
+    
+    /**
+     * 平台线程池，以核心/最大线程数限制并发
+     */
+    PLATFORM,
+    
+    /**
+     * 每任务一个虚拟线程，以信号量限制并发；需要JDK 21及以上，否则回退为PLATFORM
+     */
+    VIRTUAL;
+    
+    /**
+     * 当前运行时是否支持虚拟线程
+     */
+    public static boolean virtualThreadsSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+}
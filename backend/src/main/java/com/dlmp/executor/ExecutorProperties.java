@@ -0,0 +1,64 @@
+package com.dlmp.executor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 托管线程池配置，刷新配置后即时生效
+ *
+ * <pre>
+ * dlmp:
+ *   executor:
+ *     mode: VIRTUAL
+ *     alert-queue-ratio: 0.7
+ *     alert-queue-wait: 500ms
+ *     pools:
+ *       businessExecutor: { core-pool-size: 16, max-pool-size: 64, queue-capacity: 1000, reject-block-timeout: 2s }
+ *       fileExecutor: { max-concurrency: 200 }
+ *       scheduledExecutor: { mode: PLATFORM, adaptive: true, min-core-pool-size: 2, target-queue-wait: 200ms }
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "dlmp.executor")
+public class ExecutorProperties {
+    
+    /**
+     * 默认线程模式；VIRTUAL在JDK 21以下运行时自动回退为PLATFORM。模式只在启动时生效，刷新只调整参数
+     */
+    private ExecutorMode mode = ExecutorMode.PLATFORM;
+    
+    /**
+     * 队列使用率告警阈值，提交时队列深度超过容量的该比例即告警（早于拒绝发生）
+     */
+    private double alertQueueRatio = 0.7;
+    
+    /**
+     * 任务排队时间告警阈值
+     */
+    private Duration alertQueueWait = Duration.ofMillis(500);
+    
+    /**
+     * 同一线程池同类告警日志的最小间隔
+     */
+    private Duration alertInterval = Duration.ofSeconds(30);
+    
+    /**
+     * 线程池参数，key为执行器bean名称，只需写要覆盖的字段
+     */
+    private Map<String, PoolSettings> pools = new LinkedHashMap<>();
+    
+    public ExecutorMode getMode() { return mode; }
+    public void setMode(ExecutorMode mode) { this.mode = mode; }
+    public double getAlertQueueRatio() { return alertQueueRatio; }
+    public void setAlertQueueRatio(double alertQueueRatio) { this.alertQueueRatio = alertQueueRatio; }
+    public Duration getAlertQueueWait() { return alertQueueWait; }
+    public void setAlertQueueWait(Duration alertQueueWait) { this.alertQueueWait = alertQueueWait; }
+    public Duration getAlertInterval() { return alertInterval; }
+    public void setAlertInterval(Duration alertInterval) { this.alertInterval = alertInterval; }
+    public Map<String, PoolSettings> getPools() { return pools; }
+    public void setPools(Map<String, PoolSettings> pools) { this.pools = pools; }
+}
@@ -0,0 +1,115 @@
+package com.dlmp.executor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+
+/**
+ * 托管线程池注册表
+ *
+ * PerformanceConfig中的执行器都经由这里创建，按dlmp.executor.mode选择平台线程池或虚拟线程执行器；
+ * 配置刷新后按dlmp.executor.pools重新应用参数，自适应模式的线程池定时按排队时间调整核心线程数。
+ */
+@Component
+public class ExecutorRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorRegistry.class);
+    
+    private final ExecutorProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<String, ManagedTaskExecutor> executors = new ConcurrentHashMap<>();
+    private final Map<String, PoolSettings> defaults = new ConcurrentHashMap<>();
+    
+    public ExecutorRegistry(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * 创建并初始化托管线程池
+     *
+     * @param name 执行器bean名称，也是配置中pools的key
+     * @param defaultSettings 未配置时使用的默认参数
+     */
+    public ManagedTaskExecutor create(String name, String threadNamePrefix, PoolSettings defaultSettings,
+                                      RejectedExecutionHandler rejectionPolicy, int awaitTerminationSeconds) {
+        PoolSettings settings = resolve(name, defaultSettings);
+        ManagedTaskExecutor executor;
+        if (settings.getMode() == ExecutorMode.VIRTUAL) {
+            executor = new VirtualThreadExecutor(name, threadNamePrefix, settings, rejectionPolicy,
+                                                 awaitTerminationSeconds * 1000L, properties, meterRegistry);
+        } else {
+            ManagedExecutor pool = new ManagedExecutor(name, threadNamePrefix, settings, rejectionPolicy,
+                                                       properties, meterRegistry);
+            pool.setWaitForTasksToCompleteOnShutdown(true);
+            pool.setAwaitTerminationSeconds(awaitTerminationSeconds);
+            pool.initialize();
+            executor = pool;
+        }
+        
+        defaults.put(name, defaultSettings);
+        executors.put(name, executor);
+        logger.info("线程池初始化完成: pool={}, {}", name, settings);
+        return executor;
+    }
+    
+    public ManagedTaskExecutor get(String name) {
+        return executors.get(name);
+    }
+    
+    public Collection<ManagedTaskExecutor> getAll() {
+        return Collections.unmodifiableCollection(executors.values());
+    }
+    
+    /**
+     * 配置刷新后重新应用线程池参数
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        executors.forEach((name, executor) -> {
+            PoolSettings settings = resolve(name, defaults.get(name));
+            // 线程模式在启动时确定，刷新只调整参数
+            settings.setMode(executor.getMode());
+            executor.apply(settings);
+            logger.info("线程池参数已刷新: pool={}, {}", name, settings);
+        });
+    }
+    
+    /**
+     * 自适应调整
+     */
+    @Scheduled(fixedDelayString = "${dlmp.executor.adaptive-interval:5000}")
+    public void adapt() {
+        for (ManagedTaskExecutor executor : executors.values()) {
+            try {
+                executor.adapt();
+            } catch (Exception e) {
+                logger.error("线程池自适应调整失败: pool={}", executor.getName(), e);
+            }
+        }
+    }
+    
+    private PoolSettings resolve(String name, PoolSettings defaultSettings) {
+        PoolSettings configured = properties.getPools().get(name);
+        PoolSettings settings = configured != null ? configured.mergeOnto(defaultSettings) : defaultSettings.mergeOnto(defaultSettings);
+        
+        ExecutorMode mode = settings.getMode() != null ? settings.getMode() : properties.getMode();
+        if (mode == ExecutorMode.VIRTUAL && !ExecutorMode.virtualThreadsSupported()) {
+            logger.warn("当前JDK {}不支持虚拟线程，执行器回退为平台线程池: pool={}", Runtime.version().feature(), name);
+            mode = ExecutorMode.PLATFORM;
+        }
+        settings.setMode(mode);
+        return settings;
+    }
+}
@@ -0,0 +1,139 @@
+package com.dlmp.executor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * 托管执行器的指标与告警
+ *
+ * 平台线程池和虚拟线程执行器共用同一组指标名，以pool标签区分；
+ * 虚拟线程模式下active为持有并发许可的任务数，queue为等待许可的任务数。
+ */
+class ExecutorTelemetry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorTelemetry.class);
+    
+    private final String name;
+    private final ExecutorProperties properties;
+    private final IntSupplier active;
+    private final IntSupplier limit;
+    private final IntSupplier queueDepth;
+    private final IntSupplier queueCapacity;
+    
+    private final Timer queueWait;
+    private final Timer runTime;
+    private final Counter rejected;
+    private final Counter queueDepthAlerts;
+    private final Counter queueWaitAlerts;
+    
+    /**
+     * 自适应调整窗口内的排队时间累计
+     */
+    private final LongAdder windowWaitNanos = new LongAdder();
+    private final LongAdder windowTasks = new LongAdder();
+    
+    private final AtomicLong nextDepthAlertAt = new AtomicLong();
+    private final AtomicLong nextWaitAlertAt = new AtomicLong();
+    
+    ExecutorTelemetry(String name, String mode, ExecutorProperties properties, MeterRegistry meterRegistry,
+                      IntSupplier active, IntSupplier poolSize, IntSupplier core, IntSupplier limit,
+                      IntSupplier queueDepth, IntSupplier queueCapacity) {
+        this.name = name;
+        this.properties = properties;
+        this.active = active;
+        this.limit = limit;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        
+        Tags tags = Tags.of("pool", name, "mode", mode);
+        this.queueWait = Timer.builder("dlmp.executor.queue.wait")
+                .description("任务排队时间")
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.runTime = Timer.builder("dlmp.executor.run")
+                .description("任务执行时间")
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("dlmp.executor.rejected").tags(tags).register(meterRegistry);
+        this.queueDepthAlerts = Counter.builder("dlmp.executor.alerts").tags(tags).tag("type", "queue-depth").register(meterRegistry);
+        this.queueWaitAlerts = Counter.builder("dlmp.executor.alerts").tags(tags).tag("type", "queue-wait").register(meterRegistry);
+        Gauge.builder("dlmp.executor.active", active, IntSupplier::getAsInt).tags(tags).register(meterRegistry);
+        Gauge.builder("dlmp.executor.pool.size", poolSize, IntSupplier::getAsInt).tags(tags).register(meterRegistry);
+        Gauge.builder("dlmp.executor.pool.core", core, IntSupplier::getAsInt).tags(tags).register(meterRegistry);
+        Gauge.builder("dlmp.executor.pool.max", limit, IntSupplier::getAsInt).tags(tags).register(meterRegistry);
+        Gauge.builder("dlmp.executor.queue.depth", queueDepth, IntSupplier::getAsInt).tags(tags).register(meterRegistry);
+        Gauge.builder("dlmp.executor.queue.capacity", queueCapacity, IntSupplier::getAsInt).tags(tags).register(meterRegistry);
+    }
+    
+    /**
+     * 任务提交时检查队列使用率
+     */
+    void onSubmit() {
+        int depth = queueDepth.getAsInt();
+        int capacity = queueCapacity.getAsInt();
+        if (capacity > 0 && depth >= capacity * properties.getAlertQueueRatio()) {
+            queueDepthAlerts.increment();
+            if (acquireAlertSlot(nextDepthAlertAt)) {
+                logger.warn("线程池队列使用率过高: pool={}, queue={}/{}, active={}/{}",
+                           name, depth, capacity, active.getAsInt(), limit.getAsInt());
+            }
+        }
+    }
+    
+    /**
+     * 任务开始执行
+     */
+    void onStart(long waitNanos) {
+        queueWait.record(waitNanos, TimeUnit.NANOSECONDS);
+        windowWaitNanos.add(waitNanos);
+        windowTasks.increment();
+        if (waitNanos > properties.getAlertQueueWait().toNanos()) {
+            queueWaitAlerts.increment();
+            if (acquireAlertSlot(nextWaitAlertAt)) {
+                logger.warn("线程池任务排队时间过长: pool={}, wait={}ms, queue={}/{}, active={}/{}",
+                           name, TimeUnit.NANOSECONDS.toMillis(waitNanos), queueDepth.getAsInt(),
+                           queueCapacity.getAsInt(), active.getAsInt(), limit.getAsInt());
+            }
+        }
+    }
+    
+    void onComplete(long runNanos) {
+        runTime.record(runNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    void onRejected(String policy) {
+        rejected.increment();
+        logger.warn("线程池任务被拒绝: pool={}, active={}, queue={}/{}, policy={}",
+                   name, active.getAsInt(), queueDepth.getAsInt(), queueCapacity.getAsInt(), policy);
+    }
+    
+    /**
+     * 取出并重置自适应窗口：[任务数, 排队时间合计纳秒]
+     */
+    long[] drainWindow() {
+        return new long[] {windowTasks.sumThenReset(), windowWaitNanos.sumThenReset()};
+    }
+    
+    void resetWindow() {
+        windowTasks.reset();
+        windowWaitNanos.reset();
+    }
+    
+    private boolean acquireAlertSlot(AtomicLong nextAlertAt) {
+        long now = System.currentTimeMillis();
+        long next = nextAlertAt.get();
+        return now >= next && nextAlertAt.compareAndSet(next, now + properties.getAlertInterval().toMillis());
+    }
+}
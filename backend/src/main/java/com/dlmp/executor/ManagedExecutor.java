@@ -0,0 +1,175 @@
+package com.dlmp.executor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 托管线程池
+ *
+ * 在ThreadPoolTaskExecutor基础上：
+ * 1. 队列容量、核心/最大线程数可在运行中调整；
+ * 2. 每个任务记录排队时间和执行时间（dlmp.executor.queue.wait / dlmp.executor.run），并导出活跃线程数、队列深度、拒绝次数；
+ * 3. 提交时队列使用率或排队时间超过阈值即告警，先于拒绝发生；
+ * 4. 可选在拒绝前让提交线程有限等待队列空位，平滑突发流量。
+ */
+public class ManagedExecutor extends ThreadPoolTaskExecutor implements ManagedTaskExecutor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ManagedExecutor.class);
+    
+    private final String name;
+    private final RejectedExecutionHandler rejectionPolicy;
+    private final ExecutorTelemetry telemetry;
+    
+    private volatile PoolSettings settings;
+    private ResizableCapacityQueue queue;
+    
+    ManagedExecutor(String name, String threadNamePrefix, PoolSettings settings, RejectedExecutionHandler rejectionPolicy,
+                    ExecutorProperties properties, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.settings = settings;
+        this.rejectionPolicy = rejectionPolicy;
+        
+        setThreadNamePrefix(threadNamePrefix);
+        setCorePoolSize(settings.core());
+        setMaxPoolSize(settings.max());
+        setQueueCapacity(settings.queue());
+        setKeepAliveSeconds((int) settings.keepAliveOrDefault().getSeconds());
+        setRejectedExecutionHandler(this::reject);
+        setTaskDecorator(TimedTask::new);
+        
+        this.telemetry = new ExecutorTelemetry(name, "platform", properties, meterRegistry,
+                this::getActiveCount, this::getPoolSize, this::getCorePoolSize, this::getMaxPoolSize,
+                this::queueDepth, this::queueCapacity);
+    }
+    
+    @Override
+    protected BlockingQueue<Runnable> createQueue(int queueCapacity) {
+        this.queue = new ResizableCapacityQueue(queueCapacity);
+        return queue;
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public ExecutorMode getMode() {
+        return ExecutorMode.PLATFORM;
+    }
+    
+    @Override
+    public PoolSettings getSettings() {
+        return settings;
+    }
+    
+    @Override
+    public void apply(PoolSettings newSettings) {
+        this.settings = newSettings;
+        resize(newSettings.core(), newSettings.max());
+        setKeepAliveSeconds((int) newSettings.keepAliveOrDefault().getSeconds());
+        if (queue != null) {
+            queue.setCapacity(newSettings.queue());
+        }
+        telemetry.resetWindow();
+    }
+    
+    /**
+     * 按上一窗口的平均排队时间调整核心线程数
+     *
+     * 队列未满时ThreadPoolExecutor只在核心线程数内运行，排队时间只能通过核心线程数改善。
+     * 平均排队时间高于目标时扩容1/4（至少1个），远低于目标且活跃线程不足一半时缩容1/8。
+     */
+    @Override
+    public void adapt() {
+        long[] window = telemetry.drainWindow();
+        PoolSettings current = settings;
+        if (!current.isAdaptiveEnabled()) {
+            return;
+        }
+        
+        long tasks = window[0];
+        int core = getCorePoolSize();
+        long targetNanos = current.targetWait().toNanos();
+        long avgWait = tasks > 0 ? window[1] / tasks : 0;
+        int newCore = core;
+        
+        if (avgWait > targetNanos && core < current.max()) {
+            newCore = Math.min(current.max(), core + Math.max(1, core / 4));
+        } else if (avgWait < targetNanos / 4 && getActiveCount() < core / 2 && core > current.minCore()) {
+            newCore = Math.max(current.minCore(), core - Math.max(1, core / 8));
+        }
+        
+        if (newCore != core) {
+            resize(newCore, current.max());
+            logger.info("线程池自适应调整: pool={}, core {} -> {}, 平均排队={}ms, 任务数={}",
+                       name, core, newCore, TimeUnit.NANOSECONDS.toMillis(avgWait), tasks);
+        }
+    }
+    
+    private void resize(int core, int max) {
+        // ThreadPoolExecutor要求任意时刻core <= max，按方向决定先后顺序
+        if (core > getMaxPoolSize()) {
+            setMaxPoolSize(max);
+            setCorePoolSize(core);
+        } else {
+            setCorePoolSize(core);
+            setMaxPoolSize(max);
+        }
+    }
+    
+    private int queueDepth() {
+        return queue != null ? queue.size() : 0;
+    }
+    
+    private int queueCapacity() {
+        return queue != null ? queue.getCapacity() : 0;
+    }
+    
+    private void reject(Runnable task, ThreadPoolExecutor executor) {
+        long blockNanos = settings.rejectBlock().toNanos();
+        if (blockNanos > 0 && !executor.isShutdown()) {
+            try {
+                if (executor.getQueue().offer(task, blockNanos, TimeUnit.NANOSECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        telemetry.onRejected(rejectionPolicy.getClass().getSimpleName());
+        rejectionPolicy.rejectedExecution(task, executor);
+    }
+    
+    /**
+     * 记录提交时间并在执行时统计排队和执行耗时
+     */
+    private final class TimedTask implements Runnable {
+        private final Runnable delegate;
+        private final long submittedAt;
+        
+        TimedTask(Runnable delegate) {
+            this.delegate = delegate;
+            this.submittedAt = System.nanoTime();
+            telemetry.onSubmit();
+        }
+        
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            telemetry.onStart(startedAt - submittedAt);
+            try {
+                delegate.run();
+            } finally {
+                telemetry.onComplete(System.nanoTime() - startedAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.dlmp.executor;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+
+/**
+ * 由ExecutorRegistry托管的执行器
+ */
+public interface ManagedTaskExecutor extends AsyncTaskExecutor {
+    
+    String getName();
+    
+    ExecutorMode getMode();
+    
+    PoolSettings getSettings();
+    
+    /**
+     * 应用新的参数
+     */
+    void apply(PoolSettings settings);
+    
+    /**
+     * 自适应调整，由注册表定时调用
+     */
+    void adapt();
+}
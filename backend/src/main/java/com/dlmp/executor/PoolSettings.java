@@ -0,0 +1,128 @@
+package com.dlmp.executor;
+
+import java.time.Duration;
+
+/**
+ * 线程池参数
+ *
+ * 配置文件中未设置的字段为null，由PerformanceConfig中的默认值补齐。
+ */
+public class PoolSettings {
+    
+    /**
+     * 线程模式，为空时使用dlmp.executor.mode
+     */
+    private ExecutorMode mode;
+    
+    /**
+     * 虚拟线程模式下的并发上限（信号量许可数），为空时取max-pool-size
+     */
+    private Integer maxConcurrency;
+    
+    /**
+     * 核心线程数；自适应模式下为初始值，运行中在min-core-pool-size与max-pool-size之间调整
+     */
+    private Integer corePoolSize;
+    
+    /**
+     * 最大线程数
+     */
+    private Integer maxPoolSize;
+    
+    /**
+     * 队列容量，运行中可调整，最小为1；虚拟线程模式下为等待并发许可的任务数上限
+     */
+    private Integer queueCapacity;
+    
+    /**
+     * 线程空闲时间
+     */
+    private Duration keepAlive;
+    
+    /**
+     * 是否按排队等待时间自动调整核心线程数
+     */
+    private Boolean adaptive;
+    
+    /**
+     * 自适应模式下核心线程数下限
+     */
+    private Integer minCorePoolSize;
+    
+    /**
+     * 自适应模式的目标平均排队时间，超过则扩容
+     */
+    private Duration targetQueueWait;
+    
+    /**
+     * 队列满时提交线程最多等待多久再按拒绝策略处理，0表示立即处理
+     */
+    private Duration rejectBlockTimeout;
+    
+    public PoolSettings() {
+    }
+    
+    public PoolSettings(int corePoolSize, int maxPoolSize, int queueCapacity, Duration keepAlive) {
+        this.corePoolSize = corePoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.queueCapacity = queueCapacity;
+        this.keepAlive = keepAlive;
+    }
+    
+    /**
+     * 以当前对象中非空字段覆盖默认值
+     */
+    public PoolSettings mergeOnto(PoolSettings defaults) {
+        PoolSettings merged = new PoolSettings();
+        merged.mode = mode != null ? mode : defaults.mode;
+        merged.maxConcurrency = maxConcurrency != null ? maxConcurrency : defaults.maxConcurrency;
+        merged.corePoolSize = corePoolSize != null ? corePoolSize : defaults.corePoolSize;
+        merged.maxPoolSize = maxPoolSize != null ? maxPoolSize : defaults.maxPoolSize;
+        merged.queueCapacity = queueCapacity != null ? queueCapacity : defaults.queueCapacity;
+        merged.keepAlive = keepAlive != null ? keepAlive : defaults.keepAlive;
+        merged.adaptive = adaptive != null ? adaptive : defaults.adaptive;
+        merged.minCorePoolSize = minCorePoolSize != null ? minCorePoolSize : defaults.minCorePoolSize;
+        merged.targetQueueWait = targetQueueWait != null ? targetQueueWait : defaults.targetQueueWait;
+        merged.rejectBlockTimeout = rejectBlockTimeout != null ? rejectBlockTimeout : defaults.rejectBlockTimeout;
+        return merged;
+    }
+    
+    public int concurrency() { return Math.max(maxConcurrency != null ? maxConcurrency : max(), 1); }
+    public int core() { return corePoolSize != null ? corePoolSize : 1; }
+    public int max() { return Math.max(maxPoolSize != null ? maxPoolSize : core(), core()); }
+    public int queue() { return Math.max(queueCapacity != null ? queueCapacity : 1, 1); }
+    public Duration keepAliveOrDefault() { return keepAlive != null ? keepAlive : Duration.ofSeconds(60); }
+    public boolean isAdaptiveEnabled() { return Boolean.TRUE.equals(adaptive); }
+    public int minCore() { return Math.min(minCorePoolSize != null ? minCorePoolSize : Math.max(1, core() / 2), core()); }
+    public Duration targetWait() { return targetQueueWait != null ? targetQueueWait : Duration.ofMillis(100); }
+    public Duration rejectBlock() { return rejectBlockTimeout != null ? rejectBlockTimeout : Duration.ZERO; }
+    
+    public ExecutorMode getMode() { return mode; }
+    public void setMode(ExecutorMode mode) { this.mode = mode; }
+    public Integer getMaxConcurrency() { return maxConcurrency; }
+    public void setMaxConcurrency(Integer maxConcurrency) { this.maxConcurrency = maxConcurrency; }
+    public Integer getCorePoolSize() { return corePoolSize; }
+    public void setCorePoolSize(Integer corePoolSize) { this.corePoolSize = corePoolSize; }
+    public Integer getMaxPoolSize() { return maxPoolSize; }
+    public void setMaxPoolSize(Integer maxPoolSize) { this.maxPoolSize = maxPoolSize; }
+    public Integer getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(Integer queueCapacity) { this.queueCapacity = queueCapacity; }
+    public Duration getKeepAlive() { return keepAlive; }
+    public void setKeepAlive(Duration keepAlive) { this.keepAlive = keepAlive; }
+    public Boolean getAdaptive() { return adaptive; }
+    public void setAdaptive(Boolean adaptive) { this.adaptive = adaptive; }
+    public Integer getMinCorePoolSize() { return minCorePoolSize; }
+    public void setMinCorePoolSize(Integer minCorePoolSize) { this.minCorePoolSize = minCorePoolSize; }
+    public Duration getTargetQueueWait() { return targetQueueWait; }
+    public void setTargetQueueWait(Duration targetQueueWait) { this.targetQueueWait = targetQueueWait; }
+    public Duration getRejectBlockTimeout() { return rejectBlockTimeout; }
+    public void setRejectBlockTimeout(Duration rejectBlockTimeout) { this.rejectBlockTimeout = rejectBlockTimeout; }
+    
+    @Override
+    public String toString() {
+        if (mode == ExecutorMode.VIRTUAL) {
+            return "virtual, concurrency=" + concurrency() + ", queue=" + queue();
+        }
+        return "core=" + core() + ", max=" + max() + ", queue=" + queue() + (isAdaptiveEnabled() ? ", adaptive" : "");
+    }
+}
@@ -0,0 +1,68 @@
+package com.dlmp.executor;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 容量可在运行中调整的任务队列
+ *
+ * LinkedBlockingQueue的容量在构造后不可变，这里以无界队列为底，在offer时按volatile容量判断是否已满。
+ * 并发offer时可能短暂超出容量几个元素，对线程池排队语义无影响。
+ * 缩小容量不会丢弃已排队的任务，只是在降到新容量之前不再接受新任务。
+ */
+public class ResizableCapacityQueue extends LinkedBlockingQueue<Runnable> {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private volatile int capacity;
+    
+    public ResizableCapacityQueue(int capacity) {
+        super(Integer.MAX_VALUE);
+        this.capacity = Math.max(capacity, 1);
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public void setCapacity(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+    }
+    
+    @Override
+    public boolean offer(Runnable runnable) {
+        return size() < capacity && super.offer(runnable);
+    }
+    
+    /**
+     * 队列满时等待空位，仅在拒绝处理路径上使用
+     */
+    @Override
+    public boolean offer(Runnable runnable, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (size() >= capacity) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(1)));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return super.offer(runnable);
+    }
+    
+    @Override
+    public void put(Runnable runnable) throws InterruptedException {
+        if (!offer(runnable, Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+            throw new IllegalStateException("队列已满");
+        }
+    }
+    
+    @Override
+    public int remainingCapacity() {
+        return Math.max(capacity - size(), 0);
+    }
+}
@@ -0,0 +1,155 @@
+package com.dlmp.executor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 虚拟线程执行器
+ *
+ * 每个任务一个虚拟线程，线程池大小不再限制并发，改为在虚拟线程内获取信号量许可：
+ * 等待许可的任务只占用一个挂起的虚拟线程，不阻塞提交方。等待中的任务数超过queue-capacity时按拒绝策略处理，
+ * CallerRunsPolicy在提交线程直接执行，其余策略抛出TaskRejectedException。
+ * 并发上限（max-concurrency）和等待上限可在配置刷新后调整；自适应模式对虚拟线程不生效。
+ */
+public class VirtualThreadExecutor extends SimpleAsyncTaskExecutor implements ManagedTaskExecutor {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final String name;
+    private final RejectedExecutionHandler rejectionPolicy;
+    private final transient ExecutorTelemetry telemetry;
+    
+    private final AdjustableSemaphore permits;
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    
+    private volatile PoolSettings settings;
+    private volatile int concurrency;
+    
+    VirtualThreadExecutor(String name, String threadNamePrefix, PoolSettings settings, RejectedExecutionHandler rejectionPolicy,
+                          long awaitTerminationMillis, ExecutorProperties properties, MeterRegistry meterRegistry) {
+        super(threadNamePrefix);
+        this.name = name;
+        this.settings = settings;
+        this.rejectionPolicy = rejectionPolicy;
+        this.concurrency = settings.concurrency();
+        this.permits = new AdjustableSemaphore(concurrency);
+        
+        setVirtualThreads(true);
+        setTaskTerminationTimeout(awaitTerminationMillis);
+        
+        this.telemetry = new ExecutorTelemetry(name, "virtual", properties, meterRegistry,
+                running::get, () -> running.get() + waiting.get(), () -> concurrency, () -> concurrency,
+                waiting::get, () -> this.settings.queue());
+    }
+    
+    @Override
+    protected void doExecute(Runnable task) {
+        telemetry.onSubmit();
+        if (waiting.get() >= settings.queue() && running.get() >= concurrency) {
+            telemetry.onRejected(rejectionPolicy.getClass().getSimpleName());
+            if (rejectionPolicy instanceof ThreadPoolExecutor.CallerRunsPolicy) {
+                task.run();
+                return;
+            }
+            throw new TaskRejectedException("虚拟线程执行器已满: " + name);
+        }
+        waiting.incrementAndGet();
+        try {
+            super.doExecute(new PermitTask(task));
+        } catch (RuntimeException e) {
+            waiting.decrementAndGet();
+            throw e;
+        }
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public ExecutorMode getMode() {
+        return ExecutorMode.VIRTUAL;
+    }
+    
+    @Override
+    public PoolSettings getSettings() {
+        return settings;
+    }
+    
+    @Override
+    public synchronized void apply(PoolSettings newSettings) {
+        int newConcurrency = newSettings.concurrency();
+        int delta = newConcurrency - concurrency;
+        if (delta > 0) {
+            permits.release(delta);
+        } else if (delta < 0) {
+            // 已发出的许可在任务结束时归还，逐步收敛到新上限
+            permits.reduce(-delta);
+        }
+        this.concurrency = newConcurrency;
+        this.settings = newSettings;
+        telemetry.resetWindow();
+    }
+    
+    @Override
+    public void adapt() {
+        telemetry.drainWindow();
+    }
+    
+    /**
+     * 在虚拟线程内获取并发许可后执行
+     */
+    private final class PermitTask implements Runnable {
+        private final Runnable delegate;
+        private final long submittedAt = System.nanoTime();
+        
+        PermitTask(Runnable delegate) {
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                waiting.decrementAndGet();
+                Thread.currentThread().interrupt();
+                return;
+            }
+            waiting.decrementAndGet();
+            running.incrementAndGet();
+            long startedAt = System.nanoTime();
+            telemetry.onStart(startedAt - submittedAt);
+            try {
+                delegate.run();
+            } finally {
+                telemetry.onComplete(System.nanoTime() - startedAt);
+                running.decrementAndGet();
+                permits.release();
+            }
+        }
+    }
+    
+    /**
+     * 可减少许可的信号量
+     */
+    private static final class AdjustableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+        
+        AdjustableSemaphore(int permits) {
+            super(permits);
+        }
+        
+        void reduce(int reduction) {
+            reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.dlmp.ratelimit;
+
+/**
+ * 限流算法
+ */
+public enum RateLimitAlgorithm {
+    
+    /**
+     * 令牌桶 - 允许一定突发，支持本地批量预取令牌
+     */
+    TOKEN_BUCKET("scripts/ratelimit/token_bucket.lua"),
+    
+    /**
+     * 滑动日志 - 精确计数，内存随请求数增长，适合低配额场景
+     */
+    SLIDING_LOG("scripts/ratelimit/sliding_log.lua"),
+    
+    /**
+     * 滑动窗口计数 - 加权估算，内存固定，无固定窗口边界的2倍突发问题
+     */
+    SLIDING_WINDOW("scripts/ratelimit/sliding_window.lua");
+    
+    private final String scriptLocation;
+    
+    RateLimitAlgorithm(String scriptLocation) {
+        this.scriptLocation = scriptLocation;
+    }
+    
+    public String getScriptLocation() {
+        return scriptLocation;
+    }
+}
@@ -0,0 +1,66 @@
+package com.dlmp.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * 限流策略
+ */
+public class RateLimitPolicy {
+    
+    /**
+     * 限流算法
+     */
+    private RateLimitAlgorithm algorithm = RateLimitAlgorithm.TOKEN_BUCKET;
+    
+    /**
+     * 窗口内最大请求数（令牌桶为桶容量）
+     */
+    private long limit = 100;
+    
+    /**
+     * 窗口大小（令牌桶为补满整桶的时间）
+     */
+    private Duration window = Duration.ofSeconds(1);
+    
+    /**
+     * 本地批量预取令牌数，0表示每次请求都访问Redis（仅令牌桶生效）
+     */
+    private int localBatch = 0;
+    
+    /**
+     * 本地预取令牌的有效期，过期未用完的令牌作废，限制多实例下的超发
+     */
+    private Duration localLease = Duration.ofMillis(200);
+    
+    public RateLimitPolicy() {
+    }
+    
+    public RateLimitPolicy(RateLimitAlgorithm algorithm, long limit, Duration window) {
+        this.algorithm = algorithm;
+        this.limit = limit;
+        this.window = window;
+    }
+    
+    /**
+     * 令牌桶每秒补充速率
+     */
+    public double getRatePerSecond() {
+        return limit * 1000.0 / Math.max(window.toMillis(), 1);
+    }
+    
+    public RateLimitAlgorithm getAlgorithm() { return algorithm; }
+    public void setAlgorithm(RateLimitAlgorithm algorithm) { this.algorithm = algorithm; }
+    public long getLimit() { return limit; }
+    public void setLimit(long limit) { this.limit = limit; }
+    public Duration getWindow() { return window; }
+    public void setWindow(Duration window) { this.window = window; }
+    public int getLocalBatch() { return localBatch; }
+    public void setLocalBatch(int localBatch) { this.localBatch = localBatch; }
+    public Duration getLocalLease() { return localLease; }
+    public void setLocalLease(Duration localLease) { this.localLease = localLease; }
+    
+    @Override
+    public String toString() {
+        return algorithm + "(" + limit + "/" + window.toMillis() + "ms, batch=" + localBatch + ")";
+    }
+}
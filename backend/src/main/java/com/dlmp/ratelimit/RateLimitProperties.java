@@ -0,0 +1,61 @@
+package com.dlmp.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 限流策略配置
+ *
+ * <pre>
+ * dlmp:
+ *   rate-limit:
+ *     tenant-default: { algorithm: TOKEN_BUCKET, limit: 200, window: 1s, local-batch: 20 }
+ *     tenants:
+ *       "1001": { limit: 50, window: 1s }
+ *     routes:
+ *       "/cases/batch-import": { algorithm: SLIDING_WINDOW, limit: 10, window: 1m }
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "dlmp.rate-limit")
+public class RateLimitProperties {
+    
+    /**
+     * 是否启用限流
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Redis不可用时是否放行
+     */
+    private boolean failOpen = true;
+    
+    /**
+     * 未单独配置的租户使用的默认策略，为空表示不限制
+     */
+    private RateLimitPolicy tenantDefault;
+    
+    /**
+     * 租户（clientId）级策略
+     */
+    private Map<String, RateLimitPolicy> tenants = new LinkedHashMap<>();
+    
+    /**
+     * 路由级策略，key为Ant风格路径，按配置顺序匹配第一个
+     */
+    private Map<String, RateLimitPolicy> routes = new LinkedHashMap<>();
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public boolean isFailOpen() { return failOpen; }
+    public void setFailOpen(boolean failOpen) { this.failOpen = failOpen; }
+    public RateLimitPolicy getTenantDefault() { return tenantDefault; }
+    public void setTenantDefault(RateLimitPolicy tenantDefault) { this.tenantDefault = tenantDefault; }
+    public Map<String, RateLimitPolicy> getTenants() { return tenants; }
+    public void setTenants(Map<String, RateLimitPolicy> tenants) { this.tenants = tenants; }
+    public Map<String, RateLimitPolicy> getRoutes() { return routes; }
+    public void setRoutes(Map<String, RateLimitPolicy> routes) { this.routes = routes; }
+}
@@ -0,0 +1,41 @@
+package com.dlmp.ratelimit;
+
+/**
+ * 限流判定结果
+ */
+public class RateLimitResult {
+    
+    private static final RateLimitResult UNLIMITED = new RateLimitResult(true, Long.MAX_VALUE, 0);
+    
+    private final boolean allowed;
+    private final long remaining;
+    private final long retryAfterMillis;
+    
+    public RateLimitResult(boolean allowed, long remaining, long retryAfterMillis) {
+        this.allowed = allowed;
+        this.remaining = remaining;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+    
+    /**
+     * 未配置限流策略时的结果
+     */
+    public static RateLimitResult unlimited() {
+        return UNLIMITED;
+    }
+    
+    public boolean isAllowed() {
+        return allowed;
+    }
+    
+    public long getRemaining() {
+        return remaining;
+    }
+    
+    /**
+     * 被拒绝时建议的重试等待时间（毫秒）
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,263 @@
+package com.dlmp.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis分布式限流引擎
+ *
+ * 所有算法均以Lua脚本原子执行，每次判定只需一次网络往返，不存在INCR与EXPIRE之间进程退出导致key永不过期的问题。
+ * 本地预检层：
+ * 1. 令牌桶策略可按批从Redis预取令牌，在租约期内本地扣减，减少每请求的网络开销；
+ * 2. Redis拒绝后在建议等待时间内本地直接拒绝，异常流量不再打到Redis。
+ */
+@Component
+public class RedisRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisRateLimiter.class);
+
+    /**
+     * 不复用旧INCR计数器的dlmp:ratelimit:前缀：同名key在旧版本中是string类型，
+     * 滚动升级期间HMGET/ZADD会报WRONGTYPE，异常路径按failOpen放行等于限流失效
+     */
+    private static final String KEY_PREFIX = "dlmp:rl:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RateLimitProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @SuppressWarnings("rawtypes")
+    private final Map<RateLimitAlgorithm, DefaultRedisScript<List>> scripts = new EnumMap<>(RateLimitAlgorithm.class);
+
+    private final DefaultRedisScript<Long> windowResetScript = new DefaultRedisScript<>();
+
+    /**
+     * 本地预检状态，key为限流key
+     */
+    private final ConcurrentHashMap<String, LocalPermits> localPermits = new ConcurrentHashMap<>();
+
+    public RedisRateLimiter(RedisConnectionFactory connectionFactory, RateLimitProperties properties) {
+        // 独立模板，不开启事务支持：在@Transactional内执行脚本时不能被MULTI排队
+        this.stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        this.properties = properties;
+
+        for (RateLimitAlgorithm algorithm : RateLimitAlgorithm.values()) {
+            @SuppressWarnings("rawtypes")
+            DefaultRedisScript<List> script = new DefaultRedisScript<>();
+            script.setLocation(new ClassPathResource(algorithm.getScriptLocation()));
+            script.setResultType(List.class);
+            scripts.put(algorithm, script);
+        }
+        windowResetScript.setLocation(new ClassPathResource("scripts/ratelimit/sliding_window_reset.lua"));
+        windowResetScript.setResultType(Long.class);
+    }
+
+    /**
+     * 按租户和路由策略判定请求，任一维度拒绝即拒绝
+     */
+    public RateLimitResult tryAcquireRequest(String clientId, String route) {
+        if (!properties.isEnabled()) {
+            return RateLimitResult.unlimited();
+        }
+
+        RateLimitResult result = RateLimitResult.unlimited();
+
+        if (route != null) {
+            for (Map.Entry<String, RateLimitPolicy> entry : properties.getRoutes().entrySet()) {
+                if (pathMatcher.match(entry.getKey(), route)) {
+                    result = tryAcquire("route:" + entry.getKey(), entry.getValue());
+                    break;
+                }
+            }
+            if (!result.isAllowed()) {
+                return result;
+            }
+        }
+
+        if (clientId != null) {
+            RateLimitPolicy tenantPolicy = properties.getTenants().getOrDefault(clientId, properties.getTenantDefault());
+            if (tenantPolicy != null) {
+                RateLimitResult tenantResult = tryAcquire("tenant:" + clientId, tenantPolicy);
+                if (!tenantResult.isAllowed() || tenantResult.getRemaining() < result.getRemaining()) {
+                    result = tenantResult;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 按指定策略获取一个许可
+     */
+    public RateLimitResult tryAcquire(String key, RateLimitPolicy policy) {
+        String redisKey = KEY_PREFIX + key;
+        long now = System.currentTimeMillis();
+
+        LocalPermits local = localPermits.get(redisKey);
+        if (local != null) {
+            // 本地拒绝窗口内直接拒绝
+            long deniedUntil = local.deniedUntil;
+            if (deniedUntil > now) {
+                return new RateLimitResult(false, 0, deniedUntil - now);
+            }
+            // 本地预取令牌可用时直接扣减
+            if (local.tryTake(now)) {
+                return new RateLimitResult(true, local.permits.get(), 0);
+            }
+        }
+
+        boolean batching = policy.getAlgorithm() == RateLimitAlgorithm.TOKEN_BUCKET && policy.getLocalBatch() > 1;
+        long requested = batching ? policy.getLocalBatch() : 1;
+
+        long[] reply;
+        try {
+            reply = execute(redisKey, policy, requested, batching);
+        } catch (Exception e) {
+            logger.error("限流脚本执行失败: key={}, policy={}", redisKey, policy, e);
+            return new RateLimitResult(properties.isFailOpen(), 0, 0);
+        }
+
+        long granted = reply[0];
+        long remaining = reply[1];
+        long waitMillis = reply[2];
+
+        if (granted <= 0) {
+            // 脚本按当前请求缺少的令牌给出等待时间（批量预取时为1个），本地拒绝窗口不会长于实际补充所需时间
+            if (waitMillis > 0) {
+                localPermits.computeIfAbsent(redisKey, k -> new LocalPermits()).deniedUntil = now + waitMillis;
+            }
+            return new RateLimitResult(false, remaining, waitMillis);
+        }
+
+        if (granted > 1) {
+            // 当前请求消耗1个，其余放入本地租约
+            localPermits.computeIfAbsent(redisKey, k -> new LocalPermits())
+                        .refill(granted - 1, now + policy.getLocalLease().toMillis());
+        }
+        return new RateLimitResult(true, remaining + granted - 1, 0);
+    }
+
+    /**
+     * 获取滑动窗口当前窗口内的计数
+     */
+    public long getWindowCount(String key) {
+        try {
+            Object count = stringRedisTemplate.opsForHash().get(KEY_PREFIX + key, "c");
+            return count != null ? Long.parseLong(count.toString()) : 0;
+        } catch (Exception e) {
+            logger.error("获取限流计数失败: key={}", key, e);
+            return 0;
+        }
+    }
+
+    /**
+     * 获取滑动窗口当前窗口重置的剩余毫秒数（由脚本按Redis时钟计算，不消耗配额）
+     */
+    public long getWindowResetMillis(String key) {
+        try {
+            Long millis = stringRedisTemplate.execute(windowResetScript, Collections.singletonList(KEY_PREFIX + key));
+            return millis != null ? millis : 0;
+        } catch (Exception e) {
+            logger.error("获取限流窗口重置时间失败: key={}", key, e);
+            return 0;
+        }
+    }
+
+    /**
+     * 清理过期的本地预检状态
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpiredLocalPermits() {
+        long now = System.currentTimeMillis();
+        localPermits.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+    }
+
+    @SuppressWarnings("unchecked")
+    private long[] execute(String redisKey, RateLimitPolicy policy, long requested, boolean partial) {
+        List<String> keys = Collections.singletonList(redisKey);
+        List<Object> reply;
+
+        switch (policy.getAlgorithm()) {
+            case TOKEN_BUCKET:
+                reply = stringRedisTemplate.execute(scripts.get(RateLimitAlgorithm.TOKEN_BUCKET), keys,
+                        String.valueOf(policy.getLimit()),
+                        String.valueOf(policy.getRatePerSecond()),
+                        String.valueOf(requested),
+                        partial ? "1" : "0");
+                break;
+            case SLIDING_LOG:
+                reply = stringRedisTemplate.execute(scripts.get(RateLimitAlgorithm.SLIDING_LOG), keys,
+                        String.valueOf(policy.getLimit()),
+                        String.valueOf(policy.getWindow().toMillis()),
+                        String.valueOf(requested),
+                        UUID.randomUUID().toString());
+                break;
+            case SLIDING_WINDOW:
+                reply = stringRedisTemplate.execute(scripts.get(RateLimitAlgorithm.SLIDING_WINDOW), keys,
+                        String.valueOf(policy.getLimit()),
+                        String.valueOf(policy.getWindow().toMillis()),
+                        String.valueOf(requested));
+                break;
+            default:
+                throw new IllegalStateException("不支持的限流算法: " + policy.getAlgorithm());
+        }
+
+        if (reply == null || reply.size() < 3) {
+            throw new IllegalStateException("限流脚本返回值异常: " + reply);
+        }
+        return new long[] {
+            ((Number) reply.get(0)).longValue(),
+            ((Number) reply.get(1)).longValue(),
+            ((Number) reply.get(2)).longValue()
+        };
+    }
+
+    /**
+     * 本地许可租约
+     */
+    private static class LocalPermits {
+        private final AtomicLong permits = new AtomicLong(0);
+        private volatile long leaseExpireAt;
+        private volatile long deniedUntil;
+
+        boolean tryTake(long now) {
+            if (leaseExpireAt <= now) {
+                return false;
+            }
+            long current;
+            do {
+                current = permits.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!permits.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        void refill(long count, long expireAt) {
+            permits.set(count);
+            leaseExpireAt = expireAt;
+            deniedUntil = 0;
+        }
+
+        boolean isExpired(long now) {
+            return leaseExpireAt <= now && deniedUntil <= now;
+        }
+    }
+}
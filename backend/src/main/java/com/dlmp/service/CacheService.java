@@ -1,9 +1,16 @@
 package com.dlmp.service;
 
+import com.dlmp.cache.IdExistenceGuard;
+import com.dlmp.cache.warmup.CacheWarmUpManager;
 import com.dlmp.config.RedisCacheUtil;
+import com.dlmp.ratelimit.RateLimitAlgorithm;
+import com.dlmp.ratelimit.RateLimitPolicy;
+import com.dlmp.ratelimit.RedisRateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
@@ -11,10 +18,17 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * 缓存服务
@@ -31,15 +45,41 @@ public class CacheService {
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
     
+    @Autowired
+    private IdExistenceGuard idExistenceGuard;
+    
+    @Autowired
+    private RedisRateLimiter redisRateLimiter;
+    
+    /**
+     * 预热管理器依赖各预热器，预热器又依赖本服务，延迟获取以避免循环依赖
+     */
+    @Autowired
+    private ObjectProvider<CacheWarmUpManager> cacheWarmUpManagerProvider;
+    
+    /**
+     * 空值缓存过期时间（秒），远短于正常数据，避免数据新建后长时间不可见
+     */
+    @Value("${dlmp.cache.null-value-ttl:60}")
+    private long nullValueTtlSeconds;
+    
+    /**
+     * 热点案件访问采样率，用于预热时选取Top-N案件
+     */
+    @Value("${dlmp.cache.hot-case.sample-rate:0.1}")
+    private double hotCaseSampleRate;
+    
     // 缓存键前缀
     private static final String CACHE_PREFIX = "dlmp:";
     private static final String USER_PREFIX = CACHE_PREFIX + "user:";
     private static final String CASE_PREFIX = CACHE_PREFIX + "case:";
     private static final String DICT_PREFIX = CACHE_PREFIX + "dict:";
     private static final String PERMISSION_PREFIX = CACHE_PREFIX + "permission:";
+    private static final String MEDIATION_PREFIX = CACHE_PREFIX + "mediation:";
     private static final String SESSION_PREFIX = CACHE_PREFIX + "session:";
-    private static final String RATE_LIMIT_PREFIX = CACHE_PREFIX + "ratelimit:";
     private static final String STATISTICS_PREFIX = CACHE_PREFIX + "stats:";
+    private static final String HOT_CASE_PREFIX = STATISTICS_PREFIX + "case:hot:";
+    private static final DateTimeFormatter HOT_CASE_DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
     
     /**
      * 用户相关缓存
@@ -56,9 +96,22 @@ public class CacheService {
             return cacheService.get(USER_PREFIX + "info:" + userId);
         }
         
+        /**
+         * 获取用户信息，未命中时通过loader回源
+         * 布隆过滤器判定不存在的ID直接返回null，不访问Redis和数据库
+         */
+        public Object getUserInfo(Long userId, Function<Long, Object> loader) {
+            if (!cacheService.idExistenceGuard.mightContainUser(userId)) {
+                return null;
+            }
+            return cacheService.getOrLoad(USER_PREFIX + "info:" + userId, Duration.ofMinutes(30),
+                                          () -> loader.apply(userId));
+        }
+        
         @CachePut(value = "userCache", key = "#userId")
         public Object setUserInfo(Long userId, Object userInfo) {
             cacheService.set(USER_PREFIX + "info:" + userId, userInfo, Duration.ofMinutes(30));
+            cacheService.idExistenceGuard.putUser(userId);
             return userInfo;
         }
         
@@ -104,9 +157,23 @@ public class CacheService {
             return cacheService.get(CASE_PREFIX + "info:" + caseId);
         }
         
+        /**
+         * 获取案件信息，未命中时通过loader回源
+         * 布隆过滤器判定不存在的ID直接返回null，不访问Redis和数据库
+         */
+        public Object getCaseInfo(Long caseId, Function<Long, Object> loader) {
+            if (!cacheService.idExistenceGuard.mightContainCase(caseId)) {
+                return null;
+            }
+            recordAccess(caseId);
+            return cacheService.getOrLoad(CASE_PREFIX + "info:" + caseId, Duration.ofHours(2),
+                                          () -> loader.apply(caseId));
+        }
+        
         @CachePut(value = "caseCache", key = "#caseId")
         public Object setCaseInfo(Long caseId, Object caseInfo) {
             cacheService.set(CASE_PREFIX + "info:" + caseId, caseInfo, Duration.ofHours(2));
+            cacheService.idExistenceGuard.putCase(caseId);
             return caseInfo;
         }
         
@@ -130,6 +197,70 @@ public class CacheService {
         public Object getCaseAssignment(Long caseId) {
             return cacheService.get(CASE_PREFIX + "assignment:" + caseId);
         }
+        
+        /**
+         * 按采样率记录案件访问，按天累计，用于预热热点案件
+         */
+        public void recordAccess(Long caseId) {
+            if (ThreadLocalRandom.current().nextDouble() >= cacheService.hotCaseSampleRate) {
+                return;
+            }
+            try {
+                String key = HOT_CASE_PREFIX + LocalDate.now().format(HOT_CASE_DAY_FORMATTER);
+                cacheService.redisTemplate.opsForZSet().incrementScore(key, caseId, 1);
+                cacheService.redisTemplate.expire(key, Duration.ofDays(2));
+            } catch (Exception e) {
+                logger.warn("记录热点案件访问失败: caseId={}, error={}", caseId, e.getMessage());
+            }
+        }
+        
+        /**
+         * 获取近两天访问次数最多的案件ID
+         */
+        public List<Long> getHotCaseIds(int topN) {
+            Map<Long, Double> scores = new LinkedHashMap<>();
+            LocalDate today = LocalDate.now();
+            for (LocalDate day : List.of(today, today.minusDays(1))) {
+                var tuples = cacheService.redisTemplate.opsForZSet()
+                        .reverseRangeWithScores(HOT_CASE_PREFIX + day.format(HOT_CASE_DAY_FORMATTER), 0, topN - 1);
+                if (tuples == null) {
+                    continue;
+                }
+                for (var tuple : tuples) {
+                    if (tuple.getValue() instanceof Number && tuple.getScore() != null) {
+                        scores.merge(((Number) tuple.getValue()).longValue(), tuple.getScore(), Double::sum);
+                    }
+                }
+            }
+            
+            List<Long> caseIds = new ArrayList<>(scores.keySet());
+            caseIds.sort((a, b) -> Double.compare(scores.get(b), scores.get(a)));
+            return caseIds.size() > topN ? caseIds.subList(0, topN) : caseIds;
+        }
+    }
+    
+    /**
+     * 调解中心缓存
+     */
+    public static class MediationCache {
+        private final CacheService cacheService;
+        
+        public MediationCache(CacheService cacheService) {
+            this.cacheService = cacheService;
+        }
+        
+        public void setActiveCenters(List<Object> centers) {
+            cacheService.set(MEDIATION_PREFIX + "centers:active", centers, Duration.ofHours(1));
+        }
+        
+        @SuppressWarnings("unchecked")
+        public List<Object> getActiveCenters() {
+            return (List<Object>) cacheService.get(MEDIATION_PREFIX + "centers:active");
+        }
+        
+        public void removeActiveCenters() {
+            cacheService.delete(MEDIATION_PREFIX + "centers:active");
+        }
     }
     
     /**
@@ -201,6 +332,7 @@ public class CacheService {
     
     /**
      * 限流缓存
+     * 委托给RedisRateLimiter，使用滑动窗口计数算法原子判定
      */
     public static class RateLimitCache {
         private final CacheService cacheService;
@@ -210,24 +342,20 @@ public class CacheService {
         }
         
         public boolean isAllowed(String key, int maxRequests, Duration window) {
-            String rateLimitKey = RATE_LIMIT_PREFIX + key;
-            Long currentCount = cacheService.increment(rateLimitKey, 1);
-            
-            if (currentCount == 1) {
-                // 首次访问，设置过期时间
-                cacheService.expire(rateLimitKey, window);
-            }
-            
-            return currentCount <= maxRequests;
+            RateLimitPolicy policy = new RateLimitPolicy(RateLimitAlgorithm.SLIDING_WINDOW, maxRequests, window);
+            return cacheService.redisRateLimiter.tryAcquire(key, policy).isAllowed();
         }
         
         public long getCurrentCount(String key) {
-            Object count = cacheService.get(RATE_LIMIT_PREFIX + key);
-            return count != null ? Long.parseLong(count.toString()) : 0;
+            return cacheService.redisRateLimiter.getWindowCount(key);
         }
         
+        /**
+         * 当前窗口重置的剩余秒数（向上取整），key的TTL为两个窗口，不能代表重置时间
+         */
         public long getRemainingTime(String key) {
-            return cacheService.getExpire(RATE_LIMIT_PREFIX + key);
+            long millis = cacheService.redisRateLimiter.getWindowResetMillis(key);
+            return (millis + 999) / 1000;
         }
     }
     
@@ -270,6 +398,7 @@ public class CacheService {
     private UserCache userCache;
     private CaseCache caseCache;
     private DictCache dictCache;
+    private MediationCache mediationCache;
     private SessionCache sessionCache;
     private RateLimitCache rateLimitCache;
     private StatisticsCache statisticsCache;
@@ -281,6 +410,7 @@ public class CacheService {
         this.userCache = new UserCache(this);
         this.caseCache = new CaseCache(this);
         this.dictCache = new DictCache(this);
+        this.mediationCache = new MediationCache(this);
         this.sessionCache = new SessionCache(this);
         this.rateLimitCache = new RateLimitCache(this);
         this.statisticsCache = new StatisticsCache(this);
@@ -310,6 +440,13 @@ public class CacheService {
         return dictCache;
     }
     
+    public MediationCache mediation() {
+        if (mediationCache == null) {
+            mediationCache = new MediationCache(this);
+        }
+        return mediationCache;
+    }
+    
     public SessionCache session() {
         if (sessionCache == null) {
             sessionCache = new SessionCache(this);
@@ -337,7 +474,28 @@ public class CacheService {
     }
     
     public Object get(String key) {
-        return redisCacheUtil.get(key);
+        Object value = redisCacheUtil.get(key);
+        return RedisCacheUtil.isNullValue(value) ? null : value;
+    }
+    
+    /**
+     * 读取缓存，未命中时回源并回填
+     * 回源结果为null时写入空值占位符（短TTL），后续请求不再穿透到数据库
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(String key, Duration timeout, Supplier<T> loader) {
+        Object cached = redisCacheUtil.get(key);
+        if (cached != null) {
+            return RedisCacheUtil.isNullValue(cached) ? null : (T) cached;
+        }
+        
+        T value = loader.get();
+        if (value != null) {
+            redisCacheUtil.set(key, value, timeout);
+        } else {
+            redisCacheUtil.setNullValue(key, Duration.ofSeconds(nullValueTtlSeconds));
+        }
+        return value;
     }
     
     public boolean delete(String key) {
@@ -370,19 +528,17 @@ public class CacheService {
     
     /**
      * 预热缓存
+     * 由CacheWarmUpManager并行执行已注册的预热器（字典、调解中心、热点案件、活跃用户权限）
      */
     public void warmUp() {
-        logger.info("开始预热缓存...");
+        CacheWarmUpManager cacheWarmUpManager = cacheWarmUpManagerProvider.getIfAvailable();
+        if (cacheWarmUpManager == null) {
+            logger.warn("未找到缓存预热管理器，跳过预热");
+            return;
+        }
         
         try {
-            // 预热字典数据
-            // dict().setDictData("case_status", getDictDataFromDB("case_status"));
-            // dict().setDictData("case_type", getDictDataFromDB("case_type"));
-            
-            // 预热系统配置
-            // setSystemConfig();
-            
-            logger.info("缓存预热完成");
+            cacheWarmUpManager.warmUp();
         } catch (Exception e) {
             logger.error("缓存预热失败", e);
         }
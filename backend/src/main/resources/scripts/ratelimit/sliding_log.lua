@@ -0,0 +1,33 @@
+-- 滑动日志限流（精确，适合低配额场景）
+-- KEYS[1]: 日志key（zset，score为请求时间戳）
+-- ARGV[1]: 窗口内最大请求数
+-- ARGV[2]: 窗口大小（毫秒）
+-- ARGV[3]: 请求令牌数
+-- ARGV[4]: 请求唯一标识
+-- 返回: {授予令牌数, 剩余配额, 建议等待毫秒数}
+local key = KEYS[1]
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+local requestId = ARGV[4]
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window)
+local count = redis.call('ZCARD', key)
+
+if count + requested <= limit then
+    for i = 1, requested do
+        redis.call('ZADD', key, now, requestId .. ':' .. i)
+    end
+    redis.call('PEXPIRE', key, window)
+    return {requested, limit - count - requested, 0}
+end
+
+local waitMs = 0
+local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+if oldest[2] ~= nil then
+    waitMs = math.max(0, tonumber(oldest[2]) + window - now)
+end
+return {0, math.max(0, limit - count), waitMs}
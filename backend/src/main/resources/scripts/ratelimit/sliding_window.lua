@@ -0,0 +1,47 @@
+-- 滑动窗口计数限流（按上一窗口计数加权估算，内存占用固定）
+-- KEYS[1]: 计数key（hash: w-当前窗口序号, c-当前窗口计数, p-上一窗口计数, r-当前窗口结束时间戳毫秒）
+-- ARGV[1]: 窗口内最大请求数
+-- ARGV[2]: 窗口大小（毫秒）
+-- ARGV[3]: 请求令牌数
+-- 返回: {授予令牌数, 剩余配额, 建议等待毫秒数, 当前窗口重置剩余毫秒数}
+local key = KEYS[1]
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local index = math.floor(now / window)
+
+local data = redis.call('HMGET', key, 'w', 'c', 'p')
+local w = tonumber(data[1])
+local current = tonumber(data[2]) or 0
+local previous = tonumber(data[3]) or 0
+
+if w == nil then
+    current = 0
+    previous = 0
+elseif w == index - 1 then
+    previous = current
+    current = 0
+elseif w < index - 1 then
+    previous = 0
+    current = 0
+end
+
+local elapsedRatio = (now - index * window) / window
+local estimated = previous * (1 - elapsedRatio) + current
+
+local resetAt = (index + 1) * window
+local granted = 0
+local waitMs = 0
+if estimated + requested <= limit then
+    granted = requested
+    current = current + requested
+else
+    waitMs = math.ceil(resetAt - now)
+end
+
+redis.call('HSET', key, 'w', index, 'c', current, 'p', previous, 'r', resetAt)
+redis.call('PEXPIRE', key, window * 2)
+return {granted, math.max(0, math.floor(limit - estimated - granted)), waitMs, resetAt - now}
@@ -0,0 +1,11 @@
+-- 滑动窗口当前窗口重置剩余时间（只读，不消耗配额）
+-- KEYS[1]: 计数key（sliding_window.lua写入的hash）
+-- 返回: 当前窗口重置剩余毫秒数，key不存在或窗口已过期时返回0
+local resetAt = tonumber(redis.call('HGET', KEYS[1], 'r'))
+if resetAt == nil then
+    return 0
+end
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+return math.max(0, resetAt - now)
@@ -0,0 +1,48 @@
+-- 令牌桶限流（原子执行，一次往返）
+-- KEYS[1]: 令牌桶key（hash: tokens, ts）
+-- ARGV[1]: 桶容量
+-- ARGV[2]: 每秒补充令牌数
+-- ARGV[3]: 请求令牌数
+-- ARGV[4]: 是否允许部分授予（1-允许，用于本地批量预取）
+-- 返回: {授予令牌数, 剩余令牌数, 建议等待毫秒数}
+local key = KEYS[1]
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+local partial = ARGV[4] == '1'
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+local tokens = tonumber(bucket[1])
+local ts = tonumber(bucket[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+local elapsed = math.max(0, now - ts)
+tokens = math.min(capacity, tokens + elapsed * rate / 1000)
+
+local granted = 0
+if tokens >= requested then
+    granted = requested
+elseif partial and tokens >= 1 then
+    granted = math.floor(tokens)
+end
+tokens = tokens - granted
+
+redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', now)
+redis.call('PEXPIRE', key, math.ceil(capacity * 1000 / rate) + 1000)
+
+-- 等待时间只按缺少的令牌计算：部分授予时有1个令牌即可放行，不等待整批补满；不超过补满整桶的时间
+local waitMs = 0
+if granted == 0 then
+    local needed = requested
+    if partial then
+        needed = 1
+    end
+    waitMs = math.ceil((math.min(needed, capacity) - tokens) * 1000 / rate)
+end
+return {granted, math.floor(tokens), waitMs}
@@ -0,0 +1,10 @@
+-- 网关访问日志字段迁移
+-- 网关访问日志按路由和租户统计，t_access_log补充路由ID和租户ID
+
+USE log_db;
+
+ALTER TABLE t_access_log
+    ADD COLUMN route_id VARCHAR(100) COMMENT '网关路由ID' AFTER org_id,
+    ADD COLUMN tenant_id VARCHAR(64) COMMENT '租户ID' AFTER route_id,
+    ADD INDEX idx_route_id (route_id),
+    ADD INDEX idx_tenant_id (tenant_id);
@@ -102,6 +102,10 @@ CREATE TABLE t_access_log (
     username VARCHAR(100) COMMENT '用户名',
     org_id BIGINT COMMENT '机构ID',
     
+    -- 网关信息
+    route_id VARCHAR(100) COMMENT '网关路由ID',
+    tenant_id VARCHAR(64) COMMENT '租户ID',
+    
     -- 响应信息
     response_status INT COMMENT '响应状态码',
     response_size BIGINT COMMENT '响应大小（字节）',
@@ -116,6 +120,8 @@ CREATE TABLE t_access_log (
     INDEX idx_user_id (user_id),
     INDEX idx_username (username),
     INDEX idx_org_id (org_id),
+    INDEX idx_route_id (route_id),
+    INDEX idx_tenant_id (tenant_id),
     INDEX idx_response_status (response_status),
     INDEX idx_response_time (response_time),
     INDEX idx_access_time (access_time)